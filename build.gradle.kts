@@ -1,8 +1,11 @@
 // Copyright 2000-2024 JetBrains s.r.o. and contributors. Use of this source code is governed by the Apache 2.0 license.
 
+import groovy.json.JsonSlurper
+
 plugins {
   id("java")
   id("org.jetbrains.intellij") version "1.17.4"
+  id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "org.intellij.sdk"
@@ -25,6 +28,28 @@ dependencies {
   testImplementation("junit:junit:4.13.2")
 }
 
+// The IDE jars are compileOnly for the plugin itself, but the benchmarks run the lexer outside the IDE
+configurations {
+  named("jmhImplementation") {
+    extendsFrom(configurations.compileOnly.get())
+  }
+}
+
+// Run with ./gradlew jmh; -Pjmh.includes=<regex> narrows the run. Results are written as JSON and can be checked
+// against the committed baseline with compareJmhBaseline, or promoted with updateJmhBaseline. The benchmarks cover the
+// lexer, the gene body reparse check, the annotator's literal scan and the sequence analysis; the parser is not covered,
+// because PsiBuilder needs a running platform application.
+val jmhResults = layout.buildDirectory.file("reports/jmh/results.json")
+val jmhBaseline = layout.projectDirectory.file("src/jmh/baseline.json")
+
+jmh {
+  jmhVersion.set("1.37")
+  profilers.add("gc")
+  resultFormat.set("JSON")
+  resultsFile.set(jmhResults)
+  findProperty("jmh.includes")?.let { includes.add(it.toString()) }
+}
+
 java {
   sourceCompatibility = JavaVersion.VERSION_17
 }
@@ -40,6 +65,72 @@ tasks {
     enabled = false
   }
 
+  withType<JavaCompile> {
+    options.encoding = "UTF-8"
+  }
+
+  register<Copy>("updateJmhBaseline") {
+    group = "benchmark"
+    description = "Replaces the committed JMH baseline with the results of the last jmh run."
+    from(jmhResults)
+    into(jmhBaseline.asFile.parentFile)
+    rename { jmhBaseline.asFile.name }
+  }
+
+  register("compareJmhBaseline") {
+    group = "benchmark"
+    description = "Fails if a benchmark of the last jmh run is slower than the baseline by more than -Pjmh.threshold (default 0.25)."
+    // All benchmarks report average time per operation, so a higher score is a regression
+    doLast {
+      val threshold = (findProperty("jmh.threshold") ?: "0.25").toString().toDouble()
+      if (!jmhBaseline.asFile.exists()) {
+        throw GradleException("No JMH baseline at ${jmhBaseline.asFile}, run jmh and updateJmhBaseline first")
+      }
+      fun scores(file: File): Map<String, Double> {
+        @Suppress("UNCHECKED_CAST")
+        val runs = JsonSlurper().parse(file) as List<Map<String, Any>>
+        return runs.associate { run ->
+          @Suppress("UNCHECKED_CAST")
+          val params = (run["params"] as Map<String, Any>?)?.entries?.joinToString(",") { "${it.key}=${it.value}" } ?: ""
+          @Suppress("UNCHECKED_CAST")
+          val metric = run["primaryMetric"] as Map<String, Any>
+          "${run["benchmark"]}($params)" to (metric["score"] as Number).toDouble()
+        }
+      }
+      val baseline = scores(jmhBaseline.asFile)
+      val current = scores(jmhResults.get().asFile)
+      val regressions = current.filter { (name, score) ->
+        val before = baseline[name]
+        before != null && score > before * (1 + threshold)
+      }
+      current.forEach { (name, score) ->
+        val before = baseline[name]
+        val change = if (before == null) "new" else String.format("%+.1f%%", (score / before - 1) * 100)
+        println(String.format("%-100s %14.3f  %s", name, score, change))
+      }
+      if (regressions.isNotEmpty()) {
+        throw GradleException("Benchmarks slower than baseline by more than ${threshold * 100}%: ${regressions.keys}")
+      }
+    }
+  }
+
+  register<JavaExec>("analyzeBsyn") {
+    group = "verification"
+    description = "Validates and summarizes a directory of .bsyn files without starting the IDE: -Pbsyn.args=\"<dir> [--output <file>] [--threads <n>] [--fail-on-invalid]\"."
+    // The lexer needs the platform jars at runtime, which the plugin itself only has as compileOnly
+    classpath = sourceSets.main.get().output + configurations.compileClasspath.get()
+    mainClass.set("org.intellij.sdk.language.BioSyntaxBatchAnalyzer")
+    args = (findProperty("bsyn.args") ?: "").toString().split(" ").filter { it.isNotBlank() }
+  }
+
+  register<JavaExec>("importBsyn") {
+    group = "application"
+    description = "Converts a FASTA or GenBank file into a .bsyn file without starting the IDE: -Pbsyn.args=\"<input> [--output <file.bsyn>] [--threads <n>] [--width <n>]\"."
+    classpath = sourceSets.main.get().output + configurations.compileClasspath.get()
+    mainClass.set("org.intellij.sdk.language.io.SequenceImporter")
+    args = (findProperty("bsyn.args") ?: "").toString().split(" ").filter { it.isNotBlank() }
+  }
+
   patchPluginXml {
     version.set("${project.version}")
     sinceBuild.set("241")
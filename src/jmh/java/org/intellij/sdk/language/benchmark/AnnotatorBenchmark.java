@@ -0,0 +1,40 @@
+package org.intellij.sdk.language.benchmark;
+
+import org.intellij.sdk.language.analysis.SequenceAlphabet;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The scan the annotator runs over every sequence literal on each highlighting pass: the raw text between the quotes,
+ * layout included, searched for runs of invalid letters with the default cap of 20 reported runs. The annotator
+ * itself needs an annotation holder from a running IDE, so this measures the scan it delegates to.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AnnotatorBenchmark {
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int sequenceLength;
+
+    // 0 is a clean literal; 1000 has a typo every 1000 bases, far more runs than are reported
+    @Param({"0", "1000"})
+    public int typoInterval;
+
+    private String literal;
+
+    @Setup
+    public void setUp() {
+        literal = BenchmarkSequences.wrappedDna(sequenceLength, typoInterval);
+    }
+
+    @Benchmark
+    public int findInvalidRuns() {
+        int[] reported = new int[1];
+        int runs = SequenceAlphabet.DNA.findInvalidRuns(literal, 0, literal.length(), 20, (start, end) -> reported[0]++);
+        return runs + reported[0];
+    }
+}
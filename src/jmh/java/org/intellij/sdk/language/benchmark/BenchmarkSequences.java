@@ -0,0 +1,83 @@
+package org.intellij.sdk.language.benchmark;
+
+import java.util.Random;
+
+final class BenchmarkSequences {
+    private BenchmarkSequences() {
+    }
+
+    // Fixed seed so runs on different commits see the same input
+    static String randomDna(int length) {
+        return random(length, "ACGT", 42);
+    }
+
+    static String randomProtein(int length) {
+        return random(length, "ACDEFGHIKLMNPQRSTVWY", 43);
+    }
+
+    static String random(int length, String alphabet, long seed) {
+        Random random = new Random(seed);
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = alphabet.charAt(random.nextInt(alphabet.length()));
+        }
+        return new String(chars);
+    }
+
+    /**
+     * A BioSyntax file with {@code declarationCount} DNA declarations of about {@code totalLength / declarationCount} bases each (at least one).
+     */
+    static String bioSyntaxFile(int totalLength, int declarationCount) {
+        String dna = randomDna(totalLength);
+        int perDeclaration = Math.max(1, totalLength / declarationCount);
+        StringBuilder text = new StringBuilder(totalLength + declarationCount * 40);
+        text.append("// transl_table=11\n");
+        for (int i = 0; i < declarationCount; i++) {
+            int start = (int) ((long) i * perDeclaration % totalLength);
+            int end = Math.min(totalLength, start + perDeclaration);
+            text.append("// Declaration ").append(i).append('\n');
+            text.append("DNASeq seq").append(i).append(" = \"").append(dna, start, end).append("\"\n");
+        }
+        return text.toString();
+    }
+
+    /**
+     * {@code length} random bases wrapped at 60 per line the way a long literal is written, with every
+     * {@code typoInterval}-th base replaced by a lowercase letter; no typos if {@code typoInterval} is 0.
+     */
+    static String wrappedDna(int length, int typoInterval) {
+        char[] dna = randomDna(length).toCharArray();
+        if (typoInterval > 0) {
+            for (int i = typoInterval - 1; i < length; i += typoInterval) {
+                dna[i] = Character.toLowerCase(dna[i]);
+            }
+        }
+        StringBuilder text = new StringBuilder(length + length / 60 * 5);
+        for (int i = 0; i < length; i += 60) {
+            if (i > 0) {
+                text.append("\n    ");
+            }
+            text.append(dna, i, Math.min(60, length - i));
+        }
+        return text.toString();
+    }
+
+    /**
+     * A BioSyntax file with {@code geneCount} genes, each with a promoter and a coding sequence of {@code codingLength}
+     * bases.
+     */
+    static String geneFile(int geneCount, int codingLength) {
+        String dna = randomDna(codingLength + 40);
+        StringBuilder text = new StringBuilder(geneCount * (codingLength + 120));
+        for (int i = 0; i < geneCount; i++) {
+            int start = i % 40;
+            text.append("Gene gene").append(i).append(" {\n")
+                    .append("    Promoter = \"").append(dna, start, start + 30).append("\"\n")
+                    .append("    Start_Codon;\n")
+                    .append("    Coding_Sequence = \"").append(dna, start, start + codingLength).append("\"\n")
+                    .append("    Stop_Codon;\n")
+                    .append("}\n");
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,70 @@
+package org.intellij.sdk.language.benchmark;
+
+import com.intellij.psi.tree.IElementType;
+import org.intellij.sdk.language.BioSyntaxLexerAdapter;
+import org.intellij.sdk.language.psi.BioSyntaxGeneBodyElementType;
+import org.intellij.sdk.language.psi.BioSyntaxTypes;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A point mutation inside one gene of a file of many genes. {@code reparseEditedBody} is the lexer work of the
+ * incremental reparse, which checks that the edited text is still one gene body and relexes only that body, and should
+ * score the same for every {@code geneCount}; {@code relexFile} is the lexer work of a full reparse, which grows with
+ * the file.
+ * <p>
+ * Building the PSI itself needs a running IDE, so it is not measured here; BioSyntaxGeneBodyReparseTest checks that the
+ * platform takes the incremental path.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GeneBodyReparseBenchmark {
+    @Param({"100", "1000", "20000"})
+    public int geneCount;
+
+    private String editedText;
+    private String editedBody;
+    private BioSyntaxLexerAdapter lexer;
+
+    @Setup
+    public void setUp() {
+        String text = BenchmarkSequences.geneFile(geneCount, 300);
+        int bodyStart = text.indexOf('{', text.length() / 2);
+        int bodyEnd = text.indexOf('}', bodyStart) + 1;
+        int codingStart = text.indexOf("Coding_Sequence = \"", bodyStart) + "Coding_Sequence = \"".length();
+        int mutation = codingStart + 150;
+        char base = text.charAt(mutation) == 'A' ? 'C' : 'A';
+        editedText = text.substring(0, mutation) + base + text.substring(mutation + 1);
+        editedBody = editedText.substring(bodyStart, bodyEnd);
+        lexer = new BioSyntaxLexerAdapter();
+        if (!BioSyntaxGeneBodyElementType.isGeneBody(editedBody)) {
+            throw new IllegalStateException("The edited body is not reparseable on its own");
+        }
+    }
+
+    @Benchmark
+    public int reparseEditedBody() {
+        return BioSyntaxGeneBodyElementType.isGeneBody(editedBody) ? countTokens(editedBody) : -1;
+    }
+
+    @Benchmark
+    public int relexFile() {
+        return countTokens(editedText);
+    }
+
+    private int countTokens(String text) {
+        lexer.start(text);
+        int tokens = 0;
+        IElementType type;
+        while ((type = lexer.getTokenType()) != null) {
+            tokens += type == BioSyntaxTypes.NUCLEOTIDE ? 1 : 0;
+            lexer.advance();
+        }
+        return tokens;
+    }
+}
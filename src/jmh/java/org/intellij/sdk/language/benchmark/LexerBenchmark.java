@@ -0,0 +1,63 @@
+package org.intellij.sdk.language.benchmark;
+
+import com.intellij.psi.tree.IElementType;
+import org.intellij.sdk.language.BioSyntaxLexerAdapter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lexes whole files the way the highlighter does on open, and relexes from a token in the middle of the file the way
+ * it does after an edit.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LexerBenchmark {
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int sequenceLength;
+
+    @Param({"1", "100", "10000"})
+    public int declarationCount;
+
+    private String text;
+    private BioSyntaxLexerAdapter lexer;
+    private int middleTokenStart;
+    private int middleTokenState;
+
+    @Setup
+    public void setUp() {
+        text = BenchmarkSequences.bioSyntaxFile(sequenceLength, declarationCount);
+        lexer = new BioSyntaxLexerAdapter();
+        lexer.start(text);
+        while (lexer.getTokenType() != null && lexer.getTokenStart() < text.length() / 2) {
+            middleTokenStart = lexer.getTokenStart();
+            middleTokenState = lexer.getState();
+            lexer.advance();
+        }
+    }
+
+    @Benchmark
+    public int lexFile() {
+        return countTokens(0, 0);
+    }
+
+    @Benchmark
+    public int relexFromMiddle() {
+        return countTokens(middleTokenStart, middleTokenState);
+    }
+
+    private int countTokens(int start, int state) {
+        lexer.start(text, start, text.length(), state);
+        int tokens = 0;
+        IElementType type;
+        while ((type = lexer.getTokenType()) != null) {
+            tokens += type.getIndex() & 1;
+            lexer.advance();
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,86 @@
+package org.intellij.sdk.language.benchmark;
+
+import org.intellij.sdk.language.analysis.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The sequence routines behind the annotator and the documentation popup: validation, packing, statistics,
+ * translation and ORF finding.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SequenceAnalysisBenchmark {
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int sequenceLength;
+
+    private String dna;
+    private String protein;
+    private PackedSequence packed;
+
+    @Setup
+    public void setUp() {
+        dna = BenchmarkSequences.randomDna(sequenceLength);
+        protein = BenchmarkSequences.randomProtein(sequenceLength);
+        packed = PackedSequence.pack(dna);
+    }
+
+    @Benchmark
+    public int validateDna() {
+        return SequenceAlphabet.DNA.findInvalidRuns(dna, 0, dna.length(), 20, (start, end) -> {
+        });
+    }
+
+    @Benchmark
+    public boolean validateProtein() {
+        return SequenceAlphabet.AMINO_ACID.isValid(protein);
+    }
+
+    @Benchmark
+    public int chunk() {
+        int chunks = 0;
+        for (int i = 0; i < dna.length(); i = SequenceChunker.findChunkEnd(dna, i, dna.length(), SequenceAlphabet.DNA)) {
+            chunks++;
+        }
+        return chunks;
+    }
+
+    @Benchmark
+    public PackedSequence pack() {
+        return PackedSequence.pack(dna);
+    }
+
+    @Benchmark
+    public double basicStatistics() {
+        SequenceAnalysis analysis = new SequenceAnalysis(packed, false, GeneticCode.STANDARD);
+        return analysis.getGcContent() + analysis.getStartCodonCount() + analysis.getStopCodonCount();
+    }
+
+    @Benchmark
+    public void translateFrames(Blackhole blackhole) {
+        for (int frame = 0; frame < 3; frame++) {
+            blackhole.consume(GeneticCode.STANDARD.translateFrame(packed, frame));
+        }
+    }
+
+    @Benchmark
+    public int findOrfs() {
+        int[] count = new int[1];
+        new OrfFinder().find(packed, orf -> {
+            count[0]++;
+            return true;
+        });
+        return count[0];
+    }
+
+    @Benchmark
+    public String reverseComplement() {
+        return OrfFinder.reverseComplement(dna);
+    }
+}
@@ -0,0 +1,64 @@
+package org.intellij.sdk.language.benchmark;
+
+import org.intellij.sdk.language.analysis.GeneticCode;
+import org.intellij.sdk.language.analysis.PackedSequence;
+import org.intellij.sdk.language.analysis.SequenceAnalysis;
+import org.intellij.sdk.language.analysis.SequenceStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A project of {@code copies} declarations that reuse 10 distinct 3 kb parts, analysed (GC, ORFs, frame 0
+ * translation) once per declaration and once per distinct content through a {@link SequenceStore}. Both pack every
+ * declaration, as the PSI does; the store run keeps its analyses alive for the whole pass, as the PSI caches would.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SequenceStoreBenchmark {
+    private static final int DISTINCT = 10;
+
+    @Param({"100", "1000"})
+    public int copies;
+
+    private String[] parts;
+
+    @Setup
+    public void setUp() {
+        parts = new String[DISTINCT];
+        for (int i = 0; i < DISTINCT; i++) {
+            parts[i] = BenchmarkSequences.random(3000, "ACGT", i);
+        }
+    }
+
+    @Benchmark
+    public int analyzeEach() {
+        int result = 0;
+        for (int i = 0; i < copies; i++) {
+            result += analyze(new SequenceAnalysis(PackedSequence.pack(parts[i % DISTINCT]), false, GeneticCode.STANDARD));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public int analyzeThroughStore() {
+        SequenceStore store = new SequenceStore();
+        SequenceAnalysis[] retained = new SequenceAnalysis[copies];
+        int result = 0;
+        for (int i = 0; i < copies; i++) {
+            PackedSequence sequence = store.intern(PackedSequence.pack(parts[i % DISTINCT]));
+            retained[i] = store.getOrCompute(sequence, GeneticCode.STANDARD,
+                    packed -> new SequenceAnalysis(packed, false, GeneticCode.STANDARD));
+            result += analyze(retained[i]);
+        }
+        return result + store.size() + retained.length;
+    }
+
+    private static int analyze(SequenceAnalysis analysis) {
+        return (int) analysis.getGcContent() + analysis.getOrfsByFrame().size() + analysis.getTranslation(0, false).length();
+    }
+}
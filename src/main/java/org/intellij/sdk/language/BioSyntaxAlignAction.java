@@ -0,0 +1,159 @@
+package org.intellij.sdk.language;
+
+import com.intellij.codeInsight.hint.HintManager;
+import com.intellij.diff.DiffContentFactory;
+import com.intellij.diff.DiffManager;
+import com.intellij.diff.requests.SimpleDiffRequest;
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.popup.JBPopupFactory;
+import com.intellij.openapi.util.registry.Registry;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.stubs.StubIndex;
+import com.intellij.psi.util.PsiTreeUtil;
+import org.intellij.sdk.language.analysis.Alignment;
+import org.intellij.sdk.language.analysis.PackedSequence;
+import org.intellij.sdk.language.analysis.PairwiseAligner;
+import org.intellij.sdk.language.psi.BioSyntaxDeclaration;
+import org.intellij.sdk.language.psi.BioSyntaxFile;
+import org.intellij.sdk.language.psi.stubs.BioSyntaxDeclarationNameIndex;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Aligns the declaration at the caret with another declaration of the project, chosen from a popup, and shows the
+ * gapped sequences side by side in the diff viewer, one line per {@link #LINE_WIDTH} columns.
+ */
+public class BioSyntaxAlignAction extends AnAction {
+    private static final String BAND_WIDTH_KEY = "biosyntax.alignment.band.width";
+    private static final int LINE_WIDTH = 60;
+
+    private enum Method {
+        GLOBAL("Global (Needleman-Wunsch)"),
+        LOCAL("Local (Smith-Waterman)"),
+        BANDED("Global, banded (long similar sequences)");
+
+        final String text;
+
+        Method(String text) {
+            this.text = text;
+        }
+
+        @Override
+        public String toString() {
+            return text;
+        }
+    }
+
+    @Override
+    public @NotNull ActionUpdateThread getActionUpdateThread() {
+        return ActionUpdateThread.BGT;
+    }
+
+    @Override
+    public void update(@NotNull AnActionEvent e) {
+        e.getPresentation().setEnabledAndVisible(findDeclaration(e) != null);
+    }
+
+    @Override
+    public void actionPerformed(@NotNull AnActionEvent e) {
+        Project project = e.getProject();
+        Editor editor = e.getData(CommonDataKeys.EDITOR);
+        BioSyntaxDeclaration declaration = findDeclaration(e);
+        if (project == null || editor == null || declaration == null) {
+            return;
+        }
+        List<String> names = new ArrayList<>(StubIndex.getInstance().getAllKeys(BioSyntaxDeclarationNameIndex.KEY, project));
+        names.sort(String.CASE_INSENSITIVE_ORDER);
+        JBPopupFactory.getInstance().createPopupChooserBuilder(names)
+                .setTitle("Align " + declaration.getName() + " With")
+                .setNamerForFiltering(name -> name)
+                .setItemChosenCallback(name -> {
+                    BioSyntaxDeclaration other = BioSyntaxUtil.findSequencesByName(project, name).stream()
+                            .filter(candidate -> candidate != declaration)
+                            .findFirst()
+                            .orElse(null);
+                    if (other == null) {
+                        HintManager.getInstance().showInformationHint(editor, "No other declaration named " + name);
+                        return;
+                    }
+                    // Nucleotide codes scored with the protein costs, or the other way round, mean nothing
+                    if (isProtein(declaration) != isProtein(other)) {
+                        HintManager.getInstance().showErrorHint(editor, String.format("Cannot align %s %s with %s %s",
+                                declaration.getSequenceKind(), declaration.getName(), other.getSequenceKind(), name));
+                        return;
+                    }
+                    JBPopupFactory.getInstance().createPopupChooserBuilder(List.of(Method.values()))
+                            .setTitle("Alignment")
+                            .setItemChosenCallback(method -> align(project, declaration, other, method))
+                            .createPopup()
+                            .showInBestPositionFor(editor);
+                })
+                .createPopup()
+                .showInBestPositionFor(editor);
+    }
+
+    private static void align(Project project, BioSyntaxDeclaration first, BioSyntaxDeclaration second, Method method) {
+        String firstName = first.getName();
+        String secondName = second.getName();
+        new Task.Backgroundable(project, "Aligning " + firstName + " with " + secondName, true) {
+            private PackedSequence a;
+            private PackedSequence b;
+            private Alignment alignment;
+
+            @Override
+            public void run(@NotNull ProgressIndicator indicator) {
+                // Packed sequences are immutable, so only taking them needs the read lock. Both have the same kind
+                boolean protein = ReadAction.compute(() -> {
+                    a = first.getPackedSequence();
+                    b = second.getPackedSequence();
+                    return isProtein(first);
+                });
+                PairwiseAligner aligner = new PairwiseAligner(
+                        protein ? PairwiseAligner.Scoring.PROTEIN : PairwiseAligner.Scoring.DEFAULT,
+                        ProgressManager::checkCanceled);
+                alignment = switch (method) {
+                    case GLOBAL -> aligner.align(a, b, PairwiseAligner.Mode.GLOBAL);
+                    case LOCAL -> aligner.align(a, b, PairwiseAligner.Mode.LOCAL);
+                    case BANDED -> aligner.alignBanded(a, b, Registry.intValue(BAND_WIDTH_KEY, 100));
+                };
+            }
+
+            @Override
+            public void onSuccess() {
+                String title = String.format("%s alignment: score %d, %d columns, %.1f%% identity, %d gaps",
+                        method == Method.LOCAL ? "Local" : "Global", alignment.getScore(), alignment.getLength(),
+                        alignment.getIdentity(), alignment.getGapOpenings());
+                DiffContentFactory contents = DiffContentFactory.getInstance();
+                DiffManager.getInstance().showDiff(project, new SimpleDiffRequest(title,
+                        contents.create(project, alignment.toGappedText(a, true, LINE_WIDTH)),
+                        contents.create(project, alignment.toGappedText(b, false, LINE_WIDTH)),
+                        String.format("%s [%d..%d]", firstName, alignment.getAStart() + 1, alignment.getAEnd()),
+                        String.format("%s [%d..%d]", secondName, alignment.getBStart() + 1, alignment.getBEnd())));
+            }
+        }.queue();
+    }
+
+    private static boolean isProtein(BioSyntaxDeclaration declaration) {
+        return "AASeq".equals(declaration.getSequenceKind());
+    }
+
+    private static BioSyntaxDeclaration findDeclaration(AnActionEvent e) {
+        Editor editor = e.getData(CommonDataKeys.EDITOR);
+        PsiFile file = e.getData(CommonDataKeys.PSI_FILE);
+        if (editor == null || !(file instanceof BioSyntaxFile)) {
+            return null;
+        }
+        return PsiTreeUtil.getParentOfType(file.findElementAt(editor.getCaretModel().getOffset()), BioSyntaxDeclaration.class);
+    }
+}
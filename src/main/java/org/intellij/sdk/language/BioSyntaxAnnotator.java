@@ -1,15 +1,18 @@
 package org.intellij.sdk.language;
 
+import com.intellij.lang.ASTNode;
 import com.intellij.lang.annotation.AnnotationHolder;
 import com.intellij.lang.annotation.Annotator;
 import com.intellij.lang.annotation.HighlightSeverity;
-import com.intellij.openapi.editor.DefaultLanguageHighlighterColors;
 import com.intellij.openapi.editor.colors.TextAttributesKey;
 import com.intellij.openapi.util.TextRange;
+import com.intellij.openapi.util.registry.Registry;
+import com.intellij.openapi.util.text.StringUtil;
 import com.intellij.psi.PsiElement;
-import com.intellij.psi.PsiLiteralExpression;
+import org.intellij.sdk.language.analysis.SequenceAlphabet;
 import org.intellij.sdk.language.psi.BioSyntaxDeclaration;
 import org.intellij.sdk.language.psi.BioSyntaxGeneDefinition;
+import org.intellij.sdk.language.psi.BioSyntaxTypes;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Objects;
@@ -22,32 +25,24 @@ final class BioSyntaxAnnotator implements Annotator {
     public static final String AA_SEQ_PREFIX = "AASeq:";
     public static final String GENE_PREFIX = "Gene:";
 
+    // Caps the error annotations per sequence so a long declaration with many typos stays readable
+    private static final String MAX_INVALID_RUNS_KEY = "biosyntax.annotator.max.invalid.runs";
+
     @Override
     public void annotate(@NotNull final PsiElement element, @NotNull AnnotationHolder holder) {
-        if (element instanceof PsiLiteralExpression literalExpression) {
-            annotateStringLiteral(literalExpression, holder);
-        } else if (element instanceof BioSyntaxDeclaration declaration) {
-            annotateDeclaration(declaration, holder);
+        if (element instanceof BioSyntaxDeclaration declaration) {
+            long start = BioSyntaxMetrics.start();
+            try {
+                annotateDeclaration(declaration, holder);
+            } finally {
+                BioSyntaxMetrics.stop(BioSyntaxMetrics.Component.ANNOTATOR, start, declaration.getSequenceLength());
+            }
         } else if (element instanceof BioSyntaxGeneDefinition geneDefinition) {
-            annotateGeneDefinition(geneDefinition, holder);
-        }
-    }
-
-    private void annotateStringLiteral(PsiLiteralExpression literalExpression, AnnotationHolder holder) {
-        String value = literalExpression.getValue() instanceof String ? (String) literalExpression.getValue() : null;
-
-        if (value != null) {
-            TextRange literalTextRange = literalExpression.getTextRange();
-            int contentStartOffset = literalTextRange.getStartOffset() + 1; // Skip the starting quote
-            int contentEndOffset = literalTextRange.getEndOffset() - 1;     // Skip the ending quote
-
-            if (value.startsWith(GENE_PREFIX)) {
-                validateGeneProperties(value, contentStartOffset, holder);
-            } else {
-                String sequencePrefix = getSequencePrefix(value);
-                if (sequencePrefix != null) {
-                    annotateSequence(sequencePrefix, value, contentStartOffset, contentEndOffset, holder);
-                }
+            long start = BioSyntaxMetrics.start();
+            try {
+                annotateGeneDefinition(geneDefinition, holder);
+            } finally {
+                BioSyntaxMetrics.stop(BioSyntaxMetrics.Component.ANNOTATOR, start, geneDefinition.getSequenceLength());
             }
         }
     }
@@ -60,96 +55,71 @@ final class BioSyntaxAnnotator implements Annotator {
         return null;
     }
 
-    private void annotateSequence(String prefix, String value, int contentStartOffset, int contentEndOffset, AnnotationHolder holder) {
-        String sequence = value.substring(prefix.length()).trim();
-        int prefixLength = prefix.length();
-
-        TextRange prefixRange = new TextRange(contentStartOffset, contentStartOffset + prefixLength);
-        TextRange sequenceRange = new TextRange(contentStartOffset + prefixLength, contentEndOffset);
-
-        holder.newSilentAnnotation(HighlightSeverity.INFORMATION)
-                .range(prefixRange)
-                .textAttributes(BioSyntaxSyntaxHighlighter.TYPE_DECLARATION)
-                .create();
-
-        if (!isValidSequence(sequence, prefix)) {
-            holder.newAnnotation(HighlightSeverity.ERROR, "Invalid sequence")
-                    .range(sequenceRange)
-                    .create();
-        } else {
-            holder.newSilentAnnotation(HighlightSeverity.INFORMATION)
-                    .range(sequenceRange)
-                    .textAttributes(getSequenceTextAttributes(prefix))
+    /**
+     * Highlights {@code text[start, end)} and marks each run of invalid characters as its own error.
+     *
+     * @param offset document offset of {@code text[0]}
+     */
+    private void annotateSequenceContent(CharSequence text, int start, int end, int offset, TextRange prefixRange,
+                                         TextRange sequenceRange, String prefix, AnnotationHolder holder) {
+        if (isLayoutOnly(text, start, end)) {
+            // A "" literal has no text of its own to underline, so the error covers its quotes
+            TextRange emptyRange = start < end
+                    ? sequenceRange
+                    : new TextRange(offset + start - 1, offset + Math.min(end + 1, text.length()));
+            holder.newAnnotation(HighlightSeverity.ERROR, "Empty sequence")
+                    .range(emptyRange)
                     .create();
+            return;
         }
-    }
-
-    private void validateGeneProperties(String geneDefinition, int contentStartOffset, AnnotationHolder holder) {
-        String propertiesPart = geneDefinition.substring(GENE_PREFIX.length()).trim(); // Get properties part
-        String[] properties = propertiesPart.split(","); // Split by comma
 
-        TextRange prefixRange = new TextRange(contentStartOffset, contentStartOffset + GENE_PREFIX.length());
         holder.newSilentAnnotation(HighlightSeverity.INFORMATION)
-                .range(prefixRange)
-                .textAttributes(BioSyntaxSyntaxHighlighter.GENE)
+                .range(sequenceRange)
+                .textAttributes(getSequenceTextAttributes(prefix))
                 .create();
 
-        for (String property : properties) {
-            String[] keyValue = property.split(":");
-            if (keyValue.length == 2) {
-                String key = keyValue[0].trim();
-                String value = keyValue[1].trim();
-
-                highlightPropertyName(contentStartOffset, propertiesPart, property, key, holder);
-                validateAndHighlightPropertyValue(key, value, contentStartOffset, propertiesPart, property, holder);
-            }
+        SequenceAlphabet alphabet = getAlphabet(prefix);
+        int limit = Registry.intValue(MAX_INVALID_RUNS_KEY, 20);
+        int runs = alphabet.findInvalidRuns(text, start, end, limit, (runStart, runEnd) ->
+                holder.newAnnotation(HighlightSeverity.ERROR, "Invalid " + describe(alphabet) + " '" + text.subSequence(runStart, runEnd) + "'")
+                        .range(new TextRange(offset + runStart, offset + runEnd))
+                        .create());
+        if (runs > limit) {
+            holder.newAnnotation(HighlightSeverity.ERROR, (runs - limit) + " more invalid ranges not shown")
+                    .range(prefixRange)
+                    .create();
         }
     }
 
-    private void highlightPropertyName(int contentStartOffset, String propertiesPart, String property, String key, AnnotationHolder holder) {
-        int keyStartOffset = contentStartOffset + GENE_PREFIX.length() + propertiesPart.indexOf(property.trim());
-        int keyEndOffset = keyStartOffset + key.length();
-
-        holder.newSilentAnnotation(HighlightSeverity.INFORMATION)
-                .range(new TextRange(keyStartOffset, keyEndOffset))
-                .textAttributes(BioSyntaxSyntaxHighlighter.PROPERTY_NAME)
-                .create();
-    }
-
-    private void validateAndHighlightPropertyValue(String key, String value, int contentStartOffset, String propertiesPart, String property, AnnotationHolder holder) {
-        int keyEndOffset = contentStartOffset + GENE_PREFIX.length() + propertiesPart.indexOf(property.trim()) + key.length();
-        int valueStartOffset = keyEndOffset + 1; // +1 to skip the separating colon
-        int valueEndOffset = valueStartOffset + value.length();
-        TextRange valueRange = new TextRange(valueStartOffset, valueEndOffset);
-
-        boolean isValid = switch (key) {
-            case "Start_Codon", "Stop_Codon", "Coding_Sequence" -> isValidSequence(value, NT_SEQ_PREFIX);
-            default -> true;
-        };
-
-        if (!isValid) {
-            holder.newAnnotation(HighlightSeverity.ERROR, "Invalid " + key + ": " + value)
-                    .range(valueRange)
-                    .create();
-        } else {
-            holder.newSilentAnnotation(HighlightSeverity.INFORMATION)
-                    .range(valueRange)
-                    .textAttributes(DefaultLanguageHighlighterColors.NUMBER)
-                    .create();
+    // Scans in place: the literal may be megabytes long and is not copied
+    private static boolean isLayoutOnly(CharSequence text, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (!SequenceAlphabet.isLayout(text.charAt(i))) {
+                return false;
+            }
         }
+        return true;
     }
 
     private void annotateDeclaration(BioSyntaxDeclaration declaration, AnnotationHolder holder) {
         String identifier = declaration.getIdentifier();
-        String sequenceText = declaration.getSequenceText();
+        String kind = declaration.getSequenceKind();
+
+        if (identifier == null || kind == null) return;
 
-        if (identifier == null || sequenceText == null) return;
+        String prefix = Objects.requireNonNull(getSequencePrefix(kind + ":"));
+        CharSequence text = declaration.getNode().getChars();
+        int declarationOffset = declaration.getTextRange().getStartOffset();
+        TextRange prefixRange = TextRange.from(declarationOffset, kind.length());
+        TextRange identifierRange = TextRange.from(declarationOffset + StringUtil.indexOf(text, identifier, kind.length()),
+                identifier.length());
 
-        String prefix = getSequencePrefix(identifier);
-        TextRange prefixRange = TextRange.from(declaration.getTextRange().getStartOffset(), Objects.requireNonNull(prefix).length());
-        TextRange identifierRange = TextRange.from(prefixRange.getEndOffset(), identifier.length());
-        TextRange sequenceRange = TextRange.from(declaration.getTextRange().getStartOffset() + declaration.getText().indexOf(sequenceText),
-                sequenceText.length());
+        // Validate the raw text between the quotes rather than the parsed payload, which stops at the first bad letter
+        int start = StringUtil.indexOf(text, '"') + 1;
+        if (start == 0) return;
+        int end = StringUtil.indexOf(text, '"', start);
+        if (end < 0) end = text.length();
+        TextRange sequenceRange = new TextRange(declarationOffset + start, declarationOffset + end);
 
         holder.newSilentAnnotation(HighlightSeverity.INFORMATION)
                 .range(prefixRange)
@@ -161,24 +131,16 @@ final class BioSyntaxAnnotator implements Annotator {
                 .textAttributes(BioSyntaxSyntaxHighlighter.IDENTIFIER)
                 .create();
 
-        if (!isValidSequence(sequenceText, prefix)) {
-            holder.newAnnotation(HighlightSeverity.ERROR, "Invalid sequence")
-                    .range(sequenceRange)
-                    .create();
-        } else {
-            holder.newSilentAnnotation(HighlightSeverity.INFORMATION)
-                    .range(sequenceRange)
-                    .textAttributes(getSequenceTextAttributes(prefix))
-                    .create();
-        }
+        annotateSequenceContent(text, start, end, declarationOffset, prefixRange, sequenceRange, prefix, holder);
     }
 
     private void annotateGeneDefinition(BioSyntaxGeneDefinition geneDefinition, AnnotationHolder holder) {
-        String identifier = geneDefinition.getGeneBody().getGenePropertyList().getFirst().getText();
-        if (identifier == null) return;
+        ASTNode keyword = geneDefinition.getNode().findChildByType(BioSyntaxTypes.GENE);
+        ASTNode identifier = geneDefinition.getNode().findChildByType(BioSyntaxTypes.IDENTIFIER);
+        if (keyword == null || identifier == null) return;
 
-        TextRange prefixRange = TextRange.from(geneDefinition.getTextRange().getStartOffset(), GENE_PREFIX.length());
-        TextRange identifierRange = TextRange.from(prefixRange.getEndOffset(), identifier.length());
+        TextRange prefixRange = keyword.getTextRange();
+        TextRange identifierRange = identifier.getTextRange();
 
         holder.newSilentAnnotation(HighlightSeverity.INFORMATION)
                 .range(prefixRange)
@@ -191,13 +153,21 @@ final class BioSyntaxAnnotator implements Annotator {
                 .create();
     }
 
-    private boolean isValidSequence(String sequence, String type) {
-        return switch (type) {
-            case NT_SEQ_PREFIX -> sequence.matches("[ATUCG]+");
-            case RNA_SEQ_PREFIX -> sequence.matches("[AUGC]+");
-            case DNA_SEQ_PREFIX -> sequence.matches("[ATGC]+");
-            case AA_SEQ_PREFIX -> sequence.matches("[ACDEFGHIKLMNPQRSTVWY]+");
-            default -> false;
+    private SequenceAlphabet getAlphabet(String prefix) {
+        return switch (prefix) {
+            case NT_SEQ_PREFIX -> SequenceAlphabet.NUCLEOTIDE;
+            case RNA_SEQ_PREFIX -> SequenceAlphabet.RNA;
+            case DNA_SEQ_PREFIX -> SequenceAlphabet.DNA;
+            default -> SequenceAlphabet.AMINO_ACID;
+        };
+    }
+
+    private String describe(SequenceAlphabet alphabet) {
+        return switch (alphabet) {
+            case NUCLEOTIDE -> "nucleotide";
+            case RNA -> "RNA nucleotide";
+            case DNA -> "DNA nucleotide";
+            case AMINO_ACID -> "amino acid";
         };
     }
 
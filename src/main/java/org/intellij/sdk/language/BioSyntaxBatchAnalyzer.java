@@ -0,0 +1,373 @@
+package org.intellij.sdk.language;
+
+import com.intellij.lexer.Lexer;
+import com.intellij.psi.TokenType;
+import com.intellij.psi.tree.IElementType;
+import org.intellij.sdk.language.analysis.*;
+import org.intellij.sdk.language.psi.BioSyntaxTypes;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Validates and summarizes a directory tree of {@code .bsyn} files without starting the IDE, for CI pipelines that
+ * check generated files. Each declaration is written as one JSON line with its validity and length; valid nucleotide
+ * sequences add GC content, codon counts, ORFs and CRC32 checksums of their six translations, valid proteins a CRC32
+ * checksum of their back-translation.
+ * <p>
+ * Files are read, lexed and analyzed independently on a fork/join pool with no shared state besides the summary
+ * counters. Lines of one file are written together, but files appear in completion order; every line carries its path.
+ * The summary line reports files/s and MB/s, so runs with different {@code --threads} can be compared.
+ * <p>
+ * Usage: {@code BioSyntaxBatchAnalyzer <dir> [--output <file>] [--threads <n>] [--fail-on-invalid]}, or
+ * {@code ./gradlew analyzeBsyn -Pbsyn.args="<dir> ..."}. A summary with files/s and MB/s goes to stderr.
+ */
+public final class BioSyntaxBatchAnalyzer {
+    private static final int EXIT_INVALID = 1;
+    private static final int EXIT_USAGE = 2;
+    private static final Map<Character, String> ESCAPES = Map.of('"', "\\\"", '\\', "\\\\", '\n', "\\n", '\r', "\\r", '\t', "\\t");
+
+    private final Path root;
+    private final LongAdder files = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+    private final LongAdder declarations = new LongAdder();
+    private final LongAdder invalidDeclarations = new LongAdder();
+
+    BioSyntaxBatchAnalyzer(Path root) {
+        this.root = root;
+    }
+
+    record Options(@NotNull Path root, @Nullable Path output, int threads, boolean failOnInvalid) {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Options options = parseArguments(args);
+        if (options == null || !Files.isDirectory(options.root())) {
+            System.err.println("Usage: BioSyntaxBatchAnalyzer <dir> [--output <file>] [--threads <n>] [--fail-on-invalid]");
+            System.exit(EXIT_USAGE);
+        }
+
+        BioSyntaxBatchAnalyzer analyzer = new BioSyntaxBatchAnalyzer(options.root());
+        long start = System.nanoTime();
+        try (Writer writer = options.output() != null
+                ? Files.newBufferedWriter(options.output(), StandardCharsets.UTF_8)
+                : new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8))) {
+            analyzer.run(options.threads(), writer);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.err.printf("%d files, %d declarations (%d invalid), %.1f MB in %.2f s: %.1f files/s, %.1f MB/s on %d threads%n",
+                analyzer.files.sum(), analyzer.declarations.sum(), analyzer.invalidDeclarations.sum(),
+                analyzer.bytes.sum() / 1e6, seconds, analyzer.files.sum() / seconds, analyzer.bytes.sum() / 1e6 / seconds,
+                options.threads());
+        if (options.failOnInvalid() && analyzer.invalidDeclarations.sum() > 0) {
+            System.exit(EXIT_INVALID);
+        }
+    }
+
+    /**
+     * @return null if the arguments do not follow the usage: no or several directories, an unknown option, or an
+     * option missing its value
+     */
+    @Nullable
+    static Options parseArguments(String @NotNull [] args) {
+        Path root = null;
+        Path output = null;
+        int threads = Runtime.getRuntime().availableProcessors();
+        boolean failOnInvalid = false;
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            boolean hasValue = i + 1 < args.length && !args[i + 1].startsWith("--");
+            switch (arg) {
+                case "--output" -> {
+                    if (!hasValue) {
+                        return null;
+                    }
+                    output = Paths.get(args[++i]);
+                }
+                case "--threads" -> {
+                    if (!hasValue) {
+                        return null;
+                    }
+                    try {
+                        threads = Integer.parseInt(args[++i]);
+                    } catch (NumberFormatException e) {
+                        return null;
+                    }
+                }
+                case "--fail-on-invalid" -> failOnInvalid = true;
+                default -> {
+                    if (arg.startsWith("--") || root != null) {
+                        return null;
+                    }
+                    root = Paths.get(arg);
+                }
+            }
+        }
+        return root != null && threads >= 1 ? new Options(root, output, threads, failOnInvalid) : null;
+    }
+
+    private void run(int threads, Writer writer) throws IOException, InterruptedException {
+        List<Path> paths;
+        try (Stream<Path> walk = Files.walk(root)) {
+            paths = walk.filter(path -> path.toString().endsWith(".bsyn") && Files.isRegularFile(path))
+                    .collect(Collectors.toList());
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            pool.submit(() -> paths.parallelStream().forEach(path -> {
+                String lines = analyzeFile(path);
+                synchronized (writer) {
+                    try {
+                        writer.write(lines);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            })).get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private String analyzeFile(Path path) {
+        String relativePath = root.relativize(path).toString().replace(File.separatorChar, '/');
+        byte[] content;
+        try {
+            content = Files.readAllBytes(path);
+        } catch (IOException e) {
+            invalidDeclarations.increment();
+            return "{\"file\":" + quote(relativePath) + ",\"valid\":false,\"error\":" + quote(String.valueOf(e.getMessage())) + "}\n";
+        }
+        files.increment();
+        bytes.add(content.length);
+        return analyzeText(relativePath, new String(content, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * The JSON lines of the declarations in {@code text}, one per declaration in file order.
+     */
+    String analyzeText(String relativePath, String text) {
+        StringBuilder out = new StringBuilder();
+        scanDeclarations(text, declaration -> {
+            declarations.increment();
+            int invalidRuns = declaration.invalidRuns(text);
+            boolean valid = declaration.isWellFormed() && declaration.hasLetters(text) && invalidRuns == 0;
+            if (!valid) {
+                invalidDeclarations.increment();
+            }
+            writeDeclaration(relativePath, text, declaration, valid, invalidRuns, out);
+        });
+        return out.toString();
+    }
+
+    /**
+     * A sequence declaration found by the lexer.
+     *
+     * @param name         null if the identifier is missing
+     * @param contentStart offset after the opening quote, -1 if there is none
+     * @param contentEnd   offset of the closing quote, or of the end of the file if {@code closed} is false
+     * @param geneticCode  from a {@code transl_table} directive in the comments before it or in the file header
+     */
+    private record Declaration(@NotNull String kind, @Nullable String name, int line, int contentStart, int contentEnd,
+                               boolean closed, @NotNull GeneticCode geneticCode) {
+        SequenceAlphabet alphabet() {
+            return switch (kind) {
+                case "NtSeq" -> SequenceAlphabet.NUCLEOTIDE;
+                case "RNASeq" -> SequenceAlphabet.RNA;
+                case "DNASeq" -> SequenceAlphabet.DNA;
+                default -> SequenceAlphabet.AMINO_ACID;
+            };
+        }
+
+        boolean isWellFormed() {
+            return name != null && contentStart >= 0 && closed;
+        }
+
+        boolean hasLetters(String text) {
+            for (int i = contentStart; i >= 0 && i < contentEnd; i++) {
+                if (!SequenceAlphabet.isLayout(text.charAt(i))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        int invalidRuns(String text) {
+            return contentStart < 0 ? 0 : alphabet().findInvalidRuns(text, contentStart, contentEnd, 0, (start, end) -> {
+            });
+        }
+    }
+
+    private static void scanDeclarations(String text, Consumer<Declaration> consumer) {
+        Lexer lexer = new BioSyntaxLexerAdapter();
+        lexer.start(text);
+
+        StringBuilder comments = new StringBuilder();
+        GeneticCode fileCode = null;
+        boolean inHeader = true;
+        int line = 0;
+        int lineCountedTo = 0;
+
+        String kind = null;
+        String name = null;
+        int declarationLine = 0;
+        GeneticCode declarationCode = GeneticCode.STANDARD;
+        int contentStart = -1;
+        for (IElementType type; (type = lexer.getTokenType()) != null; lexer.advance()) {
+            if (type == BioSyntaxTypes.COMMENT) {
+                comments.append(lexer.getTokenSequence()).append('\n');
+                continue;
+            }
+            if (type == TokenType.WHITE_SPACE || type == BioSyntaxTypes.CRLF) {
+                continue;
+            }
+            if (inHeader) {
+                fileCode = GeneticCode.fromDirective(comments);
+                inHeader = false;
+            }
+
+            if (type == BioSyntaxTypes.NT_SEQ || type == BioSyntaxTypes.RNA_SEQ || type == BioSyntaxTypes.DNA_SEQ ||
+                    type == BioSyntaxTypes.AA_SEQ) {
+                if (kind != null) {
+                    consumer.accept(new Declaration(kind, name, declarationLine, contentStart, lexer.getTokenStart(), false, declarationCode));
+                }
+                for (; lineCountedTo < lexer.getTokenStart(); lineCountedTo++) {
+                    if (text.charAt(lineCountedTo) == '\n') {
+                        line++;
+                    }
+                }
+                kind = lexer.getTokenText();
+                name = null;
+                declarationLine = line + 1;
+                contentStart = -1;
+                GeneticCode code = GeneticCode.fromDirective(comments);
+                declarationCode = code != null ? code : fileCode != null ? fileCode : GeneticCode.STANDARD;
+            } else if (kind != null && type == BioSyntaxTypes.IDENTIFIER && name == null && contentStart < 0) {
+                name = lexer.getTokenText();
+            } else if (kind != null && type == BioSyntaxTypes.QUOTE) {
+                if (contentStart < 0) {
+                    contentStart = lexer.getTokenEnd();
+                } else {
+                    consumer.accept(new Declaration(kind, name, declarationLine, contentStart, lexer.getTokenStart(), true, declarationCode));
+                    kind = null;
+                }
+            } else if (kind != null && contentStart < 0 && type != BioSyntaxTypes.IDENTIFIER && type != BioSyntaxTypes.EQUALS) {
+                // Anything else before the opening quote, e.g. the start of a gene, ends a malformed declaration
+                consumer.accept(new Declaration(kind, name, declarationLine, -1, -1, false, declarationCode));
+                kind = null;
+            }
+            comments.setLength(0);
+        }
+        if (kind != null) {
+            consumer.accept(new Declaration(kind, name, declarationLine, contentStart, text.length(), false, declarationCode));
+        }
+    }
+
+    private static void writeDeclaration(String file, String text, Declaration declaration, boolean valid, int invalidRuns,
+                                         StringBuilder out) {
+        out.append("{\"file\":").append(quote(file))
+                .append(",\"line\":").append(declaration.line())
+                .append(",\"kind\":").append(quote(declaration.kind()))
+                .append(",\"name\":").append(declaration.name() != null ? quote(declaration.name()) : "null");
+        out.append(",\"valid\":").append(valid)
+                .append(",\"wellFormed\":").append(declaration.isWellFormed())
+                .append(",\"invalidRuns\":").append(invalidRuns);
+        if (declaration.contentStart() < 0) {
+            out.append("}\n");
+            return;
+        }
+
+        StringBuilder content = new StringBuilder(declaration.contentEnd() - declaration.contentStart());
+        for (int i = declaration.contentStart(); i < declaration.contentEnd(); i++) {
+            char ch = text.charAt(i);
+            if (!SequenceAlphabet.isLayout(ch)) {
+                content.append(ch);
+            }
+        }
+        out.append(",\"length\":").append(content.length())
+                .append(",\"sequenceCrc32\":").append(quote(crc32(content)));
+        // Statistics are only meaningful, and the sequence only packs, when every letter is in the alphabet
+        if (invalidRuns > 0) {
+            out.append("}\n");
+            return;
+        }
+        if (declaration.alphabet() == SequenceAlphabet.AMINO_ACID) {
+            // Every residue of the alphabet has a codon, so the back-translation has no NNN placeholders
+            out.append(",\"geneticCode\":").append(declaration.geneticCode().getId())
+                    .append(",\"backTranslationCrc32\":")
+                    .append(quote(crc32(SequenceViews.backTranslation(content, declaration.geneticCode(), 'T'))))
+                    .append("}\n");
+            return;
+        }
+
+        SequenceAnalysis analysis = new SequenceAnalysis(PackedSequence.pack(content), false, declaration.geneticCode());
+
+        int orfs = 0;
+        int longestOrf = 0;
+        for (List<OrfFinder.Orf> frame : analysis.getOrfsByFrame().values()) {
+            orfs += frame.size();
+            for (OrfFinder.Orf orf : frame) {
+                longestOrf = Math.max(longestOrf, orf.length());
+            }
+        }
+        out.append(",\"gcContent\":").append(String.format(Locale.ROOT, "%.2f", analysis.getGcContent()))
+                .append(",\"startCodons\":").append(analysis.getStartCodonCount())
+                .append(",\"stopCodons\":").append(analysis.getStopCodonCount())
+                .append(",\"geneticCode\":").append(analysis.getGeneticCode().getId())
+                .append(",\"orfs\":").append(orfs)
+                .append(",\"longestOrf\":").append(longestOrf)
+                .append(",\"translationCrc32\":[");
+        // Frames 1-3 on the given strand, then 1-3 on the reverse complement
+        for (int slot = 0; slot < 6; slot++) {
+            if (slot > 0) {
+                out.append(',');
+            }
+            out.append(quote(crc32(analysis.getTranslation(slot % 3, slot >= 3))));
+        }
+        out.append("]}\n");
+    }
+
+    private static String crc32(CharSequence sequence) {
+        CRC32 crc = new CRC32();
+        crc.update(sequence.toString().getBytes(StandardCharsets.US_ASCII));
+        return String.format("%08x", crc.getValue());
+    }
+
+    private static String quote(String value) {
+        StringBuilder result = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char ch = value.charAt(i);
+            String escape = ESCAPES.get(ch);
+            if (escape != null) {
+                result.append(escape);
+            } else if (ch < 0x20) {
+                result.append(String.format("\\u%04x", (int) ch));
+            } else {
+                result.append(ch);
+            }
+        }
+        return result.append('"').toString();
+    }
+}
@@ -0,0 +1,298 @@
+package org.intellij.sdk.language;
+
+import com.intellij.lexer.Lexer;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.fileEditor.impl.LoadTextUtil;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Disposer;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.TokenType;
+import com.intellij.psi.search.FileTypeIndex;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.tree.TokenSet;
+import org.intellij.sdk.language.analysis.CodonUsage;
+import org.intellij.sdk.language.analysis.GeneticCode;
+import org.intellij.sdk.language.psi.BioSyntaxTypes;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+
+/**
+ * Codon usage of the coding sequences of all genes and of all nucleotide declarations of the project, with the CAI of
+ * each against the pooled usage of all of them.
+ * <p>
+ * Codons are counted from a lexer pass over the text of every file, so no PSI is built and lazy gene bodies stay
+ * unparsed. The texts are taken under a non-blocking read action, which gives way to write actions; counting runs
+ * afterwards without the read lock, as a fork/join reduction in which every task sums the codons of its files into its
+ * own {@link CodonUsage} and the partial sums are merged as the tasks join. Both run on a pool of their own, so a
+ * refresh never occupies the shared IDE pools. The result of every file is kept with the modification stamp of its
+ * text, so after an edit only the changed files are counted again and the rest is merged from the cache.
+ */
+@Service(Service.Level.PROJECT)
+public final class BioSyntaxCodonUsage implements Disposable {
+    private static final int FILES_PER_TASK = 8;
+    // The letters of a literal, invalid ones included; CodonUsage leaves out the codons they fall in
+    private static final TokenSet LITERAL_TOKENS = TokenSet.create(BioSyntaxTypes.NUCLEOTIDE,
+            BioSyntaxTypes.RNA_NUCLEOTIDE, BioSyntaxTypes.DNA_NUCLEOTIDE, BioSyntaxTypes.AMINO_ACID, TokenType.BAD_CHARACTER);
+
+    private final Project project;
+    private final Map<VirtualFile, FileUsage> cache = new ConcurrentHashMap<>();
+    private final ForkJoinPool pool = new ForkJoinPool(Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+
+    public BioSyntaxCodonUsage(Project project) {
+        this.project = project;
+    }
+
+    public static BioSyntaxCodonUsage getInstance(@NotNull Project project) {
+        return project.getService(BioSyntaxCodonUsage.class);
+    }
+
+    /**
+     * The codons of one gene or declaration.
+     *
+     * @param kind "Gene" or the declaration kind
+     */
+    public record Entry(@NotNull String name, @NotNull String kind, @NotNull VirtualFile file, int offset,
+                        @NotNull GeneticCode geneticCode, @NotNull CodonUsage usage) {
+    }
+
+    /**
+     * The entries of the project and their pooled usage. The CAI reference weights are computed from the pooled usage
+     * once per genetic code in use.
+     */
+    public record Snapshot(@NotNull List<Entry> entries, @NotNull CodonUsage total, @NotNull GeneticCode geneticCode,
+                           @NotNull Map<GeneticCode, double[]> weights) {
+        public double getCai(@NotNull Entry entry) {
+            return entry.usage().getCai(weights.get(entry.geneticCode()));
+        }
+    }
+
+    private record FileUsage(long stamp, @NotNull List<Entry> entries, @NotNull CodonUsage total) {
+    }
+
+    // A file taken under the read lock, counted after releasing it. The text is null where it is read from disk.
+    private record Source(@NotNull VirtualFile file, long stamp, @Nullable CharSequence text) {
+    }
+
+    // A gene or declaration found by the lexer
+    private record Part(String name, String kind, int offset, GeneticCode geneticCode, int start, int end) {
+    }
+
+    /**
+     * Brings the cached usage up to date in the background and hands it to {@code consumer} on the EDT, unless
+     * {@code parent} is disposed first.
+     */
+    public void compute(@NotNull Disposable parent, @NotNull Consumer<? super Snapshot> consumer) {
+        ReadAction.nonBlocking(this::collectSources)
+                .inSmartMode(project)
+                .expireWith(parent)
+                .submit(pool)
+                // The callback may still hold the read lock, counting is handed back to the pool
+                .onSuccess(sources -> pool.execute(() -> {
+                    Snapshot snapshot = count(sources);
+                    ApplicationManager.getApplication().invokeLater(() -> consumer.accept(snapshot),
+                            ModalityState.any(), o -> project.isDisposed() || Disposer.isDisposed(parent));
+                }));
+    }
+
+    @Override
+    public void dispose() {
+        pool.shutdownNow();
+    }
+
+    private List<Source> collectSources() {
+        List<Source> sources = new ArrayList<>();
+        FileDocumentManager documentManager = FileDocumentManager.getInstance();
+        for (VirtualFile file : FileTypeIndex.getFiles(BioSyntaxFileType.INSTANCE, GlobalSearchScope.projectScope(project))) {
+            ProgressManager.checkCanceled();
+            // An open file is counted as shown in the editor, saved or not
+            Document document = documentManager.getCachedDocument(file);
+            sources.add(document != null
+                    ? new Source(file, document.getModificationStamp(), document.getImmutableCharSequence())
+                    : new Source(file, file.getModificationStamp(), null));
+        }
+        return sources;
+    }
+
+    private Snapshot count(List<Source> sources) {
+        Set<VirtualFile> files = new HashSet<>();
+        for (Source source : sources) {
+            files.add(source.file());
+        }
+        cache.keySet().retainAll(files);
+
+        CodonUsage total = pool.invoke(new CountTask(sources, 0, sources.size()));
+
+        List<Entry> entries = new ArrayList<>();
+        Map<GeneticCode, Long> codonsByCode = new HashMap<>();
+        for (Source source : sources) {
+            FileUsage usage = cache.get(source.file());
+            if (usage != null) {
+                entries.addAll(usage.entries());
+                for (Entry entry : usage.entries()) {
+                    codonsByCode.merge(entry.geneticCode(), entry.usage().getTotal(), Long::sum);
+                }
+            }
+        }
+        Map<GeneticCode, double[]> weights = new HashMap<>();
+        for (GeneticCode code : codonsByCode.keySet()) {
+            weights.put(code, total.getRelativeAdaptiveness(code));
+        }
+        // The pooled table is labeled with the code that translates most of the codons
+        GeneticCode mainCode = codonsByCode.entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .map(Map.Entry::getKey)
+                .orElse(GeneticCode.STANDARD);
+        weights.putIfAbsent(mainCode, total.getRelativeAdaptiveness(mainCode));
+        return new Snapshot(entries, total, mainCode, weights);
+    }
+
+    private final class CountTask extends RecursiveTask<CodonUsage> {
+        private final List<Source> sources;
+        private final int from;
+        private final int to;
+
+        CountTask(List<Source> sources, int from, int to) {
+            this.sources = sources;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected CodonUsage compute() {
+            if (to - from > FILES_PER_TASK) {
+                int middle = (from + to) >>> 1;
+                CountTask left = new CountTask(sources, from, middle);
+                left.fork();
+                CodonUsage usage = new CountTask(sources, middle, to).compute();
+                usage.add(left.join());
+                return usage;
+            }
+            CodonUsage usage = new CodonUsage();
+            for (int i = from; i < to; i++) {
+                FileUsage fileUsage = getFileUsage(sources.get(i));
+                if (fileUsage != null) {
+                    usage.add(fileUsage.total());
+                }
+            }
+            return usage;
+        }
+    }
+
+    @Nullable
+    private FileUsage getFileUsage(Source source) {
+        VirtualFile file = source.file();
+        FileUsage cached = cache.get(file);
+        if (cached != null && cached.stamp() == source.stamp()) {
+            return cached;
+        }
+        CharSequence text = source.text();
+        if (text == null) {
+            if (!file.isValid()) {
+                cache.remove(file);
+                return null;
+            }
+            text = LoadTextUtil.loadText(file);
+        }
+
+        List<Part> parts = lexParts(text);
+        List<Entry> entries = new ArrayList<>(parts.size());
+        CodonUsage total = new CodonUsage();
+        for (Part part : parts) {
+            CodonUsage usage = new CodonUsage();
+            usage.addSequence(text, part.start(), part.end());
+            total.add(usage);
+            entries.add(new Entry(part.name(), part.kind(), file, part.offset(), part.geneticCode(), usage));
+        }
+        FileUsage usage = new FileUsage(source.stamp(), List.copyOf(entries), total);
+        cache.put(file, usage);
+        return usage;
+    }
+
+    /**
+     * The nucleotide declarations and the first coding sequence of every gene in {@code text}, found by the lexer alone.
+     * The genetic code is read from the same {@code transl_table} directives as {@link BioSyntaxUtil#findGeneticCode}:
+     * the comments right before an item, else the comments heading the file.
+     */
+    private static List<Part> lexParts(CharSequence text) {
+        List<Part> parts = new ArrayList<>();
+        Lexer lexer = new BioSyntaxLexerAdapter();
+        lexer.start(text);
+        StringBuilder comments = new StringBuilder();
+        GeneticCode headerCode = null;
+        boolean inHeader = true;
+
+        String kind = null;
+        String name = null;
+        int offset = 0;
+        GeneticCode code = GeneticCode.STANDARD;
+        boolean counted = false;
+        int literalStart = -1;
+        for (IElementType type; (type = lexer.getTokenType()) != null; lexer.advance()) {
+            if (type == BioSyntaxTypes.COMMENT) {
+                comments.append(lexer.getTokenSequence()).append('\n');
+                continue;
+            }
+            if (type == TokenType.WHITE_SPACE) {
+                continue;
+            }
+            if (inHeader) {
+                headerCode = GeneticCode.fromDirective(comments);
+                inHeader = false;
+            }
+            if (literalStart >= 0 && type != BioSyntaxTypes.QUOTE && !LITERAL_TOKENS.contains(type)) {
+                // A literal left open ends where the lexer moved on to the next property or item
+                if (name != null) {
+                    parts.add(new Part(name, kind, offset, code, literalStart, lexer.getTokenStart()));
+                }
+                kind = null;
+                counted = false;
+                literalStart = -1;
+            }
+            if (type == BioSyntaxTypes.NT_SEQ || type == BioSyntaxTypes.RNA_SEQ || type == BioSyntaxTypes.DNA_SEQ
+                    || type == BioSyntaxTypes.AA_SEQ || type == BioSyntaxTypes.GENE) {
+                kind = type == BioSyntaxTypes.AA_SEQ ? null : type == BioSyntaxTypes.GENE ? "Gene" : lexer.getTokenText();
+                name = null;
+                offset = lexer.getTokenStart();
+                GeneticCode directive = GeneticCode.fromDirective(comments);
+                code = directive != null ? directive : headerCode != null ? headerCode : GeneticCode.STANDARD;
+                // Declarations count their only literal, genes the one of their coding sequence
+                counted = kind != null && type != BioSyntaxTypes.GENE;
+            } else if (type == BioSyntaxTypes.IDENTIFIER && kind != null && name == null) {
+                name = lexer.getTokenText();
+            } else if (type == BioSyntaxTypes.QUOTE && counted) {
+                if (literalStart < 0) {
+                    literalStart = lexer.getTokenEnd();
+                } else {
+                    if (name != null) {
+                        parts.add(new Part(name, kind, offset, code, literalStart, lexer.getTokenStart()));
+                    }
+                    // Only the first coding sequence of a gene is counted
+                    kind = null;
+                    counted = false;
+                    literalStart = -1;
+                }
+            } else if ("Gene".equals(kind) && literalStart < 0 && type != BioSyntaxTypes.EQUALS) {
+                counted = type == BioSyntaxTypes.CODING_SEQUENCE;
+            }
+            comments.setLength(0);
+        }
+        if (literalStart >= 0 && name != null) {
+            parts.add(new Part(name, kind, offset, code, literalStart, text.length()));
+        }
+        return parts;
+    }
+}
@@ -0,0 +1,335 @@
+package org.intellij.sdk.language;
+
+import com.intellij.icons.AllIcons;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.actionSystem.ActionManager;
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.DefaultActionGroup;
+import com.intellij.openapi.editor.EditorFactory;
+import com.intellij.openapi.editor.event.DocumentEvent;
+import com.intellij.openapi.editor.event.DocumentListener;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.fileEditor.OpenFileDescriptor;
+import com.intellij.openapi.fileTypes.FileTypeManager;
+import com.intellij.openapi.project.DumbAware;
+import com.intellij.openapi.project.DumbAwareAction;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.SimpleToolWindowPanel;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.openapi.vfs.newvfs.BulkFileListener;
+import com.intellij.openapi.vfs.newvfs.events.VFileEvent;
+import com.intellij.openapi.wm.ToolWindow;
+import com.intellij.openapi.wm.ToolWindowFactory;
+import com.intellij.openapi.wm.ToolWindowManager;
+import com.intellij.openapi.wm.ex.ToolWindowManagerListener;
+import com.intellij.ui.DoubleClickListener;
+import com.intellij.ui.OnePixelSplitter;
+import com.intellij.ui.ScrollPaneFactory;
+import com.intellij.ui.components.JBLabel;
+import com.intellij.ui.content.Content;
+import com.intellij.ui.content.ContentFactory;
+import com.intellij.ui.table.JBTable;
+import com.intellij.util.Alarm;
+import com.intellij.util.PathUtil;
+import com.intellij.util.messages.MessageBusConnection;
+import com.intellij.util.ui.JBUI;
+import org.intellij.sdk.language.analysis.CodonUsage;
+import org.intellij.sdk.language.analysis.GeneticCode;
+import org.jetbrains.annotations.NotNull;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import javax.swing.table.DefaultTableCellRenderer;
+import java.awt.*;
+import java.awt.event.MouseEvent;
+import java.util.List;
+
+/**
+ * Tool window with the codon usage, GC3 and CAI of every gene and nucleotide declaration of the project, and the
+ * codon table (count, per thousand, RSCU and CAI weight) of the pooled usage or of the selected rows. It follows edits
+ * of BioSyntax files shortly after they happen while it is shown, and catches up when it is shown again; see
+ * {@link BioSyntaxCodonUsage} for how only changed files are counted again.
+ */
+public class BioSyntaxCodonUsageToolWindowFactory implements ToolWindowFactory, DumbAware {
+    private static final int REFRESH_DELAY_MS = 1000;
+
+    @Override
+    public void createToolWindowContent(@NotNull Project project, @NotNull ToolWindow toolWindow) {
+        CodonUsagePanel panel = new CodonUsagePanel(project, toolWindow);
+        Content content = ContentFactory.getInstance().createContent(panel, null, false);
+        content.setDisposer(panel);
+        toolWindow.getContentManager().addContent(content);
+        panel.refresh();
+    }
+
+    private static final class CodonUsagePanel extends SimpleToolWindowPanel implements Disposable {
+        private final Project project;
+        private final ToolWindow toolWindow;
+        private final EntryModel entryModel = new EntryModel();
+        private final CodonModel codonModel = new CodonModel();
+        private final JBTable entryTable = new JBTable(entryModel);
+        private final JBLabel codonTitle = new JBLabel();
+        private final Alarm alarm = new Alarm(Alarm.ThreadToUse.SWING_THREAD, this);
+        private BioSyntaxCodonUsage.Snapshot snapshot;
+        // Only the result of the latest refresh is shown
+        private int generation;
+        private boolean stale;
+
+        CodonUsagePanel(Project project, ToolWindow toolWindow) {
+            super(true, true);
+            this.project = project;
+            this.toolWindow = toolWindow;
+
+            entryTable.setAutoCreateRowSorter(true);
+            entryTable.setDefaultRenderer(Double.class, new NumberRenderer());
+            entryTable.getEmptyText().setText("No genes or nucleotide declarations");
+            entryTable.getSelectionModel().addListSelectionListener(e -> {
+                if (!e.getValueIsAdjusting()) {
+                    showSelection();
+                }
+            });
+            new DoubleClickListener() {
+                @Override
+                protected boolean onDoubleClick(@NotNull MouseEvent event) {
+                    int row = entryTable.getSelectedRow();
+                    if (row < 0) {
+                        return false;
+                    }
+                    BioSyntaxCodonUsage.Entry entry = entryModel.entries.get(entryTable.convertRowIndexToModel(row));
+                    if (entry.file().isValid()) {
+                        new OpenFileDescriptor(project, entry.file(), entry.offset()).navigate(true);
+                    }
+                    return true;
+                }
+            }.installOn(entryTable);
+
+            JBTable codonTable = new JBTable(codonModel);
+            codonTable.setAutoCreateRowSorter(true);
+            codonTable.setDefaultRenderer(Double.class, new NumberRenderer());
+            JPanel codonPanel = new JPanel(new BorderLayout());
+            codonTitle.setBorder(JBUI.Borders.empty(4, 8));
+            codonPanel.add(codonTitle, BorderLayout.NORTH);
+            codonPanel.add(ScrollPaneFactory.createScrollPane(codonTable), BorderLayout.CENTER);
+
+            OnePixelSplitter splitter = new OnePixelSplitter(false, 0.55f);
+            splitter.setFirstComponent(ScrollPaneFactory.createScrollPane(entryTable));
+            splitter.setSecondComponent(codonPanel);
+            setContent(splitter);
+
+            DefaultActionGroup actions = new DefaultActionGroup(new DumbAwareAction("Refresh", "Count codons again",
+                    AllIcons.Actions.Refresh) {
+                @Override
+                public @NotNull ActionUpdateThread getActionUpdateThread() {
+                    return ActionUpdateThread.BGT;
+                }
+
+                @Override
+                public void actionPerformed(@NotNull AnActionEvent e) {
+                    refresh();
+                }
+            });
+            setToolbar(ActionManager.getInstance().createActionToolbar("BioSyntaxCodonUsage", actions, true).getComponent());
+
+            // Edits in the editor and changes on disk, e.g. a VCS update or an import, of BioSyntax files only
+            EditorFactory.getInstance().getEventMulticaster().addDocumentListener(new DocumentListener() {
+                @Override
+                public void documentChanged(@NotNull DocumentEvent event) {
+                    VirtualFile file = FileDocumentManager.getInstance().getFile(event.getDocument());
+                    if (file != null && FileTypeManager.getInstance().isFileOfType(file, BioSyntaxFileType.INSTANCE)) {
+                        scheduleRefresh();
+                    }
+                }
+            }, this);
+            MessageBusConnection connection = project.getMessageBus().connect(this);
+            connection.subscribe(VirtualFileManager.VFS_CHANGES, new BulkFileListener() {
+                @Override
+                public void after(@NotNull List<? extends VFileEvent> events) {
+                    for (VFileEvent event : events) {
+                        if (FileTypeManager.getInstance().getFileTypeByFileName(PathUtil.getFileName(event.getPath()))
+                                == BioSyntaxFileType.INSTANCE) {
+                            scheduleRefresh();
+                            return;
+                        }
+                    }
+                }
+            });
+            connection.subscribe(ToolWindowManagerListener.TOPIC, new ToolWindowManagerListener() {
+                @Override
+                public void stateChanged(@NotNull ToolWindowManager toolWindowManager) {
+                    if (stale && toolWindow.isVisible()) {
+                        refresh();
+                    }
+                }
+            });
+        }
+
+        // A hidden tool window only remembers that it is out of date
+        private void scheduleRefresh() {
+            if (!toolWindow.isVisible()) {
+                stale = true;
+                return;
+            }
+            alarm.cancelAllRequests();
+            alarm.addRequest(this::refresh, REFRESH_DELAY_MS);
+        }
+
+        void refresh() {
+            stale = false;
+            int current = ++generation;
+            entryTable.setPaintBusy(true);
+            BioSyntaxCodonUsage.getInstance(project).compute(this, result -> {
+                if (current != generation) {
+                    return;
+                }
+                entryTable.setPaintBusy(false);
+                snapshot = result;
+                entryModel.setSnapshot(result);
+                showSelection();
+            });
+        }
+
+        private void showSelection() {
+            if (snapshot == null) {
+                return;
+            }
+            int[] rows = entryTable.getSelectedRows();
+            if (rows.length == 0) {
+                codonTitle.setText(String.format("All %d entries: %,d codons", snapshot.entries().size(),
+                        snapshot.total().getTotal()));
+                codonModel.setUsage(snapshot.total(), snapshot.geneticCode(), snapshot.weights().get(snapshot.geneticCode()));
+                return;
+            }
+            CodonUsage usage = new CodonUsage();
+            BioSyntaxCodonUsage.Entry first = null;
+            for (int row : rows) {
+                BioSyntaxCodonUsage.Entry entry = entryModel.entries.get(entryTable.convertRowIndexToModel(row));
+                usage.add(entry.usage());
+                first = first == null ? entry : first;
+            }
+            GeneticCode code = first.geneticCode();
+            double[] weights = snapshot.weights().get(code);
+            codonTitle.setText(rows.length == 1
+                    ? String.format("%s: %,d codons, CAI %.3f", first.name(), usage.getTotal(), usage.getCai(weights))
+                    : String.format("%d selected: %,d codons, CAI %.3f", rows.length, usage.getTotal(), usage.getCai(weights)));
+            codonModel.setUsage(usage, code, weights);
+        }
+
+        @Override
+        public void dispose() {
+        }
+    }
+
+    private static final class EntryModel extends AbstractTableModel {
+        private static final String[] COLUMNS = {"Name", "Kind", "File", "Codons", "GC3 %", "CAI"};
+        private static final Class<?>[] CLASSES = {String.class, String.class, String.class, Long.class, Double.class, Double.class};
+
+        private List<BioSyntaxCodonUsage.Entry> entries = List.of();
+        private double[] cai = new double[0];
+
+        void setSnapshot(BioSyntaxCodonUsage.Snapshot snapshot) {
+            entries = snapshot.entries();
+            cai = new double[entries.size()];
+            for (int i = 0; i < cai.length; i++) {
+                cai[i] = snapshot.getCai(entries.get(i));
+            }
+            fireTableDataChanged();
+        }
+
+        @Override
+        public int getRowCount() {
+            return entries.size();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return COLUMNS.length;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return COLUMNS[column];
+        }
+
+        @Override
+        public Class<?> getColumnClass(int column) {
+            return CLASSES[column];
+        }
+
+        @Override
+        public Object getValueAt(int row, int column) {
+            BioSyntaxCodonUsage.Entry entry = entries.get(row);
+            return switch (column) {
+                case 0 -> entry.name();
+                case 1 -> entry.kind();
+                case 2 -> entry.file().getName();
+                case 3 -> entry.usage().getTotal();
+                case 4 -> entry.usage().getGc3();
+                default -> cai[row];
+            };
+        }
+    }
+
+    private static final class CodonModel extends AbstractTableModel {
+        private static final String[] COLUMNS = {"Codon", "Amino acid", "Count", "Per 1000", "RSCU", "w"};
+        private static final Class<?>[] CLASSES = {String.class, String.class, Integer.class, Double.class, Double.class, Double.class};
+
+        private CodonUsage usage = new CodonUsage();
+        private GeneticCode code = GeneticCode.STANDARD;
+        private double[] rscu = new double[64];
+        private double[] weights = new double[64];
+
+        void setUsage(CodonUsage usage, GeneticCode code, double[] weights) {
+            this.usage = usage;
+            this.code = code;
+            this.rscu = usage.getRscu(code);
+            this.weights = weights;
+            fireTableDataChanged();
+        }
+
+        @Override
+        public int getRowCount() {
+            return 64;
+        }
+
+        @Override
+        public int getColumnCount() {
+            return COLUMNS.length;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return COLUMNS[column];
+        }
+
+        @Override
+        public Class<?> getColumnClass(int column) {
+            return CLASSES[column];
+        }
+
+        @Override
+        public Object getValueAt(int codon, int column) {
+            return switch (column) {
+                case 0 -> GeneticCode.codonString(codon);
+                case 1 -> String.valueOf(code.translateCodon(codon));
+                case 2 -> usage.getCount(codon);
+                case 3 -> usage.isEmpty() ? 0.0 : usage.getCount(codon) * 1000.0 / usage.getTotal();
+                case 4 -> rscu[codon];
+                default -> weights[codon];
+            };
+        }
+    }
+
+    // Three decimals, and a dash where a statistic is undefined
+    private static final class NumberRenderer extends DefaultTableCellRenderer {
+        NumberRenderer() {
+            setHorizontalAlignment(SwingConstants.RIGHT);
+        }
+
+        @Override
+        protected void setValue(Object value) {
+            setText(value instanceof Double number ? number.isNaN() ? "–" : String.format("%.3f", number) : String.valueOf(value));
+        }
+    }
+}
@@ -2,142 +2,149 @@ package org.intellij.sdk.language;
 
 import com.intellij.codeInsight.completion.*;
 import com.intellij.codeInsight.lookup.LookupElementBuilder;
-import com.intellij.patterns.PlatformPatterns;
+import com.intellij.patterns.ElementPattern;
+import com.intellij.patterns.PatternCondition;
+import com.intellij.patterns.PsiElementPattern;
 import com.intellij.psi.PsiElement;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.tree.TokenSet;
 import com.intellij.psi.util.PsiTreeUtil;
 import com.intellij.util.ProcessingContext;
 import org.intellij.sdk.language.psi.BioSyntaxGeneBody;
+import org.intellij.sdk.language.psi.BioSyntaxTypes;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.Objects;
+import static com.intellij.patterns.PlatformPatterns.psiElement;
+import static com.intellij.patterns.StandardPatterns.or;
 
+/**
+ * Completion contexts are decided by patterns over the gene body PSI and the few leaves just before the caret, so the
+ * cost does not depend on how far the caret is from the start of the file. The leaf patterns keep completion working
+ * while the gene being edited does not parse yet.
+ */
 public class BioSyntaxCompletionContributor extends CompletionContributor {
+    private static final TokenSet GENE_PROPERTY_KEYWORDS = TokenSet.create(
+            BioSyntaxTypes.PROMOTER,
+            BioSyntaxTypes.START_CODON,
+            BioSyntaxTypes.CODING_SEQUENCE,
+            BioSyntaxTypes.STOP_CODON,
+            BioSyntaxTypes.TERMINATOR
+    );
+
+    private static final TokenSet SEQUENCE_TOKENS = TokenSet.create(
+            BioSyntaxTypes.NUCLEOTIDE,
+            BioSyntaxTypes.AMINO_ACID
+    );
+
+    // The quote that ends a property value, i.e. Keyword = "..." or Keyword = ""
+    private static final PsiElementPattern.Capture<PsiElement> CLOSING_PROPERTY_QUOTE = psiElement(BioSyntaxTypes.QUOTE)
+            .with(new PatternCondition<>("closesPropertyValue") {
+                @Override
+                public boolean accepts(@NotNull PsiElement quote, ProcessingContext context) {
+                    PsiElement previous = PsiTreeUtil.prevVisibleLeaf(quote);
+                    if (previous != null && SEQUENCE_TOKENS.contains(previous.getNode().getElementType())) {
+                        previous = PsiTreeUtil.prevVisibleLeaf(previous);
+                    }
+                    return previous != null && previous.getNode().getElementType() == BioSyntaxTypes.QUOTE &&
+                            isPropertyEquals(PsiTreeUtil.prevVisibleLeaf(previous));
+                }
+            });
+
+    private static final ElementPattern<PsiElement> GENE_PROPERTY_NAME = psiElement().afterLeaf(or(
+            psiElement(BioSyntaxTypes.LBRACE),
+            psiElement(BioSyntaxTypes.SEMICOLON),
+            CLOSING_PROPERTY_QUOTE
+    ));
+
+    private static final ElementPattern<PsiElement> IN_GENE = or(
+            psiElement().inside(BioSyntaxGeneBody.class),
+            GENE_PROPERTY_NAME,
+            psiElement().afterLeaf(psiElement().withElementType(GENE_PROPERTY_KEYWORDS)),
+            propertyValue(psiElement().withElementType(GENE_PROPERTY_KEYWORDS))
+    );
 
     public BioSyntaxCompletionContributor() {
         extend(CompletionType.BASIC,
-                PlatformPatterns.psiElement(),
+                propertyValue(psiElement(BioSyntaxTypes.START_CODON)),
                 new CompletionProvider<>() {
                     @Override
                     public void addCompletions(@NotNull CompletionParameters parameters,
                                                @NotNull ProcessingContext context,
                                                @NotNull CompletionResultSet resultSet) {
-                        PsiElement position = parameters.getPosition();
-
-                        boolean inGene = isInGeneContext(position);
-                        boolean afterQuote = position.getPrevSibling() != null &&
-                                position.getPrevSibling().getText().equals("\"");
-
-                        if (afterQuote && inGene && isAfterEquals(position)) {
-                            addCodonCompletions(resultSet, parameters);
-                        } else if (!inGene) {
-                            addGlobalCompletions(resultSet);
-                        } else if (isAfterEquals(position)) {
-                            addCodonCompletions(resultSet, parameters);
-                        } else {
-                            addGeneBodyCompletions(resultSet, parameters);
-                        }
+                        resultSet.addElement(LookupElementBuilder.create("ATG"));
                     }
                 }
         );
-    }
-
-    private boolean isInGeneContext(PsiElement position) {
-        boolean inGeneBlock = false;
-        boolean afterGene = false;
-        boolean foundLBrace = false;
-
-        PsiElement current = position;
-        while (current != null) {
-            String text = current.getText();
-
-            switch (text) {
-                case "}" -> {
-                    if (position.getTextOffset() > current.getTextOffset()) {
-                        return false;
+        extend(CompletionType.BASIC,
+                propertyValue(psiElement(BioSyntaxTypes.STOP_CODON)),
+                new CompletionProvider<>() {
+                    @Override
+                    public void addCompletions(@NotNull CompletionParameters parameters,
+                                               @NotNull ProcessingContext context,
+                                               @NotNull CompletionResultSet resultSet) {
+                        resultSet.addElement(LookupElementBuilder.create("TAA"));
+                        resultSet.addElement(LookupElementBuilder.create("TAG"));
+                        resultSet.addElement(LookupElementBuilder.create("TGA"));
                     }
                 }
-                case "{" -> foundLBrace = true;
-                case "Gene" -> afterGene = true;
-            }
-
-            if (foundLBrace && afterGene) {
-                inGeneBlock = true;
-                break;
-            }
-
-            current = PsiTreeUtil.prevVisibleLeaf(current);
-        }
-
-        return inGeneBlock;
-    }
-
-    private boolean isAfterEquals(PsiElement position) {
-        PsiElement prev = PsiTreeUtil.prevLeaf(position);
-
-        if (prev != null && (prev.getText().equals("\"") || prev.getText().equals("="))) {
-            PsiElement property = findPropertyElement(position);
-            return property != null &&
-                    (property.getText().equals("Start_Codon") ||
-                            property.getText().equals("Stop_Codon"));
-        }
-        return false;
-    }
-
-    private PsiElement findPropertyElement(PsiElement position) {
-        PsiElement current = position;
-
-        while (current != null) {
-            String text = current.getText();
-
-            if (text.equals("}")) {
-                return null; // Stop if we hit a closing brace
-            }
-            if (text.equals("Start_Codon") || text.equals("Stop_Codon")) {
-                return current;
-            }
-            current = PsiTreeUtil.prevVisibleLeaf(current);
-        }
-        return null;
+        );
+        extend(CompletionType.BASIC,
+                GENE_PROPERTY_NAME,
+                new CompletionProvider<>() {
+                    @Override
+                    public void addCompletions(@NotNull CompletionParameters parameters,
+                                               @NotNull ProcessingContext context,
+                                               @NotNull CompletionResultSet resultSet) {
+                        resultSet.addElement(LookupElementBuilder.create("Promoter"));
+                        resultSet.addElement(LookupElementBuilder.create("Start_Codon"));
+                        resultSet.addElement(LookupElementBuilder.create("Stop_Codon"));
+                        resultSet.addElement(LookupElementBuilder.create("Coding_Sequence"));
+                        resultSet.addElement(LookupElementBuilder.create("Terminator"));
+                    }
+                }
+        );
+        extend(CompletionType.BASIC,
+                psiElement().andNot(IN_GENE),
+                new CompletionProvider<>() {
+                    @Override
+                    public void addCompletions(@NotNull CompletionParameters parameters,
+                                               @NotNull ProcessingContext context,
+                                               @NotNull CompletionResultSet resultSet) {
+                        resultSet.addElement(LookupElementBuilder.create("NtSeq"));
+                        resultSet.addElement(LookupElementBuilder.create("RNASeq"));
+                        resultSet.addElement(LookupElementBuilder.create("DNASeq"));
+                        resultSet.addElement(LookupElementBuilder.create("AASeq"));
+                        resultSet.addElement(LookupElementBuilder.create("Gene"));
+                    }
+                }
+        );
     }
 
-    private void addCodonCompletions(CompletionResultSet resultSet, CompletionParameters parameters) {
-        PsiElement position = parameters.getPosition();
-        PsiElement property = findPropertyElement(position);
-
-        if (property != null) {
-            String propertyText = property.getText();
-            if (propertyText.equals("Start_Codon")) {
-                resultSet.addElement(LookupElementBuilder.create("ATG"));
-            } else if (propertyText.equals("Stop_Codon")) {
-                resultSet.addElement(LookupElementBuilder.create("TAA"));
-                resultSet.addElement(LookupElementBuilder.create("TAG"));
-                resultSet.addElement(LookupElementBuilder.create("TGA"));
-            }
+    @Override
+    public void fillCompletionVariants(@NotNull CompletionParameters parameters, @NotNull CompletionResultSet result) {
+        long start = BioSyntaxMetrics.start();
+        try {
+            super.fillCompletionVariants(parameters, result);
+        } finally {
+            BioSyntaxMetrics.stop(BioSyntaxMetrics.Component.COMPLETION, start);
         }
     }
 
-    private void addGlobalCompletions(CompletionResultSet resultSet) {
-        resultSet.addElement(LookupElementBuilder.create("NtSeq"));
-        resultSet.addElement(LookupElementBuilder.create("RNASeq"));
-        resultSet.addElement(LookupElementBuilder.create("DNASeq"));
-        resultSet.addElement(LookupElementBuilder.create("AASeq"));
-        resultSet.addElement(LookupElementBuilder.create("Gene"));
+    // Right after Keyword = or Keyword = "
+    private static ElementPattern<PsiElement> propertyValue(ElementPattern<? extends PsiElement> keyword) {
+        PsiElementPattern.Capture<PsiElement> equals = psiElement(BioSyntaxTypes.EQUALS).afterLeaf(keyword);
+        return or(
+                psiElement().afterLeaf(equals),
+                psiElement().afterLeaf(psiElement(BioSyntaxTypes.QUOTE).afterLeaf(equals))
+        );
     }
 
-    private void addGeneBodyCompletions(CompletionResultSet resultSet, CompletionParameters parameters) {
-        if (!isInsidePropertyValue(parameters.getPosition())) {
-            resultSet.addElement(LookupElementBuilder.create("Promoter"));
-            resultSet.addElement(LookupElementBuilder.create("Start_Codon"));
-            resultSet.addElement(LookupElementBuilder.create("Stop_Codon"));
-            resultSet.addElement(LookupElementBuilder.create("Coding_Sequence"));
-            resultSet.addElement(LookupElementBuilder.create("Terminator"));
+    private static boolean isPropertyEquals(PsiElement element) {
+        if (element == null || element.getNode().getElementType() != BioSyntaxTypes.EQUALS) {
+            return false;
         }
-    }
-
-    private boolean isInsidePropertyValue(PsiElement position) {
-        PsiElement prev = PsiTreeUtil.prevLeaf(position);
-        return prev != null && prev.getText().equals("\"") &&
-                PsiTreeUtil.prevVisibleLeaf(prev) != null &&
-                Objects.requireNonNull(PsiTreeUtil.prevVisibleLeaf(prev)).getText().equals("=");
+        PsiElement keyword = PsiTreeUtil.prevVisibleLeaf(element);
+        IElementType type = keyword != null ? keyword.getNode().getElementType() : null;
+        return type != null && GENE_PROPERTY_KEYWORDS.contains(type);
     }
 }
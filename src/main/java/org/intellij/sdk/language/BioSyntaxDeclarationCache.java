@@ -0,0 +1,65 @@
+package org.intellij.sdk.language;
+
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.stubs.StubIndex;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiTreeUtil;
+import org.intellij.sdk.language.psi.BioSyntaxDeclaration;
+import org.intellij.sdk.language.psi.stubs.BioSyntaxDeclarationNameIndex;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * Resolves declaration names: the name index gives the files declaring a name, and each file keeps its own map from
+ * name to declarations, built from its stubs and reused until that file changes. An edit in one BioSyntax file only
+ * rebuilds the map of that file.
+ */
+@Service(Service.Level.PROJECT)
+public final class BioSyntaxDeclarationCache {
+    private final Project project;
+
+    public BioSyntaxDeclarationCache(Project project) {
+        this.project = project;
+    }
+
+    public static BioSyntaxDeclarationCache getInstance(@NotNull Project project) {
+        return project.getService(BioSyntaxDeclarationCache.class);
+    }
+
+    @NotNull
+    public List<BioSyntaxDeclaration> findDeclarations(@NotNull String name) {
+        PsiManager psiManager = PsiManager.getInstance(project);
+        List<BioSyntaxDeclaration> declarations = new ArrayList<>(1);
+        Iterator<VirtualFile> files = StubIndex.getInstance().getContainingFilesIterator(
+                BioSyntaxDeclarationNameIndex.KEY, name, project, GlobalSearchScope.allScope(project));
+        while (files.hasNext()) {
+            PsiFile file = psiManager.findFile(files.next());
+            if (file != null) {
+                declarations.addAll(getDeclarationsByName(file).getOrDefault(name, Collections.emptyList()));
+            }
+        }
+        return declarations;
+    }
+
+    @NotNull
+    private static Map<String, List<BioSyntaxDeclaration>> getDeclarationsByName(@NotNull PsiFile file) {
+        return CachedValuesManager.getCachedValue(file, () -> {
+            Map<String, List<BioSyntaxDeclaration>> map = new HashMap<>();
+            // Declarations are top-level, so they are read from the stub tree while the file is not loaded
+            for (BioSyntaxDeclaration declaration : PsiTreeUtil.getStubChildrenOfTypeAsList(file, BioSyntaxDeclaration.class)) {
+                String name = declaration.getName();
+                if (name != null) {
+                    map.computeIfAbsent(name, k -> new ArrayList<>(1)).add(declaration);
+                }
+            }
+            return CachedValueProvider.Result.create(map, file);
+        });
+    }
+}
@@ -1,13 +1,31 @@
 package org.intellij.sdk.language;
 
-import com.intellij.lang.ASTNode;
 import com.intellij.lang.documentation.AbstractDocumentationProvider;
+import com.intellij.ide.scratch.ScratchFileService;
+import com.intellij.ide.scratch.ScratchRootType;
 import com.intellij.lang.documentation.DocumentationMarkup;
+import com.intellij.lang.documentation.ExternalDocumentationHandler;
+import com.intellij.openapi.application.WriteAction;
 import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.fileEditor.FileEditorManager;
+import com.intellij.openapi.fileTypes.PlainTextLanguage;
+import com.intellij.openapi.ide.CopyPasteManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.openapi.util.registry.Registry;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
 import com.intellij.psi.presentation.java.SymbolPresentationUtil;
 import com.intellij.psi.util.PsiTreeUtil;
+import org.intellij.sdk.language.analysis.GeneticCode;
+import org.intellij.sdk.language.analysis.OrfFinder;
+import org.intellij.sdk.language.analysis.PackedSequence;
+import org.intellij.sdk.language.analysis.SequenceAnalysis;
+import org.intellij.sdk.language.analysis.SequenceViews;
+import org.intellij.sdk.language.io.FastaWriter;
 import org.intellij.sdk.language.psi.BioSyntaxDeclaration;
 import org.intellij.sdk.language.psi.BioSyntaxGeneBody;
 import org.intellij.sdk.language.psi.BioSyntaxGeneDefinition;
@@ -15,33 +33,23 @@ import org.intellij.sdk.language.psi.BioSyntaxGeneProperty;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.awt.datatransfer.StringSelection;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.*;
 import java.util.stream.Collectors;
 
-public class BioSyntaxDocumentationProvider extends AbstractDocumentationProvider {
-    private static class ORF {
-        final int start;
-        final int end;
-        final int frame;
-        final int length;
-        final String sequence;
+public class BioSyntaxDocumentationProvider extends AbstractDocumentationProvider implements ExternalDocumentationHandler {
+    // Links inside the popup, "biosyntax-doc:<action>:<form>[:<page>]"; see resolveForm for the form ids
+    private static final String LINK_PREFIX = "biosyntax-doc:";
+    private static final String PAGE_ACTION = "page";
+    private static final String COPY_ACTION = "copy";
+    private static final String SCRATCH_ACTION = "scratch";
 
-        ORF(int start, int end, int frame, String sequence) {
-            this.start = start;
-            this.end = end;
-            this.frame = frame;
-            this.length = end - start;
-            this.sequence = sequence;
-        }
-
-        @Override
-        public String toString() {
-            return String.format("%d-%d (Frame %d, %dbp)", start + 1, end, frame, length);
-        }
-    }
+    // Sequences longer than this are shown as a head and tail preview, and paged in pages of this size
+    private static final String PREVIEW_SIZE_KEY = "biosyntax.documentation.preview.size";
+    // Once the popup grows past this, remaining ORF details are left out
+    private static final String MAX_SIZE_KEY = "biosyntax.documentation.max.size";
 
     @Override
     public @Nullable String generateDoc(PsiElement element, @Nullable PsiElement originalElement) {
@@ -51,138 +59,22 @@ public class BioSyntaxDocumentationProvider extends AbstractDocumentationProvide
 
         StringBuilder sb = new StringBuilder();
 
-        if (isGeneClass(element)) {
-            renderGeneDoc(element, sb);
-        } else if (element instanceof BioSyntaxDeclaration) {
-            renderSequenceDoc(element, (BioSyntaxDeclaration) element, sb);
-        }
-
-        return sb.toString();
-    }
-
-    private static final Map<String, String> CODON_TABLE = initCodonTable();
-    private static final Map<String, List<String>> REVERSE_CODON_TABLE = initReverseCodonTable();
-
-    private static Map<String, String> initCodonTable() {
-        Map<String, String> table = new HashMap<>();
-        table.put("ATG", "M"); // Start/Methionine
-        table.put("TAA", "*"); table.put("TAG", "*"); table.put("TGA", "*"); // Stop codons
-
-        // Phenylalanine
-        table.put("TTT", "F"); table.put("TTC", "F");
-
-        // Leucine
-        table.put("TTA", "L"); table.put("TTG", "L");
-        table.put("CTT", "L"); table.put("CTC", "L");
-        table.put("CTA", "L"); table.put("CTG", "L");
-
-        // Isoleucine
-        table.put("ATT", "I"); table.put("ATC", "I"); table.put("ATA", "I");
-
-        // Valine
-        table.put("GTT", "V"); table.put("GTC", "V");
-        table.put("GTA", "V"); table.put("GTG", "V");
-
-        // Serine
-        table.put("TCT", "S"); table.put("TCC", "S");
-        table.put("TCA", "S"); table.put("TCG", "S");
-
-        // Proline
-        table.put("CCT", "P"); table.put("CCC", "P");
-        table.put("CCA", "P"); table.put("CCG", "P");
-
-        // Threonine
-        table.put("ACT", "T"); table.put("ACC", "T");
-        table.put("ACA", "T"); table.put("ACG", "T");
-
-        // Alanine
-        table.put("GCT", "A"); table.put("GCC", "A");
-        table.put("GCA", "A"); table.put("GCG", "A");
-
-        // Tyrosine
-        table.put("TAT", "Y"); table.put("TAC", "Y");
-
-        // Histidine
-        table.put("CAT", "H"); table.put("CAC", "H");
-
-        // Glutamine
-        table.put("CAA", "Q"); table.put("CAG", "Q");
-
-        // Asparagine
-        table.put("AAT", "N"); table.put("AAC", "N");
-
-        // Lysine
-        table.put("AAA", "K"); table.put("AAG", "K");
-
-        // Aspartic Acid
-        table.put("GAT", "D"); table.put("GAC", "D");
-
-        // Glutamic Acid
-        table.put("GAA", "E"); table.put("GAG", "E");
-
-        // Cysteine
-        table.put("TGT", "C"); table.put("TGC", "C");
-
-        // Tryptophan
-        table.put("TGG", "W");
-
-        return table;
-    }
-
-    private static Map<String, List<String>> initReverseCodonTable() {
-        Map<String, List<String>> reverseTable = new HashMap<>();
-        reverseTable.put("M", List.of("ATG")); // Start/Methionine
-        reverseTable.put("F", List.of("TTT", "TTC")); // Phenylalanine
-        reverseTable.put("L", List.of("TTA", "TTG", "CTT", "CTC", "CTA", "CTG")); // Leucine
-        reverseTable.put("I", List.of("ATT", "ATC", "ATA")); // Isoleucine
-        reverseTable.put("V", List.of("GTT", "GTC", "GTA", "GTG")); // Valine
-        reverseTable.put("S", List.of("TCT", "TCC", "TCA", "TCG")); // Serine
-        reverseTable.put("P", List.of("CCT", "CCC", "CCA", "CCG")); // Proline
-        reverseTable.put("T", List.of("ACT", "ACC", "ACA", "ACG")); // Threonine
-        reverseTable.put("A", List.of("GCT", "GCC", "GCA", "GCG")); // Alanine
-        reverseTable.put("Y", List.of("TAT", "TAC")); // Tyrosine
-        reverseTable.put("H", List.of("CAT", "CAC")); // Histidine
-        reverseTable.put("Q", List.of("CAA", "CAG")); // Glutamine
-        reverseTable.put("N", List.of("AAT", "AAC")); // Asparagine
-        reverseTable.put("K", List.of("AAA", "AAG")); // Lysine
-        reverseTable.put("D", List.of("GAT", "GAC")); // Aspartic Acid
-        reverseTable.put("E", List.of("GAA", "GAG")); // Glutamic Acid
-        reverseTable.put("C", List.of("TGT", "TGC")); // Cysteine
-        reverseTable.put("W", List.of("TGG")); // Tryptophan
-        reverseTable.put("*", List.of("TAA", "TAG", "TGA")); // Stop codons
-        return reverseTable;
-    }
-
-    private String translateToRNA(String sequence) {
-        return sequence.replace('T', 'U');
-    }
-
-    private String translateToDNA(String sequence) {
-        return sequence.replace('U', 'T');
-    }
-
-    private String translateToProtein(String dnaSequence) {
-        StringBuilder protein = new StringBuilder();
-        for (int i = 0; i < dnaSequence.length() - 2; i += 3) {
-            String codon = dnaSequence.substring(i, i + 3);
-            protein.append(CODON_TABLE.getOrDefault(codon, "X"));
-        }
-        return protein.toString();
-    }
-
-    private String reverseTranslate(String aaSequence) {
-        StringBuilder dnaSequence = new StringBuilder();
-
-        for (char aa : aaSequence.toCharArray()) {
-            List<String> possibleCodons = REVERSE_CODON_TABLE.get(String.valueOf(aa));
-            if (possibleCodons != null && !possibleCodons.isEmpty()) {
-                dnaSequence.append(possibleCodons.get(0));
-            } else {
-                throw new IllegalArgumentException("Invalid amino acid: " + aa);
+        long start = BioSyntaxMetrics.start();
+        long bytes = 0;
+        try {
+            if (isGeneClass(element)) {
+                BioSyntaxGeneDefinition gene = element instanceof BioSyntaxGeneDefinition definition
+                        ? definition : (BioSyntaxGeneDefinition) element.getParent();
+                renderGeneDoc(gene, sb);
+            } else if (element instanceof BioSyntaxDeclaration declaration) {
+                renderSequenceDoc(element, declaration, sb);
+                bytes = declaration.getSequenceLength();
             }
+        } finally {
+            BioSyntaxMetrics.stop(BioSyntaxMetrics.Component.DOCUMENTATION, start, bytes);
         }
 
-        return dnaSequence.toString();
+        return sb.toString();
     }
 
     private boolean isGeneClass(PsiElement element) {
@@ -190,10 +82,10 @@ public class BioSyntaxDocumentationProvider extends AbstractDocumentationProvide
                 (element.getParent() instanceof BioSyntaxGeneDefinition);
     }
 
-    private void renderGeneDoc(PsiElement element, StringBuilder sb) {
-        BioSyntaxGeneDefinition gene = (BioSyntaxGeneDefinition) element;
+    private void renderGeneDoc(BioSyntaxGeneDefinition gene, StringBuilder sb) {
         BioSyntaxGeneBody body = gene.getGeneBody();
         String name = gene.getName();
+        GeneticCode code = BioSyntaxUtil.findGeneticCode(gene);
 
         sb.append(DocumentationMarkup.DEFINITION_START)
                 .append("Gene Definition")
@@ -209,34 +101,35 @@ public class BioSyntaxDocumentationProvider extends AbstractDocumentationProvide
             return;
         }
 
-        for (BioSyntaxGeneProperty prop : properties) {
-            String text = prop.getText();
-            String[] parts = text.split("=");
-            String key = parts[0].trim().replace("_", " ") + ":";
-            String value = parts.length > 1 ?
-                    parts[1].trim().replaceAll("^\"|\"$", "") : "unspecified";
-
-            if (value.isEmpty() || value.equals(";")) {
-                value = "unspecified";
+        for (int i = 0; i < properties.size(); i++) {
+            BioSyntaxGeneProperty prop = properties.get(i);
+            String key = prop.getNode().getFirstChildNode().getText().replace("_", " ") + ":";
+            // Keyword-only and empty properties have no letters
+            PackedSequence sequence = prop.getPackedSequence();
+            if (sequence.length() == 0) {
+                addKeyValueSection(key, "unspecified", sb);
+                continue;
             }
+            addKeyValueSection(key, renderPreview(sequence, "part" + i), sb);
 
-            addKeyValueSection(key, value, sb);
-
-            if (value.matches("[ATCGU]+")) {
-                addKeyValueSection(key + " (RNA):", translateToRNA(value), sb);
-                addKeyValueSection(key + " (Protein):", translateToProtein(translateToDNA(value)), sb);
+            if (sequence.isNucleotide()) {
+                addKeyValueSection(key + " (RNA):", renderPreview(sequence.asRna(), "partrna" + i), sb);
+                addKeyValueSection(key + " (Protein):", renderPreview(
+                        SequenceViews.translation(sequence, 0, sequence.length(), code), "partaa" + i), sb);
             }
         }
 
-        getCommentAndFile(element, sb);
+        getCommentAndFile(gene, sb);
     }
 
     private void renderSequenceDoc(PsiElement element, BioSyntaxDeclaration declaration, StringBuilder sb) {
-        ASTNode node = declaration.getNode();
-        String type = extractType(node);
-        String name = extractName(node);
-        String sequence = extractSequence(node).replaceAll("\\s+", "");
+        // Stub-backed, so neither the kind nor the name copies the node text of a long sequence
+        String type = StringUtil.notNullize(declaration.getSequenceKind(), "unknown");
+        String name = StringUtil.notNullize(declaration.getName(), "unknown");
+        SequenceAnalysis analysis = BioSyntaxUtil.getSequenceAnalysis(declaration);
+        PackedSequence sequence = analysis.getSequence();
         String fullTypeName = getFullTypeName(type);
+        GeneticCode code = analysis.getGeneticCode();
 
         sb.append(DocumentationMarkup.DEFINITION_START)
                 .append(fullTypeName)
@@ -246,122 +139,117 @@ public class BioSyntaxDocumentationProvider extends AbstractDocumentationProvide
 
         addKeyValueSection("Name:", name, sb);
         addKeyValueSection("Type:", fullTypeName, sb);
+        if (code != GeneticCode.STANDARD) {
+            addKeyValueSection("Genetic Code:", code.toString(), sb);
+        }
         addKeyValueSection("Sequence Length:", sequence.length() + " bp", sb);
-        addBasicStats(sequence, sb);
-        addKeyValueSection("Sequence:", sequence, sb);
+        addBasicStats(analysis, sb);
+        addKeyValueSection("Sequence:", renderPreview(sequence, "seq"), sb);
 
-        if (!sequence.isEmpty()) {
-            analyzeSequenceFeatures(sequence, type, sb);
-            addTranslations(sequence, type, sb);
+        if (sequence.length() > 0) {
+            analyzeSequenceFeatures(analysis, sb);
+            addTranslations(analysis, sb);
         }
 
         addDescription(fullTypeName, sb);
         getCommentAndFile(element, sb);
     }
 
-    private void addBasicStats(String sequence, StringBuilder sb) {
-        double gcContent = calculateGCContent(sequence);
-        int startCodons = countPattern(sequence, "ATG");
-        int stopCodons = countPattern(sequence, "TAA") +
-                countPattern(sequence, "TAG") +
-                countPattern(sequence, "TGA");
-
+    private void addBasicStats(SequenceAnalysis analysis, StringBuilder sb) {
+        String stopCodons = Arrays.stream(analysis.getGeneticCode().codonsFor('*'))
+                .mapToObj(GeneticCode::codonString)
+                .collect(Collectors.joining("/"));
         addKeyValueSection("Basic Statistics:", String.format(
                 """
                         GC Content: %.1f%%
                         Start Codons (ATG): %d
-                        Stop Codons (TAA/TAG/TGA): %d""",
-                gcContent, startCodons, stopCodons
+                        Stop Codons (%s): %d""",
+                analysis.getGcContent(), analysis.getStartCodonCount(), stopCodons, analysis.getStopCodonCount()
         ), sb);
     }
 
-    private void analyzeSequenceFeatures(String sequence, String type, StringBuilder sb) {
-        if (type.equals("AASeq")) {
+    private void analyzeSequenceFeatures(SequenceAnalysis analysis, StringBuilder sb) {
+        GeneticCode code = analysis.getGeneticCode();
+        if (analysis.isProtein()) {
             // For amino acid sequences, show possible DNA codons
-            addKeyValueSection("Possible DNA Codons:", getAminoAcidCodons(sequence), sb);
+            addKeyValueSection("Possible DNA Codons:", getAminoAcidCodons(analysis.getSequence(), code), sb);
             return;
         }
 
-        String analyzedSeq = type.equals("RNASeq") ? translateToDNA(sequence) : sequence;
-        Map<Integer, List<ORF>> frameORFs = new HashMap<>();
-
-        for (int frame = 0; frame < 3; frame++) {
-            List<ORF> orfs = findORFsInFrame(analyzedSeq, frame);
-            if (!orfs.isEmpty()) {
-                frameORFs.put(frame, orfs);
-            }
-        }
-
+        Map<Integer, List<OrfFinder.Orf>> frameORFs = analysis.getOrfsByFrame();
         if (!frameORFs.isEmpty()) {
             addKeyValueSection("Reading Frames Analysis:", "", sb);
-            frameORFs.forEach((frame, orfs) -> {
-                addKeyValueSection("Frame " + frame + ":", formatORFDetails(orfs), sb);
+            // ORFs and translations are previewed through views of the packed letters, so only what is shown is read
+            CharSequence dna = resolveForm(analysis, "dna");
+            int maxSize = Registry.intValue(MAX_SIZE_KEY, 200_000);
+            for (Map.Entry<Integer, List<OrfFinder.Orf>> entry : frameORFs.entrySet()) {
+                int budget = Math.max(0, maxSize - sb.length());
+                if (budget == 0) {
+                    addKeyValueSection("", "… further frames not shown", sb);
+                    break;
+                }
+                int key = entry.getKey();
+                String label = "Frame " + key % 3 + (key >= 3 ? " (reverse)" : "");
+                addKeyValueSection(label + ":", formatORFDetails(dna, key, entry.getValue(), code, budget), sb);
                 // Add amino acid translations for each frame
-                String frameTranslation = translateFrame(analyzedSeq, frame);
-                addKeyValueSection("Frame " + frame + " Translation:", formatSequence(frameTranslation), sb);
-            });
-        }
-    }
-
-    private String translateFrame(String sequence, int frame) {
-        StringBuilder translation = new StringBuilder();
-        for (int i = frame; i < sequence.length() - 2; i += 3) {
-            String codon = sequence.substring(i, i + 3);
-            translation.append(CODON_TABLE.getOrDefault(codon, "X"));
+                addKeyValueSection(label + " Translation:",
+                        renderPreview(resolveForm(analysis, "aa" + key), "aa" + key), sb);
+            }
         }
-        return translation.toString();
     }
 
-    private String getAminoAcidCodons(String aaSequence) {
-        return aaSequence.chars()
+    private String getAminoAcidCodons(CharSequence aaSequence, GeneticCode code) {
+        int shown = Math.min(aaSequence.length(), previewSize() / 20);
+        String codons = aaSequence.subSequence(0, shown).chars()
                 .mapToObj(aa -> String.format("%c: %s",
                         (char)aa,
-                        String.join(", ", REVERSE_CODON_TABLE.getOrDefault(String.valueOf((char)aa), List.of("Unknown")))
+                        formatCodons(code.codonsFor((char)aa))
                 ))
                 .collect(Collectors.joining("\n"));
+        return shown < aaSequence.length() ? codons + "\n… " + (aaSequence.length() - shown) + " more residues" : codons;
     }
 
-    private List<ORF> findORFsInFrame(String sequence, int frame) {
-        List<ORF> orfs = new ArrayList<>();
-        int minORFLength = 90; // Minimum 30 amino acids
-
-        for (int i = frame; i < sequence.length() - 2; i += 3) {
-            if (sequence.startsWith("ATG", i)) {
-                for (int j = i + 3; j < sequence.length() - 2; j += 3) {
-                    String codon = sequence.substring(j, j + 3);
-                    if (isStopCodon(codon)) {
-                        int length = j + 3 - i;
-                        if (length >= minORFLength) {
-                            String orfSeq = sequence.substring(i, j + 3);
-                            orfs.add(new ORF(i, j + 3, frame, orfSeq));
-                        }
-                        break;
-                    }
-                }
-            }
+    private String formatCodons(int[] codons) {
+        if (codons.length == 0) {
+            return "Unknown";
         }
-        return orfs;
+        return Arrays.stream(codons)
+                .mapToObj(GeneticCode::codonString)
+                .collect(Collectors.joining(", "));
     }
 
-    private String formatORFDetails(List<ORF> orfs) {
-        return orfs.stream()
-                .map(orf -> String.format(
-                        """
-                                %s
-                                  Sequence: %s
-                                  Translation: %s
-                                  GC Content: %.1f%%
-                                  Kozak Context: %s""",
-                        orf.toString(),
-                        formatSequence(orf.sequence),
-                        translateToProtein(orf.sequence),
-                        calculateGCContent(orf.sequence),
-                        analyzeKozakContext(orf.sequence)
-                ))
-                .collect(Collectors.joining("\n\n"));
+    private String formatORFDetails(CharSequence sequence, int frameKey, List<OrfFinder.Orf> orfs, GeneticCode code,
+                                    int budget) {
+        StringBuilder details = new StringBuilder();
+        for (int i = 0; i < orfs.size(); i++) {
+            if (details.length() >= budget) {
+                details.append("\n\n… ").append(orfs.size() - i).append(" more ORFs not shown");
+                break;
+            }
+            OrfFinder.Orf orf = orfs.get(i);
+            CharSequence orfSequence = SequenceViews.orf(sequence, orf);
+            if (i > 0) {
+                details.append("\n\n");
+            }
+            details.append(String.format(
+                    """
+                            %s
+                              Sequence: %s
+                              Translation: %s
+                              GC Content: %.1f%%
+                              Kozak Context: %s""",
+                    orf.toString(),
+                    renderPreview(orfSequence, "orf" + frameKey + "." + i),
+                    renderPreview(SequenceViews.translation(orfSequence, 0, orfSequence.length(), code),
+                            "orfaa" + frameKey + "." + i),
+                    SequenceAnalysis.gcContent(orfSequence),
+                    analyzeKozakContext(orfSequence)
+            ));
+        }
+        return details.toString();
     }
 
-    private String formatSequence(String sequence) {
+    private String formatSequence(CharSequence sequence) {
         StringBuilder formatted = new StringBuilder();
         for (int i = 0; i < sequence.length(); i += 60) {
             formatted.append(sequence, i, Math.min(i + 60, sequence.length())).append("\n");
@@ -369,60 +257,256 @@ public class BioSyntaxDocumentationProvider extends AbstractDocumentationProvide
         return formatted.toString().trim();
     }
 
-    private boolean isStopCodon(String codon) {
-        return codon.equals("TAA") || codon.equals("TAG") || codon.equals("TGA");
+    /**
+     * Renders {@code sequence} in full if it fits the preview size, otherwise its head and tail with links to page
+     * through it, copy it or open it in a scratch file.
+     */
+    private String renderPreview(CharSequence sequence, String form) {
+        int size = previewSize();
+        int length = sequence.length();
+        if (length <= size) {
+            return formatSequence(sequence);
+        }
+        int half = size / 2;
+        return formatSequence(sequence.subSequence(0, half)) +
+                "<br>… " + (length - 2 * half) + " more …<br>" +
+                formatSequence(sequence.subSequence(length - half, length)) +
+                "<br>Length: " + length + ", showing 1-" + half + " and " + (length - half + 1) + "-" + length +
+                "<br>" + formLinks(form, 0, (length + size - 1) / size);
+    }
+
+    private String formLinks(String form, int page, int pageCount) {
+        StringBuilder links = new StringBuilder();
+        if (page > 1) {
+            links.append(link(PAGE_ACTION, form, page - 1, "Previous page")).append(" | ");
+        }
+        if (page < pageCount) {
+            links.append(link(PAGE_ACTION, form, page + 1, page == 0 ? "Show pages" : "Next page")).append(" | ");
+        }
+        return links.append(link(COPY_ACTION, form, 0, "Copy"))
+                .append(" | ")
+                .append(link(SCRATCH_ACTION, form, 0, "Open in scratch file"))
+                .toString();
+    }
+
+    private String link(String action, String form, int page, String text) {
+        String href = LINK_PREFIX + action + ":" + form + (page > 0 ? ":" + page : "");
+        return "<a href=\"" + href + "\">" + text + "</a>";
+    }
+
+    private int previewSize() {
+        return Math.max(120, Registry.intValue(PREVIEW_SIZE_KEY, 1200));
+    }
+
+    /**
+     * Maps a form id from a popup link back to its text: {@code seq}, {@code rna}, {@code dna}, {@code aa<k>} for the
+     * translation of frame k (3-5 reverse) and {@code orf<k>.<n>}/{@code orfaa<k>.<n>} for the n-th ORF of frame k.
+     * Forms are views over the packed letters, see {@link SequenceViews}, so a preview or page reads only its letters.
+     */
+    @Nullable
+    private CharSequence resolveForm(SequenceAnalysis analysis, String form) {
+        PackedSequence sequence = analysis.getSequence();
+        boolean packedNucleotides = !analysis.isProtein() && sequence.isNucleotide();
+        try {
+            switch (form) {
+                case "seq" -> {
+                    return sequence;
+                }
+                case "rna" -> {
+                    return packedNucleotides ? sequence.asRna() : analysis.isProtein()
+                            ? SequenceViews.backTranslation(sequence, analysis.getGeneticCode(), 'U')
+                            : SequenceViews.withThymine(sequence, 'U');
+                }
+                case "dna" -> {
+                    return packedNucleotides ? sequence.asDna() : analysis.isProtein()
+                            ? SequenceViews.backTranslation(sequence, analysis.getGeneticCode(), 'T')
+                            : SequenceViews.withThymine(sequence, 'T');
+                }
+            }
+            if (form.startsWith("orf")) {
+                boolean translated = form.startsWith("orfaa");
+                String[] parts = form.substring(translated ? 5 : 3).split("\\.");
+                List<OrfFinder.Orf> orfs = analysis.getOrfsByFrame().get(Integer.parseInt(parts[0]));
+                int index = Integer.parseInt(parts[1]);
+                if (orfs == null || index >= orfs.size()) {
+                    return null;
+                }
+                CharSequence orfSequence = SequenceViews.orf(resolveForm(analysis, "dna"), orfs.get(index));
+                return translated
+                        ? SequenceViews.translation(orfSequence, 0, orfSequence.length(), analysis.getGeneticCode())
+                        : orfSequence;
+            }
+            if (form.startsWith("aa")) {
+                int key = Integer.parseInt(form.substring(2));
+                if (key < 0 || key >= 6) {
+                    return null;
+                }
+                CharSequence dna = resolveForm(analysis, "dna");
+                CharSequence strand = key >= 3 ? SequenceViews.reverseComplement(dna, 0, dna.length()) : dna;
+                int frame = Math.min(key % 3, strand.length());
+                return SequenceViews.translation(strand, frame, strand.length(), analysis.getGeneticCode());
+            }
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            return null;
+        }
+        return null;
+    }
+
+    /**
+     * Maps a form id from a gene popup link back to its text: {@code part<i>}, {@code partrna<i>} and
+     * {@code partaa<i>} for the letters, RNA form and frame 0 translation of the i-th property.
+     */
+    @Nullable
+    private CharSequence resolveGeneForm(BioSyntaxGeneDefinition gene, String form) {
+        if (!form.startsWith("part")) {
+            return null;
+        }
+        String kind = form.startsWith("partrna") ? "rna" : form.startsWith("partaa") ? "aa" : "";
+        int index;
+        try {
+            index = Integer.parseInt(form.substring(4 + kind.length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        List<BioSyntaxGeneProperty> properties =
+                PsiTreeUtil.getChildrenOfTypeAsList(gene.getGeneBody(), BioSyntaxGeneProperty.class);
+        if (index < 0 || index >= properties.size()) {
+            return null;
+        }
+        PackedSequence sequence = properties.get(index).getPackedSequence();
+        return switch (kind) {
+            case "rna" -> sequence.isNucleotide() ? sequence.asRna() : null;
+            case "aa" -> SequenceViews.translation(sequence, 0, sequence.length(), BioSyntaxUtil.findGeneticCode(gene));
+            default -> sequence;
+        };
     }
 
-    private double calculateGCContent(String sequence) {
-        long gcCount = sequence.chars()
-                .filter(ch -> ch == 'G' || ch == 'C')
-                .count();
-        return (double) gcCount / sequence.length() * 100;
+    // The text behind a link of the popup of a declaration or gene
+    @Nullable
+    private CharSequence resolveForm(PsiElement element, String form) {
+        if (element instanceof BioSyntaxDeclaration declaration) {
+            return resolveForm(BioSyntaxUtil.getSequenceAnalysis(declaration), form);
+        }
+        return element instanceof BioSyntaxGeneDefinition gene ? resolveGeneForm(gene, form) : null;
     }
 
-    private int countPattern(String sequence, String pattern) {
-        return (sequence.length() - sequence.replace(pattern, "").length()) / pattern.length();
+    private static String getName(PsiElement element) {
+        String name = element instanceof BioSyntaxDeclaration declaration ? declaration.getName()
+                : element instanceof BioSyntaxGeneDefinition gene ? gene.getName() : null;
+        return StringUtil.notNullize(name, "unknown");
     }
 
-    private String analyzeKozakContext(String sequence) {
-        if (sequence.length() < 9) return "Sequence too short";
-        String kozakRegion = sequence.substring(0, 9);
-        return "(" + kozakRegion + ")";
+    @Override
+    public boolean canFetchDocumentationLink(String link) {
+        return link.startsWith(LINK_PREFIX + PAGE_ACTION + ":");
     }
 
-    private void addTranslations(String sequence, String type, StringBuilder sb) {
-        switch (type) {
-            case "NtSeq", "DNASeq" -> {
-                addKeyValueSection("RNA Form:", translateToRNA(sequence), sb);
-                addKeyValueSection("DNA Form:", sequence, sb);
-                for (int frame = 0; frame < 3; frame++) {
-                    String proteinSeq = translateFrame(sequence, frame);
-                    if (!proteinSeq.isEmpty()) {
-                        addKeyValueSection("Amino Acid (Frame " + frame + "):", formatSequence(proteinSeq), sb);
-                    }
-                }
+    @Override
+    public @Nullable String fetchExternalDocumentation(@NotNull String link, @Nullable PsiElement element) {
+        String[] parts = link.substring(LINK_PREFIX.length()).split(":");
+        if (element == null || parts.length != 3) {
+            return null;
+        }
+        CharSequence text = resolveForm(element, parts[1]);
+        int page;
+        try {
+            page = Integer.parseInt(parts[2]);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        int size = previewSize();
+        int pageCount = text == null ? 0 : (text.length() + size - 1) / size;
+        if (page < 1 || page > pageCount) {
+            return null;
+        }
+        int start = (page - 1) * size;
+        int end = Math.min(text.length(), start + size);
+
+        StringBuilder sb = new StringBuilder();
+        sb.append(DocumentationMarkup.DEFINITION_START)
+                .append(getName(element))
+                .append(" (").append(parts[1]).append(")")
+                .append(DocumentationMarkup.DEFINITION_END)
+                .append(DocumentationMarkup.CONTENT_START);
+        addKeyValueSection("Page:", page + " of " + pageCount + ", positions " + (start + 1) + "-" + end + " of " + text.length(), sb);
+        addKeyValueSection("Sequence:", formatSequence(text.subSequence(start, end)), sb);
+        addKeyValueSection("", formLinks(parts[1], page, pageCount), sb);
+        sb.append(DocumentationMarkup.CONTENT_END);
+        return sb.toString();
+    }
+
+    @Override
+    public boolean handleExternalLink(PsiManager psiManager, String link, PsiElement context) {
+        if (!link.startsWith(LINK_PREFIX) || context == null) {
+            return false;
+        }
+        String[] parts = link.substring(LINK_PREFIX.length()).split(":");
+        if (parts.length < 2) {
+            return false;
+        }
+        CharSequence text = resolveForm(context, parts[1]);
+        if (text == null) {
+            return false;
+        }
+        switch (parts[0]) {
+            case COPY_ACTION -> {
+                CopyPasteManager.getInstance().setContents(new StringSelection(text.toString()));
+                return true;
             }
-            case "RNASeq" -> {
-                addKeyValueSection("RNA Form:", sequence, sb);
-                addKeyValueSection("DNA Form:", translateToDNA(sequence), sb);
-                String dnaSeq = translateToDNA(sequence);
-                for (int frame = 0; frame < 3; frame++) {
-                    String proteinSeq = translateFrame(dnaSeq, frame);
-                    if (!proteinSeq.isEmpty()) {
-                        addKeyValueSection("Amino Acid (Frame " + frame + "):", formatSequence(proteinSeq), sb);
-                    }
-                }
+            case SCRATCH_ACTION -> {
+                openInScratchFile(context.getProject(), getName(context), parts[1], text);
+                return true;
             }
-            case "AASeq" -> {
-                String dnaForm = reverseTranslate(sequence);
-                addKeyValueSection("DNA Form:", dnaForm, sb);
-                addKeyValueSection("RNA Form:", translateToRNA(dnaForm), sb);
-                addKeyValueSection("Amino Acid:", sequence, sb);
+            default -> {
+                return false;
             }
         }
     }
 
+    private void openInScratchFile(Project project, String name, String form, CharSequence text) {
+        VirtualFile file = ScratchRootType.getInstance().createScratchFile(project, name + "_" + form + ".fasta",
+                PlainTextLanguage.INSTANCE, "", ScratchFileService.Option.create_new_always);
+        if (file == null) {
+            return;
+        }
+        try {
+            WriteAction.run(() -> {
+                // Stream the form so packed views are never expanded into one big String
+                try (FastaWriter writer = new FastaWriter(Channels.newChannel(file.getOutputStream(this)),
+                        FastaWriter.DEFAULT_LINE_WIDTH)) {
+                    writer.beginRecord(name, form);
+                    writer.append(text, 0, text.length());
+                }
+            });
+        } catch (IOException e) {
+            Messages.showErrorDialog(project, e.getMessage(), "Cannot Write Scratch File");
+            return;
+        }
+        FileEditorManager.getInstance(project).openFile(file, true);
+    }
+
+    private String analyzeKozakContext(CharSequence sequence) {
+        if (sequence.length() < 9) return "Sequence too short";
+        CharSequence kozakRegion = sequence.subSequence(0, 9);
+        return "(" + kozakRegion + ")";
+    }
 
+    private void addTranslations(SequenceAnalysis analysis, StringBuilder sb) {
+        if (analysis.isProtein()) {
+            addKeyValueSection("DNA Form:", renderPreview(resolveForm(analysis, "dna"), "dna"), sb);
+            addKeyValueSection("RNA Form:", renderPreview(resolveForm(analysis, "rna"), "rna"), sb);
+            addKeyValueSection("Amino Acid:", renderPreview(analysis.getSequence(), "seq"), sb);
+            return;
+        }
+        addKeyValueSection("RNA Form:", renderPreview(resolveForm(analysis, "rna"), "rna"), sb);
+        addKeyValueSection("DNA Form:", renderPreview(resolveForm(analysis, "dna"), "dna"), sb);
+        for (int frame = 0; frame < 3; frame++) {
+            CharSequence proteinSeq = resolveForm(analysis, "aa" + frame);
+            if (proteinSeq != null && proteinSeq.length() > 0) {
+                addKeyValueSection("Amino Acid (Frame " + frame + "):", renderPreview(proteinSeq, "aa" + frame), sb);
+            }
+        }
+    }
 
     private String getFullTypeName(String type) {
         return switch (type) {
@@ -465,29 +549,6 @@ public class BioSyntaxDocumentationProvider extends AbstractDocumentationProvide
         sb.append(DocumentationMarkup.CONTENT_END);
     }
 
-    private String extractType(ASTNode node) {
-        String text = node.getText().trim();
-        String[] parts = text.split("\\s+");
-        return parts.length > 0 ? parts[0] : "unknown";
-    }
-
-    private String extractName(ASTNode node) {
-        String text = node.getText().trim();
-        String[] parts = text.split("\\s+");
-        return parts.length > 1 ? parts[1] : "unknown";
-    }
-
-    private String extractSequence(ASTNode node) {
-        String text = node.getText().trim();
-        int equalIndex = text.indexOf("=");
-        if (equalIndex != -1) {
-            String sequence = text.substring(equalIndex + 1).trim();
-            sequence = sequence.replaceAll("\"", "");
-            return sequence;
-        }
-        return "unknown";
-    }
-
     private void addKeyValueSection(String key, String value, StringBuilder sb) {
         sb.append(DocumentationMarkup.SECTION_HEADER_START);
         sb.append(key);
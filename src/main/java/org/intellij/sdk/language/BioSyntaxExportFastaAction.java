@@ -0,0 +1,141 @@
+package org.intellij.sdk.language;
+
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.editor.SelectionModel;
+import com.intellij.openapi.fileChooser.FileChooserFactory;
+import com.intellij.openapi.fileChooser.FileSaverDescriptor;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.openapi.vfs.LocalFileSystem;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileWrapper;
+import com.intellij.openapi.wm.WindowManager;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.util.PsiTreeUtil;
+import org.intellij.sdk.language.psi.BioSyntaxDeclaration;
+import org.intellij.sdk.language.psi.BioSyntaxFile;
+import org.intellij.sdk.language.psi.BioSyntaxGeneDefinition;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Exports to FASTA the declarations and genes in the editor selection, the one at the caret, or, from the project view,
+ * all of those in the selected {@code .bsyn} files.
+ */
+public class BioSyntaxExportFastaAction extends AnAction {
+    @Override
+    public @NotNull ActionUpdateThread getActionUpdateThread() {
+        return ActionUpdateThread.BGT;
+    }
+
+    @Override
+    public void update(@NotNull AnActionEvent e) {
+        PsiFile psiFile = e.getData(CommonDataKeys.PSI_FILE);
+        VirtualFile[] files = e.getData(CommonDataKeys.VIRTUAL_FILE_ARRAY);
+        boolean enabled = e.getProject() != null && (psiFile instanceof BioSyntaxFile || hasBioSyntaxFile(files));
+        e.getPresentation().setEnabledAndVisible(enabled);
+    }
+
+    @Override
+    public void actionPerformed(@NotNull AnActionEvent e) {
+        Project project = e.getProject();
+        if (project == null) {
+            return;
+        }
+        List<PsiElement> elements = findElements(e, project);
+        if (elements.isEmpty()) {
+            return;
+        }
+        String defaultName = elements.size() == 1 && elements.get(0) instanceof BioSyntaxFile file
+                ? file.getVirtualFile().getNameWithoutExtension() + ".fasta"
+                : "sequences.fasta";
+        VirtualFileWrapper target = FileChooserFactory.getInstance()
+                .createSaveFileDialog(new FileSaverDescriptor("Export FASTA", "Export sequences as FASTA", "fasta", "fa"), project)
+                .save(defaultName);
+        if (target == null) {
+            return;
+        }
+        Path output = target.getFile().toPath();
+
+        new Task.Backgroundable(project, "Exporting FASTA", true) {
+            private long letters;
+
+            @Override
+            public void run(@NotNull ProgressIndicator indicator) {
+                indicator.setIndeterminate(false);
+                try {
+                    letters = BioSyntaxFastaExport.export(elements, output, indicator);
+                } catch (IOException ex) {
+                    throw new RuntimeException(ex.getMessage(), ex);
+                }
+            }
+
+            @Override
+            public void onSuccess() {
+                LocalFileSystem.getInstance().refreshAndFindFileByNioFile(output);
+                WindowManager.getInstance().getStatusBar(project)
+                        .setInfo("Exported " + letters + " letters to " + output.getFileName());
+            }
+
+            @Override
+            public void onThrowable(@NotNull Throwable error) {
+                Messages.showErrorDialog(project, error.getMessage(), "Export FASTA");
+            }
+        }.queue();
+    }
+
+    private static List<PsiElement> findElements(AnActionEvent e, Project project) {
+        List<PsiElement> elements = new ArrayList<>();
+        Editor editor = e.getData(CommonDataKeys.EDITOR);
+        PsiFile psiFile = e.getData(CommonDataKeys.PSI_FILE);
+        if (editor != null && psiFile instanceof BioSyntaxFile) {
+            SelectionModel selection = editor.getSelectionModel();
+            if (selection.hasSelection()) {
+                for (PsiElement child : PsiTreeUtil.getChildrenOfAnyType(psiFile, BioSyntaxDeclaration.class, BioSyntaxGeneDefinition.class)) {
+                    if (child.getTextRange().intersects(selection.getSelectionStart(), selection.getSelectionEnd())) {
+                        elements.add(child);
+                    }
+                }
+                return elements;
+            }
+            PsiElement atCaret = PsiTreeUtil.getParentOfType(psiFile.findElementAt(editor.getCaretModel().getOffset()),
+                    BioSyntaxDeclaration.class, BioSyntaxGeneDefinition.class);
+            elements.add(atCaret != null ? atCaret : psiFile);
+            return elements;
+        }
+        VirtualFile[] files = e.getData(CommonDataKeys.VIRTUAL_FILE_ARRAY);
+        if (files != null) {
+            PsiManager psiManager = PsiManager.getInstance(project);
+            for (VirtualFile file : files) {
+                if (psiManager.findFile(file) instanceof BioSyntaxFile bioSyntaxFile) {
+                    elements.add(bioSyntaxFile);
+                }
+            }
+        }
+        return elements;
+    }
+
+    private static boolean hasBioSyntaxFile(VirtualFile[] files) {
+        if (files == null) {
+            return false;
+        }
+        for (VirtualFile file : files) {
+            if (file.getFileType() == BioSyntaxFileType.INSTANCE) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,173 @@
+package org.intellij.sdk.language;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.TokenType;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.tree.TokenSet;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.ArrayUtil;
+import org.intellij.sdk.language.io.FastaWriter;
+import org.intellij.sdk.language.psi.*;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Exports declarations and assembled genes as FASTA. Collecting only records the offsets of the letters between the
+ * quotes in the file text, under a short read action; the letters are then streamed from that immutable text into a
+ * file channel without the read lock and without building a String per sequence.
+ */
+public final class BioSyntaxFastaExport {
+    // Whitespace between the quotes only wraps the literal, every other token in it is a letter
+    private static final TokenSet LAYOUT_TOKENS = TokenSet.create(TokenType.WHITE_SPACE, BioSyntaxTypes.CRLF);
+    // Genes are assembled in this order, whatever the order of their properties in the source
+    private static final IElementType[] GENE_PARTS = {
+            BioSyntaxTypes.PROMOTER,
+            BioSyntaxTypes.START_CODON,
+            BioSyntaxTypes.CODING_SEQUENCE,
+            BioSyntaxTypes.STOP_CODON,
+            BioSyntaxTypes.TERMINATOR
+    };
+
+    private BioSyntaxFastaExport() {
+    }
+
+    /**
+     * One FASTA record: the letters of {@code text} in the {@code [ranges[2i], ranges[2i + 1])} ranges, in order.
+     */
+    public record Entry(@NotNull String id, @NotNull String description, @NotNull CharSequence text, int @NotNull [] ranges) {
+        public long getLength() {
+            long length = 0;
+            for (int i = 0; i < ranges.length; i += 2) {
+                length += ranges[i + 1] - ranges[i];
+            }
+            return length;
+        }
+    }
+
+    /**
+     * Collects the records of {@code elements}, which are {@link BioSyntaxDeclaration}s, {@link BioSyntaxGeneDefinition}s
+     * or {@link BioSyntaxFile}s standing for all of their top-level declarations and genes. Requires a read action.
+     */
+    @NotNull
+    public static List<Entry> collect(@NotNull Collection<? extends PsiElement> elements) {
+        List<Entry> entries = new ArrayList<>();
+        for (PsiElement element : elements) {
+            if (element instanceof BioSyntaxFile file) {
+                for (PsiElement child : PsiTreeUtil.getChildrenOfAnyType(file, BioSyntaxDeclaration.class, BioSyntaxGeneDefinition.class)) {
+                    addEntry(child, entries);
+                }
+            } else {
+                addEntry(element, entries);
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Writes {@code entries} to {@code output}, replacing it. Runs without a read action.
+     *
+     * @return the number of letters written
+     */
+    public static long write(@NotNull List<Entry> entries, @NotNull Path output, @Nullable ProgressIndicator indicator)
+            throws IOException {
+        long total = 0;
+        for (Entry entry : entries) {
+            total += entry.getLength();
+        }
+        long written = 0;
+        try (FastaWriter writer = new FastaWriter(FileChannel.open(output, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING), FastaWriter.DEFAULT_LINE_WIDTH)) {
+            for (Entry entry : entries) {
+                writer.beginRecord(entry.id(), entry.description());
+                int[] ranges = entry.ranges();
+                // Valid letters are chunked by the lexer, so checking between them keeps cancellation responsive
+                for (int i = 0; i < ranges.length; i += 2) {
+                    if (indicator != null) {
+                        indicator.checkCanceled();
+                        indicator.setFraction(total == 0 ? 1 : (double) written / total);
+                    }
+                    writer.append(entry.text(), ranges[i], ranges[i + 1]);
+                    written += ranges[i + 1] - ranges[i];
+                }
+            }
+        }
+        return written;
+    }
+
+    /**
+     * {@link #collect} and {@link #write} in one call, from any thread but the EDT.
+     */
+    public static long export(@NotNull Collection<? extends PsiElement> elements, @NotNull Path output,
+                              @Nullable ProgressIndicator indicator) throws IOException {
+        return write(ReadAction.compute(() -> collect(elements)), output, indicator);
+    }
+
+    private static void addEntry(PsiElement element, List<Entry> entries) {
+        if (!element.isValid()) {
+            return;
+        }
+        CharSequence text = element.getContainingFile().getViewProvider().getContents();
+        String fileName = element.getContainingFile().getName();
+        if (element instanceof BioSyntaxDeclaration declaration && declaration.getName() != null) {
+            int[] ranges = tokenRanges(declaration.getNode());
+            entries.add(new Entry(declaration.getName(), declaration.getSequenceKind() + " " + fileName, text, ranges));
+        } else if (element instanceof BioSyntaxGeneDefinition gene && gene.getName() != null) {
+            // A gene without a body yet has no properties
+            List<BioSyntaxGeneProperty> properties =
+                    PsiTreeUtil.getChildrenOfTypeAsList(gene.getGeneBody(), BioSyntaxGeneProperty.class);
+            int[] ranges = ArrayUtil.EMPTY_INT_ARRAY;
+            for (IElementType part : GENE_PARTS) {
+                for (BioSyntaxGeneProperty property : properties) {
+                    ASTNode keyword = property.getNode().getFirstChildNode();
+                    if (keyword != null && keyword.getElementType() == part) {
+                        ranges = ArrayUtil.mergeArrays(ranges, tokenRanges(property.getNode()));
+                    }
+                }
+            }
+            entries.add(new Entry(gene.getName(), "Gene " + fileName, text, ranges));
+        }
+    }
+
+    /**
+     * The ranges of the letters between the quotes of a declaration or gene property, invalid letters included: an
+     * exported record keeps every letter of the source, e.g. the {@code N}s written by the importer, rather than
+     * silently dropping the ones the annotator reports.
+     */
+    static int[] tokenRanges(ASTNode parent) {
+        List<ASTNode> tokens = new ArrayList<>();
+        collectTokens(parent, tokens, false);
+        int[] ranges = new int[tokens.size() * 2];
+        for (int i = 0; i < tokens.size(); i++) {
+            ranges[2 * i] = tokens.get(i).getStartOffset();
+            ranges[2 * i + 1] = ranges[2 * i] + tokens.get(i).getTextLength();
+        }
+        return ranges;
+    }
+
+    // Declarations wrap the kind-specific node that holds the literal, gene properties hold it directly. A literal
+    // without its closing quote runs to the end of the node.
+    private static boolean collectTokens(ASTNode parent, List<ASTNode> tokens, boolean inLiteral) {
+        for (ASTNode child = parent.getFirstChildNode(); child != null; child = child.getTreeNext()) {
+            IElementType type = child.getElementType();
+            if (type == BioSyntaxTypes.QUOTE) {
+                inLiteral = !inLiteral;
+            } else if (child.getFirstChildNode() != null) {
+                inLiteral = collectTokens(child, tokens, inLiteral);
+            } else if (inLiteral && !LAYOUT_TOKENS.contains(type) && child.getTextLength() > 0) {
+                tokens.add(child);
+            }
+        }
+        return inLiteral;
+    }
+}
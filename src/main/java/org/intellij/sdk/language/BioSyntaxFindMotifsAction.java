@@ -0,0 +1,99 @@
+package org.intellij.sdk.language;
+
+import com.intellij.ide.util.PropertiesComponent;
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.usageView.UsageInfo;
+import com.intellij.usages.*;
+import org.intellij.sdk.language.analysis.MotifMatcher;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Asks for a list of IUPAC motifs, e.g. restriction sites or primers, and lists their matches on both strands of every
+ * nucleotide declaration in the project in the Find tool window. Matches appear as they are found.
+ */
+public class BioSyntaxFindMotifsAction extends AnAction {
+    private static final String DEFAULT_MOTIFS = "EcoRI=GAATTC, BamHI=GGATCC, HindIII=AAGCTT, NotI=GCGGCCGC, XhoI=CTCGAG";
+    private static final String LAST_MOTIFS_KEY = "biosyntax.find.motifs.last";
+
+    @Override
+    public @NotNull ActionUpdateThread getActionUpdateThread() {
+        return ActionUpdateThread.BGT;
+    }
+
+    @Override
+    public void update(@NotNull AnActionEvent e) {
+        e.getPresentation().setEnabled(e.getProject() != null);
+    }
+
+    @Override
+    public void actionPerformed(@NotNull AnActionEvent e) {
+        Project project = e.getProject();
+        if (project == null) {
+            return;
+        }
+        String input = Messages.showInputDialog(project,
+                "Motifs as NAME=PATTERN or PATTERN, separated by commas or spaces (IUPAC codes allowed):",
+                "Find Motifs", null, PropertiesComponent.getInstance(project).getValue(LAST_MOTIFS_KEY, DEFAULT_MOTIFS), null);
+        if (input == null || input.isBlank()) {
+            return;
+        }
+
+        MotifMatcher matcher;
+        try {
+            matcher = MotifMatcher.compile(parseMotifs(input), true);
+        } catch (IllegalArgumentException ex) {
+            Messages.showErrorDialog(project, ex.getMessage(), "Find Motifs");
+            return;
+        }
+        PropertiesComponent.getInstance(project).setValue(LAST_MOTIFS_KEY, input);
+
+        UsageViewPresentation presentation = new UsageViewPresentation();
+        presentation.setTabText("Motifs");
+        presentation.setSearchString(StringUtil.shortenTextWithEllipsis(input, 60, 0));
+        presentation.setCodeUsagesString("Motif matches");
+        presentation.setScopeText("Project");
+
+        GlobalSearchScope scope = GlobalSearchScope.projectScope(project);
+        PsiManager psiManager = PsiManager.getInstance(project);
+        UsageViewManager.getInstance(project).searchAndShowUsages(UsageTarget.EMPTY_ARRAY,
+                () -> processor -> BioSyntaxMotifSearch.search(matcher, scope,
+                        ProgressManager.getInstance().getProgressIndicator(), match -> {
+                            PsiFile file = psiManager.findFile(match.file());
+                            if (file == null) {
+                                return true;
+                            }
+                            return processor.process(new UsageInfo2UsageAdapter(new UsageInfo(file,
+                                    match.match().start(), match.match().end(), true)));
+                        }),
+                false, true, presentation, null);
+    }
+
+    @NotNull
+    static List<MotifMatcher.Motif> parseMotifs(@NotNull String input) {
+        List<MotifMatcher.Motif> motifs = new ArrayList<>();
+        for (String entry : input.split("[,;\\s]+")) {
+            if (entry.isEmpty()) {
+                continue;
+            }
+            int separator = entry.indexOf('=');
+            String name = separator > 0 ? entry.substring(0, separator) : entry;
+            motifs.add(new MotifMatcher.Motif(name, entry.substring(separator + 1)));
+        }
+        if (motifs.isEmpty()) {
+            throw new IllegalArgumentException("No motifs given");
+        }
+        return motifs;
+    }
+}
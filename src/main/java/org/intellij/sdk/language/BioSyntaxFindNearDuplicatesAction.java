@@ -0,0 +1,135 @@
+package org.intellij.sdk.language;
+
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.openapi.ui.popup.JBPopupFactory;
+import com.intellij.psi.PsiFile;
+import com.intellij.ui.SimpleListCellRenderer;
+import com.intellij.util.PsiNavigateUtil;
+import org.intellij.sdk.language.psi.BioSyntaxDeclaration;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Groups all nucleotide declarations of the project into clusters of near-duplicates and lets the user browse them,
+ * largest cluster first. Band keys come from the stubs, so only files with candidate duplicates are loaded.
+ */
+public class BioSyntaxFindNearDuplicatesAction extends AnAction {
+    @Override
+    public @NotNull ActionUpdateThread getActionUpdateThread() {
+        return ActionUpdateThread.BGT;
+    }
+
+    @Override
+    public void update(@NotNull AnActionEvent e) {
+        e.getPresentation().setEnabled(e.getProject() != null);
+    }
+
+    @Override
+    public void actionPerformed(@NotNull AnActionEvent e) {
+        Project project = e.getProject();
+        if (project == null) {
+            return;
+        }
+        double minSimilarity = BioSyntaxNearDuplicates.getMinSimilarity();
+        new Task.Backgroundable(project, "Finding near-duplicate sequences", true) {
+            private List<BioSyntaxNearDuplicates.Cluster> clusters;
+            private int count;
+
+            @Override
+            public void run(@NotNull ProgressIndicator indicator) {
+                indicator.setText("Reading sequence sketches");
+                // Band keys of indexed files come straight from the stubs, so one read action covers all of them
+                List<BioSyntaxDeclaration> declarations = new ArrayList<>();
+                int[][] bandKeys = DumbService.getInstance(project).runReadActionInSmartMode(() -> {
+                    declarations.addAll(BioSyntaxUtil.findSequences(project));
+                    int[][] result = new int[declarations.size()][];
+                    for (int i = 0; i < result.length; i++) {
+                        ProgressManager.checkCanceled();
+                        result[i] = BioSyntaxNearDuplicates.getBandKeys(declarations.get(i));
+                    }
+                    return result;
+                });
+                count = declarations.size();
+                // Only declarations sharing a band key are compared, so only their literals are read for sketches,
+                // each in its own read action
+                boolean[] candidates = BioSyntaxNearDuplicates.findCandidates(bandKeys);
+                int[][] sketches = new int[count][];
+                for (int i = 0; i < count; i++) {
+                    if (candidates[i]) {
+                        indicator.checkCanceled();
+                        indicator.setFraction((double) i / count);
+                        BioSyntaxDeclaration declaration = declarations.get(i);
+                        sketches[i] = ReadAction.compute(() -> declaration.isValid()
+                                ? BioSyntaxNearDuplicates.getSketch(declaration) : null);
+                    }
+                }
+                indicator.setText("Clustering " + count + " declarations");
+                clusters = BioSyntaxNearDuplicates.findClusters(declarations, bandKeys, sketches, minSimilarity, indicator);
+            }
+
+            @Override
+            public void onSuccess() {
+                if (clusters.isEmpty()) {
+                    Messages.showInfoMessage(project, String.format("No near-duplicates with at least %.0f%% shared "
+                            + "k-mers among %d declarations", minSimilarity * 100, count), "Near-Duplicate Sequences");
+                    return;
+                }
+                showClusters(project, clusters);
+            }
+        }.queue();
+    }
+
+    private static void showClusters(Project project, List<BioSyntaxNearDuplicates.Cluster> clusters) {
+        JBPopupFactory.getInstance().createPopupChooserBuilder(clusters)
+                .setTitle("Near-Duplicate Sequences (" + clusters.size() + " Groups)")
+                .setRenderer(SimpleListCellRenderer.<BioSyntaxNearDuplicates.Cluster>create((label, cluster, index) -> {
+                    BioSyntaxDeclaration first = cluster.members().get(0);
+                    label.setIcon(BioSyntaxIcons.FILE);
+                    label.setText(first.isValid()
+                            ? String.format("%s (%s) and %d more", first.getName(), fileName(first), cluster.members().size() - 1)
+                            : "<invalid>");
+                }))
+                .setItemChosenCallback(cluster -> showMembers(project, cluster))
+                .createPopup()
+                .showCenteredInCurrentWindow(project);
+    }
+
+    private static void showMembers(Project project, BioSyntaxNearDuplicates.Cluster cluster) {
+        List<Integer> indices = IntStream.range(0, cluster.members().size()).boxed().toList();
+        JBPopupFactory.getInstance().createPopupChooserBuilder(indices)
+                .setTitle("Near-Duplicates of " + cluster.members().get(0).getName())
+                .setRenderer(SimpleListCellRenderer.<Integer>create((label, index, row) -> {
+                    BioSyntaxDeclaration member = cluster.members().get(index);
+                    label.setIcon(BioSyntaxIcons.FILE);
+                    label.setText(member.isValid()
+                            ? String.format("%s (%s)  %d letters, ~%.0f%% shared k-mers", member.getName(),
+                            fileName(member), member.getSequenceLength(), cluster.similarities()[index] * 100)
+                            : "<invalid>");
+                }))
+                .setItemChosenCallback(index -> {
+                    BioSyntaxDeclaration member = cluster.members().get(index);
+                    if (member.isValid()) {
+                        PsiNavigateUtil.navigate(member);
+                    }
+                })
+                .createPopup()
+                .showCenteredInCurrentWindow(project);
+    }
+
+    private static String fileName(BioSyntaxDeclaration declaration) {
+        PsiFile file = declaration.getContainingFile();
+        return file == null ? "?" : file.getName();
+    }
+}
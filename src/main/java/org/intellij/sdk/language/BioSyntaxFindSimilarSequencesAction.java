@@ -0,0 +1,100 @@
+package org.intellij.sdk.language;
+
+import com.intellij.codeInsight.hint.HintManager;
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.fileEditor.OpenFileDescriptor;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.popup.JBPopupFactory;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.ui.SimpleListCellRenderer;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import org.intellij.sdk.language.psi.BioSyntaxDeclaration;
+import org.intellij.sdk.language.psi.BioSyntaxFile;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * Lists the declarations across the project that share the most sequence with the nucleotide declaration at the caret.
+ */
+public class BioSyntaxFindSimilarSequencesAction extends AnAction {
+    private static final int MAX_RESULTS = 50;
+
+    @Override
+    public @NotNull ActionUpdateThread getActionUpdateThread() {
+        return ActionUpdateThread.BGT;
+    }
+
+    @Override
+    public void update(@NotNull AnActionEvent e) {
+        e.getPresentation().setEnabledAndVisible(findDeclaration(e) != null);
+    }
+
+    @Override
+    public void actionPerformed(@NotNull AnActionEvent e) {
+        Project project = e.getProject();
+        Editor editor = e.getData(CommonDataKeys.EDITOR);
+        BioSyntaxDeclaration declaration = findDeclaration(e);
+        if (project == null || editor == null || declaration == null) {
+            return;
+        }
+
+        String query = declaration.getSequenceText();
+        if (query == null || query.length() < BioSyntaxKmerIndex.K) {
+            HintManager.getInstance().showInformationHint(editor,
+                    "Sequences shorter than " + BioSyntaxKmerIndex.K + " letters cannot be searched");
+            return;
+        }
+        VirtualFile file = declaration.getContainingFile().getVirtualFile();
+        int sequenceOffset = declaration.getTextRange().getStartOffset() + StringUtil.indexOf(declaration.getNode().getChars(), '"') + 1;
+
+        ReadAction.nonBlocking(() -> BioSyntaxSimilaritySearch.search(project, query, GlobalSearchScope.allScope(project),
+                        MAX_RESULTS, file, sequenceOffset))
+                .inSmartMode(project)
+                .expireWhen(editor::isDisposed)
+                .finishOnUiThread(ModalityState.defaultModalityState(), matches -> showMatches(project, editor, matches))
+                .submit(AppExecutorUtil.getAppExecutorService());
+    }
+
+    private static void showMatches(Project project, Editor editor, List<BioSyntaxSimilaritySearch.Match> matches) {
+        if (matches.isEmpty()) {
+            HintManager.getInstance().showInformationHint(editor, "No similar sequences found");
+            return;
+        }
+        JBPopupFactory.getInstance().createPopupChooserBuilder(matches)
+                .setTitle("Similar Sequences")
+                .setRenderer(SimpleListCellRenderer.<BioSyntaxSimilaritySearch.Match>create((label, match, index) -> {
+                    label.setIcon(BioSyntaxIcons.FILE);
+                    label.setText(String.format("%s (%s)  %d bp, %.1f%% identity, score %d, %d seeds",
+                            match.name(), match.file().getName(), match.hit().length(), match.hit().getIdentity(),
+                            match.hit().score(), match.sharedSeeds()));
+                }))
+                .setItemChosenCallback(match -> new OpenFileDescriptor(project, match.file(), match.offset()).navigate(true))
+                .createPopup()
+                .showInBestPositionFor(editor);
+    }
+
+    private static BioSyntaxDeclaration findDeclaration(AnActionEvent e) {
+        Editor editor = e.getData(CommonDataKeys.EDITOR);
+        PsiFile file = e.getData(CommonDataKeys.PSI_FILE);
+        if (editor == null || !(file instanceof BioSyntaxFile)) {
+            return null;
+        }
+        BioSyntaxDeclaration declaration = PsiTreeUtil.getParentOfType(
+                file.findElementAt(editor.getCaretModel().getOffset()), BioSyntaxDeclaration.class);
+        if (declaration == null || "AASeq".equals(declaration.getSequenceKind())) {
+            return null;
+        }
+        return declaration;
+    }
+}
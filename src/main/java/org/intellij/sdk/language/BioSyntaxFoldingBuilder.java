@@ -0,0 +1,195 @@
+package org.intellij.sdk.language;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.lang.folding.FoldingBuilderEx;
+import com.intellij.lang.folding.FoldingDescriptor;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.project.DumbAware;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.openapi.util.registry.Registry;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.tree.TokenSet;
+import org.intellij.sdk.language.psi.BioSyntaxTypes;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Folds the literal of long declarations and the body of long genes into a placeholder such as
+ * {@code "ATGC…[1.2 Mb, GC 41%]"}, so that the editor does not lay out and soft-wrap the letters until they are
+ * expanded. Files above a size threshold open with these regions collapsed.
+ * <p>
+ * Works on the AST alone, so it is available during indexing, and reads the letters through the tokens' chars instead
+ * of copying the text.
+ */
+public class BioSyntaxFoldingBuilder extends FoldingBuilderEx implements DumbAware {
+    private static final String MIN_LENGTH_KEY = "biosyntax.folding.min.length";
+    private static final String COLLAPSE_FILE_SIZE_KEY = "biosyntax.folding.collapse.file.size";
+    private static final int PREVIEW_LENGTH = 4;
+    private static final TokenSet SEQUENCE_TOKENS = TokenSet.create(
+            BioSyntaxTypes.NUCLEOTIDE,
+            BioSyntaxTypes.RNA_NUCLEOTIDE,
+            BioSyntaxTypes.DNA_NUCLEOTIDE,
+            BioSyntaxTypes.AMINO_ACID
+    );
+
+    @Override
+    public FoldingDescriptor @NotNull [] buildFoldRegions(@NotNull PsiElement root, @NotNull Document document, boolean quick) {
+        int minLength = Registry.intValue(MIN_LENGTH_KEY, 1000);
+        List<FoldingDescriptor> descriptors = new ArrayList<>();
+        for (ASTNode child = root.getNode().getFirstChildNode(); child != null; child = child.getTreeNext()) {
+            // A node holds at least as many characters as letters, and the length of a lazy gene body is known
+            // without parsing it, so only nodes long enough to fold are descended into
+            if (child.getTextLength() < minLength) {
+                continue;
+            }
+            ASTNode parent = foldedNode(child);
+            if (parent != null) {
+                addRegion(parent, minLength, descriptors);
+            }
+        }
+        return descriptors.toArray(FoldingDescriptor.EMPTY_ARRAY);
+    }
+
+    /**
+     * The node holding the delimiters and letters of a top-level declaration or gene, or null for other nodes.
+     */
+    @Nullable
+    private static ASTNode foldedNode(ASTNode child) {
+        if (child.getElementType() == BioSyntaxTypes.DECLARATION) {
+            // The declaration node wraps the kind-specific node that holds the tokens
+            ASTNode inner = child.getFirstChildNode();
+            return inner != null && inner.getFirstChildNode() != null ? inner : child;
+        }
+        if (child.getElementType() == BioSyntaxTypes.GENE_DEFINITION) {
+            // The braces belong to the gene body node
+            return child.findChildByType(BioSyntaxTypes.GENE_BODY);
+        }
+        return null;
+    }
+
+    private static void addRegion(ASTNode parent, int minLength, List<FoldingDescriptor> descriptors) {
+        Region region = Region.of(parent);
+        if (region == null) {
+            return;
+        }
+        LetterCounter counter = new LetterCounter();
+        counter.count(parent);
+        if (counter.letters < minLength) {
+            return;
+        }
+        descriptors.add(new FoldingDescriptor(parent, region.range, null, region.placeholder(counter)));
+    }
+
+    @Nullable
+    @Override
+    public String getPlaceholderText(@NotNull ASTNode node) {
+        // Every descriptor carries its placeholder, this is only reached for a region built without one
+        Region region = Region.of(node);
+        if (region == null) {
+            return null;
+        }
+        LetterCounter counter = new LetterCounter();
+        counter.count(node);
+        return region.placeholder(counter);
+    }
+
+    @Override
+    public boolean isCollapsedByDefault(@NotNull ASTNode node) {
+        ASTNode file = node.getTreeParent();
+        while (file != null && file.getTreeParent() != null) {
+            file = file.getTreeParent();
+        }
+        return file != null && file.getTextLength() >= Registry.intValue(COLLAPSE_FILE_SIZE_KEY, 1_000_000);
+    }
+
+    /**
+     * A literal or gene body from its opening delimiter to its closing one, or to the end of the node if the literal
+     * or body is not closed yet.
+     */
+    private record Region(TextRange range, ASTNode open, @Nullable ASTNode close) {
+        @Nullable
+        static Region of(ASTNode parent) {
+            boolean body = parent.getElementType() == BioSyntaxTypes.GENE_BODY;
+            ASTNode open = parent.findChildByType(body ? BioSyntaxTypes.LBRACE : BioSyntaxTypes.QUOTE);
+            if (open == null) {
+                return null;
+            }
+            IElementType closeType = body ? BioSyntaxTypes.RBRACE : BioSyntaxTypes.QUOTE;
+            ASTNode close = parent.getLastChildNode();
+            while (close != null && close != open && close.getElementType() != closeType) {
+                close = close.getTreePrev();
+            }
+            if (close == open) {
+                close = null;
+            }
+            int end = close != null ? close.getTextRange().getEndOffset() : parent.getTextRange().getEndOffset();
+            return new Region(new TextRange(open.getStartOffset(), end), open, close);
+        }
+
+        String placeholder(LetterCounter counter) {
+            return open.getText() + counter.placeholder() + (close != null ? close.getText() : "");
+        }
+    }
+
+    /**
+     * Sequence tokens below a node. Tokens hold letters only, so their lengths are summed first and the letters are
+     * only scanned for the GC content of the few regions long enough to fold.
+     */
+    private static final class LetterCounter {
+        private final List<ASTNode> tokens = new ArrayList<>();
+        private long letters;
+        private boolean protein;
+
+        void count(ASTNode parent) {
+            for (ASTNode child = parent.getFirstChildNode(); child != null; child = child.getTreeNext()) {
+                if (SEQUENCE_TOKENS.contains(child.getElementType())) {
+                    protein |= child.getElementType() == BioSyntaxTypes.AMINO_ACID;
+                    tokens.add(child);
+                    letters += child.getTextLength();
+                } else if (child.getFirstChildNode() != null) {
+                    count(child);
+                }
+            }
+        }
+
+        String placeholder() {
+            StringBuilder preview = new StringBuilder(PREVIEW_LENGTH);
+            long gc = 0;
+            for (ASTNode token : tokens) {
+                CharSequence chars = token.getChars();
+                for (int i = 0; i < chars.length(); i++) {
+                    char ch = chars.charAt(i);
+                    if (preview.length() < PREVIEW_LENGTH) {
+                        preview.append(ch);
+                    }
+                    if (ch == 'G' || ch == 'C') {
+                        gc++;
+                    }
+                }
+                if (protein && preview.length() == PREVIEW_LENGTH) {
+                    break;
+                }
+            }
+            if (protein) {
+                return String.format(Locale.ROOT, "%s…[%,d aa]", preview, letters);
+            }
+            return String.format(Locale.ROOT, "%s…[%s, GC %d%%]", preview, formatLength(letters),
+                    Math.round(gc * 100.0 / Math.max(1, letters)));
+        }
+
+        private static String formatLength(long letters) {
+            if (letters >= 1_000_000) {
+                return String.format(Locale.ROOT, "%.1f Mb", letters / 1e6);
+            }
+            if (letters >= 1_000) {
+                return String.format(Locale.ROOT, "%.1f kb", letters / 1e3);
+            }
+            return letters + " bp";
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package org.intellij.sdk.language;
+
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.fileChooser.FileChooser;
+import com.intellij.openapi.fileChooser.FileChooserDescriptor;
+import com.intellij.openapi.fileChooser.FileChooserDescriptorFactory;
+import com.intellij.openapi.fileEditor.FileEditorManager;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.openapi.vfs.LocalFileSystem;
+import com.intellij.openapi.vfs.VirtualFile;
+import org.intellij.sdk.language.io.SequenceImporter;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Converts a FASTA or GenBank file into a {@code .bsyn} file next to it, in the background with progress and
+ * cancellation, and opens the result. See {@link SequenceImporter}.
+ */
+public class BioSyntaxImportSequencesAction extends AnAction {
+    private static final Set<String> EXTENSIONS = Set.of("fa", "fasta", "fna", "ffn", "faa", "frn", "gb", "gbk", "genbank");
+
+    @Override
+    public @NotNull ActionUpdateThread getActionUpdateThread() {
+        return ActionUpdateThread.BGT;
+    }
+
+    @Override
+    public void update(@NotNull AnActionEvent e) {
+        e.getPresentation().setEnabled(e.getProject() != null);
+    }
+
+    @Override
+    public void actionPerformed(@NotNull AnActionEvent e) {
+        Project project = e.getProject();
+        if (project == null) {
+            return;
+        }
+        FileChooserDescriptor descriptor = FileChooserDescriptorFactory.createSingleFileNoJarsDescriptor()
+                .withTitle("Import Sequences")
+                .withDescription("FASTA or GenBank file to convert into BioSyntax declarations")
+                .withFileFilter(file -> file.getExtension() != null && EXTENSIONS.contains(file.getExtension().toLowerCase(Locale.ROOT)));
+        VirtualFile chosen = FileChooser.chooseFile(descriptor, project, null);
+        if (chosen == null) {
+            return;
+        }
+        Path input = chosen.toNioPath();
+        Path output = SequenceImporter.defaultOutput(input);
+        if (Files.exists(output) && Messages.showYesNoDialog(project, output.getFileName() + " already exists. Replace it?",
+                "Import Sequences", Messages.getQuestionIcon()) != Messages.YES) {
+            return;
+        }
+
+        new Task.Backgroundable(project, "Importing " + input.getFileName(), true) {
+            private SequenceImporter.Result result;
+
+            @Override
+            public void run(@NotNull ProgressIndicator indicator) {
+                indicator.setIndeterminate(false);
+                AtomicLong done = new AtomicLong();
+                long total;
+                try {
+                    total = Math.max(1, Files.size(input));
+                    result = new SequenceImporter(Runtime.getRuntime().availableProcessors(), SequenceImporter.DEFAULT_LINE_WIDTH)
+                            .importFile(input, output, new SequenceImporter.Progress() {
+                                @Override
+                                public void advance(long bytes) {
+                                    indicator.setFraction((double) done.addAndGet(bytes) / total);
+                                }
+
+                                @Override
+                                public boolean isCanceled() {
+                                    return indicator.isCanceled();
+                                }
+                            });
+                } catch (CancellationException ex) {
+                    // Reported as a platform cancellation, so that onCancel rather than onThrowable runs
+                    indicator.checkCanceled();
+                    throw ex;
+                } catch (IOException ex) {
+                    throw new RuntimeException(ex.getMessage(), ex);
+                }
+            }
+
+            @Override
+            public void onSuccess() {
+                VirtualFile file = LocalFileSystem.getInstance().refreshAndFindFileByNioFile(output);
+                if (file != null) {
+                    FileEditorManager.getInstance(project).openFile(file, true);
+                }
+                if (result.warnings() > 0 || result.skipped() > 0) {
+                    Messages.showWarningDialog(project, String.format(
+                            "%d records imported, %d skipped without a sequence, %d with letters outside their alphabet.",
+                            result.records(), result.skipped(), result.warnings()), "Import Sequences");
+                }
+            }
+
+            @Override
+            public void onCancel() {
+                LocalFileSystem.getInstance().refreshAndFindFileByNioFile(output);
+            }
+
+            @Override
+            public void onThrowable(@NotNull Throwable error) {
+                Messages.showErrorDialog(project, error.getMessage(), "Import Sequences");
+            }
+        }.queue();
+    }
+}
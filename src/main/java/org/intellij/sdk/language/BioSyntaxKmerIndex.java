@@ -0,0 +1,119 @@
+package org.intellij.sdk.language;
+
+import com.intellij.util.indexing.*;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.DataInputOutputUtil;
+import com.intellij.util.io.EnumeratorIntegerDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import org.intellij.sdk.language.analysis.MinimizerSampler;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maps minimizer hashes of the nucleotide declarations in {@code .bsyn} files to where they occur. Each value is a flat
+ * array of pairs: the file offset of the first letter of the declared sequence (which identifies the declaration within
+ * the file) and the letter position of the k-mer within that sequence, layout whitespace not counted, so that it lines
+ * up with the declaration's packed sequence. Files are indexed with the lexer only; no PSI is built.
+ */
+public class BioSyntaxKmerIndex extends FileBasedIndexExtension<Integer, int[]> {
+    public static final ID<Integer, int[]> NAME = ID.create("biosyntax.kmer");
+
+    public static final int K = 20;
+    public static final int WINDOW = 10;
+    public static final MinimizerSampler SAMPLER = new MinimizerSampler(K, WINDOW);
+
+    @Override
+    public @NotNull ID<Integer, int[]> getName() {
+        return NAME;
+    }
+
+    @Override
+    public @NotNull DataIndexer<Integer, int[], FileContent> getIndexer() {
+        return inputData -> {
+            Map<Integer, Occurrences> occurrences = new HashMap<>();
+            CharSequence text = inputData.getContentAsText();
+            BioSyntaxUtil.forEachNucleotideSequence(text, (name, start, end) ->
+                    SAMPLER.sample(text, start, end, (hash, position) ->
+                            occurrences.computeIfAbsent(hash, h -> new Occurrences()).add(start, position)));
+
+            Map<Integer, int[]> result = new HashMap<>(occurrences.size());
+            occurrences.forEach((hash, entries) -> result.put(hash, entries.toArray()));
+            return result;
+        };
+    }
+
+    @Override
+    public @NotNull KeyDescriptor<Integer> getKeyDescriptor() {
+        return EnumeratorIntegerDescriptor.INSTANCE;
+    }
+
+    @Override
+    public @NotNull DataExternalizer<int[]> getValueExternalizer() {
+        return new DataExternalizer<>() {
+            // Pairs come in file order, so the sequence start of each is stored as a delta to the previous one, which is
+            // zero for all but the first k-mer of a sequence. The k-mer position is relative to its sequence already and
+            // is stored as is
+            @Override
+            public void save(@NotNull DataOutput out, int[] value) throws IOException {
+                DataInputOutputUtil.writeINT(out, value.length / 2);
+                int previousStart = 0;
+                for (int i = 0; i < value.length; i += 2) {
+                    DataInputOutputUtil.writeINT(out, value[i] - previousStart);
+                    DataInputOutputUtil.writeINT(out, value[i + 1]);
+                    previousStart = value[i];
+                }
+            }
+
+            @Override
+            public int[] read(@NotNull DataInput in) throws IOException {
+                int[] value = new int[DataInputOutputUtil.readINT(in) * 2];
+                int previousStart = 0;
+                for (int i = 0; i < value.length; i += 2) {
+                    value[i] = previousStart + DataInputOutputUtil.readINT(in);
+                    value[i + 1] = DataInputOutputUtil.readINT(in);
+                    previousStart = value[i];
+                }
+                return value;
+            }
+        };
+    }
+
+    // Bump when K, WINDOW, the hash or the value layout change
+    @Override
+    public int getVersion() {
+        return 2;
+    }
+
+    @Override
+    public FileBasedIndex.@NotNull InputFilter getInputFilter() {
+        return new DefaultFileTypeSpecificInputFilter(BioSyntaxFileType.INSTANCE);
+    }
+
+    @Override
+    public boolean dependsOnFileContent() {
+        return true;
+    }
+
+    private static final class Occurrences {
+        private int[] entries = new int[2];
+        private int size;
+
+        void add(int sequenceStart, int position) {
+            if (size == entries.length) {
+                entries = Arrays.copyOf(entries, size * 2);
+            }
+            entries[size++] = sequenceStart;
+            entries[size++] = position;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(entries, size);
+        }
+    }
+}
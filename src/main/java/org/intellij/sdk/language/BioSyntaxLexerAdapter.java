@@ -1,11 +1,43 @@
 package org.intellij.sdk.language;
 
 import com.intellij.lexer.FlexAdapter;
+import com.intellij.lexer.RestartableLexer;
+import com.intellij.lexer.TokenIterator;
+import org.jetbrains.annotations.NotNull;
 
-public class BioSyntaxLexerAdapter extends FlexAdapter {
+public class BioSyntaxLexerAdapter extends FlexAdapter implements RestartableLexer {
 
     public BioSyntaxLexerAdapter() {
         super(new BioSyntaxLexer(null));
     }
 
+    @Override
+    public int getStartState() {
+        return BioSyntaxLexer.YYINITIAL;
+    }
+
+    /**
+     * Every state is restartable because the lexer keeps no context outside yystate():
+     * <ul>
+     * <li>YYINITIAL and the *_DECLARATION states only pick the string state the next quote opens.</li>
+     * <li>The IN_*_STRING states name the alphabet of the literal. A letter token is a content-defined chunk whose end
+     * depends only on the letters from its own start (see {@link org.intellij.sdk.language.analysis.SequenceChunker}),
+     * so relexing from a chunk reproduces the following chunks. Restarting here is what keeps an edit in a long
+     * literal from relexing the literal from its opening quote.</li>
+     * <li>IN_GENE_BODY is the same for every token between the braces; the body ends at its brace or at the next
+     * keyword, both of which are matched from the token itself.</li>
+     * </ul>
+     * BioSyntaxLexerTest checks that lexing from each token in its recorded state reproduces the rest of the stream.
+     */
+    @Override
+    public boolean isRestartableState(int state) {
+        return true;
+    }
+
+    @Override
+    public void start(@NotNull CharSequence buffer, int startOffset, int endOffset, int initialState,
+                      TokenIterator tokenIterator) {
+        start(buffer, startOffset, endOffset, initialState);
+    }
+
 }
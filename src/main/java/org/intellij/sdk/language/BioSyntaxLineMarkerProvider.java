@@ -3,7 +3,7 @@ package org.intellij.sdk.language;
 import com.intellij.codeInsight.daemon.RelatedItemLineMarkerInfo;
 import com.intellij.codeInsight.daemon.RelatedItemLineMarkerProvider;
 import com.intellij.codeInsight.navigation.NavigationGutterIconBuilder;
-import com.intellij.openapi.project.Project;
+import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiLiteralExpression;
 import com.intellij.psi.impl.source.tree.java.PsiJavaTokenImpl;
@@ -15,24 +15,54 @@ import java.util.List;
 
 final class BioSyntaxLineMarkerProvider extends RelatedItemLineMarkerProvider {
 
+    // All literals of one pass are resolved against the cached per-file maps of one cache
+    @Override
+    public void collectNavigationMarkers(@NotNull List<? extends PsiElement> elements,
+                                         @NotNull Collection<? super RelatedItemLineMarkerInfo<?>> result,
+                                         boolean forNavigation) {
+        long start = BioSyntaxMetrics.start();
+        try {
+            BioSyntaxDeclarationCache cache = null;
+            for (PsiElement element : elements) {
+                ProgressManager.checkCanceled();
+                String name = getReferencedName(element);
+                if (name == null) {
+                    continue;
+                }
+                if (cache == null) {
+                    cache = BioSyntaxDeclarationCache.getInstance(element.getProject());
+                }
+                addMarker(element, cache.findDeclarations(name), result);
+            }
+        } finally {
+            BioSyntaxMetrics.stop(BioSyntaxMetrics.Component.LINE_MARKERS, start);
+        }
+    }
+
     @Override
     protected void collectNavigationMarkers(@NotNull PsiElement element,
                                             @NotNull Collection<? super RelatedItemLineMarkerInfo<?>> result) {
+        String name = getReferencedName(element);
+        if (name != null) {
+            addMarker(element, BioSyntaxDeclarationCache.getInstance(element.getProject()).findDeclarations(name), result);
+        }
+    }
 
+    private static String getReferencedName(PsiElement element) {
         if (!(element instanceof PsiJavaTokenImpl) || !(element.getParent() instanceof PsiLiteralExpression literalExpression)) {
-            return;
+            return null;
         }
 
         String value = literalExpression.getValue() instanceof String ? (String) literalExpression.getValue() : null;
         if (value == null || !value.startsWith("BioSyntax")) {
-            return;
+            return null;
         }
 
-        String propertyName = value.substring("BioSyntax".length());
-
-        Project project = element.getProject();
-        List<BioSyntaxDeclaration> declarations = BioSyntaxUtil.findSequencesByName(project, propertyName);
+        return value.substring("BioSyntax".length());
+    }
 
+    private static void addMarker(PsiElement element, List<BioSyntaxDeclaration> declarations,
+                                  Collection<? super RelatedItemLineMarkerInfo<?>> result) {
         if (!declarations.isEmpty()) {
             NavigationGutterIconBuilder<PsiElement> builder =
                     NavigationGutterIconBuilder.create(BioSyntaxIcons.FILE)
@@ -0,0 +1,156 @@
+package org.intellij.sdk.language;
+
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.components.Service;
+import jdk.jfr.EventType;
+import org.intellij.sdk.language.metrics.BioSyntaxCallEvent;
+import org.intellij.sdk.language.metrics.LatencyHistogram;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Always-on latency, call and byte counts of the BioSyntax components that run on every daemon pass or keystroke,
+ * with a {@link BioSyntaxCallEvent} per call for Flight Recorder while a recording enables it. A call is measured with
+ * <pre>{@code
+ * long start = BioSyntaxMetrics.start();
+ * try {
+ *     ...
+ * } finally {
+ *     BioSyntaxMetrics.stop(BioSyntaxMetrics.Component.ANNOTATOR, start, sequenceLength);
+ * }
+ * }</pre>
+ * Recording costs two clock reads and a few atomic increments, and allocates nothing unless the event is recorded. The
+ * numbers are shown and exported as JSON by {@link BioSyntaxMetricsAction}.
+ */
+@Service
+public final class BioSyntaxMetrics {
+    public enum Component {
+        ANNOTATOR("Annotator"),
+        COMPLETION("Completion"),
+        REFERENCE_COMPLETION("Reference completion"),
+        DOCUMENTATION("Documentation"),
+        LINE_MARKERS("Line markers"),
+        LOOKUP("Index lookups");
+
+        private final String displayName;
+
+        Component(String displayName) {
+            this.displayName = displayName;
+        }
+
+        @NotNull
+        public String getDisplayName() {
+            return displayName;
+        }
+    }
+
+    /**
+     * Statistics of one component since start or the last {@link #reset}.
+     */
+    public record Stats(@NotNull Component component, @NotNull LatencyHistogram.Snapshot latency, long bytes) {
+    }
+
+    private static final class Counters {
+        final LatencyHistogram latency = new LatencyHistogram();
+        final LongAdder bytes = new LongAdder();
+    }
+
+    private static final EventType CALL_EVENT = EventType.getEventType(BioSyntaxCallEvent.class);
+
+    private final Map<Component, Counters> counters = new EnumMap<>(Component.class);
+
+    public BioSyntaxMetrics() {
+        for (Component component : Component.values()) {
+            counters.put(component, new Counters());
+        }
+    }
+
+    public static BioSyntaxMetrics getInstance() {
+        return ApplicationManager.getApplication().getService(BioSyntaxMetrics.class);
+    }
+
+    /**
+     * @return the start time of a call, to be passed to {@link #stop} with the component it belongs to
+     */
+    public static long start() {
+        return System.nanoTime();
+    }
+
+    public static void stop(@NotNull Component component, long start) {
+        stop(component, start, 0);
+    }
+
+    /**
+     * Records a call to {@code component} that began at {@code start} and processed {@code bytes} sequence letters.
+     */
+    public static void stop(@NotNull Component component, long start, long bytes) {
+        long latency = System.nanoTime() - start;
+        Counters counter = getInstance().counters.get(component);
+        counter.latency.record(latency);
+        counter.bytes.add(bytes);
+        if (CALL_EVENT.isEnabled()) {
+            BioSyntaxCallEvent event = new BioSyntaxCallEvent();
+            if (event.shouldCommit()) {
+                event.component = component.getDisplayName();
+                event.latency = latency;
+                event.bytes = bytes;
+                event.commit();
+            }
+        }
+    }
+
+    @NotNull
+    public Stats getStats(@NotNull Component component) {
+        Counters counter = counters.get(component);
+        return new Stats(component, counter.latency.snapshot(), counter.bytes.sum());
+    }
+
+    public void reset() {
+        for (Counters counter : counters.values()) {
+            counter.latency.reset();
+            counter.bytes.reset();
+        }
+    }
+
+    /**
+     * All components as JSON, for comparing IDE sessions or attaching to a performance report. Every component has its
+     * counts, percentiles in microseconds and the non-empty histogram buckets keyed by their lower bound in nanoseconds,
+     * so dumps can be merged and re-analysed.
+     */
+    @NotNull
+    public String toJson() {
+        StringBuilder json = new StringBuilder("{\n  \"timestamp\": ").append(System.currentTimeMillis())
+                .append(",\n  \"components\": {");
+        String separator = "\n";
+        for (Component component : Component.values()) {
+            Stats stats = getStats(component);
+            LatencyHistogram.Snapshot latency = stats.latency();
+            json.append(separator).append("    \"").append(component.name().toLowerCase(Locale.ROOT)).append("\": {")
+                    .append("\"calls\": ").append(latency.count())
+                    .append(", \"bytes\": ").append(stats.bytes())
+                    .append(", \"totalUs\": ").append(latency.totalNanos() / 1000)
+                    .append(", \"meanUs\": ").append(Math.round(latency.meanNanos() / 1000))
+                    .append(", \"p50Us\": ").append(latency.percentile(0.5) / 1000)
+                    .append(", \"p90Us\": ").append(latency.percentile(0.9) / 1000)
+                    .append(", \"p99Us\": ").append(latency.percentile(0.99) / 1000)
+                    .append(", \"maxUs\": ").append(latency.maxNanos() / 1000)
+                    .append(", \"histogramNs\": {");
+            String bucketSeparator = "";
+            long[] buckets = latency.buckets();
+            for (int bucket = 0; bucket < buckets.length; bucket++) {
+                if (buckets[bucket] > 0) {
+                    json.append(bucketSeparator).append('"').append(LatencyHistogram.bucketLowerBound(bucket))
+                            .append("\": ").append(buckets[bucket]);
+                    bucketSeparator = ", ";
+                }
+            }
+            json.append("}}");
+            separator = ",\n";
+        }
+        return json.append("\n  }\n}\n").toString();
+    }
+}
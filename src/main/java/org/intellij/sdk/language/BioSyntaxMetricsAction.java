@@ -0,0 +1,169 @@
+package org.intellij.sdk.language;
+
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.fileChooser.FileChooserFactory;
+import com.intellij.openapi.fileChooser.FileSaverDescriptor;
+import com.intellij.openapi.ide.CopyPasteManager;
+import com.intellij.openapi.project.DumbAwareAction;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.DialogWrapper;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.openapi.vfs.VirtualFileWrapper;
+import com.intellij.ui.ScrollPaneFactory;
+import com.intellij.ui.table.JBTable;
+import com.intellij.util.ui.JBUI;
+import org.intellij.sdk.language.metrics.LatencyHistogram;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.awt.datatransfer.StringSelection;
+import java.awt.event.ActionEvent;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Internal action showing the calls, p50/p90/p99 latency and processed bytes of every component recorded by
+ * {@link BioSyntaxMetrics}, with buttons to copy or save them as JSON and to reset the counters.
+ */
+public class BioSyntaxMetricsAction extends DumbAwareAction {
+    @Override
+    public @NotNull ActionUpdateThread getActionUpdateThread() {
+        return ActionUpdateThread.BGT;
+    }
+
+    @Override
+    public void actionPerformed(@NotNull AnActionEvent e) {
+        new MetricsDialog(e.getProject()).show();
+    }
+
+    private static final class MetricsDialog extends DialogWrapper {
+        private final Project project;
+        private final MetricsModel model = new MetricsModel();
+
+        MetricsDialog(@Nullable Project project) {
+            super(project);
+            this.project = project;
+            setTitle("BioSyntax Metrics");
+            setModal(false);
+            init();
+        }
+
+        @Override
+        protected @Nullable JComponent createCenterPanel() {
+            JBTable table = new JBTable(model);
+            JScrollPane scrollPane = ScrollPaneFactory.createScrollPane(table);
+            scrollPane.setPreferredSize(JBUI.size(760, 200));
+            return scrollPane;
+        }
+
+        @Override
+        protected Action @NotNull [] createLeftSideActions() {
+            return new Action[]{
+                    new DialogWrapperAction("Refresh") {
+                        @Override
+                        protected void doAction(ActionEvent e) {
+                            model.refresh();
+                        }
+                    },
+                    new DialogWrapperAction("Reset") {
+                        @Override
+                        protected void doAction(ActionEvent e) {
+                            BioSyntaxMetrics.getInstance().reset();
+                            model.refresh();
+                        }
+                    },
+                    new DialogWrapperAction("Copy JSON") {
+                        @Override
+                        protected void doAction(ActionEvent e) {
+                            CopyPasteManager.getInstance().setContents(new StringSelection(BioSyntaxMetrics.getInstance().toJson()));
+                        }
+                    },
+                    new DialogWrapperAction("Save JSON...") {
+                        @Override
+                        protected void doAction(ActionEvent e) {
+                            saveJson();
+                        }
+                    }
+            };
+        }
+
+        @Override
+        protected Action @NotNull [] createActions() {
+            return new Action[]{getOKAction()};
+        }
+
+        private void saveJson() {
+            VirtualFileWrapper target = FileChooserFactory.getInstance()
+                    .createSaveFileDialog(new FileSaverDescriptor("Save Metrics", "Save BioSyntax metrics as JSON", "json"), project)
+                    .save("biosyntax-metrics.json");
+            if (target == null) {
+                return;
+            }
+            Path output = target.getFile().toPath();
+            try {
+                Files.writeString(output, BioSyntaxMetrics.getInstance().toJson(), StandardCharsets.UTF_8);
+            } catch (IOException ex) {
+                Messages.showErrorDialog(project, ex.getMessage(), "Save Metrics");
+            }
+        }
+    }
+
+    private static final class MetricsModel extends AbstractTableModel {
+        private static final String[] COLUMNS = {"Component", "Calls", "p50 ms", "p90 ms", "p99 ms", "Max ms", "Total ms", "Sequence KB"};
+
+        private BioSyntaxMetrics.Stats[] stats;
+
+        MetricsModel() {
+            refresh();
+        }
+
+        void refresh() {
+            BioSyntaxMetrics.Component[] components = BioSyntaxMetrics.Component.values();
+            stats = new BioSyntaxMetrics.Stats[components.length];
+            for (int i = 0; i < components.length; i++) {
+                stats[i] = BioSyntaxMetrics.getInstance().getStats(components[i]);
+            }
+            fireTableDataChanged();
+        }
+
+        @Override
+        public int getRowCount() {
+            return stats.length;
+        }
+
+        @Override
+        public int getColumnCount() {
+            return COLUMNS.length;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return COLUMNS[column];
+        }
+
+        @Override
+        public Object getValueAt(int row, int column) {
+            BioSyntaxMetrics.Stats entry = stats[row];
+            LatencyHistogram.Snapshot latency = entry.latency();
+            return switch (column) {
+                case 0 -> entry.component().getDisplayName();
+                case 1 -> latency.count();
+                case 2 -> millis(latency.percentile(0.5));
+                case 3 -> millis(latency.percentile(0.9));
+                case 4 -> millis(latency.percentile(0.99));
+                case 5 -> millis(latency.maxNanos());
+                case 6 -> millis(latency.totalNanos());
+                default -> String.format("%,d", entry.bytes() / 1024);
+            };
+        }
+
+        private static String millis(long nanos) {
+            return String.format("%.3f", nanos / 1e6);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package org.intellij.sdk.language;
+
+import com.intellij.concurrency.JobLauncher;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.fileEditor.impl.LoadTextUtil;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.util.io.FileUtilRt;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.search.FileTypeIndex;
+import com.intellij.psi.search.GlobalSearchScope;
+import org.intellij.sdk.language.analysis.MotifMatcher;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs a {@link MotifMatcher} over every nucleotide declaration in scope. Files are scanned concurrently, each in its
+ * own read action, and matches are handed to the consumer as they are found. An open file is scanned as shown in the
+ * editor; any other file is read from its content without creating a document, and skipped if it is too large for the
+ * IDE to load (see {@link FileUtilRt#isTooLarge}).
+ */
+public final class BioSyntaxMotifSearch {
+
+    private BioSyntaxMotifSearch() {
+    }
+
+    /**
+     * @param match offsets are file offsets
+     */
+    public record Match(@NotNull VirtualFile file, @NotNull String declarationName, @NotNull MotifMatcher.Match match) {
+    }
+
+    @FunctionalInterface
+    public interface MatchConsumer {
+        /**
+         * Called from several threads at once.
+         *
+         * @return false to stop the search
+         */
+        boolean accept(@NotNull Match match);
+    }
+
+    /**
+     * @return false if the consumer stopped the search
+     */
+    public static boolean search(@NotNull MotifMatcher matcher, @NotNull GlobalSearchScope scope,
+                                 @Nullable ProgressIndicator indicator, @NotNull MatchConsumer consumer) {
+        List<VirtualFile> files = ReadAction.compute(() ->
+                new ArrayList<>(FileTypeIndex.getFiles(BioSyntaxFileType.INSTANCE, scope)));
+        return JobLauncher.getInstance().invokeConcurrentlyUnderProgress(files, indicator, file ->
+                ReadAction.compute(() -> searchFile(matcher, file, consumer)));
+    }
+
+    private static boolean searchFile(MotifMatcher matcher, VirtualFile file, MatchConsumer consumer) {
+        if (!file.isValid()) {
+            return true;
+        }
+        CharSequence text = loadText(file);
+        if (text == null) {
+            return true;
+        }
+        boolean[] proceed = {true};
+        BioSyntaxUtil.forEachNucleotideSequence(text, (name, start, end) -> {
+            if (proceed[0]) {
+                ProgressManager.checkCanceled();
+                proceed[0] = matcher.scan(text, start, end, match -> consumer.accept(new Match(file, name, match)));
+            }
+        });
+        return proceed[0];
+    }
+
+    @Nullable
+    private static CharSequence loadText(VirtualFile file) {
+        Document document = FileDocumentManager.getInstance().getCachedDocument(file);
+        if (document != null) {
+            return document.getImmutableCharSequence();
+        }
+        if (file.isDirectory() || FileUtilRt.isTooLarge(file.getLength())) {
+            return null;
+        }
+        return LoadTextUtil.loadText(file);
+    }
+}
@@ -0,0 +1,64 @@
+package org.intellij.sdk.language;
+
+import com.intellij.codeInspection.LocalInspectionTool;
+import com.intellij.codeInspection.ProblemHighlightType;
+import com.intellij.codeInspection.ProblemsHolder;
+import com.intellij.lang.ASTNode;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiElementVisitor;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.search.GlobalSearchScope;
+import org.intellij.sdk.language.psi.BioSyntaxDeclaration;
+import org.intellij.sdk.language.psi.BioSyntaxTypes;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * Reports nucleotide declarations whose k-mer content nearly matches another declaration of the project, e.g. copies
+ * of a construct with a few point mutations. Candidates come from the sketch band index, so a declaration is only
+ * compared with the few declarations that share a band with it.
+ */
+public class BioSyntaxNearDuplicateInspection extends LocalInspectionTool {
+    @Override
+    public @NotNull PsiElementVisitor buildVisitor(@NotNull ProblemsHolder holder, boolean isOnTheFly) {
+        if (DumbService.isDumb(holder.getProject())) {
+            return PsiElementVisitor.EMPTY_VISITOR;
+        }
+        double minSimilarity = BioSyntaxNearDuplicates.getMinSimilarity();
+        GlobalSearchScope scope = GlobalSearchScope.projectScope(holder.getProject());
+        return new PsiElementVisitor() {
+            @Override
+            public void visitElement(@NotNull PsiElement element) {
+                if (element instanceof BioSyntaxDeclaration declaration) {
+                    checkDeclaration(declaration, minSimilarity, scope, holder);
+                }
+            }
+        };
+    }
+
+    private static void checkDeclaration(BioSyntaxDeclaration declaration, double minSimilarity,
+                                         GlobalSearchScope scope, ProblemsHolder holder) {
+        List<BioSyntaxNearDuplicates.Duplicate> duplicates =
+                BioSyntaxNearDuplicates.findDuplicates(declaration, minSimilarity, scope);
+        if (duplicates.isEmpty()) {
+            return;
+        }
+        BioSyntaxNearDuplicates.Duplicate closest = duplicates.get(0);
+        PsiFile file = closest.declaration().getContainingFile();
+        String message = String.format("Near-duplicate of %s in %s (~%.0f%% shared k-mers)",
+                closest.declaration().getName(), file == null ? "?" : file.getName(), closest.similarity() * 100);
+        if (duplicates.size() > 1) {
+            message += " and " + (duplicates.size() - 1) + " more";
+        }
+        holder.registerProblem(findIdentifier(declaration), message, ProblemHighlightType.WEAK_WARNING);
+    }
+
+    // The identifier sits in the nt/rna/dna/aa declaration node wrapped by the declaration
+    private static PsiElement findIdentifier(BioSyntaxDeclaration declaration) {
+        ASTNode inner = declaration.getNode().getFirstChildNode();
+        ASTNode identifier = inner == null ? null : inner.findChildByType(BioSyntaxTypes.IDENTIFIER);
+        return identifier == null ? declaration : identifier.getPsi();
+    }
+}
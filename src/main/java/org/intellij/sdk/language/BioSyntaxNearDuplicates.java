@@ -0,0 +1,221 @@
+package org.intellij.sdk.language;
+
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.util.registry.Registry;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.stubs.StubIndex;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import org.intellij.sdk.language.analysis.MinHashSketch;
+import org.intellij.sdk.language.psi.BioSyntaxDeclaration;
+import org.intellij.sdk.language.psi.impl.BioSyntaxPsiImplUtil;
+import org.intellij.sdk.language.psi.stubs.BioSyntaxDeclarationStub;
+import org.intellij.sdk.language.psi.stubs.BioSyntaxSketchBandIndex;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Finds nucleotide declarations with nearly the same k-mer content, from MinHash sketches. The stubs keep only the LSH
+ * band keys of the sketches; candidates are declarations that share a band key with each other, and are kept if their
+ * sketches, computed for the candidates only, agree on at least the minimum similarity. Nothing is compared pairwise
+ * across the project.
+ */
+public final class BioSyntaxNearDuplicates {
+    private static final String MIN_SIMILARITY_KEY = "biosyntax.duplicates.min.similarity";
+    // In a larger bucket, e.g. of many identical sequences, every member is only checked against the first and its
+    // predecessor, so that a bucket costs linear rather than quadratic time
+    private static final int MAX_ALL_PAIRS_BUCKET = 32;
+
+    private BioSyntaxNearDuplicates() {
+    }
+
+    public record Duplicate(@NotNull BioSyntaxDeclaration declaration, double similarity) {
+    }
+
+    /**
+     * Declarations linked by near-duplicate pairs, with the similarity of each to the first.
+     */
+    public record Cluster(@NotNull List<BioSyntaxDeclaration> members, double @NotNull [] similarities) {
+    }
+
+    public static double getMinSimilarity() {
+        return Registry.doubleValue(MIN_SIMILARITY_KEY, 0.8);
+    }
+
+    /**
+     * The sketch of a nucleotide declaration, computed from its literal and cached while the file is unchanged. Loads
+     * the AST of a stub-based declaration, so callers take it only for candidates found through the band keys.
+     */
+    public static int @Nullable [] getSketch(@NotNull BioSyntaxDeclaration declaration) {
+        if ("AASeq".equals(declaration.getSequenceKind())) {
+            return null;
+        }
+        return CachedValuesManager.getCachedValue(declaration, () -> CachedValueProvider.Result.create(
+                BioSyntaxPsiImplUtil.computeSketch(declaration), declaration));
+    }
+
+    /**
+     * The band keys from the stub, or computed from the sketch if the declaration has no stub.
+     */
+    public static int @Nullable [] getBandKeys(@NotNull BioSyntaxDeclaration declaration) {
+        BioSyntaxDeclarationStub stub = declaration.getStub();
+        if (stub != null) {
+            return stub.getBandKeys();
+        }
+        int[] sketch = getSketch(declaration);
+        return sketch == null ? null : MinHashSketch.bandKeys(sketch);
+    }
+
+    /**
+     * Near-duplicates of {@code declaration} in {@code scope}, most similar first. Requires a read action and indices.
+     */
+    @NotNull
+    public static List<Duplicate> findDuplicates(@NotNull BioSyntaxDeclaration declaration, double minSimilarity,
+                                                 @NotNull GlobalSearchScope scope) {
+        int[] sketch = getSketch(declaration);
+        if (sketch == null) {
+            return List.of();
+        }
+        Set<BioSyntaxDeclaration> seen = new HashSet<>();
+        seen.add(declaration);
+        List<Duplicate> duplicates = new ArrayList<>();
+        for (int key : MinHashSketch.bandKeys(sketch)) {
+            StubIndex.getInstance().processElements(BioSyntaxSketchBandIndex.KEY, key,
+                    declaration.getProject(), scope, BioSyntaxDeclaration.class, candidate -> {
+                        if (seen.add(candidate)) {
+                            int[] other = getSketch(candidate);
+                            double similarity = other == null ? 0 : MinHashSketch.similarity(sketch, other);
+                            if (similarity >= minSimilarity) {
+                                duplicates.add(new Duplicate(candidate, similarity));
+                            }
+                        }
+                        return true;
+                    });
+        }
+        duplicates.sort(Comparator.comparingDouble(Duplicate::similarity).reversed());
+        return duplicates;
+    }
+
+    /**
+     * Marks the declarations that share a band key with at least one other; only their sketches are needed by
+     * {@link #findClusters}.
+     */
+    public static boolean @NotNull [] findCandidates(int @NotNull [][] bandKeys) {
+        boolean[] candidates = new boolean[bandKeys.length];
+        long[] keyed = new long[bandKeys.length];
+        for (int band = 0; band < MinHashSketch.BANDS; band++) {
+            ProgressManager.checkCanceled();
+            int size = sortByBandKey(bandKeys, band, keyed);
+            for (int i = 1; i < size; i++) {
+                if (keyed[i] >>> 32 == keyed[i - 1] >>> 32) {
+                    candidates[(int) keyed[i]] = true;
+                    candidates[(int) keyed[i - 1]] = true;
+                }
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Groups {@code declarations} into clusters of near-duplicates, largest first. Banding runs over primitive arrays:
+     * every band sorts the declarations by band key and only runs of equal keys are compared, by their sketches.
+     * {@code sketches} needs entries for the {@linkplain #findCandidates candidates} only.
+     */
+    @NotNull
+    public static List<Cluster> findClusters(@NotNull List<BioSyntaxDeclaration> declarations, int @NotNull [][] bandKeys,
+                                             int @NotNull [][] sketches, double minSimilarity,
+                                             @Nullable ProgressIndicator indicator) {
+        int count = declarations.size();
+        int[] parent = new int[count];
+        for (int i = 0; i < count; i++) {
+            parent[i] = i;
+        }
+        long[] keyed = new long[count];
+        for (int band = 0; band < MinHashSketch.BANDS; band++) {
+            ProgressManager.checkCanceled();
+            if (indicator != null) {
+                indicator.setFraction((double) band / MinHashSketch.BANDS);
+            }
+            int size = sortByBandKey(bandKeys, band, keyed);
+            int runStart = 0;
+            for (int i = 1; i <= size; i++) {
+                if (i == size || keyed[i] >>> 32 != keyed[runStart] >>> 32) {
+                    linkBucket(keyed, runStart, i, sketches, parent, minSimilarity);
+                    runStart = i;
+                }
+            }
+        }
+
+        Map<Integer, List<Integer>> groups = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            groups.computeIfAbsent(find(parent, i), root -> new ArrayList<>()).add(i);
+        }
+        List<Cluster> clusters = new ArrayList<>();
+        for (List<Integer> group : groups.values()) {
+            if (group.size() < 2) {
+                continue;
+            }
+            List<BioSyntaxDeclaration> members = new ArrayList<>(group.size());
+            double[] similarities = new double[group.size()];
+            int[] first = sketches[group.get(0)];
+            for (int k = 0; k < group.size(); k++) {
+                members.add(declarations.get(group.get(k)));
+                similarities[k] = MinHashSketch.similarity(first, sketches[group.get(k)]);
+            }
+            clusters.add(new Cluster(members, similarities));
+        }
+        clusters.sort(Comparator.comparingInt((Cluster cluster) -> cluster.members().size()).reversed());
+        return clusters;
+    }
+
+    // Fills keyed with (band key, index) pairs of the declarations that have band keys, sorted, and returns their count
+    private static int sortByBandKey(int[][] bandKeys, int band, long[] keyed) {
+        int size = 0;
+        for (int i = 0; i < bandKeys.length; i++) {
+            if (bandKeys[i] != null) {
+                keyed[size++] = ((long) bandKeys[i][band] << 32) | i;
+            }
+        }
+        Arrays.sort(keyed, 0, size);
+        return size;
+    }
+
+    private static void linkBucket(long[] keyed, int from, int to, int[][] sketches, int[] parent, double minSimilarity) {
+        if (to - from < 2) {
+            return;
+        }
+        boolean allPairs = to - from <= MAX_ALL_PAIRS_BUCKET;
+        for (int i = from + 1; i < to; i++) {
+            int member = (int) keyed[i];
+            if (allPairs) {
+                for (int j = from; j < i; j++) {
+                    link(member, (int) keyed[j], sketches, parent, minSimilarity);
+                }
+            } else {
+                link(member, (int) keyed[i - 1], sketches, parent, minSimilarity);
+                link(member, (int) keyed[from], sketches, parent, minSimilarity);
+            }
+        }
+    }
+
+    private static void link(int a, int b, int[][] sketches, int[] parent, double minSimilarity) {
+        int rootA = find(parent, a);
+        int rootB = find(parent, b);
+        // A sketch is missing if the declaration changed since its band keys were read
+        if (rootA != rootB && sketches[a] != null && sketches[b] != null
+                && MinHashSketch.similarity(sketches[a], sketches[b]) >= minSimilarity) {
+            parent[Math.max(rootA, rootB)] = Math.min(rootA, rootB);
+        }
+    }
+
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+}
@@ -14,10 +14,11 @@ import org.intellij.sdk.language.parser.BioSyntaxParser;
 import org.intellij.sdk.language.psi.BioSyntaxFile;
 import org.intellij.sdk.language.psi.BioSyntaxTokenSets;
 import org.intellij.sdk.language.psi.BioSyntaxTypes;
+import org.intellij.sdk.language.psi.stubs.BioSyntaxFileElementType;
 import org.jetbrains.annotations.NotNull;
 
 public class BioSyntaxParserDefinition implements ParserDefinition {
-    public static final IFileElementType FILE = new IFileElementType(BioSyntaxLanguage.INSTANCE);
+    public static final IFileElementType FILE = new BioSyntaxFileElementType();
 
     @NotNull
     @Override
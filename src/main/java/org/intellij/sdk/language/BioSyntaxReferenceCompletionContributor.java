@@ -0,0 +1,66 @@
+package org.intellij.sdk.language;
+
+import com.intellij.codeInsight.completion.*;
+import com.intellij.codeInsight.lookup.LookupElementBuilder;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.PsiLiteralExpression;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.stubs.StubIndex;
+import com.intellij.psi.stubs.StubIndexKey;
+import com.intellij.util.ProcessingContext;
+import org.intellij.sdk.language.psi.stubs.BioSyntaxDeclarationNameIndex;
+import org.jetbrains.annotations.NotNull;
+
+import static com.intellij.patterns.PlatformPatterns.psiElement;
+import static com.intellij.patterns.StandardPatterns.string;
+
+/**
+ * Completes {@code "BioSyntax<name>"} string literals in Java, the form {@link BioSyntaxLineMarkerProvider} resolves,
+ * with sequence names read from the stub index. Genes are left out because references resolve to sequence declarations
+ * only. Only index keys are visited, so no BioSyntax file is parsed.
+ */
+public class BioSyntaxReferenceCompletionContributor extends CompletionContributor {
+    private static final String REFERENCE_PREFIX = "BioSyntax";
+
+    public BioSyntaxReferenceCompletionContributor() {
+        extend(CompletionType.BASIC,
+                psiElement().withParent(psiElement(PsiLiteralExpression.class).withText(string().startsWith("\"" + REFERENCE_PREFIX))),
+                new CompletionProvider<>() {
+                    @Override
+                    public void addCompletions(@NotNull CompletionParameters parameters,
+                                               @NotNull ProcessingContext context,
+                                               @NotNull CompletionResultSet resultSet) {
+                        Project project = parameters.getPosition().getProject();
+                        GlobalSearchScope scope = GlobalSearchScope.allScope(project);
+                        addNames(BioSyntaxDeclarationNameIndex.KEY, "sequence", scope, resultSet);
+                    }
+                }
+        );
+    }
+
+    @Override
+    public void fillCompletionVariants(@NotNull CompletionParameters parameters, @NotNull CompletionResultSet result) {
+        long start = BioSyntaxMetrics.start();
+        try {
+            super.fillCompletionVariants(parameters, result);
+        } finally {
+            BioSyntaxMetrics.stop(BioSyntaxMetrics.Component.REFERENCE_COMPLETION, start);
+        }
+    }
+
+    private static void addNames(StubIndexKey<String, ?> key, String typeText, GlobalSearchScope scope,
+                                 CompletionResultSet resultSet) {
+        PrefixMatcher matcher = resultSet.getPrefixMatcher();
+        StubIndex.getInstance().processAllKeys(key, name -> {
+            ProgressManager.checkCanceled();
+            String lookup = REFERENCE_PREFIX + name;
+            if (matcher.prefixMatches(lookup)) {
+                resultSet.addElement(LookupElementBuilder.create(lookup)
+                        .withIcon(BioSyntaxIcons.FILE)
+                        .withTypeText(typeText));
+            }
+            return true;
+        }, scope, null);
+    }
+}
@@ -0,0 +1,43 @@
+package org.intellij.sdk.language;
+
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.project.Project;
+import org.intellij.sdk.language.analysis.GeneticCode;
+import org.intellij.sdk.language.analysis.PackedSequence;
+import org.intellij.sdk.language.analysis.SequenceAnalysis;
+import org.intellij.sdk.language.analysis.SequenceStore;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The {@link SequenceStore} of a project. Declarations and gene properties pack their letters through it, so a
+ * promoter or coding sequence reused across many files is held once, and its analysis is computed once.
+ * The PSI caches keep the shared instances alive; the store itself lets go of them when no file uses them any more.
+ */
+@Service(Service.Level.PROJECT)
+public final class BioSyntaxSequenceStore {
+    private record AnalysisVariant(boolean protein, @NotNull GeneticCode geneticCode) {
+    }
+
+    private final SequenceStore store = new SequenceStore();
+
+    public static BioSyntaxSequenceStore getInstance(@NotNull Project project) {
+        return project.getService(BioSyntaxSequenceStore.class);
+    }
+
+    @NotNull
+    public PackedSequence intern(@NotNull PackedSequence sequence) {
+        return store.intern(sequence);
+    }
+
+    @NotNull
+    public SequenceAnalysis getAnalysis(@NotNull PackedSequence sequence, boolean protein, @NotNull GeneticCode geneticCode) {
+        SequenceAnalysis analysis = store.getOrCompute(sequence, new AnalysisVariant(protein, geneticCode),
+                packed -> new SequenceAnalysis(packed, protein, geneticCode));
+        assert analysis != null;
+        return analysis;
+    }
+
+    public int getSequenceCount() {
+        return store.size();
+    }
+}
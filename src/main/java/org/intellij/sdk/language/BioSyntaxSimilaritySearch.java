@@ -0,0 +1,145 @@
+package org.intellij.sdk.language;
+
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.indexing.FileBasedIndex;
+import org.intellij.sdk.language.analysis.PackedSequence;
+import org.intellij.sdk.language.analysis.SeedExtender;
+import org.intellij.sdk.language.analysis.SequenceAlphabet;
+import org.intellij.sdk.language.psi.BioSyntaxDeclaration;
+import org.intellij.sdk.language.psi.BioSyntaxFile;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Seed-and-extend search for declarations that share sequence with a query. Seeds are the query's minimizers looked up
+ * in {@link BioSyntaxKmerIndex}; candidates are ranked by shared seeds, and the best ones are extended without gaps
+ * along their most common seed diagonal. Query and target positions count letters only, layout whitespace left out, so
+ * seeds of one alignment share a diagonal however the literals are wrapped. Targets are the packed sequences of the
+ * candidate declarations, so only the files of the best candidates are parsed.
+ */
+public final class BioSyntaxSimilaritySearch {
+    // Only this many times maxResults candidates, by seed count, are read and extended
+    private static final int CANDIDATE_FACTOR = 4;
+
+    private BioSyntaxSimilaritySearch() {
+    }
+
+    /**
+     * @param offset file offset of the first letter of the hit in the matched declaration
+     */
+    public record Match(@NotNull VirtualFile file, int offset, @NotNull String name, int sharedSeeds,
+                        @NotNull SeedExtender.Hit hit) {
+    }
+
+    /**
+     * @param query          letters without layout, e.g. a declaration's sequence text
+     * @param excludedFile   together with {@code excludedOffset}, the declaration the query was taken from, if any
+     * @param excludedOffset file offset of the first letter of that declaration's sequence
+     */
+    @NotNull
+    public static List<Match> search(@NotNull Project project, @NotNull CharSequence query, @NotNull GlobalSearchScope scope, int maxResults,
+                                     @Nullable VirtualFile excludedFile, int excludedOffset) {
+        Map<Integer, List<Integer>> queryPositions = new HashMap<>();
+        BioSyntaxKmerIndex.SAMPLER.sample(query, 0, query.length(), (hash, position) ->
+                queryPositions.computeIfAbsent(hash, h -> new ArrayList<>(1)).add(position));
+
+        Map<Target, Candidate> candidates = new HashMap<>();
+        FileBasedIndex index = FileBasedIndex.getInstance();
+        for (Map.Entry<Integer, List<Integer>> entry : queryPositions.entrySet()) {
+            ProgressManager.checkCanceled();
+            index.processValues(BioSyntaxKmerIndex.NAME, entry.getKey(), null, (file, occurrences) -> {
+                for (int i = 0; i < occurrences.length; i += 2) {
+                    if (file.equals(excludedFile) && occurrences[i] == excludedOffset) {
+                        continue;
+                    }
+                    Candidate candidate = candidates.computeIfAbsent(new Target(file, occurrences[i]), t -> new Candidate());
+                    for (int queryPosition : entry.getValue()) {
+                        candidate.addSeed(queryPosition, occurrences[i + 1]);
+                    }
+                }
+                return true;
+            }, scope);
+        }
+
+        List<Map.Entry<Target, Candidate>> ranked = new ArrayList<>(candidates.entrySet());
+        ranked.sort(Comparator.comparingInt((Map.Entry<Target, Candidate> e) -> e.getValue().seeds).reversed());
+
+        List<Match> matches = new ArrayList<>();
+        PsiManager psiManager = PsiManager.getInstance(project);
+        for (Map.Entry<Target, Candidate> entry : ranked.subList(0, Math.min(ranked.size(), maxResults * CANDIDATE_FACTOR))) {
+            ProgressManager.checkCanceled();
+            Target target = entry.getKey();
+            Candidate candidate = entry.getValue();
+            BioSyntaxDeclaration declaration = findDeclaration(psiManager, target);
+            if (declaration == null) {
+                continue;
+            }
+            // The literal node bounds the sequence, even if it is not closed
+            PackedSequence sequence = declaration.getPackedSequence();
+            if (candidate.bestTargetPosition + BioSyntaxKmerIndex.K > sequence.length()) {
+                continue;
+            }
+            SeedExtender.Hit hit = SeedExtender.extend(query, sequence, candidate.bestQueryPosition,
+                    candidate.bestTargetPosition, BioSyntaxKmerIndex.K, SeedExtender.DEFAULT_X_DROP);
+            matches.add(new Match(target.file(), letterOffset(declaration, target.sequenceOffset(), hit.targetStart()),
+                    String.valueOf(declaration.getName()), candidate.seeds, hit));
+        }
+
+        matches.sort(Comparator.comparingInt((Match m) -> m.hit().score()).reversed()
+                .thenComparing(Comparator.comparingInt(Match::sharedSeeds).reversed()));
+        return matches.size() > maxResults ? new ArrayList<>(matches.subList(0, maxResults)) : matches;
+    }
+
+    @Nullable
+    private static BioSyntaxDeclaration findDeclaration(PsiManager psiManager, Target target) {
+        PsiFile file = target.file().isValid() ? psiManager.findFile(target.file()) : null;
+        if (!(file instanceof BioSyntaxFile)) {
+            return null;
+        }
+        BioSyntaxDeclaration declaration = PsiTreeUtil.getParentOfType(file.findElementAt(target.sequenceOffset()),
+                BioSyntaxDeclaration.class);
+        return declaration == null || "AASeq".equals(declaration.getSequenceKind()) ? null : declaration;
+    }
+
+    // File offset of the letter at a letter position of the declaration's literal, skipping layout as the index does
+    private static int letterOffset(BioSyntaxDeclaration declaration, int sequenceOffset, int position) {
+        int start = declaration.getTextRange().getStartOffset();
+        CharSequence chars = declaration.getNode().getChars();
+        int i = sequenceOffset - start;
+        for (int letters = 0; i < chars.length(); i++) {
+            if (!SequenceAlphabet.isLayout(chars.charAt(i)) && letters++ == position) {
+                break;
+            }
+        }
+        return start + i;
+    }
+
+    private record Target(VirtualFile file, int sequenceOffset) {
+    }
+
+    private static final class Candidate {
+        private final Map<Integer, Integer> seedsByDiagonal = new HashMap<>();
+        private int seeds;
+        private int bestDiagonalSeeds;
+        private int bestQueryPosition;
+        private int bestTargetPosition;
+
+        void addSeed(int queryPosition, int targetPosition) {
+            seeds++;
+            int diagonalSeeds = seedsByDiagonal.merge(targetPosition - queryPosition, 1, Integer::sum);
+            if (diagonalSeeds > bestDiagonalSeeds) {
+                bestDiagonalSeeds = diagonalSeeds;
+                bestQueryPosition = queryPosition;
+                bestTargetPosition = targetPosition;
+            }
+        }
+    }
+}
@@ -1,63 +1,132 @@
 package org.intellij.sdk.language;
 
-import com.google.common.collect.Lists;
+import com.intellij.lexer.Lexer;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.util.text.StringUtil;
-import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiComment;
 import com.intellij.psi.PsiElement;
-import com.intellij.psi.PsiManager;
+import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiWhiteSpace;
-import com.intellij.psi.search.FileTypeIndex;
+import com.intellij.psi.TokenType;
 import com.intellij.psi.search.GlobalSearchScope;
-import com.intellij.psi.util.PsiTreeUtil;
-import org.intellij.sdk.language.psi.BioSyntaxFile;
+import com.intellij.psi.stubs.StubIndex;
+import com.intellij.psi.stubs.StubIndexKey;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.util.CachedValuesManager;
+import org.intellij.sdk.language.analysis.GeneticCode;
+import org.intellij.sdk.language.analysis.SequenceAnalysis;
 import org.intellij.sdk.language.psi.BioSyntaxDeclaration;
+import org.intellij.sdk.language.psi.BioSyntaxGeneDefinition;
+import org.intellij.sdk.language.psi.BioSyntaxTypes;
+import org.intellij.sdk.language.psi.stubs.BioSyntaxDeclarationNameIndex;
+import org.intellij.sdk.language.psi.stubs.BioSyntaxGeneNameIndex;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.*;
 
 public class BioSyntaxUtil {
     public static List<BioSyntaxDeclaration> findSequences(Project project) {
-        List<BioSyntaxDeclaration> result = new ArrayList<>();
-        Collection<VirtualFile> virtualFiles = FileTypeIndex.getFiles(BioSyntaxFileType.INSTANCE,
-                GlobalSearchScope.allScope(project));
-
-        for (VirtualFile virtualFile : virtualFiles) {
-            BioSyntaxFile bioFile = (BioSyntaxFile) PsiManager.getInstance(project)
-                    .findFile(virtualFile);
-            if (bioFile != null) {
-                BioSyntaxDeclaration[] declarations = PsiTreeUtil
-                        .getChildrenOfType(bioFile, BioSyntaxDeclaration.class);
-                if (declarations != null) {
-                    Collections.addAll(result, declarations);
-                }
+        return findAll(project, BioSyntaxDeclarationNameIndex.KEY, BioSyntaxDeclaration.class);
+    }
+
+    public static List<BioSyntaxDeclaration> findSequencesByName(Project project, String name) {
+        return findByName(project, BioSyntaxDeclarationNameIndex.KEY, name, BioSyntaxDeclaration.class);
+    }
+
+    public static List<BioSyntaxGeneDefinition> findGenes(Project project) {
+        return findAll(project, BioSyntaxGeneNameIndex.KEY, BioSyntaxGeneDefinition.class);
+    }
+
+    public static List<BioSyntaxGeneDefinition> findGenesByName(Project project, String name) {
+        return findByName(project, BioSyntaxGeneNameIndex.KEY, name, BioSyntaxGeneDefinition.class);
+    }
+
+    private static <T extends PsiElement> List<T> findAll(Project project, StubIndexKey<String, T> key, Class<T> type) {
+        long start = BioSyntaxMetrics.start();
+        try {
+            List<T> result = new ArrayList<>();
+            GlobalSearchScope scope = GlobalSearchScope.allScope(project);
+            for (String name : StubIndex.getInstance().getAllKeys(key, project)) {
+                result.addAll(StubIndex.getElements(key, name, project, scope, type));
             }
+            return result;
+        } finally {
+            BioSyntaxMetrics.stop(BioSyntaxMetrics.Component.LOOKUP, start);
         }
-        return result;
     }
 
-    public static List<BioSyntaxDeclaration> findSequencesByName(Project project, String name) {
-        List<BioSyntaxDeclaration> result = new ArrayList<>();
-        Collection<VirtualFile> virtualFiles = FileTypeIndex.getFiles(BioSyntaxFileType.INSTANCE,
-                GlobalSearchScope.allScope(project));
-
-        for (VirtualFile virtualFile : virtualFiles) {
-            BioSyntaxFile bioFile = (BioSyntaxFile) PsiManager.getInstance(project)
-                    .findFile(virtualFile);
-            if (bioFile != null) {
-                BioSyntaxDeclaration[] declarations = PsiTreeUtil
-                        .getChildrenOfType(bioFile, BioSyntaxDeclaration.class);
-                if (declarations != null) {
-                    for (BioSyntaxDeclaration declaration : declarations) {
-                        if (name.equals(declaration.getName())) {
-                            result.add(declaration);
-                        }
-                    }
+    private static <T extends PsiElement> List<T> findByName(Project project, StubIndexKey<String, T> key, String name,
+                                                             Class<T> type) {
+        long start = BioSyntaxMetrics.start();
+        try {
+            return new ArrayList<>(StubIndex.getElements(key, name, project, GlobalSearchScope.allScope(project), type));
+        } finally {
+            BioSyntaxMetrics.stop(BioSyntaxMetrics.Component.LOOKUP, start);
+        }
+    }
+
+    /**
+     * Analysis of the declared sequence, cached until the containing file changes. The genetic code comes from
+     * comments in the same file, so file-level invalidation covers it too. Declarations with the same letters and
+     * genetic code share one analysis through the {@link BioSyntaxSequenceStore}.
+     */
+    @NotNull
+    public static SequenceAnalysis getSequenceAnalysis(BioSyntaxDeclaration declaration) {
+        return CachedValuesManager.getCachedValue(declaration, () -> CachedValueProvider.Result.create(
+                BioSyntaxSequenceStore.getInstance(declaration.getProject()).getAnalysis(declaration.getPackedSequence(),
+                        "AASeq".equals(declaration.getSequenceKind()), findGeneticCode(declaration)),
+                declaration));
+    }
+
+    @FunctionalInterface
+    public interface SequenceLiteralConsumer {
+        /**
+         * @param start offset of the first letter after the opening quote
+         * @param end   offset of the closing quote, or just past the last letter if the literal is not closed
+         */
+        void accept(@NotNull String name, int start, int end);
+    }
+
+    /**
+     * Reports the sequence literal of every NtSeq, RNASeq and DNASeq declaration in {@code text}. Uses the lexer only,
+     * so it can run over file content without building PSI. An unclosed literal ends where the lexer ends it, before
+     * the next declaration, so its range never covers another declaration.
+     */
+    public static void forEachNucleotideSequence(@NotNull CharSequence text, @NotNull SequenceLiteralConsumer consumer) {
+        Lexer lexer = new BioSyntaxLexerAdapter();
+        lexer.start(text);
+        String name = null;
+        boolean inNucleotideDeclaration = false;
+        int sequenceStart = -1;
+        int sequenceEnd = -1;
+        for (IElementType type; (type = lexer.getTokenType()) != null; lexer.advance()) {
+            boolean declarationStart = type == BioSyntaxTypes.NT_SEQ || type == BioSyntaxTypes.RNA_SEQ
+                    || type == BioSyntaxTypes.DNA_SEQ || type == BioSyntaxTypes.AA_SEQ || type == BioSyntaxTypes.GENE;
+            if (declarationStart && inNucleotideDeclaration && sequenceStart >= 0) {
+                consumer.accept(StringUtil.notNullize(name), sequenceStart, sequenceEnd);
+            }
+            if (declarationStart) {
+                inNucleotideDeclaration = type != BioSyntaxTypes.AA_SEQ && type != BioSyntaxTypes.GENE;
+                name = null;
+                sequenceStart = -1;
+            } else if (inNucleotideDeclaration && type == BioSyntaxTypes.IDENTIFIER && name == null) {
+                name = lexer.getTokenText();
+            } else if (inNucleotideDeclaration && type == BioSyntaxTypes.QUOTE) {
+                if (sequenceStart < 0) {
+                    sequenceStart = lexer.getTokenEnd();
+                    sequenceEnd = sequenceStart;
+                } else {
+                    consumer.accept(StringUtil.notNullize(name), sequenceStart, lexer.getTokenStart());
+                    inNucleotideDeclaration = false;
                 }
+            } else if (inNucleotideDeclaration && sequenceStart >= 0 && type != TokenType.WHITE_SPACE) {
+                sequenceEnd = lexer.getTokenEnd();
             }
         }
-        return result;
+        if (inNucleotideDeclaration && sequenceStart >= 0) {
+            consumer.accept(StringUtil.notNullize(name), sequenceStart, sequenceEnd);
+        }
     }
 
     @NotNull
@@ -79,4 +148,28 @@ public class BioSyntaxUtil {
         // Reverse the list to maintain the order of comments and join them into a single string
         return comments.isEmpty() ? "" : StringUtil.join(comments, "\n");
     }
-}
\ No newline at end of file
+
+    // GenBank-style directive, e.g. "// transl_table=11", in a declaration's comment or the file header
+    @NotNull
+    public static GeneticCode findGeneticCode(PsiElement element) {
+        GeneticCode code = GeneticCode.fromDirective(findDocumentationComment(element));
+        if (code == null) {
+            code = GeneticCode.fromDirective(findFileHeaderComment(element.getContainingFile()));
+        }
+        return code != null ? code : GeneticCode.STANDARD;
+    }
+
+    @NotNull
+    private static String findFileHeaderComment(PsiFile file) {
+        List<String> comments = new ArrayList<>();
+        PsiElement current = file != null ? file.getFirstChild() : null;
+
+        while (current instanceof PsiComment || current instanceof PsiWhiteSpace) {
+            if (current instanceof PsiComment) {
+                comments.add(current.getText());
+            }
+            current = current.getNextSibling();
+        }
+        return StringUtil.join(comments, "\n");
+    }
+}
@@ -0,0 +1,109 @@
+package org.intellij.sdk.language.analysis;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A pairwise alignment of {@code a[aStart, aEnd)} with {@code b[bStart, bEnd)} as one operation per column:
+ * {@link #PAIR} aligns a letter of each, {@link #DELETION} a letter of {@code a} with a gap and {@link #INSERTION} a
+ * gap with a letter of {@code b}. Produced by {@link PairwiseAligner}.
+ */
+public final class Alignment {
+    public static final byte PAIR = 'M';
+    public static final byte DELETION = 'D';
+    public static final byte INSERTION = 'I';
+
+    private final int score;
+    private final int aStart;
+    private final int aEnd;
+    private final int bStart;
+    private final int bEnd;
+    private final byte[] operations;
+    private final int identities;
+    private final int gapOpenings;
+
+    Alignment(int score, int aStart, int aEnd, int bStart, int bEnd, byte[] operations, int identities, int gapOpenings) {
+        this.score = score;
+        this.aStart = aStart;
+        this.aEnd = aEnd;
+        this.bStart = bStart;
+        this.bEnd = bEnd;
+        this.operations = operations;
+        this.identities = identities;
+        this.gapOpenings = gapOpenings;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public int getAStart() {
+        return aStart;
+    }
+
+    public int getAEnd() {
+        return aEnd;
+    }
+
+    public int getBStart() {
+        return bStart;
+    }
+
+    public int getBEnd() {
+        return bEnd;
+    }
+
+    /**
+     * Number of columns.
+     */
+    public int getLength() {
+        return operations.length;
+    }
+
+    public byte getOperation(int column) {
+        return operations[column];
+    }
+
+    public int getIdentities() {
+        return identities;
+    }
+
+    public int getGapColumns() {
+        return operations.length - pairs();
+    }
+
+    public int getGapOpenings() {
+        return gapOpenings;
+    }
+
+    /**
+     * Identical columns as a percentage of all columns.
+     */
+    public double getIdentity() {
+        return operations.length == 0 ? 0 : (double) identities / operations.length * 100;
+    }
+
+    /**
+     * One side of the alignment as text, with '-' for gaps and a line break every {@code lineWidth} columns, so that
+     * the two sides line up column by column.
+     *
+     * @param sequence {@code a} for the first side, {@code b} for the second, as passed to the aligner
+     */
+    @NotNull
+    public String toGappedText(@NotNull CharSequence sequence, boolean first, int lineWidth) {
+        StringBuilder text = new StringBuilder(operations.length + operations.length / lineWidth + 1);
+        int position = first ? aStart : bStart;
+        byte gap = first ? INSERTION : DELETION;
+        for (int column = 0; column < operations.length; column++) {
+            if (column > 0 && column % lineWidth == 0) {
+                text.append('\n');
+            }
+            text.append(operations[column] == gap ? '-' : sequence.charAt(position++));
+        }
+        return text.toString();
+    }
+
+    private int pairs() {
+        // Every pair column consumes a letter of each side, every gap column one letter of one side
+        return (aEnd - aStart) + (bEnd - bStart) - operations.length;
+    }
+}
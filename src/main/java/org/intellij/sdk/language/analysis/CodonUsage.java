@@ -0,0 +1,156 @@
+package org.intellij.sdk.language.analysis;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Codon counts of one or more coding sequences in an {@code int[64]} indexed by 6-bit codon (see {@link GeneticCode}),
+ * with the derived codon usage statistics: relative synonymous codon usage (RSCU), relative adaptiveness and the Codon
+ * Adaptation Index (CAI) of Sharp and Li.
+ * <p>
+ * Instances are plain accumulators: fill one per thread and {@link #add} them together, no synchronization is involved.
+ */
+public final class CodonUsage {
+    private final int[] counts = new int[64];
+    private long total;
+
+    /**
+     * Counts the codons of one sequence made of the letters of {@code text} in the {@code [ranges[2i], ranges[2i + 1])}
+     * ranges, e.g. the tokens of a literal, read in frame 0. Layout whitespace is skipped; a codon with a letter other
+     * than A/C/G/T/U is left out without shifting the frame. A trailing partial codon is ignored.
+     */
+    public void addSequence(@NotNull CharSequence text, int @NotNull [] ranges) {
+        int codon = 0;
+        int phase = 0;
+        boolean valid = true;
+        for (int r = 0; r < ranges.length; r += 2) {
+            for (int i = ranges[r]; i < ranges[r + 1]; i++) {
+                char ch = text.charAt(i);
+                if (SequenceAlphabet.isLayout(ch)) {
+                    continue;
+                }
+                int code = PackedSequence.nucleotideCode(ch);
+                valid &= code >= 0;
+                codon = (codon << 2 | (code & 3)) & 63;
+                if (++phase == 3) {
+                    if (valid) {
+                        counts[codon]++;
+                        total++;
+                    }
+                    phase = 0;
+                    valid = true;
+                }
+            }
+        }
+    }
+
+    public void addSequence(@NotNull CharSequence text, int from, int to) {
+        addSequence(text, new int[]{from, to});
+    }
+
+    public void add(@NotNull CodonUsage other) {
+        for (int codon = 0; codon < 64; codon++) {
+            counts[codon] += other.counts[codon];
+        }
+        total += other.total;
+    }
+
+    public int getCount(int codon) {
+        return counts[codon];
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public boolean isEmpty() {
+        return total == 0;
+    }
+
+    /**
+     * Percentage of codons with G or C in the third position.
+     */
+    public double getGc3() {
+        long gc3 = 0;
+        for (int codon = 0; codon < 64; codon++) {
+            int third = codon & 3;
+            if (third == PackedSequence.C || third == PackedSequence.G) {
+                gc3 += counts[codon];
+            }
+        }
+        return total == 0 ? 0 : (double) gc3 / total * 100;
+    }
+
+    /**
+     * Observed count of every codon divided by the count expected if all synonymous codons were used equally; NaN for
+     * stop codons and codons of residues that do not occur.
+     */
+    public double @NotNull [] getRscu(@NotNull GeneticCode code) {
+        double[] rscu = new double[64];
+        Arrays.fill(rscu, Double.NaN);
+        forEachFamily(code, codons -> {
+            long sum = 0;
+            for (int codon : codons) {
+                sum += counts[codon];
+            }
+            for (int codon : codons) {
+                if (sum > 0) {
+                    rscu[codon] = (double) counts[codon] * codons.length / sum;
+                }
+            }
+        });
+        return rscu;
+    }
+
+    /**
+     * Weights for {@link #getCai}: the count of every codon relative to its most used synonym, with unused codons
+     * counted as 0.5 so that one absent codon does not zero a whole index. NaN for stop codons, for residues encoded by
+     * a single codon and for residues that do not occur, which the CAI leaves out.
+     */
+    public double @NotNull [] getRelativeAdaptiveness(@NotNull GeneticCode code) {
+        double[] weights = new double[64];
+        Arrays.fill(weights, Double.NaN);
+        forEachFamily(code, codons -> {
+            int max = 0;
+            for (int codon : codons) {
+                max = Math.max(max, counts[codon]);
+            }
+            for (int codon : codons) {
+                if (codons.length > 1 && max > 0) {
+                    weights[codon] = Math.max(counts[codon], 0.5) / max;
+                }
+            }
+        });
+        return weights;
+    }
+
+    /**
+     * Geometric mean of the {@code weights} of the counted codons, usually the relative adaptiveness of a reference set
+     * such as the pooled usage of all genes.
+     *
+     * @return NaN if no counted codon has a weight
+     */
+    public double getCai(double @NotNull [] weights) {
+        double logSum = 0;
+        long used = 0;
+        for (int codon = 0; codon < 64; codon++) {
+            if (counts[codon] > 0 && !Double.isNaN(weights[codon])) {
+                logSum += counts[codon] * Math.log(weights[codon]);
+                used += counts[codon];
+            }
+        }
+        return used == 0 ? Double.NaN : Math.exp(logSum / used);
+    }
+
+    // Families of synonymous codons, i.e. the codons of every amino acid; stop codons are not a family
+    private static void forEachFamily(GeneticCode code, Consumer<int[]> consumer) {
+        for (char residue = 'A'; residue <= 'Z'; residue++) {
+            int[] codons = code.codonsFor(residue);
+            if (codons.length > 0) {
+                consumer.accept(codons);
+            }
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package org.intellij.sdk.language.analysis;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * NCBI genetic code as a 64-entry table indexed by 6-bit codon ({@code 16 * b1 + 4 * b2 + b3} with A=0, C=1, G=2,
+ * T/U=3, see {@link PackedSequence}).
+ * <p>
+ * Translation writes residues straight into a caller-supplied {@code char[]} or {@code byte[]}; no codon strings or
+ * map lookups are involved.
+ */
+public final class GeneticCode {
+    public static final char UNKNOWN = 'X';
+    public static final char STOP = '*';
+
+    // NCBI tables list codons with bases ordered T, C, A, G
+    private static final int[] NCBI_BASE_TO_CODE = {PackedSequence.T, PackedSequence.C, PackedSequence.A, PackedSequence.G};
+    private static final char[] CODE_TO_BASE = {'A', 'C', 'G', 'T'};
+
+    private static final Map<Integer, GeneticCode> CODES = new TreeMap<>();
+    private static final Pattern DIRECTIVE = Pattern.compile("transl_table\\s*[=:]\\s*(\\d{1,3})");
+
+    public static final GeneticCode STANDARD = register(1, "Standard",
+            "FFLLSSSSYY**CC*WLLLLPPPPHHQQRRRRIIIMTTTTNNKKSSRRVVVVAAAADDEEGGGG");
+
+    static {
+        register(2, "Vertebrate Mitochondrial",
+                "FFLLSSSSYY**CCWWLLLLPPPPHHQQRRRRIIMMTTTTNNKKSS**VVVVAAAADDEEGGGG");
+        register(3, "Yeast Mitochondrial",
+                "FFLLSSSSYY**CCWWTTTTPPPPHHQQRRRRIIMMTTTTNNKKSSRRVVVVAAAADDEEGGGG");
+        register(4, "Mold, Protozoan, and Coelenterate Mitochondrial; Mycoplasma/Spiroplasma",
+                "FFLLSSSSYY**CCWWLLLLPPPPHHQQRRRRIIIMTTTTNNKKSSRRVVVVAAAADDEEGGGG");
+        register(5, "Invertebrate Mitochondrial",
+                "FFLLSSSSYY**CCWWLLLLPPPPHHQQRRRRIIMMTTTTNNKKSSSSVVVVAAAADDEEGGGG");
+        register(6, "Ciliate, Dasycladacean and Hexamita Nuclear",
+                "FFLLSSSSYYQQCC*WLLLLPPPPHHQQRRRRIIIMTTTTNNKKSSRRVVVVAAAADDEEGGGG");
+        register(9, "Echinoderm and Flatworm Mitochondrial",
+                "FFLLSSSSYY**CCWWLLLLPPPPHHQQRRRRIIIMTTTTNNNKSSSSVVVVAAAADDEEGGGG");
+        register(10, "Euplotid Nuclear",
+                "FFLLSSSSYY**CCCWLLLLPPPPHHQQRRRRIIIMTTTTNNKKSSRRVVVVAAAADDEEGGGG");
+        register(11, "Bacterial, Archaeal and Plant Plastid",
+                "FFLLSSSSYY**CC*WLLLLPPPPHHQQRRRRIIIMTTTTNNKKSSRRVVVVAAAADDEEGGGG");
+        register(12, "Alternative Yeast Nuclear",
+                "FFLLSSSSYY**CC*WLLLSPPPPHHQQRRRRIIIMTTTTNNKKSSRRVVVVAAAADDEEGGGG");
+        register(13, "Ascidian Mitochondrial",
+                "FFLLSSSSYY**CCWWLLLLPPPPHHQQRRRRIIMMTTTTNNKKSSGGVVVVAAAADDEEGGGG");
+        register(14, "Alternative Flatworm Mitochondrial",
+                "FFLLSSSSYYY*CCWWLLLLPPPPHHQQRRRRIIIMTTTTNNNKSSSSVVVVAAAADDEEGGGG");
+        register(16, "Chlorophycean Mitochondrial",
+                "FFLLSSSSYY*LCC*WLLLLPPPPHHQQRRRRIIIMTTTTNNKKSSRRVVVVAAAADDEEGGGG");
+        register(21, "Trematode Mitochondrial",
+                "FFLLSSSSYY**CCWWLLLLPPPPHHQQRRRRIIMMTTTTNNNKSSSSVVVVAAAADDEEGGGG");
+        register(22, "Scenedesmus obliquus Mitochondrial",
+                "FFLLSS*SYY*LCC*WLLLLPPPPHHQQRRRRIIIMTTTTNNKKSSRRVVVVAAAADDEEGGGG");
+        register(23, "Thraustochytrium Mitochondrial",
+                "FF*LSSSSYY**CC*WLLLLPPPPHHQQRRRRIIIMTTTTNNKKSSRRVVVVAAAADDEEGGGG");
+        register(24, "Rhabdopleuridae Mitochondrial",
+                "FFLLSSSSYY**CCWWLLLLPPPPHHQQRRRRIIIMTTTTNNKKSSSKVVVVAAAADDEEGGGG");
+        register(25, "Candidate Division SR1 and Gracilibacteria",
+                "FFLLSSSSYY**CCGWLLLLPPPPHHQQRRRRIIIMTTTTNNKKSSRRVVVVAAAADDEEGGGG");
+        register(26, "Pachysolen tannophilus Nuclear",
+                "FFLLSSSSYY**CC*WLLLAPPPPHHQQRRRRIIIMTTTTNNKKSSRRVVVVAAAADDEEGGGG");
+    }
+
+    private final int id;
+    private final String name;
+    private final byte[] aminoAcids = new byte[64];
+    // Codon indexes per residue letter ('A'..'Z' plus '*' at index 26), in NCBI table order
+    private final int[][] codonsByResidue = new int[27][];
+
+    private GeneticCode(int id, @NotNull String name, @NotNull String ncbiAminoAcids) {
+        this.id = id;
+        this.name = name;
+        List<List<Integer>> codons = new ArrayList<>();
+        for (int i = 0; i < codonsByResidue.length; i++) {
+            codons.add(new ArrayList<>());
+        }
+        for (int ncbi = 0; ncbi < 64; ncbi++) {
+            int codon = NCBI_BASE_TO_CODE[ncbi >> 4] << 4 | NCBI_BASE_TO_CODE[(ncbi >> 2) & 3] << 2 | NCBI_BASE_TO_CODE[ncbi & 3];
+            char residue = ncbiAminoAcids.charAt(ncbi);
+            aminoAcids[codon] = (byte) residue;
+            codons.get(residueSlot(residue)).add(codon);
+        }
+        for (int i = 0; i < codonsByResidue.length; i++) {
+            codonsByResidue[i] = codons.get(i).stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    private static GeneticCode register(int id, String name, String ncbiAminoAcids) {
+        GeneticCode code = new GeneticCode(id, name, ncbiAminoAcids);
+        CODES.put(id, code);
+        return code;
+    }
+
+    @Nullable
+    public static GeneticCode forId(int id) {
+        return CODES.get(id);
+    }
+
+    /**
+     * Reads a GenBank-style {@code transl_table=N} directive, e.g. from a comment.
+     *
+     * @return null if {@code text} has no directive or names an unknown table
+     */
+    @Nullable
+    public static GeneticCode fromDirective(@NotNull CharSequence text) {
+        Matcher matcher = DIRECTIVE.matcher(text);
+        return matcher.find() ? forId(Integer.parseInt(matcher.group(1))) : null;
+    }
+
+    @NotNull
+    public static Map<Integer, GeneticCode> all() {
+        return Collections.unmodifiableMap(CODES);
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    @NotNull
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the 6-bit codon index of three bases, or -1 if any of them is not A/C/G/T/U
+     */
+    public static int codonIndex(char b1, char b2, char b3) {
+        int c1 = PackedSequence.nucleotideCode(b1);
+        int c2 = PackedSequence.nucleotideCode(b2);
+        int c3 = PackedSequence.nucleotideCode(b3);
+        return (c1 | c2 | c3) < 0 ? -1 : c1 << 4 | c2 << 2 | c3;
+    }
+
+    @NotNull
+    public static String codonString(int codon) {
+        return new String(new char[]{CODE_TO_BASE[codon >> 4], CODE_TO_BASE[(codon >> 2) & 3], CODE_TO_BASE[codon & 3]});
+    }
+
+    public char translateCodon(int codon) {
+        return codon < 0 ? UNKNOWN : (char) aminoAcids[codon];
+    }
+
+    public boolean isStopCodon(int codon) {
+        return codon >= 0 && aminoAcids[codon] == STOP;
+    }
+
+    /**
+     * Translates the codons of {@code sequence} starting at {@code from} into {@code out}.
+     *
+     * @return the number of residues written, i.e. {@code (to - from) / 3}
+     */
+    public int translate(@NotNull CharSequence sequence, int from, int to, char @NotNull [] out, int outOffset) {
+        int count = 0;
+        if (sequence instanceof PackedSequence packed && packed.isNucleotide()) {
+            for (int i = from; i + 2 < to; i += 3) {
+                int first = packed.codeAt(i);
+                int second = packed.codeAt(i + 1);
+                int third = packed.codeAt(i + 2);
+                // An unknown letter, e.g. N, is -1 and makes the codon unknown like in codonIndex
+                int codon = (first | second | third) < 0 ? -1 : first << 4 | second << 2 | third;
+                out[outOffset + count++] = translateCodon(codon);
+            }
+        } else {
+            for (int i = from; i + 2 < to; i += 3) {
+                out[outOffset + count++] = translateCodon(codonIndex(sequence.charAt(i), sequence.charAt(i + 1), sequence.charAt(i + 2)));
+            }
+        }
+        return count;
+    }
+
+    public int translate(@NotNull CharSequence sequence, int from, int to, byte @NotNull [] out, int outOffset) {
+        int count = 0;
+        for (int i = from; i + 2 < to; i += 3) {
+            out[outOffset + count++] = (byte) translateCodon(codonIndex(sequence.charAt(i), sequence.charAt(i + 1), sequence.charAt(i + 2)));
+        }
+        return count;
+    }
+
+    /**
+     * Translates reading frame {@code frame} (0-2) of the whole sequence.
+     */
+    @NotNull
+    public String translateFrame(@NotNull CharSequence sequence, int frame) {
+        int codons = Math.max(0, (sequence.length() - frame) / 3);
+        char[] protein = new char[codons];
+        translate(sequence, frame, sequence.length(), protein, 0);
+        return new String(protein);
+    }
+
+    /**
+     * All codons for {@code residue} in NCBI table order, empty if the residue is not encoded by this code.
+     */
+    public int @NotNull [] codonsFor(char residue) {
+        int slot = residueSlot(residue);
+        return slot < 0 ? new int[0] : codonsByResidue[slot];
+    }
+
+    /**
+     * Back-translates a protein using the first listed codon of each residue.
+     *
+     * @throws IllegalArgumentException if a residue has no codon in this code
+     */
+    @NotNull
+    public String reverseTranslate(@NotNull CharSequence protein) {
+        char[] dna = new char[protein.length() * 3];
+        for (int i = 0; i < protein.length(); i++) {
+            int[] codons = codonsFor(protein.charAt(i));
+            if (codons.length == 0) {
+                throw new IllegalArgumentException("Invalid amino acid: " + protein.charAt(i));
+            }
+            int codon = codons[0];
+            dna[i * 3] = CODE_TO_BASE[codon >> 4];
+            dna[i * 3 + 1] = CODE_TO_BASE[(codon >> 2) & 3];
+            dna[i * 3 + 2] = CODE_TO_BASE[codon & 3];
+        }
+        return new String(dna);
+    }
+
+    private static int residueSlot(char residue) {
+        if (residue == STOP) {
+            return 26;
+        }
+        return residue >= 'A' && residue <= 'Z' ? residue - 'A' : -1;
+    }
+
+    @Override
+    public String toString() {
+        return id + ". " + name;
+    }
+}
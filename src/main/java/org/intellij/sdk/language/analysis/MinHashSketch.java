@@ -0,0 +1,133 @@
+package org.intellij.sdk.language.analysis;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size MinHash sketches of the canonical k-mer sets of nucleotide sequences, for estimating their Jaccard
+ * similarity without comparing the sequences. Uses one-permutation hashing: every k-mer hash falls into one of
+ * {@link #SIZE} bins by its top bits and each bin keeps the smallest remaining bits, so a sketch costs one pass and no
+ * per-bin hash functions. Empty bins, frequent for short sequences, borrow from the next non-empty bin (rotation
+ * densification), so that every bin of every sketch can be compared.
+ * <p>
+ * K-mers are canonical, the smaller of a k-mer and its reverse complement, so a sequence and its reverse complement
+ * have the same sketch. Layout whitespace is skipped and k-mers spanning a letter outside ACGTU are left out.
+ * <p>
+ * For locality-sensitive hashing the bins are split into {@link #BANDS} bands of {@link #ROWS}; two sequences share a
+ * {@linkplain #bandKey band key} with probability {@code 1 - (1 - J^ROWS)^BANDS}, above one half from J of about 0.7.
+ */
+public final class MinHashSketch {
+    public static final int K = 16;
+    public static final int SIZE = 128;
+    public static final int BANDS = 16;
+    public static final int ROWS = SIZE / BANDS;
+
+    private static final int BIN_BITS = Integer.numberOfTrailingZeros(SIZE);
+    private static final int VALUE_MASK = (1 << (32 - BIN_BITS)) - 1;
+    private static final int EMPTY = -1;
+
+    private MinHashSketch() {
+    }
+
+    /**
+     * @return the sketch of {@code sequence[from, to)}, or null if it has no k-mer
+     */
+    public static int @Nullable [] sketch(@NotNull CharSequence sequence, int from, int to) {
+        int[] bins = new int[SIZE];
+        Arrays.fill(bins, EMPTY);
+        long mask = (1L << (2 * K)) - 1;
+        int shift = 2 * (K - 1);
+        long forward = 0;
+        long reverse = 0;
+        int run = 0;
+        boolean any = false;
+        for (int i = from; i < to; i++) {
+            char ch = sequence.charAt(i);
+            if (SequenceAlphabet.isLayout(ch)) {
+                continue;
+            }
+            int code = PackedSequence.nucleotideCode(ch);
+            if (code < 0) {
+                run = 0;
+                continue;
+            }
+            forward = ((forward << 2) | code) & mask;
+            reverse = (reverse >>> 2) | ((long) (3 - code) << shift);
+            if (++run < K) {
+                continue;
+            }
+            int hash = MinimizerSampler.hash(Math.min(forward, reverse));
+            int bin = hash >>> (32 - BIN_BITS);
+            int value = hash & VALUE_MASK;
+            if (bins[bin] == EMPTY || value < bins[bin]) {
+                bins[bin] = value;
+            }
+            any = true;
+        }
+        if (!any) {
+            return null;
+        }
+        densify(bins);
+        return bins;
+    }
+
+    public static int @Nullable [] sketch(@NotNull CharSequence sequence) {
+        return sketch(sequence, 0, sequence.length());
+    }
+
+    /**
+     * Estimated Jaccard similarity of the k-mer sets behind two sketches: the fraction of bins that agree.
+     */
+    public static double similarity(int @NotNull [] a, int @NotNull [] b) {
+        int equal = 0;
+        for (int i = 0; i < SIZE; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / SIZE;
+    }
+
+    /**
+     * Hash of the rows of {@code band}, mixed with the band number so that equal rows in different bands do not
+     * collide.
+     */
+    public static int bandKey(int @NotNull [] sketch, int band) {
+        long h = band;
+        for (int i = band * ROWS; i < (band + 1) * ROWS; i++) {
+            h = h * 0x9E3779B97F4A7C15L + sketch[i];
+        }
+        return MinimizerSampler.hash(h);
+    }
+
+    /**
+     * The {@linkplain #bandKey band keys} of all bands, in band order.
+     */
+    public static int @NotNull [] bandKeys(int @NotNull [] sketch) {
+        int[] keys = new int[BANDS];
+        for (int band = 0; band < BANDS; band++) {
+            keys[band] = bandKey(sketch, band);
+        }
+        return keys;
+    }
+
+    // Every empty bin takes the value of the nearest non-empty bin to its right, wrapping around, mixed with the
+    // distance so that two empty bins borrowing from the same bin do not look like two agreeing bins
+    private static void densify(int[] bins) {
+        int[] filled = bins.clone();
+        for (int i = 0; i < SIZE; i++) {
+            if (filled[i] != EMPTY) {
+                continue;
+            }
+            int distance = 1;
+            int j = (i + 1) % SIZE;
+            while (filled[j] == EMPTY) {
+                j = (j + 1) % SIZE;
+                distance++;
+            }
+            bins[i] = MinimizerSampler.hash(((long) distance << 32) | filled[j]) & VALUE_MASK | Integer.MIN_VALUE;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package org.intellij.sdk.language.analysis;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Samples the k-mers of a nucleotide sequence by (w, k)-minimizers: of every {@code window} consecutive k-mers only the
+ * one with the smallest hash is kept. Two sequences sharing a stretch of at least {@code window + k - 1} letters are
+ * guaranteed to share a sampled k-mer, while only about {@code 2 / (window + 1)} of all k-mers are reported.
+ * <p>
+ * K-mers are packed two bits per letter (U is read as T) and hashed with an invertible mix, so equal hashes mean equal
+ * k-mers up to the final fold to 32 bits. K-mers spanning a letter outside ACGTU are skipped.
+ */
+public final class MinimizerSampler {
+    public static final int MAX_K = 31;
+
+    private final int k;
+    private final int window;
+
+    @FunctionalInterface
+    public interface MinimizerConsumer {
+        /**
+         * @param position letter position of the k-mer in the sampled range, layout whitespace not counted
+         */
+        void accept(int hash, int position);
+    }
+
+    public MinimizerSampler(int k, int window) {
+        if (k < 1 || k > MAX_K) {
+            throw new IllegalArgumentException("k must be between 1 and " + MAX_K + ": " + k);
+        }
+        if (window < 1) {
+            throw new IllegalArgumentException("window must be positive: " + window);
+        }
+        this.k = k;
+        this.window = window;
+    }
+
+    public int getK() {
+        return k;
+    }
+
+    public int getWindow() {
+        return window;
+    }
+
+    /**
+     * Reports the minimizers of {@code sequence[from, to)} in increasing position order, each position at most once.
+     * Layout whitespace is skipped, so k-mers of a wrapped literal may span line breaks, and positions count letters
+     * only: they are the same for a literal and for its letters without layout, e.g. a {@link PackedSequence}. Letters
+     * outside ACGTU are counted but end the current run of k-mers.
+     */
+    public void sample(@NotNull CharSequence sequence, int from, int to, @NotNull MinimizerConsumer consumer) {
+        long mask = (1L << (2 * k)) - 1;
+        // Monotone queue of candidate k-mers, increasing by hash, as a ring buffer of capacity window. K-mers are
+        // numbered consecutively within a run of valid letters, which is what the window slides over.
+        int[] queueHashes = new int[window];
+        int[] queueOrdinals = new int[window];
+        int[] queuePositions = new int[window];
+        int head = 0;
+        int size = 0;
+        long kmer = 0;
+        int letter = -1;
+        int validRun = 0;
+        int lastReported = -1;
+        for (int i = from; i < to; i++) {
+            char ch = sequence.charAt(i);
+            if (SequenceAlphabet.isLayout(ch)) {
+                continue;
+            }
+            letter++;
+            int code = PackedSequence.nucleotideCode(ch);
+            if (code < 0) {
+                lastReported = reportShortRun(validRun, size, queueHashes, queuePositions, head, lastReported, consumer);
+                validRun = 0;
+                size = 0;
+                continue;
+            }
+            kmer = ((kmer << 2) | code) & mask;
+            if (++validRun < k) {
+                continue;
+            }
+
+            int hash = hash(kmer);
+            int ordinal = validRun - k;
+            int position = letter - k + 1;
+            while (size > 0 && queueHashes[(head + size - 1) % window] > hash) {
+                size--;
+            }
+            if (size > 0 && queueOrdinals[head] <= ordinal - window) {
+                head = (head + 1) % window;
+                size--;
+            }
+            int tail = (head + size) % window;
+            queueHashes[tail] = hash;
+            queueOrdinals[tail] = ordinal;
+            queuePositions[tail] = position;
+            size++;
+
+            if (validRun >= k + window - 1 && queuePositions[head] != lastReported) {
+                lastReported = queuePositions[head];
+                consumer.accept(queueHashes[head], lastReported);
+            }
+        }
+        reportShortRun(validRun, size, queueHashes, queuePositions, head, lastReported, consumer);
+    }
+
+    // A run with at least one k-mer but no complete window still contributes its smallest k-mer
+    private int reportShortRun(int validRun, int size, int[] queueHashes, int[] queuePositions, int head,
+                               int lastReported, MinimizerConsumer consumer) {
+        if (validRun >= k && validRun < k + window - 1 && size > 0 && queuePositions[head] != lastReported) {
+            consumer.accept(queueHashes[head], queuePositions[head]);
+            return queuePositions[head];
+        }
+        return lastReported;
+    }
+
+    public static int hash(long kmer) {
+        long h = kmer;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) (h ^ (h >>> 32));
+    }
+}
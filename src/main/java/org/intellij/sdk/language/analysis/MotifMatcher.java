@@ -0,0 +1,210 @@
+package org.intellij.sdk.language.analysis;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Finds many degenerate nucleotide motifs on both strands in one pass, with a multi-pattern shift-and automaton.
+ * <p>
+ * Every motif, and the reverse complement of every non-palindromic motif, gets one bit per position in a shared bit
+ * vector. Bit {@code j} of the state is set when the last {@code j + 1} letters match the first {@code j + 1} positions
+ * of its pattern, so each letter costs one shift, OR and AND per 64 pattern positions regardless of motif count. IUPAC
+ * codes in a motif simply set their bit in the masks of several letters. Sequence letters other than ACGTU match
+ * nothing, so a motif never matches across an N or a typo; layout whitespace of wrapped literals is skipped.
+ */
+public final class MotifMatcher {
+    private static final String IUPAC_CODES = "ACGTURYSWKMBDHVN";
+    // Bit i set when the code matches nucleotide i (A, C, G, T)
+    private static final int[] IUPAC_NUCLEOTIDES = {
+            0b0001, 0b0010, 0b0100, 0b1000, 0b1000,
+            0b0101, 0b1010, 0b0110, 0b1001, 0b1100, 0b0011,
+            0b1110, 0b1101, 0b1011, 0b0111, 0b1111
+    };
+    private static final String IUPAC_COMPLEMENTS = "TGCAAYRSWMKVHDBN";
+
+    public record Motif(@NotNull String name, @NotNull String pattern) {
+    }
+
+    /**
+     * A match of {@code motif} at {@code sequence[start, end)}; {@code reverse} when it is the reverse complement that
+     * matched, i.e. the motif lies on the opposite strand.
+     */
+    public record Match(@NotNull Motif motif, int start, int end, boolean reverse) {
+    }
+
+    @FunctionalInterface
+    public interface MatchConsumer {
+        /**
+         * @return false to stop scanning
+         */
+        boolean accept(@NotNull Match match);
+    }
+
+    private final List<Motif> motifs;
+    // For each bit that ends a pattern: the motif it belongs to, whether it is the reverse complement, and its length
+    private final int[] endMotif;
+    private final boolean[] endReverse;
+    private final int[] endLength;
+    private final long[] startBits;
+    private final long[] endBits;
+    private final long[][] letterMasks = new long[4][];
+    private final int words;
+    private final int maxLength;
+
+    private MotifMatcher(List<Motif> motifs, List<String> patterns, List<Integer> patternMotifs, List<Boolean> patternReverse) {
+        this.motifs = motifs;
+        int totalLength = 0;
+        int longest = 1;
+        for (String pattern : patterns) {
+            totalLength += pattern.length();
+            longest = Math.max(longest, pattern.length());
+        }
+        maxLength = longest;
+        words = Math.max(1, (totalLength + 63) / 64);
+        startBits = new long[words];
+        endBits = new long[words];
+        for (int i = 0; i < 4; i++) {
+            letterMasks[i] = new long[words];
+        }
+        endMotif = new int[totalLength];
+        endReverse = new boolean[totalLength];
+        endLength = new int[totalLength];
+
+        int bit = 0;
+        for (int p = 0; p < patterns.size(); p++) {
+            String pattern = patterns.get(p);
+            setBit(startBits, bit);
+            for (int i = 0; i < pattern.length(); i++, bit++) {
+                int nucleotides = IUPAC_NUCLEOTIDES[IUPAC_CODES.indexOf(pattern.charAt(i))];
+                for (int n = 0; n < 4; n++) {
+                    if ((nucleotides & (1 << n)) != 0) {
+                        setBit(letterMasks[n], bit);
+                    }
+                }
+            }
+            setBit(endBits, bit - 1);
+            endMotif[bit - 1] = patternMotifs.get(p);
+            endReverse[bit - 1] = patternReverse.get(p);
+            endLength[bit - 1] = pattern.length();
+        }
+    }
+
+    /**
+     * @param bothStrands also match the reverse complement of each motif; palindromic motifs are matched once
+     * @throws IllegalArgumentException if a pattern is empty or contains a letter that is not an IUPAC nucleotide code
+     */
+    @NotNull
+    public static MotifMatcher compile(@NotNull List<Motif> motifs, boolean bothStrands) {
+        List<String> patterns = new ArrayList<>();
+        List<Integer> patternMotifs = new ArrayList<>();
+        List<Boolean> patternReverse = new ArrayList<>();
+        for (int m = 0; m < motifs.size(); m++) {
+            String pattern = normalize(motifs.get(m).pattern());
+            patterns.add(pattern);
+            patternMotifs.add(m);
+            patternReverse.add(false);
+            if (bothStrands) {
+                String reverse = reverseComplement(pattern);
+                if (!reverse.equals(pattern)) {
+                    patterns.add(reverse);
+                    patternMotifs.add(m);
+                    patternReverse.add(true);
+                }
+            }
+        }
+        return new MotifMatcher(List.copyOf(motifs), patterns, patternMotifs, patternReverse);
+    }
+
+    @NotNull
+    public List<Motif> getMotifs() {
+        return motifs;
+    }
+
+    /**
+     * Reports matches in {@code sequence[from, to)} in order of their end offset.
+     *
+     * @return false if the consumer stopped the scan
+     */
+    public boolean scan(@NotNull CharSequence sequence, int from, int to, @NotNull MatchConsumer consumer) {
+        long[] state = new long[words];
+        // Offsets of the last maxLength letters, so that matches spanning layout whitespace get their real start
+        int[] letterOffsets = new int[maxLength];
+        int letters = 0;
+        for (int i = from; i < to; i++) {
+            char ch = sequence.charAt(i);
+            if (SequenceAlphabet.isLayout(ch)) {
+                continue;
+            }
+            int code = PackedSequence.nucleotideCode(ch);
+            if (code < 0) {
+                Arrays.fill(state, 0);
+                continue;
+            }
+            letterOffsets[letters++ % maxLength] = i;
+            long[] mask = letterMasks[code];
+            long carry = 0;
+            boolean matched = false;
+            for (int w = 0; w < words; w++) {
+                long word = state[w];
+                long next = ((word << 1) | carry | startBits[w]) & mask[w];
+                carry = word >>> 63;
+                state[w] = next;
+                matched |= (next & endBits[w]) != 0;
+            }
+            if (matched && !reportMatches(state, letterOffsets, letters, i + 1, consumer)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean reportMatches(long[] state, int[] letterOffsets, int letters, int end, MatchConsumer consumer) {
+        for (int w = 0; w < words; w++) {
+            long ends = state[w] & endBits[w];
+            while (ends != 0) {
+                int bit = w * 64 + Long.numberOfTrailingZeros(ends);
+                ends &= ends - 1;
+                int start = letterOffsets[(letters - endLength[bit]) % maxLength];
+                Match match = new Match(motifs.get(endMotif[bit]), start, end, endReverse[bit]);
+                if (!consumer.accept(match)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @throws IllegalArgumentException if {@code pattern} is empty or not made of IUPAC nucleotide codes
+     */
+    @NotNull
+    public static String normalize(@NotNull String pattern) {
+        String normalized = pattern.trim().toUpperCase(Locale.ROOT).replace('U', 'T');
+        if (normalized.isEmpty()) {
+            throw new IllegalArgumentException("Empty motif");
+        }
+        for (int i = 0; i < normalized.length(); i++) {
+            if (IUPAC_CODES.indexOf(normalized.charAt(i)) < 0) {
+                throw new IllegalArgumentException("'" + normalized.charAt(i) + "' is not an IUPAC nucleotide code in " + pattern);
+            }
+        }
+        return normalized;
+    }
+
+    @NotNull
+    public static String reverseComplement(@NotNull String pattern) {
+        StringBuilder result = new StringBuilder(pattern.length());
+        for (int i = pattern.length() - 1; i >= 0; i--) {
+            result.append(IUPAC_COMPLEMENTS.charAt(IUPAC_CODES.indexOf(pattern.charAt(i))));
+        }
+        return result.toString();
+    }
+
+    private static void setBit(long[] bits, int bit) {
+        bits[bit >>> 6] |= 1L << (bit & 63);
+    }
+}
@@ -0,0 +1,197 @@
+package org.intellij.sdk.language.analysis;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * Single-pass open reading frame scanner over all six frames.
+ * <p>
+ * Each base is shifted into a forward and a reverse-complement 6-bit codon, so start and stop codons on both strands
+ * are recognised from the same window. ORFs are handed to an {@link OrfProcessor} as soon as their stop codon is seen;
+ * nothing but the pending start positions is kept in memory.
+ */
+public final class OrfFinder {
+    public static final int DEFAULT_MIN_LENGTH = 90; // Minimum 30 amino acids
+
+    public static final int START_CODON = 0b001110;   // ATG
+
+    public enum NestedOrfPolicy {
+        /** Report an ORF for every in-frame ATG, so ORFs sharing a stop codon are all reported. */
+        ALL,
+        /** Report only the longest ORF per stop codon. */
+        LONGEST
+    }
+
+    public record Orf(int start, int end, int frame, boolean reverse) {
+        public int length() {
+            return end - start;
+        }
+
+        /**
+         * Returns the ORF read 5' to 3' on its own strand, i.e. reverse-complemented for reverse-strand ORFs.
+         */
+        @NotNull
+        public String sequenceIn(@NotNull CharSequence sequence) {
+            CharSequence region = sequence.subSequence(start, end);
+            return reverse ? reverseComplement(region) : region.toString();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d-%d (Frame %d%s, %dbp)", start + 1, end, frame, reverse ? " reverse" : "", length());
+        }
+    }
+
+    @FunctionalInterface
+    public interface OrfProcessor {
+        /**
+         * @return false to stop scanning
+         */
+        boolean process(@NotNull Orf orf);
+    }
+
+    private final int minLength;
+    private final NestedOrfPolicy policy;
+    private final boolean bothStrands;
+    private final GeneticCode geneticCode;
+
+    public OrfFinder() {
+        this(DEFAULT_MIN_LENGTH, NestedOrfPolicy.ALL, true, GeneticCode.STANDARD);
+    }
+
+    /**
+     * @param geneticCode decides which codons terminate an ORF; ORFs always start at ATG
+     */
+    public OrfFinder(int minLength, @NotNull NestedOrfPolicy policy, boolean bothStrands, @NotNull GeneticCode geneticCode) {
+        this.minLength = minLength;
+        this.policy = policy;
+        this.bothStrands = bothStrands;
+        this.geneticCode = geneticCode;
+    }
+
+    /**
+     * Scans {@code sequence} (DNA or RNA letters) and streams every ORF of at least the minimum length.
+     *
+     * @return false if the processor stopped the scan early
+     */
+    public boolean find(@NotNull CharSequence sequence, @NotNull OrfProcessor processor) {
+        int length = sequence.length();
+        FrameState[] forward = {new FrameState(), new FrameState(), new FrameState()};
+        FrameState[] reverse = {new FrameState(), new FrameState(), new FrameState()};
+
+        int codon = 0;
+        int reverseCodon = 0;
+        int validRun = 0;
+        for (int i = 0; i < length; i++) {
+            int base = PackedSequence.nucleotideCode(sequence.charAt(i));
+            if (base < 0) {
+                validRun = 0;
+                continue;
+            }
+            codon = ((codon << 2) | base) & 63;
+            reverseCodon = ((3 - base) << 4) | (reverseCodon >>> 2);
+            if (++validRun < 3) {
+                continue;
+            }
+
+            int codonStart = i - 2;
+            FrameState frame = forward[codonStart % 3];
+            if (codon == START_CODON) {
+                if (policy == NestedOrfPolicy.ALL || frame.isEmpty()) {
+                    frame.add(codonStart);
+                }
+            } else if (geneticCode.isStopCodon(codon)) {
+                for (int s = 0; s < frame.size; s++) {
+                    if (!emit(frame.starts[s], i + 1, codonStart % 3, false, processor)) {
+                        return false;
+                    }
+                }
+                frame.clear();
+            }
+
+            if (!bothStrands) {
+                continue;
+            }
+            int reverseFrameIndex = (length - 1 - i) % 3;
+            FrameState reverseFrame = reverse[reverseFrameIndex];
+            if (reverseCodon == START_CODON) {
+                // Read right to left, this ATG runs back to the last stop seen in the frame
+                if (reverseFrame.stop >= 0) {
+                    if (policy == NestedOrfPolicy.ALL) {
+                        if (!emit(reverseFrame.stop, i + 1, reverseFrameIndex, true, processor)) {
+                            return false;
+                        }
+                    } else {
+                        reverseFrame.clear();
+                        reverseFrame.add(codonStart);
+                    }
+                }
+            } else if (geneticCode.isStopCodon(reverseCodon)) {
+                if (!flushReverse(reverseFrame, reverseFrameIndex, processor)) {
+                    return false;
+                }
+                reverseFrame.stop = codonStart;
+            }
+        }
+        for (int frame = 0; frame < 3; frame++) {
+            if (!flushReverse(reverse[frame], frame, processor)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Under LONGEST the last ATG before the next reverse stop (or the sequence end) is the outermost start
+    private boolean flushReverse(FrameState frame, int frameIndex, OrfProcessor processor) {
+        boolean proceed = frame.isEmpty() || emit(frame.stop, frame.starts[0] + 3, frameIndex, true, processor);
+        frame.clear();
+        return proceed;
+    }
+
+    private boolean emit(int start, int end, int frame, boolean reverse, OrfProcessor processor) {
+        return end - start < minLength || processor.process(new Orf(start, end, frame, reverse));
+    }
+
+    @NotNull
+    public static String reverseComplement(@NotNull CharSequence sequence) {
+        int length = sequence.length();
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = complement(sequence.charAt(length - 1 - i));
+        }
+        return new String(chars);
+    }
+
+    public static char complement(char base) {
+        return switch (base) {
+            case 'A' -> 'T';
+            case 'T', 'U' -> 'A';
+            case 'G' -> 'C';
+            case 'C' -> 'G';
+            default -> 'N';
+        };
+    }
+
+    private static final class FrameState {
+        int[] starts = new int[4];
+        int size;
+        // Forward coordinate of the last reverse-strand stop codon, which closes ORFs read right to left
+        int stop = -1;
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void add(int position) {
+            if (size == starts.length) {
+                starts = Arrays.copyOf(starts, size * 2);
+            }
+            starts[size++] = position;
+        }
+
+        void clear() {
+            size = 0;
+        }
+    }
+}
@@ -0,0 +1,332 @@
+package org.intellij.sdk.language.analysis;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * Bit-packed, immutable sequence of bases or residues.
+ * <p>
+ * Nucleotides use 2 bits per base (A=0, C=1, G=2, T/U=3), everything else falls back to 5 bits per residue
+ * ({@code letter - 'A'}). Letters the encoding cannot hold, e.g. N and the other IUPAC ambiguity codes in a nucleotide
+ * sequence or a lowercase typo, keep their position: they are stored as runs of equal letters next to the packed words,
+ * {@link #codeAt} returns -1 for them and {@link #charAt} the letter itself. Sub-sequences are views over the same
+ * words, so slicing never copies.
+ */
+public final class PackedSequence implements CharSequence {
+    public static final PackedSequence EMPTY = new PackedSequence(new long[0], 0, 0, 2, 'T', new int[0], new int[0], new char[0]);
+
+    public static final int A = 0;
+    public static final int C = 1;
+    public static final int G = 2;
+    public static final int T = 3;
+
+    private static final char[] NUCLEOTIDES = {'A', 'C', 'G', 'T'};
+    // Uppercase letters that are not bases but still belong in a nucleotide sequence, so they do not switch it to 5 bits
+    private static final String AMBIGUITY_CODES = "NRYSWKMBDHV";
+
+    private final long[] words;
+    private final int offset;
+    private final int length;
+    private final int bitsPerSymbol;
+    private final char thymine;
+    // Runs of letters that are not encoded, sorted, as [start, end) positions in the words, shared by all views
+    private final int[] unknownStarts;
+    private final int[] unknownEnds;
+    private final char[] unknownLetters;
+    // Computed on first use; racing computations produce equal values
+    private volatile SequenceHash contentHash;
+
+    private PackedSequence(long[] words, int offset, int length, int bitsPerSymbol, char thymine,
+                           int[] unknownStarts, int[] unknownEnds, char[] unknownLetters) {
+        this.words = words;
+        this.offset = offset;
+        this.length = length;
+        this.bitsPerSymbol = bitsPerSymbol;
+        this.thymine = thymine;
+        this.unknownStarts = unknownStarts;
+        this.unknownEnds = unknownEnds;
+        this.unknownLetters = unknownLetters;
+    }
+
+    @NotNull
+    public static PackedSequence pack(@NotNull CharSequence sequence) {
+        return new Builder(sequence.length()).append(sequence).build();
+    }
+
+    /**
+     * True if this sequence uses the 2-bit nucleotide encoding, i.e. {@link #codeAt} returns A/C/G/T codes.
+     */
+    public boolean isNucleotide() {
+        return bitsPerSymbol == 2;
+    }
+
+    /**
+     * @return the A/C/G/T code of a nucleotide sequence or {@code letter - 'A'} of a residue sequence, or -1 if the
+     * letter at {@code index} is not encoded
+     */
+    public int codeAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("index " + index + ", length " + length);
+        }
+        if (unknownStarts.length > 0 && unknownLetter(offset + index) != 0) {
+            return -1;
+        }
+        return code(offset + index);
+    }
+
+    /**
+     * True if some letters of this sequence are not encoded, see {@link #codeAt}.
+     */
+    public boolean hasUnknownLetters() {
+        if (unknownStarts.length == 0) {
+            return false;
+        }
+        int run = firstRunEndingAfter(offset);
+        return run < unknownStarts.length && unknownStarts[run] < offset + length;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("index " + index + ", length " + length);
+        }
+        if (unknownStarts.length > 0) {
+            char unknown = unknownLetter(offset + index);
+            if (unknown != 0) {
+                return unknown;
+            }
+        }
+        return letter(code(offset + index));
+    }
+
+    @NotNull
+    @Override
+    public PackedSequence subSequence(int start, int end) {
+        if (start < 0 || end > length || start > end) {
+            throw new IndexOutOfBoundsException("[" + start + ", " + end + "), length " + length);
+        }
+        return new PackedSequence(words, offset + start, end - start, bitsPerSymbol, thymine,
+                unknownStarts, unknownEnds, unknownLetters);
+    }
+
+    /**
+     * Returns a view over the same bases that renders {@link #T} as {@code U}.
+     */
+    @NotNull
+    public PackedSequence asRna() {
+        return isNucleotide() && thymine != 'U' ? withThymine('U') : this;
+    }
+
+    @NotNull
+    public PackedSequence asDna() {
+        return isNucleotide() && thymine != 'T' ? withThymine('T') : this;
+    }
+
+    /**
+     * Hash of the letters of this sequence, computed once per instance, see {@link SequenceStore}.
+     */
+    @NotNull
+    public SequenceHash contentHash() {
+        SequenceHash result = contentHash;
+        if (result == null) {
+            result = SequenceHash.of(this);
+            contentHash = result;
+        }
+        return result;
+    }
+
+    /**
+     * Approximate heap footprint of the packed words and unknown letters backing this sequence.
+     */
+    public long packedSizeInBytes() {
+        return (long) words.length * Long.BYTES + (long) unknownStarts.length * (2 * Integer.BYTES + Character.BYTES);
+    }
+
+    @NotNull
+    @Override
+    public String toString() {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = letter(code(offset + i));
+        }
+        // Overwrite the unknown letters run by run instead of looking every position up
+        for (int run = firstRunEndingAfter(offset); run < unknownStarts.length && unknownStarts[run] < offset + length; run++) {
+            Arrays.fill(chars, Math.max(unknownStarts[run], offset) - offset,
+                    Math.min(unknownEnds[run], offset + length) - offset, unknownLetters[run]);
+        }
+        return new String(chars);
+    }
+
+    private PackedSequence withThymine(char letter) {
+        return new PackedSequence(words, offset, length, bitsPerSymbol, letter, unknownStarts, unknownEnds, unknownLetters);
+    }
+
+    private int code(int position) {
+        long bit = (long) position * bitsPerSymbol;
+        int word = (int) (bit >>> 6);
+        int shift = (int) (bit & 63);
+        long value = words[word] >>> shift;
+        if (shift + bitsPerSymbol > 64) {
+            value |= words[word + 1] << (64 - shift);
+        }
+        return (int) (value & ((1L << bitsPerSymbol) - 1));
+    }
+
+    private char letter(int code) {
+        if (bitsPerSymbol == 5) {
+            return (char) ('A' + code);
+        }
+        return code == T ? thymine : NUCLEOTIDES[code];
+    }
+
+    // The unknown letter at an absolute position, or 0 if the letter there is encoded
+    private char unknownLetter(int position) {
+        int run = firstRunEndingAfter(position);
+        return run < unknownStarts.length && unknownStarts[run] <= position ? unknownLetters[run] : 0;
+    }
+
+    private int firstRunEndingAfter(int position) {
+        int low = 0;
+        int high = unknownEnds.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (unknownEnds[middle] <= position) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static int wordsFor(int length, int bitsPerSymbol) {
+        return (int) (((long) length * bitsPerSymbol + 63) >>> 6);
+    }
+
+    public static final class Builder {
+        private final int expectedLength;
+        private long[] words;
+        private int length;
+        private int bitsPerSymbol = 2;
+        private char thymine = 0;
+        private int[] unknownStarts = new int[0];
+        private int[] unknownEnds = new int[0];
+        private char[] unknownLetters = new char[0];
+        private int unknownRuns;
+
+        /**
+         * @param expectedLength the number of letters that will be appended, e.g. the total length of the literal
+         *                       tokens, so that the words are allocated once at their final size
+         */
+        public Builder(int expectedLength) {
+            this.expectedLength = expectedLength;
+            words = new long[wordsFor(expectedLength, 2)];
+        }
+
+        @NotNull
+        public Builder append(@NotNull CharSequence chars) {
+            for (int i = 0; i < chars.length(); i++) {
+                append(chars.charAt(i));
+            }
+            return this;
+        }
+
+        @NotNull
+        public Builder append(char ch) {
+            if (bitsPerSymbol == 2) {
+                int code = nucleotideCode(ch);
+                if (code >= 0 && (code != T || thymine == 0 || thymine == ch)) {
+                    if (code == T) {
+                        thymine = ch;
+                    }
+                    put(length++, code);
+                    return this;
+                }
+                if (code >= 0 || ch >= 'A' && ch <= 'Z' && AMBIGUITY_CODES.indexOf(ch) < 0) {
+                    switchToResidues();
+                } else {
+                    addUnknown(length++, ch);
+                    return this;
+                }
+            }
+            if (ch >= 'A' && ch <= 'Z') {
+                put(length++, ch - 'A');
+            } else {
+                addUnknown(length++, ch);
+            }
+            return this;
+        }
+
+        @NotNull
+        public PackedSequence build() {
+            int wordCount = wordsFor(length, bitsPerSymbol);
+            long[] packed = wordCount == words.length ? words : Arrays.copyOf(words, wordCount);
+            return new PackedSequence(packed, 0, length, bitsPerSymbol, thymine == 0 ? 'T' : thymine,
+                    Arrays.copyOf(unknownStarts, unknownRuns), Arrays.copyOf(unknownEnds, unknownRuns),
+                    Arrays.copyOf(unknownLetters, unknownRuns));
+        }
+
+        // Re-encodes what was appended so far at 5 bits, where the ambiguity codes are ordinary letters
+        private void switchToResidues() {
+            PackedSequence previous = build();
+            bitsPerSymbol = 5;
+            words = new long[wordsFor(Math.max(expectedLength, previous.length()), 5)];
+            length = 0;
+            unknownRuns = 0;
+            for (int i = 0; i < previous.length(); i++) {
+                append(previous.charAt(i));
+            }
+        }
+
+        private void addUnknown(int index, char ch) {
+            if (unknownRuns > 0 && unknownEnds[unknownRuns - 1] == index && unknownLetters[unknownRuns - 1] == ch) {
+                unknownEnds[unknownRuns - 1]++;
+                return;
+            }
+            if (unknownRuns == unknownStarts.length) {
+                int capacity = Math.max(4, unknownRuns * 2);
+                unknownStarts = Arrays.copyOf(unknownStarts, capacity);
+                unknownEnds = Arrays.copyOf(unknownEnds, capacity);
+                unknownLetters = Arrays.copyOf(unknownLetters, capacity);
+            }
+            unknownStarts[unknownRuns] = index;
+            unknownEnds[unknownRuns] = index + 1;
+            unknownLetters[unknownRuns] = ch;
+            unknownRuns++;
+        }
+
+        private void put(int index, int code) {
+            long bit = (long) index * bitsPerSymbol;
+            int word = (int) (bit >>> 6);
+            int shift = (int) (bit & 63);
+            ensureCapacity(wordsFor(index + 1, bitsPerSymbol));
+            words[word] |= (long) code << shift;
+            if (shift + bitsPerSymbol > 64) {
+                words[word + 1] |= (long) code >>> (64 - shift);
+            }
+        }
+
+        // Only more letters than expected make the words grow
+        private void ensureCapacity(int wordCount) {
+            if (wordCount > words.length) {
+                words = Arrays.copyOf(words, Math.max(wordCount, words.length * 2));
+            }
+        }
+    }
+
+    public static int nucleotideCode(char ch) {
+        return switch (ch) {
+            case 'A' -> A;
+            case 'C' -> C;
+            case 'G' -> G;
+            case 'T', 'U' -> T;
+            default -> -1;
+        };
+    }
+}
@@ -0,0 +1,501 @@
+package org.intellij.sdk.language.analysis;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * Pairwise alignment with affine gap costs, where a gap of k letters scores {@code -(gapOpen + k * gapExtend)}.
+ * <ul>
+ * <li>{@link Mode#GLOBAL}: Needleman-Wunsch (Gotoh), with the linear-space divide and conquer traceback of Myers and
+ * Miller (the affine form of Hirschberg's algorithm): O(n·m) time, O(n + m) memory.</li>
+ * <li>{@link Mode#LOCAL}: Smith-Waterman (Gotoh). A forward pass finds where the best local alignment ends and a pass
+ * over the reversed prefixes where it starts; the span between is then aligned globally in linear space.</li>
+ * <li>{@link #alignBanded}: global alignment restricted to a diagonal band, for long similar sequences:
+ * O(n·w) time and memory. Optimal only if the optimal alignment stays inside the band.</li>
+ * </ul>
+ * Letters are compared as small integer codes, with U equal to T and case ignored, and {@link PackedSequence}s are read
+ * through their 2-bit codes without being decoded. {@code checkCanceled} is called once per matrix row, so it can
+ * abort the alignment by throwing.
+ */
+public final class PairwiseAligner {
+    // Far enough from Integer.MIN_VALUE that subtracting gap costs cannot overflow
+    private static final int NEGATIVE_INFINITY = Integer.MIN_VALUE / 4;
+    private static final int FROM_DIAGONAL = 0;
+    private static final int FROM_INSERTION = 1;
+    private static final int FROM_DELETION = 2;
+    private static final int INSERTION_EXTENDED = 4;
+    private static final int DELETION_EXTENDED = 8;
+
+    private final int match;
+    private final int mismatch;
+    private final int gapOpen;
+    private final int gapExtend;
+    private final Runnable checkCanceled;
+
+    // State of one alignment: the encoded sequences, the work rows of the linear-space passes and the output columns
+    private byte[] a;
+    private byte[] b;
+    private int[] cc;
+    private int[] dd;
+    private int[] rr;
+    private int[] ss;
+    private byte[] operations;
+    private int length;
+
+    public enum Mode {
+        GLOBAL,
+        LOCAL
+    }
+
+    /**
+     * @param gapOpen   penalty for opening a gap, not including its first letter; not negative
+     * @param gapExtend penalty for every letter of a gap; not negative
+     */
+    public record Scoring(int match, int mismatch, int gapOpen, int gapExtend) {
+        // The BLASTN defaults for nucleotides
+        public static final Scoring DEFAULT = new Scoring(2, -3, 5, 2);
+        // Identity scoring for amino acids, with gap costs close to those usually paired with BLOSUM62
+        public static final Scoring PROTEIN = new Scoring(5, -4, 10, 1);
+
+        public Scoring {
+            if (gapOpen < 0 || gapExtend < 0) {
+                throw new IllegalArgumentException("Gap penalties must not be negative: " + gapOpen + ", " + gapExtend);
+            }
+        }
+    }
+
+    public PairwiseAligner(@NotNull Scoring scoring, @NotNull Runnable checkCanceled) {
+        this.match = scoring.match();
+        this.mismatch = scoring.mismatch();
+        this.gapOpen = scoring.gapOpen();
+        this.gapExtend = scoring.gapExtend();
+        this.checkCanceled = checkCanceled;
+    }
+
+    /**
+     * Encodes a sequence as one byte per letter: 0-3 for A, C, G and T/U, and the uppercase letter otherwise.
+     */
+    public static byte @NotNull [] encode(@NotNull CharSequence sequence) {
+        byte[] codes = new byte[sequence.length()];
+        if (sequence instanceof PackedSequence packed && packed.isNucleotide()) {
+            for (int i = 0; i < codes.length; i++) {
+                int code = packed.codeAt(i);
+                codes[i] = (byte) (code >= 0 ? code : Character.toUpperCase(packed.charAt(i)));
+            }
+            return codes;
+        }
+        for (int i = 0; i < codes.length; i++) {
+            char ch = Character.toUpperCase(sequence.charAt(i));
+            int code = PackedSequence.nucleotideCode(ch);
+            codes[i] = (byte) (code >= 0 ? code : ch);
+        }
+        return codes;
+    }
+
+    @NotNull
+    public synchronized Alignment align(@NotNull CharSequence first, @NotNull CharSequence second, @NotNull Mode mode) {
+        a = encode(first);
+        b = encode(second);
+        try {
+            int aStart = 0;
+            int aEnd = a.length;
+            int bStart = 0;
+            int bEnd = b.length;
+            if (mode == Mode.LOCAL) {
+                int[] span = findLocalSpan();
+                aStart = span[0];
+                aEnd = span[1];
+                bStart = span[2];
+                bEnd = span[3];
+            }
+            int n = bEnd - bStart;
+            cc = new int[n + 1];
+            dd = new int[n + 1];
+            rr = new int[n + 1];
+            ss = new int[n + 1];
+            operations = new byte[(aEnd - aStart) + n];
+            length = 0;
+            if (aEnd > aStart || n > 0) {
+                diff(aStart, aEnd - aStart, bStart, n, gapOpen, gapOpen);
+            }
+            return buildAlignment(aStart, aEnd, bStart, bEnd, Arrays.copyOf(operations, length));
+        } finally {
+            a = b = null;
+            cc = dd = rr = ss = null;
+            operations = null;
+        }
+    }
+
+    /**
+     * Global alignment within the band of diagonals that lie at most {@code bandWidth} from both the main diagonal and
+     * the one through the end of both sequences.
+     */
+    @NotNull
+    public synchronized Alignment alignBanded(@NotNull CharSequence first, @NotNull CharSequence second, int bandWidth) {
+        if (bandWidth < 0) {
+            throw new IllegalArgumentException("bandWidth must not be negative: " + bandWidth);
+        }
+        byte[] a = encode(first);
+        byte[] b = encode(second);
+        int m = a.length;
+        int n = b.length;
+        // Cell (i, j) of row i is stored at j - i - low
+        int low = Math.min(0, n - m) - bandWidth;
+        int high = Math.max(0, n - m) + bandWidth;
+        int width = high - low + 1;
+        byte[] trace = new byte[(m + 1) * width];
+        int[] h = new int[width + 1];
+        int[] f = new int[width + 1];
+        int[] previousH = new int[width + 1];
+        int[] previousF = new int[width + 1];
+        int extension = gapOpen + gapExtend;
+
+        Arrays.fill(previousH, NEGATIVE_INFINITY);
+        Arrays.fill(previousF, NEGATIVE_INFINITY);
+        for (int j = 0; j <= Math.min(n, high); j++) {
+            previousH[j - low] = j == 0 ? 0 : -(gapOpen + gapExtend * j);
+            trace[j - low] = (byte) (j == 0 ? FROM_DIAGONAL : FROM_INSERTION | (j > 1 ? INSERTION_EXTENDED : 0));
+        }
+        for (int i = 1; i <= m; i++) {
+            checkCanceled.run();
+            Arrays.fill(h, NEGATIVE_INFINITY);
+            Arrays.fill(f, NEGATIVE_INFINITY);
+            int from = Math.max(0, i + low);
+            int to = Math.min(n, i + high);
+            int e = NEGATIVE_INFINITY;
+            int left = NEGATIVE_INFINITY;
+            for (int j = from; j <= to; j++) {
+                int c = j - i - low;
+                int cell = i * width + c;
+                if (j == 0) {
+                    h[c] = -(gapOpen + gapExtend * i);
+                    f[c] = h[c];
+                    trace[cell] = (byte) (FROM_DELETION | (i > 1 ? DELETION_EXTENDED : 0));
+                    left = h[c];
+                    continue;
+                }
+                int bits = 0;
+                // Insertion from the cell to the left, which is in the current row
+                int openInsertion = left - extension;
+                e -= gapExtend;
+                if (e > openInsertion) {
+                    bits |= INSERTION_EXTENDED;
+                } else {
+                    e = openInsertion;
+                }
+                // Deletion from the cell above, one index further in the previous row
+                int aboveH = c + 1 < width ? previousH[c + 1] : NEGATIVE_INFINITY;
+                int aboveF = c + 1 < width ? previousF[c + 1] : NEGATIVE_INFINITY;
+                int deletion = aboveF - gapExtend;
+                if (deletion > aboveH - extension) {
+                    bits |= DELETION_EXTENDED;
+                } else {
+                    deletion = aboveH - extension;
+                }
+                f[c] = deletion;
+
+                int best = previousH[c] + (a[i - 1] == b[j - 1] ? match : mismatch);
+                int source = FROM_DIAGONAL;
+                if (e > best) {
+                    best = e;
+                    source = FROM_INSERTION;
+                }
+                if (deletion > best) {
+                    best = deletion;
+                    source = FROM_DELETION;
+                }
+                h[c] = best;
+                left = best;
+                trace[cell] = (byte) (bits | source);
+            }
+            int[] swap = previousH;
+            previousH = h;
+            h = swap;
+            swap = previousF;
+            previousF = f;
+            f = swap;
+        }
+
+        // Trace back from (m, n), following the state the score came from
+        byte[] reversed = new byte[m + n];
+        int count = 0;
+        int i = m;
+        int j = n;
+        int state = FROM_DIAGONAL;
+        while (i > 0 || j > 0) {
+            int bits = trace[i * width + (j - i - low)];
+            if (state == FROM_DIAGONAL) {
+                state = bits & 3;
+                if (state == FROM_DIAGONAL) {
+                    reversed[count++] = Alignment.PAIR;
+                    i--;
+                    j--;
+                }
+            } else if (state == FROM_INSERTION) {
+                reversed[count++] = Alignment.INSERTION;
+                state = (bits & INSERTION_EXTENDED) != 0 ? FROM_INSERTION : FROM_DIAGONAL;
+                j--;
+            } else {
+                reversed[count++] = Alignment.DELETION;
+                state = (bits & DELETION_EXTENDED) != 0 ? FROM_DELETION : FROM_DIAGONAL;
+                i--;
+            }
+        }
+        byte[] columns = new byte[count];
+        for (int k = 0; k < count; k++) {
+            columns[k] = reversed[count - 1 - k];
+        }
+        this.a = a;
+        this.b = b;
+        try {
+            return buildAlignment(0, m, 0, n, columns);
+        } finally {
+            this.a = this.b = null;
+        }
+    }
+
+    /**
+     * Aligns {@code a[ai, ai + m)} with {@code b[bj, bj + n)} globally and appends the columns. {@code tb} and
+     * {@code te} are the opening penalties of a deletion at the start and the end, 0 where it continues a deletion of
+     * the enclosing alignment.
+     */
+    private void diff(int ai, int m, int bj, int n, int tb, int te) {
+        if (n == 0) {
+            append(Alignment.DELETION, m);
+            return;
+        }
+        if (m == 0) {
+            append(Alignment.INSERTION, n);
+            return;
+        }
+        if (m == 1) {
+            alignSingleLetter(ai, bj, n, tb, te);
+            return;
+        }
+        checkCanceled.run();
+
+        int middle = m / 2;
+        forward(ai, middle, bj, n, tb);
+        reverse(ai + middle, m - middle, bj, n, te);
+        // Split either between two columns, or inside a deletion spanning the middle row, counting its opening once
+        int best = NEGATIVE_INFINITY;
+        int split = 0;
+        boolean throughDeletion = false;
+        for (int j = 0; j <= n; j++) {
+            int between = cc[j] + rr[n - j];
+            if (between > best) {
+                best = between;
+                split = j;
+                throughDeletion = false;
+            }
+            int through = dd[j] + ss[n - j] + gapOpen;
+            if (through > best) {
+                best = through;
+                split = j;
+                throughDeletion = true;
+            }
+        }
+        if (throughDeletion) {
+            diff(ai, middle - 1, bj, split, tb, 0);
+            append(Alignment.DELETION, 2);
+            diff(ai + middle + 1, m - middle - 1, bj + split, n - split, 0, te);
+        } else {
+            diff(ai, middle, bj, split, tb, gapOpen);
+            diff(ai + middle, m - middle, bj + split, n - split, gapOpen, te);
+        }
+    }
+
+    /**
+     * Last row of the alignment of {@code a[ai, ai + m)} with every prefix of {@code b[bj, bj + n)}: {@code cc[j]} is
+     * the best score and {@code dd[j]} the best score ending in a deletion.
+     */
+    private void forward(int ai, int m, int bj, int n, int tb) {
+        cc[0] = 0;
+        int t = -gapOpen;
+        for (int j = 1; j <= n; j++) {
+            t -= gapExtend;
+            cc[j] = t;
+            dd[j] = t - gapOpen;
+        }
+        t = -tb;
+        for (int i = 1; i <= m; i++) {
+            int diagonal = cc[0];
+            t -= gapExtend;
+            int c = t;
+            cc[0] = c;
+            int e = t - gapOpen;
+            byte letter = a[ai + i - 1];
+            for (int j = 1; j <= n; j++) {
+                e = Math.max(e, c - gapOpen) - gapExtend;
+                dd[j] = Math.max(dd[j], cc[j] - gapOpen) - gapExtend;
+                c = Math.max(Math.max(dd[j], e), diagonal + (letter == b[bj + j - 1] ? match : mismatch));
+                diagonal = cc[j];
+                cc[j] = c;
+            }
+        }
+        dd[0] = cc[0];
+    }
+
+    /**
+     * {@link #forward} over the reversed sequences, into {@code rr} and {@code ss}: index j is for the last j letters.
+     */
+    private void reverse(int ai, int m, int bj, int n, int te) {
+        rr[0] = 0;
+        int t = -gapOpen;
+        for (int j = 1; j <= n; j++) {
+            t -= gapExtend;
+            rr[j] = t;
+            ss[j] = t - gapOpen;
+        }
+        t = -te;
+        for (int i = 1; i <= m; i++) {
+            int diagonal = rr[0];
+            t -= gapExtend;
+            int c = t;
+            rr[0] = c;
+            int e = t - gapOpen;
+            byte letter = a[ai + m - i];
+            for (int j = 1; j <= n; j++) {
+                e = Math.max(e, c - gapOpen) - gapExtend;
+                ss[j] = Math.max(ss[j], rr[j] - gapOpen) - gapExtend;
+                c = Math.max(Math.max(ss[j], e), diagonal + (letter == b[bj + n - j] ? match : mismatch));
+                diagonal = rr[j];
+                rr[j] = c;
+            }
+        }
+        ss[0] = rr[0];
+    }
+
+    // Either the letter is deleted, next to whichever end makes the deletion cheaper, and all of b inserted, or it is
+    // aligned to one letter of b with insertions around it
+    private void alignSingleLetter(int ai, int bj, int n, int tb, int te) {
+        int best = -(Math.min(tb, te) + gapExtend) + gapScore(n);
+        int pairedWith = -1;
+        for (int j = 0; j < n; j++) {
+            int score = gapScore(j) + (a[ai] == b[bj + j] ? match : mismatch) + gapScore(n - j - 1);
+            if (score > best) {
+                best = score;
+                pairedWith = j;
+            }
+        }
+        if (pairedWith < 0) {
+            if (tb <= te) {
+                append(Alignment.DELETION, 1);
+                append(Alignment.INSERTION, n);
+            } else {
+                append(Alignment.INSERTION, n);
+                append(Alignment.DELETION, 1);
+            }
+            return;
+        }
+        append(Alignment.INSERTION, pairedWith);
+        append(Alignment.PAIR, 1);
+        append(Alignment.INSERTION, n - pairedWith - 1);
+    }
+
+    /**
+     * @return {@code {aStart, aEnd, bStart, bEnd}} of a best local alignment, empty if no pair scores above 0
+     */
+    private int[] findLocalSpan() {
+        int m = a.length;
+        int n = b.length;
+        int[] h = new int[n + 1];
+        int[] f = new int[n + 1];
+        Arrays.fill(f, NEGATIVE_INFINITY);
+        int extension = gapOpen + gapExtend;
+        int best = 0;
+        int aEnd = 0;
+        int bEnd = 0;
+        for (int i = 1; i <= m; i++) {
+            checkCanceled.run();
+            int diagonal = 0;
+            int left = 0;
+            int e = NEGATIVE_INFINITY;
+            byte letter = a[i - 1];
+            for (int j = 1; j <= n; j++) {
+                e = Math.max(e - gapExtend, left - extension);
+                f[j] = Math.max(f[j] - gapExtend, h[j] - extension);
+                int score = Math.max(Math.max(0, diagonal + (letter == b[j - 1] ? match : mismatch)), Math.max(e, f[j]));
+                diagonal = h[j];
+                h[j] = score;
+                left = score;
+                if (score > best) {
+                    best = score;
+                    aEnd = i;
+                    bEnd = j;
+                }
+            }
+        }
+        if (best == 0) {
+            return new int[]{0, 0, 0, 0};
+        }
+
+        // Align the reversed prefixes anchored at the end found above; the first cell reaching the best score is the
+        // start of the local alignment
+        Arrays.fill(h, 0, bEnd + 1, 0);
+        Arrays.fill(f, 0, bEnd + 1, NEGATIVE_INFINITY);
+        for (int j = 1; j <= bEnd; j++) {
+            h[j] = -(gapOpen + gapExtend * j);
+        }
+        for (int i = 1; i <= aEnd; i++) {
+            checkCanceled.run();
+            int diagonal = h[0];
+            h[0] = -(gapOpen + gapExtend * i);
+            int left = h[0];
+            int e = NEGATIVE_INFINITY;
+            byte letter = a[aEnd - i];
+            for (int j = 1; j <= bEnd; j++) {
+                e = Math.max(e - gapExtend, left - extension);
+                f[j] = Math.max(f[j] - gapExtend, h[j] - extension);
+                int score = Math.max(diagonal + (letter == b[bEnd - j] ? match : mismatch), Math.max(e, f[j]));
+                diagonal = h[j];
+                h[j] = score;
+                left = score;
+                if (score == best) {
+                    return new int[]{aEnd - i, aEnd, bEnd - j, bEnd};
+                }
+            }
+        }
+        throw new IllegalStateException("No start found for local alignment score " + best);
+    }
+
+    private int gapScore(int length) {
+        return length == 0 ? 0 : -(gapOpen + gapExtend * length);
+    }
+
+    private void append(byte operation, int count) {
+        Arrays.fill(operations, length, length + count, operation);
+        length += count;
+    }
+
+    // Scores the columns again rather than trusting the passes, and counts identities and gaps along the way
+    private Alignment buildAlignment(int aStart, int aEnd, int bStart, int bEnd, byte[] columns) {
+        int score = 0;
+        int identities = 0;
+        int gapOpenings = 0;
+        int i = aStart;
+        int j = bStart;
+        byte previous = Alignment.PAIR;
+        for (byte operation : columns) {
+            if (operation == Alignment.PAIR) {
+                boolean identical = a[i++] == b[j++];
+                score += identical ? match : mismatch;
+                identities += identical ? 1 : 0;
+            } else {
+                if (operation != previous) {
+                    score -= gapOpen;
+                    gapOpenings++;
+                }
+                score -= gapExtend;
+                if (operation == Alignment.DELETION) {
+                    i++;
+                } else {
+                    j++;
+                }
+            }
+            previous = operation;
+        }
+        return new Alignment(score, aStart, aEnd, bStart, bEnd, columns, identities, gapOpenings);
+    }
+}
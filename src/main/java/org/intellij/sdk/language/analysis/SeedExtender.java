@@ -0,0 +1,120 @@
+package org.intellij.sdk.language.analysis;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Ungapped X-drop extension of a shared seed between two nucleotide sequences, as in the first stage of BLAST: the
+ * seed diagonal is extended in both directions until the running score falls {@code xDrop} below the best seen.
+ * Matches score {@link #MATCH}, mismatches and letters outside ACGTU score {@link #MISMATCH}; U matches T. Layout
+ * whitespace of wrapped literals is skipped.
+ */
+public final class SeedExtender {
+    public static final int MATCH = 1;
+    public static final int MISMATCH = -2;
+    public static final int DEFAULT_X_DROP = 20;
+
+    private SeedExtender() {
+    }
+
+    /**
+     * An ungapped alignment of {@code length} letters starting at {@code query[queryStart]} and
+     * {@code target[targetStart]}. Layout whitespace is skipped on both sides, so offsets are into the original text
+     * while {@code length} counts aligned letters.
+     */
+    public record Hit(int queryStart, int targetStart, int length, int score, int identities) {
+        public double getIdentity() {
+            return length == 0 ? 0 : (double) identities / length * 100;
+        }
+    }
+
+    /**
+     * Extends the seed of {@code seedLength} letters starting at {@code query[queryPos]} and {@code target[targetPos]}.
+     */
+    @NotNull
+    public static Hit extend(@NotNull CharSequence query, @NotNull CharSequence target, int queryPos, int targetPos,
+                             int seedLength, int xDrop) {
+        int seedScore = 0;
+        int seedIdentities = 0;
+        int q = queryPos;
+        int t = targetPos;
+        for (int i = 0; i < seedLength; i++) {
+            q = skipLayout(query, q, 1);
+            t = skipLayout(target, t, 1);
+            boolean match = matches(query.charAt(q++), target.charAt(t++));
+            seedScore += match ? MATCH : MISMATCH;
+            seedIdentities += match ? 1 : 0;
+        }
+
+        // Extend right from the end of the seed
+        int score = 0;
+        int identities = 0;
+        int length = 0;
+        int bestRight = 0;
+        int bestRightLength = 0;
+        int bestRightIdentities = 0;
+        while (score > bestRight - xDrop) {
+            q = skipLayout(query, q, 1);
+            t = skipLayout(target, t, 1);
+            if (q >= query.length() || t >= target.length()) {
+                break;
+            }
+            boolean match = matches(query.charAt(q++), target.charAt(t++));
+            score += match ? MATCH : MISMATCH;
+            identities += match ? 1 : 0;
+            length++;
+            if (score > bestRight) {
+                bestRight = score;
+                bestRightLength = length;
+                bestRightIdentities = identities;
+            }
+        }
+
+        // Extend left from the start of the seed
+        score = 0;
+        identities = 0;
+        length = 0;
+        int bestLeft = 0;
+        int bestLeftLength = 0;
+        int bestLeftIdentities = 0;
+        int queryStart = queryPos;
+        int targetStart = targetPos;
+        q = queryPos - 1;
+        t = targetPos - 1;
+        while (score > bestLeft - xDrop) {
+            q = skipLayout(query, q, -1);
+            t = skipLayout(target, t, -1);
+            if (q < 0 || t < 0) {
+                break;
+            }
+            boolean match = matches(query.charAt(q), target.charAt(t));
+            score += match ? MATCH : MISMATCH;
+            identities += match ? 1 : 0;
+            length++;
+            if (score > bestLeft) {
+                bestLeft = score;
+                bestLeftLength = length;
+                bestLeftIdentities = identities;
+                queryStart = q;
+                targetStart = t;
+            }
+            q--;
+            t--;
+        }
+
+        return new Hit(queryStart, targetStart,
+                bestLeftLength + seedLength + bestRightLength, bestLeft + seedScore + bestRight,
+                bestLeftIdentities + seedIdentities + bestRightIdentities);
+    }
+
+    private static int skipLayout(CharSequence sequence, int index, int step) {
+        while (index >= 0 && index < sequence.length() && SequenceAlphabet.isLayout(sequence.charAt(index))) {
+            index += step;
+        }
+        return index;
+    }
+
+    private static boolean matches(char a, char b) {
+        int code = PackedSequence.nucleotideCode(a);
+        return code >= 0 && code == PackedSequence.nucleotideCode(b);
+    }
+}
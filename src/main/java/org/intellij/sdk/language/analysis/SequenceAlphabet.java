@@ -0,0 +1,87 @@
+package org.intellij.sdk.language.analysis;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Character sets accepted in each kind of sequence literal, backed by 128-entry lookup tables.
+ */
+public enum SequenceAlphabet {
+    NUCLEOTIDE("ATUGC"),
+    RNA("AUGC"),
+    DNA("ATGC"),
+    AMINO_ACID("ACDEFGHIKLMNPQRSTVWY");
+
+    private final String letters;
+    private final boolean[] table = new boolean[128];
+
+    SequenceAlphabet(@NotNull String letters) {
+        this.letters = letters;
+        for (int i = 0; i < letters.length(); i++) {
+            table[letters.charAt(i)] = true;
+        }
+    }
+
+    public boolean contains(char ch) {
+        return ch < 128 && table[ch];
+    }
+
+    @NotNull
+    public String getLetters() {
+        return letters;
+    }
+
+    @FunctionalInterface
+    public interface InvalidRunConsumer {
+        void consume(int start, int end);
+    }
+
+    /**
+     * True if {@code text} is non-empty and made up of letters of this alphabet only.
+     */
+    public boolean isValid(@NotNull CharSequence text) {
+        int length = text.length();
+        if (length == 0) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (!contains(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Whitespace inside a sequence literal only wraps it over several lines and is not part of the sequence.
+     */
+    public static boolean isLayout(char ch) {
+        return ch == ' ' || ch == '\n' || ch == '\r' || ch == '\t' || ch == '\f';
+    }
+
+    /**
+     * Reports every maximal run of characters in {@code [from, to)} that are neither letters of this alphabet nor
+     * {@linkplain #isLayout layout}, in a single pass. Only the first {@code limit} runs are handed to {@code consumer},
+     * the rest are just counted.
+     *
+     * @return the total number of invalid runs
+     */
+    public int findInvalidRuns(@NotNull CharSequence text, int from, int to, int limit, @NotNull InvalidRunConsumer consumer) {
+        int runs = 0;
+        int i = from;
+        while (i < to) {
+            char ch = text.charAt(i);
+            if (contains(ch) || isLayout(ch)) {
+                i++;
+                continue;
+            }
+            int start = i;
+            do {
+                i++;
+            } while (i < to && !contains(text.charAt(i)) && !isLayout(text.charAt(i)));
+            if (runs++ < limit) {
+                consumer.consume(start, i);
+            }
+        }
+        return runs;
+    }
+}
@@ -0,0 +1,193 @@
+package org.intellij.sdk.language.analysis;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Analysis results for one declared sequence. Basic statistics are computed up front in a single pass; ORFs,
+ * translations and alternate forms are computed on first request and then kept, so an instance can be cached and
+ * shared between callers that only need some of the sections.
+ */
+public final class SequenceAnalysis {
+    private final PackedSequence sequence;
+    private final boolean protein;
+    private final GeneticCode geneticCode;
+
+    private final int gcCount;
+    private final int startCodonCount;
+    private final int stopCodonCount;
+
+    private volatile String dnaForm;
+    private volatile String rnaForm;
+    private volatile String reverseComplement;
+    private volatile Map<Integer, List<OrfFinder.Orf>> orfsByFrame;
+    // Forward frames 0-2, reverse-strand frames 3-5; Strings are immutable, so racing initialisations are harmless
+    private final String[] translations = new String[6];
+
+    public SequenceAnalysis(@NotNull PackedSequence sequence, boolean protein, @NotNull GeneticCode geneticCode) {
+        this.sequence = sequence;
+        this.protein = protein;
+        this.geneticCode = geneticCode;
+
+        int gc = 0;
+        int starts = 0;
+        int stops = 0;
+        int codon = 0;
+        int validRun = 0;
+        for (int i = 0; i < sequence.length(); i++) {
+            char ch = sequence.charAt(i);
+            if (ch == 'G' || ch == 'C') {
+                gc++;
+            }
+            int base = PackedSequence.nucleotideCode(ch);
+            if (base < 0) {
+                validRun = 0;
+                continue;
+            }
+            codon = ((codon << 2) | base) & 63;
+            if (++validRun >= 3) {
+                if (codon == OrfFinder.START_CODON) {
+                    starts++;
+                } else if (geneticCode.isStopCodon(codon)) {
+                    stops++;
+                }
+            }
+        }
+        this.gcCount = gc;
+        this.startCodonCount = starts;
+        this.stopCodonCount = stops;
+    }
+
+    @NotNull
+    public PackedSequence getSequence() {
+        return sequence;
+    }
+
+    public boolean isProtein() {
+        return protein;
+    }
+
+    @NotNull
+    public GeneticCode getGeneticCode() {
+        return geneticCode;
+    }
+
+    public int getLength() {
+        return sequence.length();
+    }
+
+    public double getGcContent() {
+        return sequence.length() == 0 ? 0 : (double) gcCount / sequence.length() * 100;
+    }
+
+    /**
+     * Occurrences of ATG (or AUG) at any offset, not only in frame.
+     */
+    public int getStartCodonCount() {
+        return startCodonCount;
+    }
+
+    /**
+     * Occurrences of the standard stop codons at any offset, not only in frame.
+     */
+    public int getStopCodonCount() {
+        return stopCodonCount;
+    }
+
+    /**
+     * DNA form of the sequence; proteins are back-translated with {@link GeneticCode#reverseTranslate}.
+     */
+    @NotNull
+    public String getDnaForm() {
+        String result = dnaForm;
+        if (result == null) {
+            if (protein) {
+                result = geneticCode.reverseTranslate(sequence);
+            } else {
+                result = sequence.isNucleotide() ? sequence.asDna().toString() : sequence.toString().replace('U', 'T');
+            }
+            dnaForm = result;
+        }
+        return result;
+    }
+
+    @NotNull
+    public String getRnaForm() {
+        String result = rnaForm;
+        if (result == null) {
+            if (!protein && sequence.isNucleotide()) {
+                result = sequence.asRna().toString();
+            } else {
+                result = getDnaForm().replace('T', 'U');
+            }
+            rnaForm = result;
+        }
+        return result;
+    }
+
+    @NotNull
+    public String getReverseComplement() {
+        String result = reverseComplement;
+        if (result == null) {
+            result = OrfFinder.reverseComplement(getDnaForm());
+            reverseComplement = result;
+        }
+        return result;
+    }
+
+    /**
+     * Translation of reading frame {@code frame} (0-2) on the given strand of the nucleotide sequence.
+     */
+    @NotNull
+    public String getTranslation(int frame, boolean reverse) {
+        int slot = reverse ? frame + 3 : frame;
+        String result = translations[slot];
+        if (result == null) {
+            result = geneticCode.translateFrame(reverse ? getReverseComplement() : sequence, frame);
+            translations[slot] = result;
+        }
+        return result;
+    }
+
+    /**
+     * ORFs of at least {@link OrfFinder#DEFAULT_MIN_LENGTH} on both strands, keyed by frame: 0-2 forward, 3-5 reverse.
+     * Empty for proteins.
+     */
+    @NotNull
+    public Map<Integer, List<OrfFinder.Orf>> getOrfsByFrame() {
+        Map<Integer, List<OrfFinder.Orf>> result = orfsByFrame;
+        if (result == null) {
+            Map<Integer, List<OrfFinder.Orf>> frames = new TreeMap<>();
+            if (!protein) {
+                OrfFinder orfFinder = new OrfFinder(OrfFinder.DEFAULT_MIN_LENGTH, OrfFinder.NestedOrfPolicy.ALL, true, geneticCode);
+                orfFinder.find(sequence, orf -> {
+                    frames.computeIfAbsent(orf.reverse() ? orf.frame() + 3 : orf.frame(), k -> new ArrayList<>()).add(orf);
+                    return true;
+                });
+                frames.replaceAll((frame, orfs) -> Collections.unmodifiableList(orfs));
+            }
+            result = Collections.unmodifiableMap(frames);
+            orfsByFrame = result;
+        }
+        return result;
+    }
+
+    public static double gcContent(@NotNull CharSequence sequence) {
+        if (sequence.length() == 0) {
+            return 0;
+        }
+        int gc = 0;
+        for (int i = 0; i < sequence.length(); i++) {
+            char ch = sequence.charAt(i);
+            if (ch == 'G' || ch == 'C') {
+                gc++;
+            }
+        }
+        return (double) gc / sequence.length() * 100;
+    }
+}
@@ -0,0 +1,48 @@
+package org.intellij.sdk.language.analysis;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Splits long runs of sequence letters into content-defined chunks.
+ * <p>
+ * A chunk ends where a gear hash of the preceding 32 characters has its top bits clear, so boundaries depend only on
+ * nearby content: after an insertion or deletion the chunks downstream of the edit end at the same places as before
+ * and incremental lexing can stop once it is past the edited chunk. {@link #MAX_CHUNK_SIZE} bounds degenerate runs
+ * (e.g. homopolymers) that never hit a boundary.
+ */
+public final class SequenceChunker {
+    public static final int MIN_CHUNK_SIZE = 64;
+    public static final int MAX_CHUNK_SIZE = 4096;
+    // Boundary when the top 10 bits are zero, i.e. on average every ~1024 characters past the minimum
+    private static final int BOUNDARY_SHIFT = 32 - 10;
+
+    private SequenceChunker() {
+    }
+
+    /**
+     * @return the end offset of the chunk starting at {@code start}, never less than {@code start + 1} if the first
+     * character belongs to {@code alphabet}
+     */
+    public static int findChunkEnd(@NotNull CharSequence buffer, int start, int end, @NotNull SequenceAlphabet alphabet) {
+        int limit = Math.min(end, start + MAX_CHUNK_SIZE);
+        int hash = 0;
+        int i = start;
+        while (i < limit) {
+            char ch = buffer.charAt(i);
+            if (!alphabet.contains(ch)) {
+                break;
+            }
+            hash = (hash << 1) + gear(ch);
+            i++;
+            if (i - start >= MIN_CHUNK_SIZE && hash >>> BOUNDARY_SHIFT == 0) {
+                break;
+            }
+        }
+        return i;
+    }
+
+    private static int gear(char ch) {
+        int h = ch * 0x9E3779B1;
+        return h ^ (h >>> 15);
+    }
+}
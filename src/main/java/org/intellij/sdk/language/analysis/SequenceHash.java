@@ -0,0 +1,49 @@
+package org.intellij.sdk.language.analysis;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Content address of a sequence: the first 128 bits of the SHA-256 of its letters. Collisions are not expected
+ * between any two sequences ever written, so equal hashes are treated as equal content and never compared letter by
+ * letter. T and U are different letters, so a DNA sequence and its RNA form have different hashes.
+ */
+public record SequenceHash(long high, long low) {
+    private static final int BUFFER_SIZE = 8192;
+
+    @NotNull
+    public static SequenceHash of(@NotNull CharSequence sequence) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is required by every Java platform", e);
+        }
+        // Letters are ASCII, one byte each
+        byte[] buffer = new byte[Math.min(BUFFER_SIZE, Math.max(1, sequence.length()))];
+        for (int i = 0; i < sequence.length(); ) {
+            int count = Math.min(buffer.length, sequence.length() - i);
+            for (int j = 0; j < count; j++) {
+                buffer[j] = (byte) sequence.charAt(i + j);
+            }
+            digest.update(buffer, 0, count);
+            i += count;
+        }
+        byte[] sha = digest.digest();
+        long high = 0;
+        long low = 0;
+        for (int i = 0; i < 8; i++) {
+            high = high << 8 | (sha[i] & 0xFF);
+            low = low << 8 | (sha[i + 8] & 0xFF);
+        }
+        return new SequenceHash(high, low);
+    }
+
+    @NotNull
+    @Override
+    public String toString() {
+        return String.format("%016x%016x", high, low);
+    }
+}
@@ -0,0 +1,110 @@
+package org.intellij.sdk.language.analysis;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Content-addressed store of packed sequences and of results derived from them. Every distinct sequence is kept once,
+ * under its {@link SequenceHash}, and a result such as a {@link SequenceAnalysis} is computed once per sequence and
+ * variant, however many declarations hold the same letters.
+ * <p>
+ * The store only holds weak references: sequences and results live as long as their users keep them, e.g. in PSI
+ * caches, and entries of collected values are dropped on the next access. It is thread-safe; two threads asking for
+ * the same missing result may both compute it, and the first one stored wins.
+ */
+public final class SequenceStore {
+    private final Map<SequenceHash, WeakEntry<SequenceHash>> sequences = new ConcurrentHashMap<>();
+    private final Map<ResultKey, WeakEntry<ResultKey>> results = new ConcurrentHashMap<>();
+    private final ReferenceQueue<Object> collected = new ReferenceQueue<>();
+
+    // A derived result is keyed by the content and by what else it depends on, e.g. the genetic code
+    private record ResultKey(SequenceHash hash, Object variant) {
+    }
+
+    private static final class WeakEntry<K> extends WeakReference<Object> {
+        private final K key;
+
+        WeakEntry(K key, Object value, ReferenceQueue<Object> queue) {
+            super(value, queue);
+            this.key = key;
+        }
+    }
+
+    /**
+     * Returns the stored sequence with the letters of {@code sequence}, storing {@code sequence} if there is none.
+     */
+    @NotNull
+    public PackedSequence intern(@NotNull PackedSequence sequence) {
+        purge();
+        SequenceHash hash = sequence.contentHash();
+        PackedSequence stored = lookup(sequences, hash);
+        return stored != null ? stored : store(sequences, hash, sequence);
+    }
+
+    /**
+     * Returns the result of {@code compute} for the content of {@code sequence}, computing it only if no sequence with
+     * the same letters has a stored result for {@code variant}. A null result is returned but not stored.
+     *
+     * @param variant what the result depends on besides the letters, with value equality; results of different
+     *                computations must use different variants
+     */
+    @Nullable
+    public <T> T getOrCompute(@NotNull PackedSequence sequence, @NotNull Object variant,
+                              @NotNull Function<? super PackedSequence, ? extends T> compute) {
+        purge();
+        ResultKey key = new ResultKey(sequence.contentHash(), variant);
+        T stored = lookup(results, key);
+        if (stored != null) {
+            return stored;
+        }
+        T result = compute.apply(sequence);
+        return result != null ? store(results, key, result) : null;
+    }
+
+    /**
+     * Number of distinct sequences currently stored.
+     */
+    public int size() {
+        purge();
+        return sequences.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, T> T lookup(Map<K, WeakEntry<K>> map, K key) {
+        WeakEntry<K> entry = map.get(key);
+        return entry != null ? (T) entry.get() : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <K, T> T store(Map<K, WeakEntry<K>> map, K key, T value) {
+        WeakEntry<K> fresh = new WeakEntry<>(key, value, collected);
+        Object[] winner = {value};
+        map.compute(key, (k, existing) -> {
+            Object current = existing != null ? existing.get() : null;
+            if (current != null) {
+                winner[0] = current;
+                return existing;
+            }
+            return fresh;
+        });
+        return (T) winner[0];
+    }
+
+    private void purge() {
+        for (Object reference; (reference = collected.poll()) != null; ) {
+            WeakEntry<?> entry = (WeakEntry<?>) reference;
+            // Only remove the entry if it was not replaced by a live one in the meantime
+            if (entry.key instanceof SequenceHash hash) {
+                sequences.remove(hash, entry);
+            } else {
+                results.remove((ResultKey) entry.key, entry);
+            }
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package org.intellij.sdk.language.analysis;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+
+/**
+ * Read-only views that derive another form of a sequence letter by letter: the reverse complement or translation of a
+ * range, a back-translation. Nothing is copied up front, so rendering the head and tail of a long form costs only the
+ * letters shown; {@code toString} builds the whole form for callers that need all of it.
+ */
+public final class SequenceViews {
+    private static final String BASES = "ACGT";
+
+    private SequenceViews() {
+    }
+
+    /**
+     * The reverse complement of {@code sequence[from, to)}, see {@link OrfFinder#complement}.
+     */
+    @NotNull
+    public static CharSequence reverseComplement(@NotNull CharSequence sequence, int from, int to) {
+        Objects.checkFromToIndex(from, to, sequence.length());
+        return new View(to - from) {
+            @Override
+            char letterAt(int index) {
+                return OrfFinder.complement(sequence.charAt(to - 1 - index));
+            }
+        };
+    }
+
+    /**
+     * The translation of the codons of {@code sequence[from, to)}; a trailing partial codon is left out.
+     */
+    @NotNull
+    public static CharSequence translation(@NotNull CharSequence sequence, int from, int to, @NotNull GeneticCode code) {
+        Objects.checkFromToIndex(from, to, sequence.length());
+        return new View((to - from) / 3) {
+            @Override
+            char letterAt(int index) {
+                int i = from + 3 * index;
+                return code.translateCodon(
+                        GeneticCode.codonIndex(sequence.charAt(i), sequence.charAt(i + 1), sequence.charAt(i + 2)));
+            }
+        };
+    }
+
+    /**
+     * The ORF read 5' to 3' on its own strand, like {@link OrfFinder.Orf#sequenceIn} but without copying it.
+     */
+    @NotNull
+    public static CharSequence orf(@NotNull CharSequence sequence, @NotNull OrfFinder.Orf orf) {
+        return orf.reverse()
+                ? reverseComplement(sequence, orf.start(), orf.end())
+                : sequence.subSequence(orf.start(), orf.end());
+    }
+
+    /**
+     * Back-translates {@code protein} with the first listed codon of each residue, like
+     * {@link GeneticCode#reverseTranslate}, writing T as {@code thymine}. A residue without a codon becomes NNN instead
+     * of failing, so that a typo does not hide the rest of the form.
+     */
+    @NotNull
+    public static CharSequence backTranslation(@NotNull CharSequence protein, @NotNull GeneticCode code, char thymine) {
+        return new View(protein.length() * 3) {
+            @Override
+            char letterAt(int index) {
+                int[] codons = code.codonsFor(protein.charAt(index / 3));
+                if (codons.length == 0) {
+                    return 'N';
+                }
+                int base = codons[0] >> (2 * (2 - index % 3)) & 3;
+                return base == PackedSequence.T ? thymine : BASES.charAt(base);
+            }
+        };
+    }
+
+    /**
+     * {@code sequence} with every T and U written as {@code thymine}.
+     */
+    @NotNull
+    public static CharSequence withThymine(@NotNull CharSequence sequence, char thymine) {
+        return new View(sequence.length()) {
+            @Override
+            char letterAt(int index) {
+                char ch = sequence.charAt(index);
+                return ch == 'T' || ch == 'U' ? thymine : ch;
+            }
+        };
+    }
+
+    private abstract static class View implements CharSequence {
+        private final int length;
+
+        View(int length) {
+            this.length = length;
+        }
+
+        abstract char letterAt(int index);
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return letterAt(Objects.checkIndex(index, length));
+        }
+
+        @NotNull
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            Objects.checkFromToIndex(start, end, length);
+            View parent = this;
+            return new View(end - start) {
+                @Override
+                char letterAt(int index) {
+                    return parent.letterAt(start + index);
+                }
+            };
+        }
+
+        @NotNull
+        @Override
+        public String toString() {
+            char[] chars = new char[length];
+            for (int i = 0; i < length; i++) {
+                chars[i] = letterAt(i);
+            }
+            return new String(chars);
+        }
+    }
+}
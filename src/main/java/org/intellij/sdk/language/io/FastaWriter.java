@@ -0,0 +1,111 @@
+package org.intellij.sdk.language.io;
+
+import org.intellij.sdk.language.analysis.SequenceAlphabet;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Streams FASTA records into a byte channel. Letters are copied from {@link CharSequence} ranges straight into a
+ * reusable buffer, so a record of any size is written without building a String of it, and a record can be assembled
+ * from several ranges, e.g. the parts of a gene. {@linkplain SequenceAlphabet#isLayout Layout} whitespace is skipped.
+ * <p>
+ * Output is ASCII; header characters outside it are written as '?'. Not thread-safe.
+ */
+public final class FastaWriter implements Closeable {
+    public static final int DEFAULT_LINE_WIDTH = 60;
+
+    private final WritableByteChannel channel;
+    private final int lineWidth;
+    private final ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+    private int column = -1;
+
+    public FastaWriter(@NotNull WritableByteChannel channel, int lineWidth) {
+        if (lineWidth < 1) {
+            throw new IllegalArgumentException("lineWidth must be positive: " + lineWidth);
+        }
+        this.channel = channel;
+        this.lineWidth = lineWidth;
+    }
+
+    /**
+     * Writes the header line {@code >id description} of a new record, ending the previous one.
+     */
+    public void beginRecord(@NotNull CharSequence id, @NotNull CharSequence description) throws IOException {
+        endRecord();
+        put('>');
+        putHeader(id);
+        if (description.length() > 0) {
+            put(' ');
+            putHeader(description);
+        }
+        put('\n');
+        column = 0;
+    }
+
+    /**
+     * Appends the letters of {@code text[from, to)} to the current record.
+     */
+    public void append(@NotNull CharSequence text, int from, int to) throws IOException {
+        if (column < 0) {
+            throw new IllegalStateException("No record started");
+        }
+        for (int i = from; i < to; i++) {
+            char ch = text.charAt(i);
+            if (SequenceAlphabet.isLayout(ch)) {
+                continue;
+            }
+            if (column == lineWidth) {
+                put('\n');
+                column = 0;
+            }
+            put(ch < 128 ? ch : '?');
+            column++;
+        }
+    }
+
+    /**
+     * Ends the current record, if any. Called implicitly by {@link #beginRecord} and {@link #close}.
+     */
+    public void endRecord() throws IOException {
+        if (column > 0) {
+            put('\n');
+        }
+        column = -1;
+    }
+
+    public void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            endRecord();
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void putHeader(CharSequence text) throws IOException {
+        for (int i = 0; i < text.length(); i++) {
+            char ch = text.charAt(i);
+            put(ch == '\n' || ch == '\r' ? ' ' : ch < 128 ? ch : '?');
+        }
+    }
+
+    private void put(char ch) throws IOException {
+        if (!buffer.hasRemaining()) {
+            flush();
+        }
+        buffer.put((byte) ch);
+    }
+}
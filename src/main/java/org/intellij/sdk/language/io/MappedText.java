@@ -0,0 +1,96 @@
+package org.intellij.sdk.language.io;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read-only, memory-mapped view of a file of any size as bytes. The file is mapped in 1 GiB segments, so pages are
+ * loaded and evicted by the OS and the heap footprint does not depend on the file size. Safe for concurrent reads.
+ */
+public final class MappedText {
+    private static final int SEGMENT_BITS = 30;
+    private static final long SEGMENT_MASK = (1L << SEGMENT_BITS) - 1;
+
+    private final MappedByteBuffer[] segments;
+    private final long size;
+
+    private MappedText(MappedByteBuffer[] segments, long size) {
+        this.segments = segments;
+        this.size = size;
+    }
+
+    @NotNull
+    public static MappedText map(@NotNull Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            MappedByteBuffer[] segments = new MappedByteBuffer[(int) ((size + SEGMENT_MASK) >>> SEGMENT_BITS)];
+            for (int i = 0; i < segments.length; i++) {
+                long start = (long) i << SEGMENT_BITS;
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(SEGMENT_MASK + 1, size - start));
+            }
+            return new MappedText(segments, size);
+        }
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public byte get(long position) {
+        return segments[(int) (position >>> SEGMENT_BITS)].get((int) (position & SEGMENT_MASK));
+    }
+
+    /**
+     * @return the position of the first {@code b} in {@code [from, to)}, or -1
+     */
+    public long indexOf(byte b, long from, long to) {
+        for (long i = from; i < to; i++) {
+            if (get(i) == b) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return the end of the line starting at or containing {@code from}, i.e. the position of its '\n' or {@code to}
+     */
+    public long lineEnd(long from, long to) {
+        long end = indexOf((byte) '\n', from, to);
+        return end < 0 ? to : end;
+    }
+
+    public boolean startsWith(@NotNull String prefix, long at) {
+        if (at + prefix.length() > size) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (get(at + i) != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Decodes {@code [from, to)} as UTF-8, the encoding the importer writes, without a trailing '\r'. Meant for header
+     * lines, not for sequence data.
+     */
+    @NotNull
+    public String text(long from, long to) {
+        if (to > from && get(to - 1) == '\r') {
+            to--;
+        }
+        byte[] bytes = new byte[(int) Math.max(0, to - from)];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = get(from + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,58 @@
+package org.intellij.sdk.language.io;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+
+/**
+ * Flat-file sequence formats that can be imported into {@code .bsyn}. Both are line-based with a marker line at the
+ * start of every record, which is what lets a large file be split into independently converted ranges.
+ */
+public enum SequenceFileFormat {
+    FASTA(">"),
+    GENBANK("LOCUS");
+
+    private final String recordMarker;
+
+    SequenceFileFormat(@NotNull String recordMarker) {
+        this.recordMarker = recordMarker;
+    }
+
+    public boolean isRecordStart(@NotNull MappedText text, long lineStart) {
+        return text.startsWith(recordMarker, lineStart);
+    }
+
+    /**
+     * @return the start of the first record line at or after {@code from}, or {@code to} if there is none
+     */
+    public long nextRecordStart(@NotNull MappedText text, long from, long to) {
+        long line = from;
+        if (line > 0 && text.get(line - 1) != '\n') {
+            line = text.lineEnd(line, to) + 1;
+        }
+        while (line < to) {
+            if (isRecordStart(text, line)) {
+                return line;
+            }
+            line = text.lineEnd(line, to) + 1;
+        }
+        return to;
+    }
+
+    /**
+     * Detects the format from the first non-blank line.
+     */
+    @NotNull
+    public static SequenceFileFormat detect(@NotNull MappedText text) throws IOException {
+        long i = 0;
+        while (i < text.size() && Character.isWhitespace(text.get(i))) {
+            i++;
+        }
+        for (SequenceFileFormat format : values()) {
+            if (format.isRecordStart(text, i)) {
+                return format;
+            }
+        }
+        throw new IOException("Neither a FASTA nor a GenBank file: expected '>' or 'LOCUS' at the start");
+    }
+}
@@ -0,0 +1,541 @@
+package org.intellij.sdk.language.io;
+
+import org.intellij.sdk.language.analysis.SequenceAlphabet;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Converts FASTA and GenBank files into {@code .bsyn} declarations in bounded memory. The input is memory-mapped and
+ * every record is read twice straight from the mapping, once to pick the declaration kind from its letters and once to
+ * write them, so neither a whole file nor a whole record is ever held on the heap. Sequences are written uppercase and
+ * wrapped at a fixed width inside the literal. Record ids become identifiers; an id seen before gets a {@code _2},
+ * {@code _3}, ... suffix, so every declaration has its own name.
+ * <p>
+ * Large files are split into byte ranges at record starts and the ranges are converted concurrently into temporary
+ * part files, which are then concatenated in order, so the output does not depend on the number of threads. Names are
+ * made unique before that from the ids of all ranges, listed concurrently in a cheaper pass over the record headers.
+ * <p>
+ * Usage: {@code SequenceImporter <input> [--output <file.bsyn>] [--threads <n>] [--width <n>]}, or
+ * {@code ./gradlew importBsyn -Pbsyn.args="<input> ..."}. A summary with MB/s goes to stderr.
+ */
+public final class SequenceImporter {
+    public static final int DEFAULT_LINE_WIDTH = 80;
+    // Below this, splitting a file costs more in thread and part file overhead than it saves
+    private static final long MIN_PART_BYTES = 16L << 20;
+    private static final int PROGRESS_STEP = 1 << 20;
+    // Share of ACGTUN letters from which a record that fits no alphabet exactly is still taken as nucleotides
+    private static final double NUCLEOTIDE_THRESHOLD = 0.9;
+    private static final String INDENT = "    ";
+    private static final int EXIT_USAGE = 2;
+
+    private final int threads;
+    private final int lineWidth;
+
+    public interface Progress {
+        Progress NONE = new Progress() {
+            @Override
+            public void advance(long bytes) {
+            }
+
+            @Override
+            public boolean isCanceled() {
+                return false;
+            }
+        };
+
+        /**
+         * Called concurrently from the conversion threads; the amounts add up to the size of the input.
+         */
+        void advance(long bytes);
+
+        boolean isCanceled();
+    }
+
+    public record Result(SequenceFileFormat format, long records, long letters, long skipped, long warnings) {
+    }
+
+    private enum Kind {
+        DNA("DNASeq", SequenceAlphabet.DNA),
+        RNA("RNASeq", SequenceAlphabet.RNA),
+        NUCLEOTIDE("NtSeq", SequenceAlphabet.NUCLEOTIDE),
+        AMINO_ACID("AASeq", SequenceAlphabet.AMINO_ACID);
+
+        final String keyword;
+        final SequenceAlphabet alphabet;
+
+        Kind(String keyword, SequenceAlphabet alphabet) {
+            this.keyword = keyword;
+            this.alphabet = alphabet;
+        }
+    }
+
+    record Record(String name, String description, long sequenceStart, long sequenceEnd) {
+    }
+
+    public SequenceImporter(int threads, int lineWidth) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be positive: " + threads);
+        }
+        if (lineWidth < 1) {
+            throw new IllegalArgumentException("lineWidth must be positive: " + lineWidth);
+        }
+        this.threads = threads;
+        this.lineWidth = lineWidth;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path input = null;
+        Path output = null;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int width = DEFAULT_LINE_WIDTH;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--output" -> output = i + 1 < args.length ? Paths.get(args[++i]) : null;
+                case "--threads" -> threads = i + 1 < args.length ? Integer.parseInt(args[++i]) : 0;
+                case "--width" -> width = i + 1 < args.length ? Integer.parseInt(args[++i]) : 0;
+                default -> input = Paths.get(args[i]);
+            }
+        }
+        if (input == null || !Files.isRegularFile(input) || threads < 1 || width < 1) {
+            System.err.println("Usage: SequenceImporter <input> [--output <file.bsyn>] [--threads <n>] [--width <n>]");
+            System.exit(EXIT_USAGE);
+        }
+        if (output == null) {
+            output = defaultOutput(input);
+        }
+
+        long start = System.nanoTime();
+        Result result = new SequenceImporter(threads, width).importFile(input, output, Progress.NONE);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        double megabytes = Files.size(input) / 1e6;
+        System.err.printf("%s: %d %s records (%d skipped, %d with warnings), %d letters, %.1f MB in %.2f s: %.1f MB/s on %d threads%n",
+                output, result.records(), result.format(), result.skipped(), result.warnings(), result.letters(),
+                megabytes, seconds, megabytes / seconds, threads);
+    }
+
+    /**
+     * {@code input} with its extension replaced by {@code .bsyn}.
+     */
+    @NotNull
+    public static Path defaultOutput(@NotNull Path input) {
+        String name = input.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return input.resolveSibling((dot > 0 ? name.substring(0, dot) : name) + ".bsyn");
+    }
+
+    /**
+     * Converts {@code input} into {@code output}, replacing it.
+     *
+     * @throws CancellationException if {@code progress} was canceled; {@code output} is then incomplete
+     */
+    @NotNull
+    public Result importFile(@NotNull Path input, @NotNull Path output, @NotNull Progress progress) throws IOException {
+        MappedText text = MappedText.map(input);
+        SequenceFileFormat format = SequenceFileFormat.detect(text);
+        List<Long> bounds = splitAtRecords(text, format);
+        progress.advance(bounds.get(0));
+
+        String header = "// Imported from " + input.getFileName() + " (" + format + ")\n\n";
+        int parts = bounds.size() - 1;
+        if (parts == 1) {
+            List<String> names = uniqueNames(List.of(listNames(text, format, bounds.get(0), bounds.get(1), progress))).get(0);
+            try (OutputStream stream = Files.newOutputStream(output)) {
+                stream.write(header.getBytes(StandardCharsets.UTF_8));
+                long[] counts = convertRange(text, format, bounds.get(0), bounds.get(1), names, stream, progress);
+                return new Result(format, counts[0], counts[1], counts[2], counts[3]);
+            }
+        }
+
+        List<Path> partFiles = new ArrayList<>(parts);
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, parts));
+        try {
+            List<Future<List<String>>> nameFutures = new ArrayList<>(parts);
+            for (int i = 0; i < parts; i++) {
+                long from = bounds.get(i);
+                long to = bounds.get(i + 1);
+                nameFutures.add(executor.submit(() -> listNames(text, format, from, to, progress)));
+            }
+            List<List<String>> partNames = new ArrayList<>(parts);
+            for (Future<List<String>> future : nameFutures) {
+                partNames.add(getPart(future));
+            }
+            partNames = uniqueNames(partNames);
+
+            List<Future<long[]>> futures = new ArrayList<>(parts);
+            for (int i = 0; i < parts; i++) {
+                Path partFile = Files.createTempFile(output.toAbsolutePath().getParent(), output.getFileName() + ".", ".part");
+                partFiles.add(partFile);
+                long from = bounds.get(i);
+                long to = bounds.get(i + 1);
+                List<String> names = partNames.get(i);
+                futures.add(executor.submit(() -> {
+                    try (OutputStream stream = Files.newOutputStream(partFile)) {
+                        return convertRange(text, format, from, to, names, stream, progress);
+                    }
+                }));
+            }
+            long[] total = new long[4];
+            for (Future<long[]> future : futures) {
+                long[] counts = getPart(future);
+                for (int i = 0; i < total.length; i++) {
+                    total[i] += counts[i];
+                }
+            }
+            concatenate(header, partFiles, output);
+            return new Result(format, total[0], total[1], total[2], total[3]);
+        } finally {
+            executor.shutdownNow();
+            for (Path partFile : partFiles) {
+                Files.deleteIfExists(partFile);
+            }
+        }
+    }
+
+    private List<Long> splitAtRecords(MappedText text, SequenceFileFormat format) {
+        long size = text.size();
+        int parts = (int) Math.max(1, Math.min(threads, size / MIN_PART_BYTES));
+        List<Long> bounds = new ArrayList<>(parts + 1);
+        bounds.add(format.nextRecordStart(text, 0, size));
+        for (int i = 1; i < parts; i++) {
+            long bound = format.nextRecordStart(text, size / parts * i, size);
+            if (bound > bounds.get(bounds.size() - 1) && bound < size) {
+                bounds.add(bound);
+            }
+        }
+        bounds.add(size);
+        return bounds;
+    }
+
+    /**
+     * The sanitized ids of the records of {@code [from, to)}, in order.
+     */
+    private static List<String> listNames(MappedText text, SequenceFileFormat format, long from, long to, Progress progress) {
+        List<String> names = new ArrayList<>();
+        long record = from;
+        while (record < to) {
+            if (progress.isCanceled()) {
+                throw new CancellationException();
+            }
+            long next = format.nextRecordStart(text, record + 1, to);
+            names.add(sanitizeName(parse(text, format, record, next).name()));
+            record = next;
+        }
+        return names;
+    }
+
+    /**
+     * Renames the second and later records with the same name, across all parts and in file order, to the first free
+     * name among {@code name_2}, {@code name_3}, ...
+     */
+    static List<List<String>> uniqueNames(List<List<String>> partNames) {
+        Set<String> used = new HashSet<>();
+        Map<String, Integer> nextSuffix = new HashMap<>();
+        List<List<String>> unique = new ArrayList<>(partNames.size());
+        for (List<String> names : partNames) {
+            List<String> renamed = new ArrayList<>(names.size());
+            for (String name : names) {
+                String candidate = name;
+                if (!used.add(candidate)) {
+                    int suffix = nextSuffix.getOrDefault(name, 2);
+                    do {
+                        candidate = name + "_" + suffix++;
+                    } while (!used.add(candidate));
+                    nextSuffix.put(name, suffix);
+                }
+                renamed.add(candidate);
+            }
+            unique.add(renamed);
+        }
+        return unique;
+    }
+
+    private static <T> T getPart(Future<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException io) {
+                throw io;
+            }
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    private static void concatenate(String header, List<Path> partFiles, Path output) throws IOException {
+        try (FileChannel target = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            target.write(ByteBuffer.wrap(header.getBytes(StandardCharsets.UTF_8)));
+            for (Path partFile : partFiles) {
+                try (FileChannel source = FileChannel.open(partFile, StandardOpenOption.READ)) {
+                    long position = 0;
+                    long size = source.size();
+                    while (position < size) {
+                        position += source.transferTo(position, size - position, target);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Converts the records of {@code [from, to)}, which starts at a record.
+     *
+     * @return records written, letters written, records skipped and records with a warning
+     */
+    private long[] convertRange(MappedText text, SequenceFileFormat format, long from, long to, List<String> names,
+                                OutputStream stream, Progress progress) throws IOException {
+        long[] counts = new long[4];
+        ByteSink out = new ByteSink(stream);
+        long record = from;
+        for (String name : names) {
+            long next = format.nextRecordStart(text, record + 1, to);
+            long written = convertRecord(text, parse(text, format, record, next), name, out, progress, counts);
+            progress.advance(next - record - written);
+            record = next;
+        }
+        out.flush();
+        return counts;
+    }
+
+    static Record parse(MappedText text, SequenceFileFormat format, long start, long end) {
+        return format == SequenceFileFormat.FASTA ? parseFasta(text, start, end) : parseGenBank(text, start, end);
+    }
+
+    private static Record parseFasta(MappedText text, long start, long end) {
+        long headerEnd = text.lineEnd(start, end);
+        String header = text.text(start + 1, headerEnd).trim();
+        int space = indexOfWhitespace(header);
+        return new Record(space < 0 ? header : header.substring(0, space), space < 0 ? "" : header.substring(space).trim(),
+                Math.min(headerEnd + 1, end), end);
+    }
+
+    private static Record parseGenBank(MappedText text, long start, long end) {
+        String name = "";
+        String description = "";
+        long line = start;
+        while (line < end) {
+            long lineEnd = text.lineEnd(line, end);
+            if (text.startsWith("LOCUS", line)) {
+                String[] fields = text.text(line, lineEnd).trim().split("\\s+");
+                name = fields.length > 1 ? fields[1] : "";
+            } else if (text.startsWith("DEFINITION", line)) {
+                // Continuation lines are indented past the keyword column
+                StringBuilder definition = new StringBuilder(text.text(line + "DEFINITION".length(), lineEnd).trim());
+                while (lineEnd + 1 < end && text.get(lineEnd + 1) == ' ') {
+                    line = lineEnd + 1;
+                    lineEnd = text.lineEnd(line, end);
+                    definition.append(' ').append(text.text(line, lineEnd).trim());
+                }
+                description = definition.toString().trim();
+            } else if (text.startsWith("ORIGIN", line)) {
+                long sequenceStart = Math.min(lineEnd + 1, end);
+                long sequenceEnd = sequenceStart;
+                while (sequenceEnd < end && !text.startsWith("//", sequenceEnd)) {
+                    sequenceEnd = Math.min(text.lineEnd(sequenceEnd, end) + 1, end);
+                }
+                return new Record(name, description, sequenceStart, sequenceEnd);
+            }
+            line = lineEnd + 1;
+        }
+        return new Record(name, description, end, end);
+    }
+
+    /**
+     * @return the number of sequence bytes already reported to {@code progress}
+     */
+    private long convertRecord(MappedText text, Record record, String name, ByteSink out, Progress progress,
+                               long[] counts) throws IOException {
+        if (!record.description().isEmpty()) {
+            out.write("// " + record.description() + "\n");
+        }
+
+        // First pass: count letters against each alphabet
+        long letters = 0;
+        long nucleotideLike = 0;
+        long[] outside = new long[Kind.values().length];
+        boolean hasT = false;
+        boolean hasU = false;
+        long sequenceEnd = record.sequenceEnd();
+        long lastLetter = -1;
+        int sinceCheck = 0;
+        for (long i = record.sequenceStart(); i < sequenceEnd; i++) {
+            // Counts every byte, so layout and GenBank numbers cannot skip the check
+            if (++sinceCheck == PROGRESS_STEP) {
+                sinceCheck = 0;
+                if (progress.isCanceled()) {
+                    throw new CancellationException();
+                }
+            }
+            char ch = letterAt(text, i);
+            if (ch == 0) {
+                continue;
+            }
+            letters++;
+            lastLetter = i;
+            hasT |= ch == 'T';
+            hasU |= ch == 'U';
+            if ("ACGTUN".indexOf(ch) >= 0) {
+                nucleotideLike++;
+            }
+            for (Kind kind : Kind.values()) {
+                if (!kind.alphabet.contains(ch)) {
+                    outside[kind.ordinal()]++;
+                }
+            }
+        }
+        // A trailing '*' only marks the stop of a translated protein and is not a residue
+        if (lastLetter >= 0 && text.get(lastLetter) == '*') {
+            sequenceEnd = lastLetter;
+            letters--;
+            for (int i = 0; i < outside.length; i++) {
+                outside[i]--;
+            }
+        }
+
+        if (letters == 0) {
+            out.write("// " + name + ": no sequence, skipped\n\n");
+            counts[2]++;
+            return 0;
+        }
+        Kind kind;
+        if (nucleotideLike >= letters * NUCLEOTIDE_THRESHOLD) {
+            kind = !hasU ? Kind.DNA : !hasT ? Kind.RNA : Kind.NUCLEOTIDE;
+        } else {
+            kind = Kind.AMINO_ACID;
+        }
+        long invalid = outside[kind.ordinal()];
+        if (invalid > 0) {
+            out.write("// Warning: " + invalid + " of " + letters + " letters are not valid in " + kind.keyword + "\n");
+            counts[3]++;
+        }
+
+        // Second pass: write the letters, wrapped after the opening quote when they do not fit on one line
+        out.write(kind.keyword + " " + name + " = \"");
+        boolean wrap = letters > lineWidth;
+        int column = 0;
+        long reported = 0;
+        long lastReported = record.sequenceStart();
+        for (long i = record.sequenceStart(); i < sequenceEnd; i++) {
+            char ch = letterAt(text, i);
+            if (ch == 0) {
+                continue;
+            }
+            if (wrap && column == 0) {
+                out.write('\n');
+                out.write(INDENT);
+            }
+            out.write(ch);
+            if (++column == lineWidth) {
+                column = 0;
+            }
+            if (i - lastReported >= PROGRESS_STEP) {
+                if (progress.isCanceled()) {
+                    throw new CancellationException();
+                }
+                progress.advance(i - lastReported);
+                reported += i - lastReported;
+                lastReported = i;
+            }
+        }
+        out.write("\"\n\n");
+        counts[0]++;
+        counts[1] += letters;
+        return reported;
+    }
+
+    /**
+     * @return the uppercased sequence letter at {@code i}, or 0 for whitespace, the position numbers of GenBank and
+     * quotes, which would end the literal
+     */
+    private static char letterAt(MappedText text, long i) {
+        byte b = text.get(i);
+        if (b <= ' ' || (b >= '0' && b <= '9') || b == '"') {
+            return 0;
+        }
+        return b >= 'a' && b <= 'z' ? (char) (b - ('a' - 'A')) : (char) (b & 0xFF);
+    }
+
+    /**
+     * Maps a record id onto a BioSyntax identifier, {@code [a-zA-Z][a-zA-Z0-9_]*}.
+     */
+    @NotNull
+    static String sanitizeName(@NotNull String id) {
+        StringBuilder name = new StringBuilder(id.length() + 4);
+        if (id.isEmpty() || !isAsciiLetter(id.charAt(0))) {
+            name.append("seq_");
+        }
+        for (int i = 0; i < id.length(); i++) {
+            char ch = id.charAt(i);
+            name.append(isAsciiLetter(ch) || (ch >= '0' && ch <= '9') ? ch : '_');
+        }
+        return name.toString();
+    }
+
+    private static boolean isAsciiLetter(char ch) {
+        return (ch >= 'a' && ch <= 'z') || (ch >= 'A' && ch <= 'Z');
+    }
+
+    private static int indexOfWhitespace(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            if (Character.isWhitespace(s.charAt(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Unsynchronized output buffer, as every part is written by a single thread.
+     */
+    private static final class ByteSink {
+        private final OutputStream stream;
+        private final byte[] buffer = new byte[1 << 16];
+        private int size;
+
+        ByteSink(OutputStream stream) {
+            this.stream = stream;
+        }
+
+        void write(char ch) throws IOException {
+            if (size == buffer.length) {
+                flush();
+            }
+            buffer[size++] = (byte) ch;
+        }
+
+        void write(String s) throws IOException {
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            if (size + bytes.length > buffer.length) {
+                flush();
+            }
+            if (bytes.length > buffer.length) {
+                stream.write(bytes);
+            } else {
+                System.arraycopy(bytes, 0, buffer, size, bytes.length);
+                size += bytes.length;
+            }
+        }
+
+        void flush() throws IOException {
+            stream.write(buffer, 0, size);
+            size = 0;
+        }
+    }
+}
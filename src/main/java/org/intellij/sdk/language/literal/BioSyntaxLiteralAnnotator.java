@@ -0,0 +1,93 @@
+package org.intellij.sdk.language.literal;
+
+import com.intellij.lang.annotation.AnnotationHolder;
+import com.intellij.lang.annotation.Annotator;
+import com.intellij.lang.annotation.HighlightSeverity;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.TokenType;
+import com.intellij.psi.tree.IElementType;
+import org.intellij.sdk.language.analysis.GeneticCode;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Reports invalid letters, sequences without letters and non-stop Stop_Codon values in injected literals. Every check
+ * looks at a single token and at most its own property's value or sequence, so a literal is annotated in one linear
+ * pass.
+ */
+final class BioSyntaxLiteralAnnotator implements Annotator {
+
+    @Override
+    public void annotate(@NotNull PsiElement element, @NotNull AnnotationHolder holder) {
+        IElementType type = element.getNode().getElementType();
+        if (type == BioSyntaxLiteralTokenTypes.INVALID_LETTERS) {
+            holder.newAnnotation(HighlightSeverity.ERROR, "Invalid " + describeAlphabet(element.getContainingFile())
+                            + " '" + element.getText() + "'")
+                    .range(element)
+                    .create();
+        } else if (type == BioSyntaxLiteralTokenTypes.PROPERTY_NAME && element.textMatches("Stop_Codon")) {
+            annotateStopCodon(element, holder);
+        } else if (type == BioSyntaxLiteralTokenTypes.SEQUENCE_PREFIX && nextToken(element) == null) {
+            // Nothing but layout follows the prefix; the error goes on that layout, or on the prefix if there is none
+            TextRange prefix = element.getTextRange();
+            PsiElement layout = element.getNextSibling();
+            TextRange range = layout != null ? new TextRange(prefix.getEndOffset(),
+                    element.getContainingFile().getTextRange().getEndOffset()) : prefix;
+            holder.newAnnotation(HighlightSeverity.ERROR, "Invalid sequence")
+                    .range(range)
+                    .create();
+        }
+    }
+
+    private void annotateStopCodon(PsiElement name, AnnotationHolder holder) {
+        PsiElement colon = nextToken(name);
+        if (colon == null || colon.getNode().getElementType() != BioSyntaxLiteralTokenTypes.COLON) {
+            return;
+        }
+        PsiElement first = nextToken(colon);
+        PsiElement last = null;
+        StringBuilder value = new StringBuilder();
+        for (PsiElement token = first; token != null; token = nextToken(token)) {
+            IElementType type = token.getNode().getElementType();
+            if (type == BioSyntaxLiteralTokenTypes.COMMA) {
+                break;
+            }
+            if (type == BioSyntaxLiteralTokenTypes.INVALID_LETTERS) {
+                // Already reported as invalid letters
+                return;
+            }
+            value.append(token.getText());
+            last = token;
+        }
+        if (last == null) {
+            return;
+        }
+        boolean stopCodon = value.length() == 3 && GeneticCode.STANDARD.isStopCodon(
+                GeneticCode.codonIndex(value.charAt(0), value.charAt(1), value.charAt(2)));
+        if (!stopCodon) {
+            holder.newAnnotation(HighlightSeverity.ERROR, "Invalid Stop_Codon: " + value)
+                    .range(new TextRange(first.getTextRange().getStartOffset(), last.getTextRange().getEndOffset()))
+                    .create();
+        }
+    }
+
+    private static PsiElement nextToken(PsiElement element) {
+        PsiElement next = element.getNextSibling();
+        while (next != null && next.getNode().getElementType() == TokenType.WHITE_SPACE) {
+            next = next.getNextSibling();
+        }
+        return next;
+    }
+
+    private static String describeAlphabet(PsiFile file) {
+        PsiElement prefix = file.getFirstChild();
+        String text = prefix != null ? prefix.getText() : "";
+        return switch (text) {
+            case "RNASeq:" -> "RNA nucleotide";
+            case "DNASeq:" -> "DNA nucleotide";
+            case "AASeq:" -> "amino acid";
+            default -> "nucleotide";
+        };
+    }
+}
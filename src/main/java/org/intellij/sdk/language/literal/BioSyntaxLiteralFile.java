@@ -0,0 +1,23 @@
+package org.intellij.sdk.language.literal;
+
+import com.intellij.extapi.psi.PsiFileBase;
+import com.intellij.openapi.fileTypes.FileType;
+import com.intellij.psi.FileViewProvider;
+import org.jetbrains.annotations.NotNull;
+
+public class BioSyntaxLiteralFile extends PsiFileBase {
+    public BioSyntaxLiteralFile(@NotNull FileViewProvider viewProvider) {
+        super(viewProvider, BioSyntaxLiteralLanguage.INSTANCE);
+    }
+
+    @NotNull
+    @Override
+    public FileType getFileType() {
+        return BioSyntaxLiteralFileType.INSTANCE;
+    }
+
+    @Override
+    public String toString() {
+        return "BioSyntax Literal";
+    }
+}
@@ -0,0 +1,44 @@
+package org.intellij.sdk.language.literal;
+
+import com.intellij.openapi.fileTypes.LanguageFileType;
+import org.intellij.sdk.language.BioSyntaxIcons;
+import org.jetbrains.annotations.NotNull;
+
+import javax.swing.*;
+
+/**
+ * The file type of injected {@link BioSyntaxLiteralLanguage} fragments. It is registered without extensions: literals
+ * only ever exist inside Java string literals.
+ */
+public final class BioSyntaxLiteralFileType extends LanguageFileType {
+
+    public static final BioSyntaxLiteralFileType INSTANCE = new BioSyntaxLiteralFileType();
+
+    private BioSyntaxLiteralFileType() {
+        super(BioSyntaxLiteralLanguage.INSTANCE);
+    }
+
+    @NotNull
+    @Override
+    public String getName() {
+        return "BioSyntax Literal";
+    }
+
+    @NotNull
+    @Override
+    public String getDescription() {
+        return "BioSyntax literal injected into a Java string";
+    }
+
+    @NotNull
+    @Override
+    public String getDefaultExtension() {
+        return "";
+    }
+
+    @Override
+    public Icon getIcon() {
+        return BioSyntaxIcons.FILE;
+    }
+
+}
@@ -0,0 +1,45 @@
+package org.intellij.sdk.language.literal;
+
+import com.intellij.lang.injection.MultiHostInjector;
+import com.intellij.lang.injection.MultiHostRegistrar;
+import com.intellij.psi.ElementManipulators;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiLanguageInjectionHost;
+import com.intellij.psi.PsiLiteralExpression;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * Injects {@link BioSyntaxLiteralLanguage} into Java string literals that start with a BioSyntax prefix, so they are
+ * lexed, highlighted and annotated incrementally by the platform.
+ */
+public class BioSyntaxLiteralInjector implements MultiHostInjector {
+    private static final String[] PREFIXES = {"Gene:", "NtSeq:", "RNASeq:", "DNASeq:", "AASeq:"};
+
+    @Override
+    public void getLanguagesToInject(@NotNull MultiHostRegistrar registrar, @NotNull PsiElement context) {
+        if (!(context instanceof PsiLiteralExpression literal) || !(context instanceof PsiLanguageInjectionHost host)
+                || !(literal.getValue() instanceof String value) || !hasPrefix(value)) {
+            return;
+        }
+        registrar.startInjecting(BioSyntaxLiteralLanguage.INSTANCE)
+                .addPlace(null, null, host, ElementManipulators.getValueTextRange(host))
+                .doneInjecting();
+    }
+
+    @NotNull
+    @Override
+    public List<? extends Class<? extends PsiElement>> elementsToInjectIn() {
+        return List.of(PsiLiteralExpression.class);
+    }
+
+    private static boolean hasPrefix(String value) {
+        for (String prefix : PREFIXES) {
+            if (value.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
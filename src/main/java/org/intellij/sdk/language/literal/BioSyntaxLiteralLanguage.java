@@ -0,0 +1,17 @@
+package org.intellij.sdk.language.literal;
+
+import com.intellij.lang.Language;
+
+/**
+ * The mini-language of prefixed Java string literals such as {@code "NtSeq:ATGC"} or
+ * {@code "Gene: Promoter:TATAAT, Start_Codon:ATG"}, injected by {@link BioSyntaxLiteralInjector}.
+ */
+public class BioSyntaxLiteralLanguage extends Language {
+
+    public static final BioSyntaxLiteralLanguage INSTANCE = new BioSyntaxLiteralLanguage();
+
+    private BioSyntaxLiteralLanguage() {
+        super("BioSyntaxLiteral");
+    }
+
+}
@@ -0,0 +1,32 @@
+package org.intellij.sdk.language.literal;
+
+import com.intellij.lexer.FlexAdapter;
+import com.intellij.lexer.RestartableLexer;
+import com.intellij.lexer.TokenIterator;
+import org.jetbrains.annotations.NotNull;
+
+public class BioSyntaxLiteralLexerAdapter extends FlexAdapter implements RestartableLexer {
+
+    public BioSyntaxLiteralLexerAdapter() {
+        super(new BioSyntaxLiteralLexer(null));
+    }
+
+    @Override
+    public int getStartState() {
+        return BioSyntaxLiteralLexer.YYINITIAL;
+    }
+
+    // As in BioSyntaxLexerAdapter, all context lives in the state: the *_SEQUENCE states name the alphabet and the
+    // property states track where in a "name:value," list the next token is, so lexing can resume from any token
+    @Override
+    public boolean isRestartableState(int state) {
+        return true;
+    }
+
+    @Override
+    public void start(@NotNull CharSequence buffer, int startOffset, int endOffset, int initialState,
+                      TokenIterator tokenIterator) {
+        start(buffer, startOffset, endOffset, initialState);
+    }
+
+}
@@ -0,0 +1,68 @@
+package org.intellij.sdk.language.literal;
+
+import com.intellij.extapi.psi.ASTWrapperPsiElement;
+import com.intellij.lang.ASTNode;
+import com.intellij.lang.ParserDefinition;
+import com.intellij.lang.PsiBuilder;
+import com.intellij.lang.PsiParser;
+import com.intellij.lexer.Lexer;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.FileViewProvider;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.tree.IFileElementType;
+import com.intellij.psi.tree.TokenSet;
+import org.jetbrains.annotations.NotNull;
+
+public class BioSyntaxLiteralParserDefinition implements ParserDefinition {
+
+    @NotNull
+    @Override
+    public Lexer createLexer(Project project) {
+        return new BioSyntaxLiteralLexerAdapter();
+    }
+
+    @NotNull
+    @Override
+    public TokenSet getCommentTokens() {
+        return TokenSet.EMPTY;
+    }
+
+    @NotNull
+    @Override
+    public TokenSet getStringLiteralElements() {
+        return TokenSet.EMPTY;
+    }
+
+    // The literal is a flat token list; all structure the annotator needs is visible from the tokens themselves
+    @NotNull
+    @Override
+    public PsiParser createParser(final Project project) {
+        return (root, builder) -> {
+            PsiBuilder.Marker file = builder.mark();
+            while (!builder.eof()) {
+                builder.advanceLexer();
+            }
+            file.done(root);
+            return builder.getTreeBuilt();
+        };
+    }
+
+    @NotNull
+    @Override
+    public IFileElementType getFileNodeType() {
+        return BioSyntaxLiteralTokenTypes.FILE;
+    }
+
+    @NotNull
+    @Override
+    public PsiFile createFile(@NotNull FileViewProvider viewProvider) {
+        return new BioSyntaxLiteralFile(viewProvider);
+    }
+
+    @NotNull
+    @Override
+    public PsiElement createElement(ASTNode node) {
+        return new ASTWrapperPsiElement(node);
+    }
+}
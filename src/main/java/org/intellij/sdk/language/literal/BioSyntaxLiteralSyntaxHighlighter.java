@@ -0,0 +1,46 @@
+package org.intellij.sdk.language.literal;
+
+import com.intellij.lexer.Lexer;
+import com.intellij.openapi.editor.DefaultLanguageHighlighterColors;
+import com.intellij.openapi.editor.colors.TextAttributesKey;
+import com.intellij.openapi.fileTypes.SyntaxHighlighterBase;
+import com.intellij.psi.TokenType;
+import com.intellij.psi.tree.IElementType;
+import org.intellij.sdk.language.BioSyntaxSyntaxHighlighter;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.intellij.openapi.editor.colors.TextAttributesKey.createTextAttributesKey;
+
+public class BioSyntaxLiteralSyntaxHighlighter extends SyntaxHighlighterBase {
+    public static final TextAttributesKey PROPERTY_VALUE =
+            createTextAttributesKey("BIOSYNTAX_PROPERTY_VALUE", DefaultLanguageHighlighterColors.NUMBER);
+
+    private static final Map<IElementType, TextAttributesKey> KEYS = new HashMap<>();
+
+    static {
+        KEYS.put(BioSyntaxLiteralTokenTypes.GENE_PREFIX, BioSyntaxSyntaxHighlighter.GENE);
+        KEYS.put(BioSyntaxLiteralTokenTypes.SEQUENCE_PREFIX, BioSyntaxSyntaxHighlighter.TYPE_DECLARATION);
+        KEYS.put(BioSyntaxLiteralTokenTypes.PROPERTY_NAME, BioSyntaxSyntaxHighlighter.PROPERTY_NAME);
+        KEYS.put(BioSyntaxLiteralTokenTypes.PROPERTY_VALUE, PROPERTY_VALUE);
+        KEYS.put(BioSyntaxLiteralTokenTypes.NUCLEOTIDE, BioSyntaxSyntaxHighlighter.NUCLEOTIDE);
+        KEYS.put(BioSyntaxLiteralTokenTypes.RNA_NUCLEOTIDE, BioSyntaxSyntaxHighlighter.RNA_NUCLEOTIDE);
+        KEYS.put(BioSyntaxLiteralTokenTypes.DNA_NUCLEOTIDE, BioSyntaxSyntaxHighlighter.DNA_NUCLEOTIDE);
+        KEYS.put(BioSyntaxLiteralTokenTypes.AMINO_ACID, BioSyntaxSyntaxHighlighter.AMINO_ACID);
+        KEYS.put(BioSyntaxLiteralTokenTypes.INVALID_LETTERS, BioSyntaxSyntaxHighlighter.BAD_CHARACTER);
+        KEYS.put(TokenType.BAD_CHARACTER, BioSyntaxSyntaxHighlighter.BAD_CHARACTER);
+    }
+
+    @NotNull
+    @Override
+    public Lexer getHighlightingLexer() {
+        return new BioSyntaxLiteralLexerAdapter();
+    }
+
+    @Override
+    public TextAttributesKey @NotNull [] getTokenHighlights(IElementType tokenType) {
+        return pack(KEYS.get(tokenType));
+    }
+}
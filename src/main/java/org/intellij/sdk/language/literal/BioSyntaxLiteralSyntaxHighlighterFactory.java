@@ -0,0 +1,13 @@
+package org.intellij.sdk.language.literal;
+
+import com.intellij.openapi.fileTypes.SingleLazyInstanceSyntaxHighlighterFactory;
+import com.intellij.openapi.fileTypes.SyntaxHighlighter;
+import org.jetbrains.annotations.NotNull;
+
+public class BioSyntaxLiteralSyntaxHighlighterFactory extends SingleLazyInstanceSyntaxHighlighterFactory {
+    @NotNull
+    @Override
+    protected SyntaxHighlighter createHighlighter() {
+        return new BioSyntaxLiteralSyntaxHighlighter();
+    }
+}
@@ -0,0 +1,16 @@
+package org.intellij.sdk.language.literal;
+
+import com.intellij.psi.tree.IElementType;
+import org.jetbrains.annotations.NonNls;
+import org.jetbrains.annotations.NotNull;
+
+public class BioSyntaxLiteralTokenType extends IElementType {
+    public BioSyntaxLiteralTokenType(@NotNull @NonNls String debugName) {
+        super(debugName, BioSyntaxLiteralLanguage.INSTANCE);
+    }
+
+    @Override
+    public String toString() {
+        return "BioSyntaxLiteralTokenType." + super.toString();
+    }
+}
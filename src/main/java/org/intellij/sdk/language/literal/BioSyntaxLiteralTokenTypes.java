@@ -0,0 +1,22 @@
+package org.intellij.sdk.language.literal;
+
+import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.tree.IFileElementType;
+
+public interface BioSyntaxLiteralTokenTypes {
+    IFileElementType FILE = new IFileElementType(BioSyntaxLiteralLanguage.INSTANCE);
+
+    IElementType GENE_PREFIX = new BioSyntaxLiteralTokenType("GENE_PREFIX");
+    IElementType SEQUENCE_PREFIX = new BioSyntaxLiteralTokenType("SEQUENCE_PREFIX");
+    IElementType PROPERTY_NAME = new BioSyntaxLiteralTokenType("PROPERTY_NAME");
+    IElementType PROPERTY_VALUE = new BioSyntaxLiteralTokenType("PROPERTY_VALUE");
+    IElementType COLON = new BioSyntaxLiteralTokenType("COLON");
+    IElementType COMMA = new BioSyntaxLiteralTokenType("COMMA");
+
+    IElementType NUCLEOTIDE = new BioSyntaxLiteralTokenType("NUCLEOTIDE");
+    IElementType RNA_NUCLEOTIDE = new BioSyntaxLiteralTokenType("RNA_NUCLEOTIDE");
+    IElementType DNA_NUCLEOTIDE = new BioSyntaxLiteralTokenType("DNA_NUCLEOTIDE");
+    IElementType AMINO_ACID = new BioSyntaxLiteralTokenType("AMINO_ACID");
+    // A run of letters outside the alphabet of the surrounding sequence
+    IElementType INVALID_LETTERS = new BioSyntaxLiteralTokenType("INVALID_LETTERS");
+}
@@ -0,0 +1,30 @@
+package org.intellij.sdk.language.metrics;
+
+import jdk.jfr.*;
+
+/**
+ * Flight Recorder event for one call into a BioSyntax component, e.g. one annotator pass over a declaration. Disabled
+ * unless a recording enables it, e.g. {@code jcmd <pid> JFR.start settings=profile}; in the recording it shows under
+ * "BioSyntax" next to the IDE's own events, so a slow daemon pass can be attributed to the component that ran.
+ * <p>
+ * The event is created when the call ends, so that calls allocate nothing while no recording is running; its time is
+ * the end of the call and the call's duration is the {@link #latency} field.
+ */
+@Name("org.intellij.sdk.language.Call")
+@Label("BioSyntax Call")
+@Category("BioSyntax")
+@Description("A call into a BioSyntax editor component")
+@StackTrace(false)
+public final class BioSyntaxCallEvent extends Event {
+    @Label("Component")
+    public String component;
+
+    @Label("Latency")
+    @Timespan
+    public long latency;
+
+    @Label("Sequence Bytes")
+    @Description("Sequence letters processed by the call")
+    @DataAmount
+    public long bytes;
+}
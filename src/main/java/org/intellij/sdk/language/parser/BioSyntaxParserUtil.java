@@ -0,0 +1,73 @@
+package org.intellij.sdk.language.parser;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.lang.PsiBuilder;
+import com.intellij.lang.PsiBuilderFactory;
+import com.intellij.lang.parser.GeneratedParserUtilBase;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.TokenType;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.tree.TokenSet;
+import org.intellij.sdk.language.BioSyntaxLanguage;
+import org.intellij.sdk.language.psi.BioSyntaxTypes;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * External rules of {@code BioSyntax.bnf}.
+ */
+public class BioSyntaxParserUtil extends GeneratedParserUtilBase {
+    // Tokens that cannot occur in a gene body, so an unclosed body ends before them
+    public static final TokenSet GENE_BODY_END = TokenSet.create(
+            BioSyntaxTypes.LBRACE,
+            BioSyntaxTypes.GENE,
+            BioSyntaxTypes.NT_SEQ,
+            BioSyntaxTypes.RNA_SEQ,
+            BioSyntaxTypes.DNA_SEQ,
+            BioSyntaxTypes.AA_SEQ
+    );
+
+    /**
+     * Consumes a token the lexer could not match, e.g. a lowercase base inside a literal, without reporting an error.
+     */
+    public static boolean badCharacter(PsiBuilder builder, int level) {
+        if (builder.getTokenType() != TokenType.BAD_CHARACTER) {
+            return false;
+        }
+        builder.advanceLexer();
+        return true;
+    }
+
+    /**
+     * Collapses a gene body, from its opening brace to its closing brace, into a single lazy {@code GENE_BODY} node
+     * without parsing it. A body that is not closed ends before the next gene or declaration.
+     */
+    public static boolean lazyGeneBody(PsiBuilder builder, int level) {
+        if (builder.getTokenType() != BioSyntaxTypes.LBRACE) {
+            return false;
+        }
+        PsiBuilder.Marker body = builder.mark();
+        builder.advanceLexer();
+        while (!builder.eof() && !GENE_BODY_END.contains(builder.getTokenType())) {
+            boolean closed = builder.getTokenType() == BioSyntaxTypes.RBRACE;
+            builder.advanceLexer();
+            if (closed) {
+                break;
+            }
+        }
+        body.collapse(BioSyntaxTypes.GENE_BODY);
+        return true;
+    }
+
+    /**
+     * Parses the text of a lazy gene body into its children.
+     */
+    @NotNull
+    public static ASTNode parseGeneBody(@NotNull IElementType bodyType, @NotNull ASTNode chameleon, @NotNull Project project) {
+        PsiBuilder builder = adapt_builder_(bodyType, PsiBuilderFactory.getInstance().createBuilder(project, chameleon,
+                null, BioSyntaxLanguage.INSTANCE, chameleon.getChars()), new BioSyntaxParser(), null);
+        PsiBuilder.Marker root = enter_section_(builder, 0, _COLLAPSE_, null);
+        boolean result = BioSyntaxParser.gene_body_contents_(builder, 1);
+        exit_section_(builder, 0, root, bodyType, result, true, TRUE_CONDITION);
+        return builder.getTreeBuilt().getFirstChildNode();
+    }
+}
@@ -0,0 +1,61 @@
+package org.intellij.sdk.language.psi;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.lang.Language;
+import com.intellij.lexer.Lexer;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.tree.IReparseableElementType;
+import org.intellij.sdk.language.BioSyntaxLanguage;
+import org.intellij.sdk.language.BioSyntaxLexerAdapter;
+import org.intellij.sdk.language.parser.BioSyntaxParserUtil;
+import org.jetbrains.annotations.NonNls;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Element type of a gene body, braces included. The file parser only collapses the body into a lazy node, and after
+ * an edit inside it the platform reparses just this node as long as {@link #isGeneBody} still holds for its new text,
+ * so the cost of an edit depends on the size of the gene and not of the file.
+ */
+public class BioSyntaxGeneBodyElementType extends IReparseableElementType {
+    public BioSyntaxGeneBodyElementType(@NotNull @NonNls String debugName) {
+        super(debugName, BioSyntaxLanguage.INSTANCE);
+    }
+
+    @Override
+    protected ASTNode doParseContents(@NotNull ASTNode chameleon, @NotNull PsiElement psi) {
+        return BioSyntaxParserUtil.parseGeneBody(this, chameleon, psi.getProject());
+    }
+
+    @Override
+    public boolean isParsable(@Nullable ASTNode parent, @NotNull CharSequence buffer, @NotNull Language fileLanguage,
+                              @NotNull Project project) {
+        return isGeneBody(buffer);
+    }
+
+    /**
+     * True if {@code text} lexes as one closed gene body: an opening brace, nothing that would end the body early,
+     * and a closing brace as the last token. The lexer is in the same state after it as after the old body, so the
+     * rest of the file lexes as before.
+     */
+    public static boolean isGeneBody(@NotNull CharSequence text) {
+        Lexer lexer = new BioSyntaxLexerAdapter();
+        lexer.start(text);
+        if (lexer.getTokenType() != BioSyntaxTypes.LBRACE) {
+            return false;
+        }
+        for (lexer.advance(); lexer.getTokenType() != null; lexer.advance()) {
+            IElementType type = lexer.getTokenType();
+            if (type == BioSyntaxTypes.RBRACE) {
+                lexer.advance();
+                return lexer.getTokenType() == null;
+            }
+            if (BioSyntaxParserUtil.GENE_BODY_END.contains(type)) {
+                return false;
+            }
+        }
+        return false;
+    }
+}
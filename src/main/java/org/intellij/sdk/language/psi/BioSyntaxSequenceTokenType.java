@@ -0,0 +1,67 @@
+package org.intellij.sdk.language.psi;
+
+import com.intellij.lang.ASTFactory;
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.tree.IReparseableLeafElementType;
+import org.intellij.sdk.language.analysis.SequenceAlphabet;
+import org.intellij.sdk.language.analysis.SequenceChunker;
+import org.jetbrains.annotations.NonNls;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Token type of a chunk of sequence letters. The lexer splits long literals into chunks with {@link SequenceChunker},
+ * and an edit inside a chunk replaces just that leaf as long as the chunk boundaries the lexer would pick stay the
+ * same; otherwise the platform falls back to relexing the surrounding range.
+ */
+public class BioSyntaxSequenceTokenType extends BioSyntaxTokenType implements IReparseableLeafElementType<ASTNode> {
+    private final SequenceAlphabet alphabet;
+
+    public BioSyntaxSequenceTokenType(@NotNull @NonNls String debugName, @NotNull SequenceAlphabet alphabet) {
+        super(debugName);
+        this.alphabet = alphabet;
+    }
+
+    @NotNull
+    public SequenceAlphabet getAlphabet() {
+        return alphabet;
+    }
+
+    @Override
+    public @Nullable ASTNode reparseLeaf(@NotNull ASTNode leaf, @NotNull CharSequence newText) {
+        ASTNode parent = leaf.getTreeParent();
+        if (parent == null || parent.getElementType() == BioSyntaxTypes.GENE_PROPERTY) {
+            // Gene property values are lexed as whole runs, not chunks
+            return null;
+        }
+        int length = newText.length();
+        if (length == 0 || length > SequenceChunker.MAX_CHUNK_SIZE) {
+            return null;
+        }
+        int chunkEnd = SequenceChunker.findChunkEnd(newText, 0, length, alphabet);
+        if (chunkEnd != length) {
+            // Either an invalid letter or a new chunk boundary inside the edited text
+            return null;
+        }
+        ASTNode next = leaf.getTreeNext();
+        if (next != null && next.getElementType() == this) {
+            // The lexer must still end this chunk exactly here, or it would merge it with the next one
+            CharSequence extended = newText + String.valueOf(next.getText().charAt(0));
+            if (SequenceChunker.findChunkEnd(extended, 0, extended.length(), alphabet) != length) {
+                return null;
+            }
+        }
+        return ASTFactory.leaf(this, newText);
+    }
+
+    public static IElementType createTokenType(@NotNull @NonNls String debugName) {
+        return switch (debugName) {
+            case "NUCLEOTIDE" -> new BioSyntaxSequenceTokenType(debugName, SequenceAlphabet.NUCLEOTIDE);
+            case "RNA_NUCLEOTIDE" -> new BioSyntaxSequenceTokenType(debugName, SequenceAlphabet.RNA);
+            case "DNA_NUCLEOTIDE" -> new BioSyntaxSequenceTokenType(debugName, SequenceAlphabet.DNA);
+            case "AMINO_ACID" -> new BioSyntaxSequenceTokenType(debugName, SequenceAlphabet.AMINO_ACID);
+            default -> new BioSyntaxTokenType(debugName);
+        };
+    }
+}
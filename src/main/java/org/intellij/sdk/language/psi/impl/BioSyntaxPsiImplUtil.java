@@ -1,33 +1,163 @@
 package org.intellij.sdk.language.psi.impl;
 
 import com.intellij.lang.ASTNode;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.TokenType;
+import com.intellij.psi.tree.TokenSet;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiTreeUtil;
+import org.intellij.sdk.language.BioSyntaxSequenceStore;
+import org.intellij.sdk.language.analysis.MinHashSketch;
+import org.intellij.sdk.language.analysis.PackedSequence;
 import org.intellij.sdk.language.psi.*;
+import org.intellij.sdk.language.psi.stubs.BioSyntaxDeclarationStub;
+import org.intellij.sdk.language.psi.stubs.BioSyntaxGeneDefinitionStub;
+import org.jetbrains.annotations.Nullable;
 
 public class BioSyntaxPsiImplUtil {
+    private static final TokenSet SEQUENCE_TOKENS = TokenSet.create(
+            BioSyntaxTypes.NUCLEOTIDE,
+            BioSyntaxTypes.RNA_NUCLEOTIDE,
+            BioSyntaxTypes.DNA_NUCLEOTIDE,
+            BioSyntaxTypes.AMINO_ACID
+    );
+    // Invalid letters, e.g. N in a DNASeq, stay in the sequence so that positions match the literal
+    private static final TokenSet LETTER_TOKENS = TokenSet.orSet(SEQUENCE_TOKENS, TokenSet.create(TokenType.BAD_CHARACTER));
+
     public static String getSequenceText(BioSyntaxDeclaration element) {
-        ASTNode sequenceNode = element.getNode().findChildByType(BioSyntaxTypes.NUCLEOTIDE);
-        if (sequenceNode == null) {
-            sequenceNode = element.getNode().findChildByType(BioSyntaxTypes.AMINO_ACID);
+        ASTNode[] sequenceNodes = getSequenceNodes(element);
+        if (sequenceNodes.length == 0) {
+            return null;
+        }
+        if (sequenceNodes.length == 1) {
+            return sequenceNodes[0].getText();
+        }
+        StringBuilder sequence = new StringBuilder();
+        for (ASTNode node : sequenceNodes) {
+            sequence.append(node.getChars());
+        }
+        return sequence.toString();
+    }
+
+    public static PackedSequence getPackedSequence(BioSyntaxDeclaration element) {
+        return CachedValuesManager.getCachedValue(element, () -> CachedValueProvider.Result.create(
+                pack(element, getSequenceNodes(element)), element));
+    }
+
+    public static PackedSequence getPackedSequence(BioSyntaxGeneProperty element) {
+        return CachedValuesManager.getCachedValue(element, () -> CachedValueProvider.Result.create(
+                pack(element, element.getNode().getChildren(LETTER_TOKENS)), element));
+    }
+
+    // The sketch skips layout, so it reads the literal in place, from the first to the last letter, without packing it
+    public static int @Nullable [] computeSketch(BioSyntaxDeclaration element) {
+        ASTNode[] sequenceNodes = getSequenceNodes(element);
+        if (sequenceNodes.length == 0) {
+            return null;
         }
-        return sequenceNode != null ? sequenceNode.getText() : null;
+        ASTNode last = sequenceNodes[sequenceNodes.length - 1];
+        return MinHashSketch.sketch(getDeclarationNode(element).getChars(), sequenceNodes[0].getStartOffsetInParent(),
+                last.getStartOffsetInParent() + last.getTextLength());
+    }
+
+    public static String getSequenceKind(BioSyntaxDeclaration element) {
+        BioSyntaxDeclarationStub stub = element.getStub();
+        if (stub != null) {
+            return stub.getSequenceKind();
+        }
+        ASTNode kindNode = getDeclarationNode(element).getFirstChildNode();
+        return kindNode != null ? kindNode.getText() : null;
+    }
+
+    public static int getSequenceLength(BioSyntaxDeclaration element) {
+        BioSyntaxDeclarationStub stub = element.getStub();
+        if (stub != null) {
+            return stub.getSequenceLength();
+        }
+        int length = 0;
+        for (ASTNode node : getSequenceNodes(element)) {
+            length += node.getTextLength();
+        }
+        return length;
     }
 
     public static String getIdentifier(BioSyntaxDeclaration element) {
-        ASTNode idNode = element.getNode().findChildByType(BioSyntaxTypes.IDENTIFIER);
+        ASTNode idNode = getDeclarationNode(element).findChildByType(BioSyntaxTypes.IDENTIFIER);
         return idNode != null ? idNode.getText() : null;
     }
 
     public static String getName(BioSyntaxDeclaration element) {
+        BioSyntaxDeclarationStub stub = element.getStub();
+        if (stub != null) {
+            return stub.getName();
+        }
         return getIdentifier(element);
     }
 
     public static String getName(BioSyntaxGeneDefinition element) {
+        BioSyntaxGeneDefinitionStub stub = element.getStub();
+        if (stub != null) {
+            return stub.getName();
+        }
         ASTNode idNode = element.getNode().findChildByType(BioSyntaxTypes.IDENTIFIER);
         return idNode != null ? idNode.getText() : null;
     }
 
+    @Nullable
+    public static BioSyntaxGeneBody getGeneBody(BioSyntaxGeneDefinition element) {
+        return PsiTreeUtil.getChildOfType(element, BioSyntaxGeneBody.class);
+    }
+
+    // The body node includes the braces, the structure is what is between them
     public static String getGeneStructure(BioSyntaxGeneDefinition element) {
         BioSyntaxGeneBody body = element.getGeneBody();
-        return body.getText();
+        if (body == null) {
+            return "";
+        }
+        return StringUtil.trimEnd(StringUtil.trimStart(body.getText(), "{"), "}");
+    }
+
+    public static int getSequenceLength(BioSyntaxGeneDefinition element) {
+        BioSyntaxGeneDefinitionStub stub = element.getStub();
+        if (stub != null) {
+            return stub.getSequenceLength();
+        }
+        BioSyntaxGeneBody body = element.getGeneBody();
+        if (body == null) {
+            return 0;
+        }
+        int length = 0;
+        for (BioSyntaxGeneProperty property : body.getGenePropertyList()) {
+            for (ASTNode node : property.getNode().getChildren(LETTER_TOKENS)) {
+                length += node.getTextLength();
+            }
+        }
+        return length;
+    }
+
+    // The declaration node wraps one of the nt/rna/dna/aa declaration nodes, which holds the actual tokens
+    private static ASTNode getDeclarationNode(BioSyntaxDeclaration element) {
+        ASTNode node = element.getNode();
+        ASTNode inner = node.getFirstChildNode();
+        return inner != null && inner.getFirstChildNode() != null ? inner : node;
+    }
+
+    private static ASTNode[] getSequenceNodes(BioSyntaxDeclaration element) {
+        return getDeclarationNode(element).getChildren(LETTER_TOKENS);
+    }
+
+    // Identical letters anywhere in the project share one packed sequence
+    private static PackedSequence pack(PsiElement element, ASTNode[] sequenceNodes) {
+        int length = 0;
+        for (ASTNode node : sequenceNodes) {
+            length += node.getTextLength();
+        }
+        PackedSequence.Builder builder = new PackedSequence.Builder(length);
+        for (ASTNode node : sequenceNodes) {
+            builder.append(node.getChars());
+        }
+        return BioSyntaxSequenceStore.getInstance(element.getProject()).intern(builder.build());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,23 @@
+package org.intellij.sdk.language.psi.impl;
+
+import com.intellij.extapi.psi.StubBasedPsiElementBase;
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.stubs.IStubElementType;
+import com.intellij.psi.stubs.StubElement;
+import org.jetbrains.annotations.NotNull;
+
+public abstract class BioSyntaxStubElementImpl<T extends StubElement<?>> extends StubBasedPsiElementBase<T> {
+
+    public BioSyntaxStubElementImpl(@NotNull T stub, @NotNull IStubElementType<?, ?> nodeType) {
+        super(stub, nodeType);
+    }
+
+    public BioSyntaxStubElementImpl(@NotNull ASTNode node) {
+        super(node);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "(" + getElementType() + ")";
+    }
+}
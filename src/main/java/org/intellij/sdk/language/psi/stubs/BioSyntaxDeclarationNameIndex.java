@@ -0,0 +1,17 @@
+package org.intellij.sdk.language.psi.stubs;
+
+import com.intellij.psi.stubs.StringStubIndexExtension;
+import com.intellij.psi.stubs.StubIndexKey;
+import org.intellij.sdk.language.psi.BioSyntaxDeclaration;
+import org.jetbrains.annotations.NotNull;
+
+public class BioSyntaxDeclarationNameIndex extends StringStubIndexExtension<BioSyntaxDeclaration> {
+    public static final StubIndexKey<String, BioSyntaxDeclaration> KEY =
+            StubIndexKey.createIndexKey("biosyntax.declaration.name");
+
+    @NotNull
+    @Override
+    public StubIndexKey<String, BioSyntaxDeclaration> getKey() {
+        return KEY;
+    }
+}
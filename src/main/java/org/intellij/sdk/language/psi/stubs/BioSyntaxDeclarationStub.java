@@ -0,0 +1,20 @@
+package org.intellij.sdk.language.psi.stubs;
+
+import com.intellij.psi.stubs.StubElement;
+import org.intellij.sdk.language.psi.BioSyntaxDeclaration;
+import org.jetbrains.annotations.Nullable;
+
+public interface BioSyntaxDeclarationStub extends StubElement<BioSyntaxDeclaration> {
+    String getName();
+
+    String getSequenceKind();
+
+    int getSequenceLength();
+
+    /**
+     * LSH band keys of the MinHash sketch of a nucleotide sequence, see
+     * {@link org.intellij.sdk.language.analysis.MinHashSketch#bandKeys}; null for amino acid sequences and sequences
+     * without a k-mer. The sketch itself is not stored, near-duplicate checks recompute it for the candidates only.
+     */
+    int @Nullable [] getBandKeys();
+}
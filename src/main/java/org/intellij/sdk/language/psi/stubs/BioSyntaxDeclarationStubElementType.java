@@ -0,0 +1,83 @@
+package org.intellij.sdk.language.psi.stubs;
+
+import com.intellij.psi.stubs.*;
+import org.intellij.sdk.language.BioSyntaxLanguage;
+import org.intellij.sdk.language.analysis.MinHashSketch;
+import org.intellij.sdk.language.psi.BioSyntaxDeclaration;
+import org.intellij.sdk.language.psi.impl.BioSyntaxDeclarationImpl;
+import org.intellij.sdk.language.psi.impl.BioSyntaxPsiImplUtil;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+
+public class BioSyntaxDeclarationStubElementType extends IStubElementType<BioSyntaxDeclarationStub, BioSyntaxDeclaration> {
+
+    public BioSyntaxDeclarationStubElementType(@NotNull String debugName) {
+        super(debugName, BioSyntaxLanguage.INSTANCE);
+    }
+
+    @NotNull
+    @Override
+    public String getExternalId() {
+        return "BioSyntax." + super.toString();
+    }
+
+    @Override
+    public BioSyntaxDeclaration createPsi(@NotNull BioSyntaxDeclarationStub stub) {
+        return new BioSyntaxDeclarationImpl(stub, this);
+    }
+
+    @NotNull
+    @Override
+    public BioSyntaxDeclarationStub createStub(@NotNull BioSyntaxDeclaration psi, StubElement<?> parentStub) {
+        String kind = psi.getSequenceKind();
+        // Indexing must not depend on project state, so the sketch is taken from the literal itself
+        int[] sketch = "AASeq".equals(kind) ? null : BioSyntaxPsiImplUtil.computeSketch(psi);
+        return new BioSyntaxDeclarationStubImpl(parentStub, this,
+                psi.getName(), kind, psi.getSequenceLength(), sketch == null ? null : MinHashSketch.bandKeys(sketch));
+    }
+
+    @Override
+    public void serialize(@NotNull BioSyntaxDeclarationStub stub, @NotNull StubOutputStream dataStream) throws IOException {
+        dataStream.writeName(stub.getName());
+        dataStream.writeName(stub.getSequenceKind());
+        dataStream.writeVarInt(stub.getSequenceLength());
+        int[] bandKeys = stub.getBandKeys();
+        dataStream.writeBoolean(bandKeys != null);
+        if (bandKeys != null) {
+            for (int key : bandKeys) {
+                dataStream.writeInt(key);
+            }
+        }
+    }
+
+    @NotNull
+    @Override
+    public BioSyntaxDeclarationStub deserialize(@NotNull StubInputStream dataStream, StubElement parentStub) throws IOException {
+        String name = dataStream.readNameString();
+        String sequenceKind = dataStream.readNameString();
+        int sequenceLength = dataStream.readVarInt();
+        int[] bandKeys = null;
+        if (dataStream.readBoolean()) {
+            bandKeys = new int[MinHashSketch.BANDS];
+            for (int i = 0; i < bandKeys.length; i++) {
+                bandKeys[i] = dataStream.readInt();
+            }
+        }
+        return new BioSyntaxDeclarationStubImpl(parentStub, this, name, sequenceKind, sequenceLength, bandKeys);
+    }
+
+    @Override
+    public void indexStub(@NotNull BioSyntaxDeclarationStub stub, @NotNull IndexSink sink) {
+        String name = stub.getName();
+        if (name != null) {
+            sink.occurrence(BioSyntaxDeclarationNameIndex.KEY, name);
+        }
+        int[] bandKeys = stub.getBandKeys();
+        if (bandKeys != null) {
+            for (int key : bandKeys) {
+                sink.occurrence(BioSyntaxSketchBandIndex.KEY, key);
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package org.intellij.sdk.language.psi.stubs;
+
+import com.intellij.psi.stubs.IStubElementType;
+import com.intellij.psi.stubs.StubBase;
+import com.intellij.psi.stubs.StubElement;
+import org.intellij.sdk.language.psi.BioSyntaxDeclaration;
+import org.jetbrains.annotations.Nullable;
+
+public class BioSyntaxDeclarationStubImpl extends StubBase<BioSyntaxDeclaration> implements BioSyntaxDeclarationStub {
+    private final String name;
+    private final String sequenceKind;
+    private final int sequenceLength;
+    private final int[] bandKeys;
+
+    public BioSyntaxDeclarationStubImpl(StubElement<?> parent,
+                                        IStubElementType<?, ?> elementType,
+                                        String name,
+                                        String sequenceKind,
+                                        int sequenceLength,
+                                        int @Nullable [] bandKeys) {
+        super(parent, elementType);
+        this.name = name;
+        this.sequenceKind = sequenceKind;
+        this.sequenceLength = sequenceLength;
+        this.bandKeys = bandKeys;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getSequenceKind() {
+        return sequenceKind;
+    }
+
+    @Override
+    public int getSequenceLength() {
+        return sequenceLength;
+    }
+
+    @Override
+    public int @Nullable [] getBandKeys() {
+        return bandKeys;
+    }
+}
@@ -0,0 +1,26 @@
+package org.intellij.sdk.language.psi.stubs;
+
+import com.intellij.psi.stubs.PsiFileStub;
+import com.intellij.psi.tree.IStubFileElementType;
+import org.intellij.sdk.language.BioSyntaxLanguage;
+import org.intellij.sdk.language.psi.BioSyntaxFile;
+import org.jetbrains.annotations.NotNull;
+
+public class BioSyntaxFileElementType extends IStubFileElementType<PsiFileStub<BioSyntaxFile>> {
+    private static final int STUB_VERSION = 5;
+
+    public BioSyntaxFileElementType() {
+        super("BIOSYNTAX_FILE", BioSyntaxLanguage.INSTANCE);
+    }
+
+    @Override
+    public int getStubVersion() {
+        return STUB_VERSION;
+    }
+
+    @NotNull
+    @Override
+    public String getExternalId() {
+        return "BioSyntax.FILE";
+    }
+}
@@ -0,0 +1,10 @@
+package org.intellij.sdk.language.psi.stubs;
+
+import com.intellij.psi.stubs.StubElement;
+import org.intellij.sdk.language.psi.BioSyntaxGeneDefinition;
+
+public interface BioSyntaxGeneDefinitionStub extends StubElement<BioSyntaxGeneDefinition> {
+    String getName();
+
+    int getSequenceLength();
+}
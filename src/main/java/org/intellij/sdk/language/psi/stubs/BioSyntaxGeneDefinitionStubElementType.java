@@ -0,0 +1,55 @@
+package org.intellij.sdk.language.psi.stubs;
+
+import com.intellij.psi.stubs.*;
+import org.intellij.sdk.language.BioSyntaxLanguage;
+import org.intellij.sdk.language.psi.BioSyntaxGeneDefinition;
+import org.intellij.sdk.language.psi.impl.BioSyntaxGeneDefinitionImpl;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+
+public class BioSyntaxGeneDefinitionStubElementType extends IStubElementType<BioSyntaxGeneDefinitionStub, BioSyntaxGeneDefinition> {
+
+    public BioSyntaxGeneDefinitionStubElementType(@NotNull String debugName) {
+        super(debugName, BioSyntaxLanguage.INSTANCE);
+    }
+
+    @NotNull
+    @Override
+    public String getExternalId() {
+        return "BioSyntax." + super.toString();
+    }
+
+    @Override
+    public BioSyntaxGeneDefinition createPsi(@NotNull BioSyntaxGeneDefinitionStub stub) {
+        return new BioSyntaxGeneDefinitionImpl(stub, this);
+    }
+
+    @NotNull
+    @Override
+    public BioSyntaxGeneDefinitionStub createStub(@NotNull BioSyntaxGeneDefinition psi, StubElement<?> parentStub) {
+        return new BioSyntaxGeneDefinitionStubImpl(parentStub, this, psi.getName(), psi.getSequenceLength());
+    }
+
+    @Override
+    public void serialize(@NotNull BioSyntaxGeneDefinitionStub stub, @NotNull StubOutputStream dataStream) throws IOException {
+        dataStream.writeName(stub.getName());
+        dataStream.writeVarInt(stub.getSequenceLength());
+    }
+
+    @NotNull
+    @Override
+    public BioSyntaxGeneDefinitionStub deserialize(@NotNull StubInputStream dataStream, StubElement parentStub) throws IOException {
+        String name = dataStream.readNameString();
+        int sequenceLength = dataStream.readVarInt();
+        return new BioSyntaxGeneDefinitionStubImpl(parentStub, this, name, sequenceLength);
+    }
+
+    @Override
+    public void indexStub(@NotNull BioSyntaxGeneDefinitionStub stub, @NotNull IndexSink sink) {
+        String name = stub.getName();
+        if (name != null) {
+            sink.occurrence(BioSyntaxGeneNameIndex.KEY, name);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package org.intellij.sdk.language.psi.stubs;
+
+import com.intellij.psi.stubs.IStubElementType;
+import com.intellij.psi.stubs.StubBase;
+import com.intellij.psi.stubs.StubElement;
+import org.intellij.sdk.language.psi.BioSyntaxGeneDefinition;
+
+public class BioSyntaxGeneDefinitionStubImpl extends StubBase<BioSyntaxGeneDefinition> implements BioSyntaxGeneDefinitionStub {
+    private final String name;
+    private final int sequenceLength;
+
+    public BioSyntaxGeneDefinitionStubImpl(StubElement<?> parent,
+                                           IStubElementType<?, ?> elementType,
+                                           String name,
+                                           int sequenceLength) {
+        super(parent, elementType);
+        this.name = name;
+        this.sequenceLength = sequenceLength;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public int getSequenceLength() {
+        return sequenceLength;
+    }
+}
@@ -0,0 +1,17 @@
+package org.intellij.sdk.language.psi.stubs;
+
+import com.intellij.psi.stubs.StringStubIndexExtension;
+import com.intellij.psi.stubs.StubIndexKey;
+import org.intellij.sdk.language.psi.BioSyntaxGeneDefinition;
+import org.jetbrains.annotations.NotNull;
+
+public class BioSyntaxGeneNameIndex extends StringStubIndexExtension<BioSyntaxGeneDefinition> {
+    public static final StubIndexKey<String, BioSyntaxGeneDefinition> KEY =
+            StubIndexKey.createIndexKey("biosyntax.gene.name");
+
+    @NotNull
+    @Override
+    public StubIndexKey<String, BioSyntaxGeneDefinition> getKey() {
+        return KEY;
+    }
+}
@@ -0,0 +1,21 @@
+package org.intellij.sdk.language.psi.stubs;
+
+import com.intellij.psi.stubs.IntStubIndexExtension;
+import com.intellij.psi.stubs.StubIndexKey;
+import org.intellij.sdk.language.psi.BioSyntaxDeclaration;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Maps the LSH band keys of declaration sketches to the declarations, so that declarations sharing a band, the
+ * candidates for near-duplicates, are found with one lookup per band.
+ */
+public class BioSyntaxSketchBandIndex extends IntStubIndexExtension<BioSyntaxDeclaration> {
+    public static final StubIndexKey<Integer, BioSyntaxDeclaration> KEY =
+            StubIndexKey.createIndexKey("biosyntax.declaration.sketch.band");
+
+    @NotNull
+    @Override
+    public StubIndexKey<Integer, BioSyntaxDeclaration> getKey() {
+        return KEY;
+    }
+}
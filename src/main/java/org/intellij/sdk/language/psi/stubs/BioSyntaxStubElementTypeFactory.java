@@ -0,0 +1,14 @@
+package org.intellij.sdk.language.psi.stubs;
+
+import com.intellij.psi.tree.IElementType;
+import org.jetbrains.annotations.NotNull;
+
+public class BioSyntaxStubElementTypeFactory {
+    public static IElementType factory(@NotNull String name) {
+        return switch (name) {
+            case "DECLARATION" -> new BioSyntaxDeclarationStubElementType(name);
+            case "GENE_DEFINITION" -> new BioSyntaxGeneDefinitionStubElementType(name);
+            default -> throw new IllegalArgumentException("Unknown stub element type: " + name);
+        };
+    }
+}
@@ -0,0 +1,64 @@
+package org.intellij.sdk.language;
+
+import com.intellij.lang.annotation.HighlightSeverity;
+import com.intellij.openapi.util.registry.Registry;
+import com.intellij.testFramework.fixtures.BasePlatformTestCase;
+
+import java.util.List;
+
+/**
+ * Error ranges of the annotator: each invalid run on its own, empty literals, and the cap on reported runs. Only the
+ * annotator's errors are compared, since the parser also reports a literal without letters.
+ */
+public class BioSyntaxAnnotatorTest extends BasePlatformTestCase {
+
+    public void testEachInvalidRunIsItsOwnError() {
+        myFixture.configureByText("Test.bsyn", "DNASeq seq = \"ACxyGT\n    zzACGU\"\n");
+        assertSameElements(annotatorErrors(),
+                "xy: Invalid DNA nucleotide 'xy'",
+                "zz: Invalid DNA nucleotide 'zz'",
+                "U: Invalid DNA nucleotide 'U'");
+    }
+
+    public void testLayoutSplitsInvalidRuns() {
+        myFixture.configureByText("Test.bsyn", "RNASeq seq = \"ACGUTT  TACGU\"\n");
+        assertSameElements(annotatorErrors(),
+                "TT: Invalid RNA nucleotide 'TT'",
+                "T: Invalid RNA nucleotide 'T'");
+    }
+
+    public void testEmptyLiterals() {
+        myFixture.configureByText("Test.bsyn", "DNASeq empty = \"\"\nAASeq blank = \"  \n  \"\n");
+        assertSameElements(annotatorErrors(),
+                "\"\": Empty sequence",
+                "  \n  : Empty sequence");
+    }
+
+    public void testRunsBeyondTheLimitAreSummarized() {
+        Registry.get("biosyntax.annotator.max.invalid.runs").setValue(2, getTestRootDisposable());
+        myFixture.configureByText("Test.bsyn", "AASeq protein = \"MbKoVzLj\"\n");
+        assertSameElements(annotatorErrors(),
+                "b: Invalid amino acid 'b'",
+                "o: Invalid amino acid 'o'",
+                "AASeq: 2 more invalid ranges not shown");
+    }
+
+    public void testValidSequenceHasNoErrors() {
+        myFixture.configureByText("Test.bsyn", "NtSeq seq = \"ACGTU\n    ACGU\"\n");
+        assertEmpty(annotatorErrors());
+    }
+
+    // Each error as "<highlighted text>: <description>"
+    private List<String> annotatorErrors() {
+        String text = myFixture.getFile().getText();
+        return myFixture.doHighlighting(HighlightSeverity.ERROR).stream()
+                .filter(info -> isAnnotatorError(info.getDescription()))
+                .map(info -> text.substring(info.getStartOffset(), info.getEndOffset()) + ": " + info.getDescription())
+                .toList();
+    }
+
+    private static boolean isAnnotatorError(String description) {
+        return description != null && (description.startsWith("Invalid ") || description.equals("Empty sequence")
+                || description.endsWith(" more invalid ranges not shown"));
+    }
+}
@@ -0,0 +1,99 @@
+package org.intellij.sdk.language;
+
+import org.intellij.sdk.language.analysis.GeneticCode;
+import org.intellij.sdk.language.analysis.PackedSequence;
+import org.intellij.sdk.language.analysis.SequenceAnalysis;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.zip.CRC32;
+
+import static org.junit.Assert.*;
+
+public class BioSyntaxBatchAnalyzerTest {
+    private static final String DNA = "ATGGCCAAATTTGGGCCCTAAGGATCCATGCATTGA";
+
+    @Test
+    public void argumentsFollowTheUsage() {
+        BioSyntaxBatchAnalyzer.Options options = BioSyntaxBatchAnalyzer.parseArguments(
+                new String[]{"dir", "--output", "out.jsonl", "--threads", "3", "--fail-on-invalid"});
+        assertEquals(new BioSyntaxBatchAnalyzer.Options(Paths.get("dir"), Paths.get("out.jsonl"), 3, true), options);
+
+        options = BioSyntaxBatchAnalyzer.parseArguments(new String[]{"dir"});
+        assertNotNull(options);
+        assertNull(options.output());
+        assertFalse(options.failOnInvalid());
+        assertTrue(options.threads() >= 1);
+    }
+
+    @Test
+    public void malformedArgumentsAreRejected() {
+        String[][] malformed = {
+                {},
+                {"dir", "--output"},
+                {"dir", "--output", "--fail-on-invalid"},
+                {"dir", "--threads"},
+                {"dir", "--threads", "many"},
+                {"dir", "--threads", "0"},
+                {"dir", "other"},
+                {"dir", "--unknown"},
+        };
+        for (String[] args : malformed) {
+            assertNull(String.join(" ", args), BioSyntaxBatchAnalyzer.parseArguments(args));
+        }
+    }
+
+    @Test
+    public void validNucleotideDeclarationGetsStatistics() {
+        String line = analyze("DNASeq gene = \"" + DNA.substring(0, 18) + "\n    " + DNA.substring(18) + "\"\n");
+        SequenceAnalysis analysis = new SequenceAnalysis(PackedSequence.pack(DNA), false, GeneticCode.STANDARD);
+        assertTrue(line, line.startsWith("{\"file\":\"a.bsyn\",\"line\":1,\"kind\":\"DNASeq\",\"name\":\"gene\",\"valid\":true"));
+        assertTrue(line, line.contains("\"length\":" + DNA.length() + ",\"sequenceCrc32\":\"" + crc32(DNA) + "\""));
+        assertTrue(line, line.contains("\"startCodons\":" + analysis.getStartCodonCount()
+                + ",\"stopCodons\":" + analysis.getStopCodonCount() + ",\"geneticCode\":1"));
+        // Forward frames, then the reverse strand
+        assertTrue(line, line.contains("\"translationCrc32\":[\""
+                + crc32(analysis.getTranslation(0, false)) + "\",\"" + crc32(analysis.getTranslation(1, false)) + "\",\""
+                + crc32(analysis.getTranslation(2, false)) + "\",\"" + crc32(analysis.getTranslation(0, true)) + "\",\""
+                + crc32(analysis.getTranslation(1, true)) + "\",\"" + crc32(analysis.getTranslation(2, true)) + "\"]"));
+    }
+
+    @Test
+    public void validProteinGetsBackTranslation() {
+        String line = analyze("// transl_table=2\nAASeq protein = \"MKVW\"\n");
+        GeneticCode mitochondrial = GeneticCode.forId(2);
+        assertTrue(line, line.contains("\"kind\":\"AASeq\",\"name\":\"protein\",\"valid\":true"));
+        assertTrue(line, line.endsWith(",\"geneticCode\":2,\"backTranslationCrc32\":\""
+                + crc32(mitochondrial.reverseTranslate("MKVW")) + "\"}\n"));
+    }
+
+    @Test
+    public void invalidAndMalformedDeclarationsAreReported() {
+        String lines = analyze("""
+                DNASeq lower = "ACgT"
+                RNASeq empty = ""
+                NtSeq open = "ACGU
+                AASeq = "MK"
+                """);
+        String[] split = lines.split("\n");
+        assertEquals(4, split.length);
+        assertTrue(split[0], split[0].contains("\"valid\":false,\"wellFormed\":true,\"invalidRuns\":1,\"length\":4"));
+        assertFalse(split[0], split[0].contains("gcContent"));
+        assertTrue(split[1], split[1].contains("\"name\":\"empty\",\"valid\":false,\"wellFormed\":true,\"invalidRuns\":0"));
+        assertTrue(split[2], split[2].contains("\"line\":3,\"kind\":\"NtSeq\",\"name\":\"open\",\"valid\":false,\"wellFormed\":false"));
+        assertTrue(split[3], split[3].contains("\"name\":null,\"valid\":false,\"wellFormed\":false"));
+    }
+
+    private static String analyze(String text) {
+        Path root = Paths.get("root");
+        return new BioSyntaxBatchAnalyzer(root).analyzeText("a.bsyn", text);
+    }
+
+    private static String crc32(String sequence) {
+        CRC32 crc = new CRC32();
+        crc.update(sequence.getBytes(StandardCharsets.US_ASCII));
+        return String.format("%08x", crc.getValue());
+    }
+}
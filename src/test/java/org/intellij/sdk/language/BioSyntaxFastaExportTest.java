@@ -0,0 +1,48 @@
+package org.intellij.sdk.language;
+
+import com.intellij.psi.PsiFile;
+import com.intellij.testFramework.fixtures.BasePlatformTestCase;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Export of declarations and genes from PSI: the letters between the quotes, wrapped literals joined, genes assembled
+ * in promoter-to-terminator order.
+ */
+public class BioSyntaxFastaExportTest extends BasePlatformTestCase {
+
+    public void testDeclarationsAndGenes() throws IOException {
+        PsiFile file = myFixture.configureByText("export.bsyn", """
+                DNASeq wrapped = "
+                    ACGTACGTAC
+                    GTACGTACGT
+                    ACGTACGTACGTACGTACGTACGTACGTACGTACGTACGTACGTACGT"
+                AASeq protein = "MKVL"
+                Gene assembled {
+                    Stop_Codon = "TAA"
+                    Coding_Sequence = "GCC"
+                    Promoter = "TATAAA"
+                    Start_Codon = "ATG"
+                }
+                """);
+        Path output = Files.createTempFile("export", ".fasta");
+        try {
+            long letters = BioSyntaxFastaExport.write(BioSyntaxFastaExport.collect(List.of(file)), output, null);
+            assertEquals(68 + 4 + 15, letters);
+            assertEquals("""
+                    >wrapped DNASeq export.bsyn
+                    ACGTACGTACGTACGTACGTACGTACGTACGTACGTACGTACGTACGTACGTACGTACGT
+                    ACGTACGT
+                    >protein AASeq export.bsyn
+                    MKVL
+                    >assembled Gene export.bsyn
+                    TATAAAATGGCCTAA
+                    """, Files.readString(output));
+        } finally {
+            Files.delete(output);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package org.intellij.sdk.language;
+
+import com.intellij.openapi.util.registry.Registry;
+import com.intellij.testFramework.fixtures.BasePlatformTestCase;
+
+/**
+ * Folding of long literals and gene bodies, with thresholds lowered so the test data stays small.
+ */
+public class BioSyntaxFoldingTest extends BasePlatformTestCase {
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        Registry.get("biosyntax.folding.min.length").setValue(12, getTestRootDisposable());
+    }
+
+    @Override
+    protected String getTestDataPath() {
+        return "src/test/testData/folding";
+    }
+
+    // Closed and unclosed literals and gene bodies fold from 12 letters; short ones do not
+    public void testSequences() {
+        myFixture.testFoldingWithCollapseStatus(getTestDataPath() + "/Sequences.bsyn");
+    }
+
+    // Files at or above the collapse size open with their regions folded
+    public void testCollapsedInLargeFile() {
+        Registry.get("biosyntax.folding.collapse.file.size").setValue(100, getTestRootDisposable());
+        myFixture.testFoldingWithCollapseStatus(getTestDataPath() + "/Collapsed.bsyn");
+    }
+}
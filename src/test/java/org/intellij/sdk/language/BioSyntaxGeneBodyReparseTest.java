@@ -0,0 +1,68 @@
+package org.intellij.sdk.language;
+
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.testFramework.PsiTestUtil;
+import com.intellij.testFramework.fixtures.BasePlatformTestCase;
+import org.intellij.sdk.language.psi.BioSyntaxGeneBody;
+import org.intellij.sdk.language.psi.BioSyntaxGeneDefinition;
+import org.intellij.sdk.language.psi.BioSyntaxGeneProperty;
+
+import java.util.List;
+
+/**
+ * An edit inside one gene body is reparsed within that body: the other genes keep their PSI.
+ */
+public class BioSyntaxGeneBodyReparseTest extends BasePlatformTestCase {
+    private static final String GENES = """
+            Gene first {
+                Promoter = "TATAAA"
+                Coding_Sequence = "ATGGCTTAA"
+            }
+            Gene second {
+                Coding_Sequence = "ATG<caret>GCCTAA"
+            }
+            Gene third {
+                Stop_Codon;
+            }
+            """;
+
+    public void testEditInsideGeneBodyKeepsSiblingGenes() {
+        PsiFile file = myFixture.configureByText("genes.bsyn", GENES);
+        List<BioSyntaxGeneDefinition> genes = PsiTreeUtil.getChildrenOfTypeAsList(file, BioSyntaxGeneDefinition.class);
+        assertEquals(3, genes.size());
+        BioSyntaxGeneBody firstBody = genes.get(0).getGeneBody();
+        BioSyntaxGeneBody thirdBody = genes.get(2).getGeneBody();
+        List<BioSyntaxGeneProperty> firstProperties = firstBody.getGenePropertyList();
+
+        myFixture.type("C");
+        PsiDocumentManager.getInstance(getProject()).commitAllDocuments();
+
+        List<BioSyntaxGeneDefinition> reparsed = PsiTreeUtil.getChildrenOfTypeAsList(file, BioSyntaxGeneDefinition.class);
+        assertEquals(genes, reparsed);
+        assertSame(firstBody, reparsed.get(0).getGeneBody());
+        assertSame(thirdBody, reparsed.get(2).getGeneBody());
+        assertEquals(firstProperties, firstBody.getGenePropertyList());
+        for (BioSyntaxGeneProperty property : firstProperties) {
+            assertTrue(property.isValid());
+        }
+        BioSyntaxGeneBody secondBody = reparsed.get(1).getGeneBody();
+        assertNotNull(secondBody);
+        assertEquals("Coding_Sequence = \"ATGCGCCTAA\"", secondBody.getGenePropertyList().get(0).getText());
+        // The incrementally reparsed tree matches a full parse of the new text
+        PsiTestUtil.checkFileStructure(file);
+    }
+
+    public void testUnbalancedEditFallsBackToFullReparse() {
+        PsiFile file = myFixture.configureByText("genes.bsyn", GENES);
+        // A brace typed into a body cannot be reparsed within it; the file is reparsed and stays consistent
+        myFixture.type("}");
+        PsiDocumentManager.getInstance(getProject()).commitAllDocuments();
+        PsiTestUtil.checkFileStructure(file);
+        assertEquals(List.of("first", "second", "third"),
+                PsiTreeUtil.getChildrenOfTypeAsList(file, BioSyntaxGeneDefinition.class).stream()
+                        .map(BioSyntaxGeneDefinition::getName)
+                        .toList());
+    }
+}
@@ -0,0 +1,59 @@
+package org.intellij.sdk.language;
+
+import com.intellij.util.io.DataExternalizer;
+import org.junit.Test;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class BioSyntaxKmerIndexTest {
+    private static final DataExternalizer<int[]> EXTERNALIZER = new BioSyntaxKmerIndex().getValueExternalizer();
+
+    @Test
+    public void postingsRoundTrip() throws IOException {
+        int[][] values = {
+                {},
+                {17, 0},
+                {17, 3, 17, 250, 17, 100000, 9000, 1, 9000, 2, 250000, 42},
+        };
+        for (int[] value : values) {
+            assertArrayEquals(value, EXTERNALIZER.read(new DataInputStream(new ByteArrayInputStream(save(value)))));
+        }
+    }
+
+    @Test
+    public void sequenceStartIsDeltaEncodedAndPositionIsNot() throws IOException {
+        // Repeating a large start costs a zero delta; the positions are written as they are
+        int sameStart = save(new int[]{1_000_000, 5, 1_000_000, 6, 1_000_000, 7}).length;
+        int newStarts = save(new int[]{1_000_000, 5, 2_000_000, 6, 3_000_000, 7}).length;
+        assertTrue(sameStart < newStarts);
+        assertEquals(save(new int[]{1_000_000, 5, 1_000_000, 6}).length + 2, sameStart);
+        assertTrue(save(new int[]{10, 1_000_000, 10, 1_000_000}).length > save(new int[]{10, 1, 10, 2}).length);
+    }
+
+    @Test
+    public void unclosedLiteralEndsBeforeNextDeclaration() {
+        String text = """
+                DNASeq open = "ACGT
+                    ACGT
+                DNASeq closed = "GGCC"
+                AASeq protein = "MKV"
+                RNASeq last = "ACGU"
+                """;
+        List<String> literals = new ArrayList<>();
+        BioSyntaxUtil.forEachNucleotideSequence(text, (name, start, end) ->
+                literals.add(name + "=" + text.substring(start, end)));
+        assertEquals(List.of("open=ACGT\n    ACGT", "closed=GGCC", "last=ACGU"), literals);
+    }
+
+    private static byte[] save(int[] value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            EXTERNALIZER.save(out, value);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,163 @@
+package org.intellij.sdk.language;
+
+import com.intellij.lexer.Lexer;
+import com.intellij.psi.TokenType;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.testFramework.LexerTestCase;
+import org.intellij.sdk.language.analysis.SequenceChunker;
+import org.intellij.sdk.language.psi.BioSyntaxTypes;
+
+import java.util.*;
+
+/**
+ * The lexer restarts from any token: lexing from a token's start offset in the state reported there reproduces the
+ * rest of the stream, which is what lets highlighting resume next to an edit instead of at the top of the file.
+ */
+public class BioSyntaxLexerTest extends LexerTestCase {
+    private static final String DECLARATIONS = """
+            // transl_table=11
+            NtSeq nt = "ACGTN"
+            RNASeq rna = "ACGU
+                ACGU"
+            DNASeq dna = "ACGT ACGT"
+            AASeq protein = "MKVLA*"
+            """;
+    private static final String GENES = """
+            Gene first {
+                Promoter = "TATAAA"
+                Start_Codon;
+                Coding_Sequence = "ATGGCTTAA"
+                Stop_Codon;
+                Terminator = ""
+            }
+            Gene second {
+                Coding_Sequence = "ATGTAA"
+            }
+            """;
+    private static final String MALFORMED = """
+            DNASeq open = "ACGT
+            DNASeq lower = "ACgT"
+            Gene unclosed {
+                Promoter = "TATA"
+            AASeq after = "MK"
+            """;
+
+    @Override
+    protected Lexer createLexer() {
+        return new BioSyntaxLexerAdapter();
+    }
+
+    @Override
+    protected String getDirPath() {
+        return "src/test/testData/lexer";
+    }
+
+    public void testRestartInDeclarations() {
+        assertRestartable(DECLARATIONS);
+    }
+
+    public void testRestartInGenes() {
+        assertRestartable(GENES);
+    }
+
+    public void testRestartInMalformedItems() {
+        assertRestartable(MALFORMED);
+    }
+
+    public void testSequenceKindSurvivesRestart() {
+        // Each literal is restarted right after its opening quote, where only the state knows the alphabet
+        List<Token> tokens = lex(DECLARATIONS, 0, BioSyntaxLexer.YYINITIAL);
+        List<IElementType> letters = new ArrayList<>();
+        boolean opening = true;
+        for (int i = 0; i + 1 < tokens.size(); i++) {
+            if (tokens.get(i).type() == BioSyntaxTypes.QUOTE) {
+                if (opening) {
+                    Token next = tokens.get(i + 1);
+                    letters.add(lex(DECLARATIONS, next.start(), next.state()).get(0).type());
+                }
+                opening = !opening;
+            }
+        }
+        assertEquals(List.of(BioSyntaxTypes.NUCLEOTIDE, BioSyntaxTypes.RNA_NUCLEOTIDE, BioSyntaxTypes.DNA_NUCLEOTIDE,
+                BioSyntaxTypes.AMINO_ACID), letters);
+    }
+
+    public void testLowercaseBaseIsBadCharacter() {
+        List<IElementType> types = lex(MALFORMED, 0, BioSyntaxLexer.YYINITIAL).stream().map(Token::type).toList();
+        assertTrue(types.contains(TokenType.BAD_CHARACTER));
+    }
+
+    public void testEditInLongLiteralRelexesBoundedRegion() {
+        Random random = new Random(5);
+        StringBuilder letters = new StringBuilder();
+        for (int i = 0; i < 200_000; i++) {
+            letters.append("ACGT".charAt(random.nextInt(4)));
+        }
+        String before = "DNASeq first = \"" + letters + "\"\nDNASeq second = \"ACGT\"\n";
+        int edit = before.length() / 2;
+        String after = before.substring(0, edit) + "G" + before.substring(edit);
+
+        // Like the editor highlighter: restart at the token holding the edit, in the state recorded for it, and stop
+        // at the first token past the edit that starts where an old token started, shifted, in the same state
+        List<Token> oldTokens = lex(before, 0, BioSyntaxLexer.YYINITIAL);
+        Map<Integer, Token> oldByStart = new HashMap<>();
+        Token restart = oldTokens.get(0);
+        for (Token token : oldTokens) {
+            oldByStart.put(token.start(), token);
+            if (token.start() <= edit) {
+                restart = token;
+            }
+        }
+        Lexer lexer = createLexer();
+        lexer.start(after, restart.start(), after.length(), restart.state());
+        int resumed = -1;
+        for (; lexer.getTokenType() != null; lexer.advance()) {
+            Token old = oldByStart.get(lexer.getTokenStart() - 1);
+            if (lexer.getTokenStart() > edit + 1 && old != null && old.state() == lexer.getState()) {
+                resumed = lexer.getTokenStart();
+                break;
+            }
+        }
+        assertTrue("Relexing did not converge", resumed > 0);
+        assertTrue("Relexed " + (resumed - restart.start()) + " characters",
+                resumed - restart.start() <= 4 * SequenceChunker.MAX_CHUNK_SIZE);
+
+        // The old tokens kept past that point are exactly what lexing the edited text from scratch gives
+        List<Token> expected = new ArrayList<>();
+        for (Token token : lex(after, 0, BioSyntaxLexer.YYINITIAL)) {
+            if (token.start() >= resumed) {
+                expected.add(token);
+            }
+        }
+        List<Token> kept = new ArrayList<>();
+        for (Token token : oldTokens) {
+            if (token.start() >= resumed - 1) {
+                kept.add(new Token(token.type(), token.start() + 1, token.end() + 1, token.state()));
+            }
+        }
+        assertEquals(expected, kept);
+    }
+
+    private void assertRestartable(String text) {
+        List<Token> tokens = lex(text, 0, BioSyntaxLexer.YYINITIAL);
+        assertNotEmpty(tokens);
+        for (int i = 1; i < tokens.size(); i++) {
+            Token token = tokens.get(i);
+            assertEquals("Restart at " + token.start() + " in state " + token.state(),
+                    tokens.subList(i, tokens.size()), lex(text, token.start(), token.state()));
+        }
+    }
+
+    private List<Token> lex(String text, int start, int state) {
+        Lexer lexer = createLexer();
+        lexer.start(text, start, text.length(), state);
+        List<Token> tokens = new ArrayList<>();
+        for (IElementType type; (type = lexer.getTokenType()) != null; lexer.advance()) {
+            tokens.add(new Token(type, lexer.getTokenStart(), lexer.getTokenEnd(), lexer.getState()));
+        }
+        return tokens;
+    }
+
+    private record Token(IElementType type, int start, int end, int state) {
+    }
+}
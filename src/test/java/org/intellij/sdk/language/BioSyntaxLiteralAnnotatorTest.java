@@ -0,0 +1,30 @@
+package org.intellij.sdk.language;
+
+import com.intellij.lang.injection.InjectedLanguageManager;
+import com.intellij.psi.PsiElement;
+import com.intellij.testFramework.fixtures.BasePlatformTestCase;
+import org.intellij.sdk.language.literal.BioSyntaxLiteralFileType;
+
+/**
+ * Errors reported in injected sequence literals: invalid letters, and sequences with no letters at all.
+ */
+public class BioSyntaxLiteralAnnotatorTest extends BasePlatformTestCase {
+
+    @Override
+    protected String getTestDataPath() {
+        return "src/test/testData";
+    }
+
+    public void testInvalidAndEmptySequences() {
+        myFixture.configureByFile("LiteralAnnotatorTestData.java");
+        myFixture.checkHighlighting(false, false, false, true);
+    }
+
+    public void testInjectedLiteralHasItsOwnFileType() {
+        myFixture.configureByText("Test.java", "class Test { String s = \"NtSeq:AC<caret>GT\"; }");
+        PsiElement injected = InjectedLanguageManager.getInstance(getProject())
+                .findInjectedElementAt(myFixture.getFile(), myFixture.getCaretOffset());
+        assertNotNull(injected);
+        assertEquals(BioSyntaxLiteralFileType.INSTANCE, injected.getContainingFile().getFileType());
+    }
+}
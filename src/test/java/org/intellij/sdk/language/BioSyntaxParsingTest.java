@@ -0,0 +1,105 @@
+package org.intellij.sdk.language;
+
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiErrorElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.testFramework.ParsingTestCase;
+import org.intellij.sdk.language.psi.BioSyntaxDeclaration;
+import org.intellij.sdk.language.psi.BioSyntaxGeneBody;
+import org.intellij.sdk.language.psi.BioSyntaxGeneDefinition;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Error recovery of the parser: a malformed item is reported inside that item, and parsing resumes at the next
+ * declaration or gene.
+ */
+public class BioSyntaxParsingTest extends ParsingTestCase {
+    public BioSyntaxParsingTest() {
+        super("parser", "bsyn", new BioSyntaxParserDefinition());
+    }
+
+    @Override
+    protected String getTestDataPath() {
+        return "src/test/testData";
+    }
+
+    public void testMissingClosingQuote() throws IOException {
+        PsiFile file = parseTestFile();
+        assertEquals(List.of("first", "second"), declarationNames(file));
+        assertEquals(List.of("after"), geneNames(file));
+        assertEquals("GGCCTTAA", findDeclaration(file, "second").getSequenceText());
+        assertErrorsOnlyBetween(file, findDeclaration(file, "first"), findDeclaration(file, "second"));
+    }
+
+    public void testLowercaseBase() throws IOException {
+        PsiFile file = parseTestFile();
+        assertEquals(List.of("first", "second"), declarationNames(file));
+        // The invalid letter stays inside the literal, the annotator reports it
+        assertEmpty(PsiTreeUtil.findChildrenOfType(file, PsiErrorElement.class));
+        assertTrue(findDeclaration(file, "first").getText().endsWith("\"ACgTACGT\""));
+    }
+
+    public void testMissingClosingBrace() throws IOException {
+        PsiFile file = parseTestFile();
+        assertEquals(List.of("middle"), declarationNames(file));
+        assertEquals(List.of("first", "second"), geneNames(file));
+        BioSyntaxGeneDefinition first = findGene(file, "first");
+        BioSyntaxGeneBody body = first.getGeneBody();
+        assertNotNull(body);
+        assertEquals(2, body.getGenePropertyList().size());
+        BioSyntaxGeneBody secondBody = findGene(file, "second").getGeneBody();
+        assertNotNull(secondBody);
+        assertEquals(2, secondBody.getGenePropertyList().size());
+        assertErrorsOnlyBetween(file, first, findDeclaration(file, "middle"));
+    }
+
+    private PsiFile parseTestFile() throws IOException {
+        String name = getTestName(false);
+        PsiFile file = createPsiFile(name, loadFile(name + "." + myFileExt));
+        ensureParsed(file);
+        ensureCorrectReparse(file);
+        return file;
+    }
+
+    // Every error is reported from the malformed item up to the item where parsing resumed
+    private static void assertErrorsOnlyBetween(PsiFile file, PsiElement malformed, PsiElement next) {
+        Collection<PsiErrorElement> errors = PsiTreeUtil.findChildrenOfType(file, PsiErrorElement.class);
+        assertNotEmpty(errors);
+        for (PsiErrorElement error : errors) {
+            int offset = error.getTextRange().getStartOffset();
+            assertTrue("Error '" + error.getErrorDescription() + "' at " + offset + " outside of " + malformed.getText(),
+                    offset >= malformed.getTextRange().getStartOffset()
+                            && error.getTextRange().getEndOffset() <= next.getTextRange().getStartOffset());
+        }
+    }
+
+    private static List<String> declarationNames(PsiFile file) {
+        return PsiTreeUtil.getChildrenOfTypeAsList(file, BioSyntaxDeclaration.class).stream()
+                .map(BioSyntaxDeclaration::getName)
+                .toList();
+    }
+
+    private static List<String> geneNames(PsiFile file) {
+        return PsiTreeUtil.getChildrenOfTypeAsList(file, BioSyntaxGeneDefinition.class).stream()
+                .map(BioSyntaxGeneDefinition::getName)
+                .toList();
+    }
+
+    private static BioSyntaxDeclaration findDeclaration(PsiFile file, String name) {
+        return PsiTreeUtil.getChildrenOfTypeAsList(file, BioSyntaxDeclaration.class).stream()
+                .filter(declaration -> name.equals(declaration.getName()))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No declaration named " + name));
+    }
+
+    private static BioSyntaxGeneDefinition findGene(PsiFile file, String name) {
+        return PsiTreeUtil.getChildrenOfTypeAsList(file, BioSyntaxGeneDefinition.class).stream()
+                .filter(gene -> name.equals(gene.getName()))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No gene named " + name));
+    }
+}
@@ -0,0 +1,72 @@
+package org.intellij.sdk.language.analysis;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class CodonUsageTest {
+    private static final GeneticCode CODE = GeneticCode.STANDARD;
+
+    @Test
+    public void rscuOfUnusedFamilyIsNaN() {
+        // Lysine (AAA, AAG) three times as AAA, methionine once, no glycine at all
+        CodonUsage usage = usage("AAAAAAAAAATG");
+        double[] rscu = usage.getRscu(CODE);
+        assertEquals(2.0, rscu[codon("AAA")], 1e-12);
+        assertEquals(0.0, rscu[codon("AAG")], 1e-12);
+        assertEquals(1.0, rscu[codon("ATG")], 1e-12);
+        for (String glycine : new String[]{"GGT", "GGC", "GGA", "GGG"}) {
+            assertTrue(glycine, Double.isNaN(rscu[codon(glycine)]));
+        }
+        assertTrue(Double.isNaN(rscu[codon("TAA")]));
+    }
+
+    @Test
+    public void rscuOfUsedFamilySumsToItsSize() {
+        CodonUsage usage = usage("GGTGGTGGCGGAGGG" + "CTGCTGTTA");
+        double[] rscu = usage.getRscu(CODE);
+        double glycine = 0;
+        for (int glycineCodon : CODE.codonsFor('G')) {
+            glycine += rscu[glycineCodon];
+        }
+        assertEquals(4.0, glycine, 1e-12);
+        assertEquals(2 * 6 / 3.0, rscu[codon("CTG")], 1e-12);
+    }
+
+    @Test
+    public void caiIsTheGeometricMeanOfTheWeights() {
+        // Reference: glycine GGT 4x, GGC 1x, GGA/GGG unused; methionine has a single codon and no weight
+        double[] weights = usage("GGTGGTGGTGGTGGCATG").getRelativeAdaptiveness(CODE);
+        assertEquals(1.0, weights[codon("GGT")], 1e-12);
+        assertEquals(0.25, weights[codon("GGC")], 1e-12);
+        assertEquals(0.125, weights[codon("GGA")], 1e-12);
+        assertTrue(Double.isNaN(weights[codon("ATG")]));
+
+        // (1 * 0.25 * 0.125)^(1/3); the methionine codon is left out
+        double cai = usage("GGTGGCGGAATG").getCai(weights);
+        assertEquals(Math.pow(1 * 0.25 * 0.125, 1.0 / 3), cai, 1e-12);
+        // Counts weigh the mean: GGC twice
+        assertEquals(Math.pow(1 * 0.25 * 0.25, 1.0 / 3), usage("GGTGGCGGC").getCai(weights), 1e-12);
+        assertTrue(Double.isNaN(usage("ATGATG").getCai(weights)));
+    }
+
+    @Test
+    public void layoutIsSkippedAndInvalidCodonsKeepTheFrame() {
+        CodonUsage usage = new CodonUsage();
+        // AAA, then GNT is left out, then GGC
+        usage.addSequence("AA\n  AGNTGGC", 0, 12);
+        assertEquals(2, usage.getTotal());
+        assertEquals(1, usage.getCount(codon("AAA")));
+        assertEquals(1, usage.getCount(codon("GGC")));
+    }
+
+    private static CodonUsage usage(String sequence) {
+        CodonUsage usage = new CodonUsage();
+        usage.addSequence(sequence, 0, sequence.length());
+        return usage;
+    }
+
+    private static int codon(String codon) {
+        return GeneticCode.codonIndex(codon.charAt(0), codon.charAt(1), codon.charAt(2));
+    }
+}
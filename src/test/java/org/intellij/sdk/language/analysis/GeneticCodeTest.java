@@ -0,0 +1,93 @@
+package org.intellij.sdk.language.analysis;
+
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class GeneticCodeTest {
+    @Test
+    public void standardCodeTranslatesCodons() {
+        assertEquals('M', GeneticCode.STANDARD.translateCodon(GeneticCode.codonIndex('A', 'T', 'G')));
+        assertEquals('W', GeneticCode.STANDARD.translateCodon(GeneticCode.codonIndex('T', 'G', 'G')));
+        assertEquals('F', GeneticCode.STANDARD.translateCodon(GeneticCode.codonIndex('U', 'U', 'U')));
+        assertEquals(GeneticCode.UNKNOWN, GeneticCode.STANDARD.translateCodon(GeneticCode.codonIndex('A', 'N', 'G')));
+        assertEquals("MAK*", GeneticCode.STANDARD.translateFrame("ATGGCCAAATAA", 0));
+        assertEquals("WPN", GeneticCode.STANDARD.translateFrame("ATGGCCAAATAA", 1));
+    }
+
+    @Test
+    public void standardCodeHasThreeStops() {
+        int stops = 0;
+        for (int codon = 0; codon < 64; codon++) {
+            if (GeneticCode.STANDARD.isStopCodon(codon)) {
+                stops++;
+            }
+        }
+        assertEquals(3, stops);
+        assertTrue(GeneticCode.STANDARD.isStopCodon(GeneticCode.codonIndex('T', 'G', 'A')));
+        assertFalse(GeneticCode.STANDARD.isStopCodon(-1));
+    }
+
+    @Test
+    public void alternativeCodesReassignCodons() {
+        GeneticCode mitochondrial = GeneticCode.forId(2);
+        assertNotNull(mitochondrial);
+        assertEquals('W', mitochondrial.translateCodon(GeneticCode.codonIndex('T', 'G', 'A')));
+        assertEquals('M', mitochondrial.translateCodon(GeneticCode.codonIndex('A', 'T', 'A')));
+        assertTrue(mitochondrial.isStopCodon(GeneticCode.codonIndex('A', 'G', 'A')));
+        // Ciliates read TAA and TAG as glutamine
+        assertEquals("QQ*", GeneticCode.forId(6).translateFrame("TAATAGTGA", 0));
+    }
+
+    @Test
+    public void everyCodeCoversAllCodons() {
+        for (Map.Entry<Integer, GeneticCode> entry : GeneticCode.all().entrySet()) {
+            GeneticCode code = entry.getValue();
+            assertEquals(entry.getKey().intValue(), code.getId());
+            int total = 0;
+            for (char residue : "ACDEFGHIKLMNPQRSTVWY*".toCharArray()) {
+                for (int codon : code.codonsFor(residue)) {
+                    assertEquals(code + " " + GeneticCode.codonString(codon), residue, code.translateCodon(codon));
+                    total++;
+                }
+            }
+            assertEquals(code.toString(), 64, total);
+        }
+    }
+
+    @Test
+    public void codonStringRoundTrips() {
+        for (int codon = 0; codon < 64; codon++) {
+            String text = GeneticCode.codonString(codon);
+            assertEquals(codon, GeneticCode.codonIndex(text.charAt(0), text.charAt(1), text.charAt(2)));
+        }
+    }
+
+    @Test
+    public void reverseTranslationTranslatesBack() {
+        String protein = "MKWLDST*";
+        for (GeneticCode code : GeneticCode.all().values()) {
+            assertEquals(code.toString(), protein, code.translateFrame(code.reverseTranslate(protein), 0));
+        }
+        assertThrows(IllegalArgumentException.class, () -> GeneticCode.STANDARD.reverseTranslate("MJ"));
+    }
+
+    @Test
+    public void translatesPackedSequencesLikeText() {
+        String dna = "ATGGCCAAATAAGGGTTTCCCAGA";
+        PackedSequence packed = PackedSequence.pack(dna);
+        for (int frame = 0; frame < 3; frame++) {
+            assertEquals(GeneticCode.STANDARD.translateFrame(dna, frame), GeneticCode.STANDARD.translateFrame(packed, frame));
+        }
+    }
+
+    @Test
+    public void readsTranslTableDirectives() {
+        assertSame(GeneticCode.forId(11), GeneticCode.fromDirective("// transl_table=11"));
+        assertSame(GeneticCode.forId(2), GeneticCode.fromDirective("/transl_table: 2"));
+        assertNull(GeneticCode.fromDirective("// transl_table=7"));
+        assertNull(GeneticCode.fromDirective("// no directive"));
+    }
+}
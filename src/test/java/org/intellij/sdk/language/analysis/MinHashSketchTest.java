@@ -0,0 +1,118 @@
+package org.intellij.sdk.language.analysis;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class MinHashSketchTest {
+    @Test
+    public void sequenceWithoutKmerHasNoSketch() {
+        assertNull(MinHashSketch.sketch("ACGTACGTACGTACG"));
+        assertNull(MinHashSketch.sketch("ACGTACGTNACGTACGTA"));
+        assertNotNull(MinHashSketch.sketch("ACGTACGTACGTACGT"));
+    }
+
+    @Test
+    public void everyBinIsFilled() {
+        int[] sketch = MinHashSketch.sketch("ACGTTGCAACGTAGGCTAC");
+        assertNotNull(sketch);
+        assertEquals(MinHashSketch.SIZE, sketch.length);
+        for (int bin : sketch) {
+            assertNotEquals(-1, bin);
+        }
+    }
+
+    @Test
+    public void sketchIgnoresStrandAndLayout() {
+        String sequence = randomSequence(new Random(1), 500);
+        int[] sketch = MinHashSketch.sketch(sequence);
+        assertArrayEquals(sketch, MinHashSketch.sketch(OrfFinder.reverseComplement(sequence)));
+        assertArrayEquals(sketch, MinHashSketch.sketch(sequence.substring(0, 200) + "\n    " + sequence.substring(200)));
+        assertArrayEquals(sketch, MinHashSketch.sketch("NN" + sequence + "NN", 2, sequence.length() + 2));
+        assertEquals(1, MinHashSketch.similarity(sketch, sketch), 0);
+        for (int band = 0; band < MinHashSketch.BANDS; band++) {
+            assertEquals(MinHashSketch.bandKey(sketch, band), MinHashSketch.bandKey(sketch.clone(), band));
+        }
+    }
+
+    @Test
+    public void unrelatedSequencesAreDissimilar() {
+        Random random = new Random(2);
+        int[] a = MinHashSketch.sketch(randomSequence(random, 5000));
+        int[] b = MinHashSketch.sketch(randomSequence(random, 5000));
+        assertTrue(MinHashSketch.similarity(a, b) < 0.05);
+    }
+
+    @Test
+    public void similarityEstimatesJaccard() {
+        Random random = new Random(42);
+        double totalError = 0;
+        int rounds = 100;
+        for (int round = 0; round < rounds; round++) {
+            String first = randomSequence(random, 1000 + random.nextInt(4000));
+            String second = mutate(random, first, 0.002 + random.nextDouble() * 0.03);
+            double exact = jaccard(first, second);
+            double estimate = MinHashSketch.similarity(MinHashSketch.sketch(first), MinHashSketch.sketch(second));
+            // Several standard deviations of a 128-bin estimate
+            assertEquals(first.length() + " letters", exact, estimate, 0.2);
+            totalError += Math.abs(estimate - exact);
+        }
+        assertTrue(totalError / rounds < 0.05);
+    }
+
+    @Test
+    public void nearDuplicatesShareABandKey() {
+        Random random = new Random(7);
+        for (int round = 0; round < 50; round++) {
+            String first = randomSequence(random, 3000);
+            int[] a = MinHashSketch.sketch(first);
+            int[] b = MinHashSketch.sketch(mutate(random, first, 0.001));
+            boolean shared = false;
+            for (int band = 0; band < MinHashSketch.BANDS && !shared; band++) {
+                shared = MinHashSketch.bandKey(a, band) == MinHashSketch.bandKey(b, band);
+            }
+            assertTrue(shared);
+        }
+    }
+
+    private static String randomSequence(Random random, int length) {
+        StringBuilder sequence = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sequence.append("ACGT".charAt(random.nextInt(4)));
+        }
+        return sequence.toString();
+    }
+
+    private static String mutate(Random random, String sequence, double rate) {
+        StringBuilder mutated = new StringBuilder(sequence);
+        for (int i = 0; i < mutated.length(); i++) {
+            if (random.nextDouble() < rate) {
+                mutated.setCharAt(i, "ACGT".charAt(random.nextInt(4)));
+            }
+        }
+        return mutated.toString();
+    }
+
+    private static double jaccard(String first, String second) {
+        Set<String> a = canonicalKmers(first);
+        Set<String> b = canonicalKmers(second);
+        Set<String> union = new HashSet<>(a);
+        union.addAll(b);
+        a.retainAll(b);
+        return (double) a.size() / union.size();
+    }
+
+    private static Set<String> canonicalKmers(String sequence) {
+        Set<String> kmers = new HashSet<>();
+        for (int i = 0; i + MinHashSketch.K <= sequence.length(); i++) {
+            String kmer = sequence.substring(i, i + MinHashSketch.K);
+            String reverse = OrfFinder.reverseComplement(kmer);
+            kmers.add(kmer.compareTo(reverse) <= 0 ? kmer : reverse);
+        }
+        return kmers;
+    }
+}
@@ -0,0 +1,137 @@
+package org.intellij.sdk.language.analysis;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class MinimizerSamplerTest {
+    private static final MinimizerSampler SAMPLER = new MinimizerSampler(8, 5);
+
+    @Test
+    public void matchesNaiveMinimizers() {
+        Random random = new Random(42);
+        for (int round = 0; round < 300; round++) {
+            String sequence = randomText(random, random.nextBoolean() ? "ACGT" : "ACGTTTTAN", random.nextInt(200));
+            assertEquals(sequence, naive(sequence, 8, 5), sample(SAMPLER, sequence, 0, sequence.length()));
+        }
+    }
+
+    @Test
+    public void positionsCountLettersOnly() {
+        Random random = new Random(1);
+        String sequence = randomText(random, "ACGT", 300);
+        StringBuilder wrapped = new StringBuilder("\"");
+        for (int i = 0; i < sequence.length(); i += 60) {
+            wrapped.append(sequence, i, Math.min(i + 60, sequence.length())).append("\n    ");
+        }
+        wrapped.append('"');
+        // Sampling the literal between its quotes gives the positions and hashes of its letters
+        assertEquals(sample(SAMPLER, sequence, 0, sequence.length()), sample(SAMPLER, wrapped, 1, wrapped.length() - 1));
+    }
+
+    @Test
+    public void kmersDoNotSpanInvalidLetters() {
+        String sequence = "ACGTACGTAC" + "N" + "GGTTCCAAGG" + "n" + "TTGGCCAATT";
+        List<Long> minimizers = sample(SAMPLER, sequence, 0, sequence.length());
+        assertFalse(minimizers.isEmpty());
+        for (long minimizer : minimizers) {
+            String kmer = sequence.substring(position(minimizer), position(minimizer) + 8);
+            assertTrue(kmer, kmer.chars().allMatch(ch -> "ACGT".indexOf(ch) >= 0));
+        }
+        // Each run of 10 letters is too short for a full window, but still reports its smallest k-mer
+        assertEquals(List.of(0, 1, 2), minimizers.stream().map(minimizer -> position(minimizer) / 11).distinct().toList());
+    }
+
+    @Test
+    public void uracilHashesLikeThymine() {
+        String dna = "ACGTTGCATTGACCGTAGT";
+        assertEquals(sample(SAMPLER, dna, 0, dna.length()), sample(SAMPLER, dna.replace('T', 'U'), 0, dna.length()));
+    }
+
+    @Test
+    public void sharedStretchSharesAMinimizer() {
+        Random random = new Random(7);
+        MinimizerSampler sampler = new MinimizerSampler(20, 10);
+        for (int round = 0; round < 100; round++) {
+            String shared = randomText(random, "ACGT", 29);
+            String a = randomText(random, "ACGT", 50) + shared + randomText(random, "ACGT", 50);
+            String b = randomText(random, "ACGT", 30) + shared + randomText(random, "ACGT", 70);
+            List<Integer> hashesA = sample(sampler, a, 0, a.length()).stream().map(MinimizerSamplerTest::hash).toList();
+            assertTrue(sample(sampler, b, 0, b.length()).stream().anyMatch(minimizer -> hashesA.contains(hash(minimizer))));
+        }
+    }
+
+    @Test
+    public void rejectsInvalidParameters() {
+        assertThrows(IllegalArgumentException.class, () -> new MinimizerSampler(0, 5));
+        assertThrows(IllegalArgumentException.class, () -> new MinimizerSampler(MinimizerSampler.MAX_K + 1, 5));
+        assertThrows(IllegalArgumentException.class, () -> new MinimizerSampler(8, 0));
+    }
+
+    // A minimizer as one long, position in the high half, so that lists of them compare by value
+    private static List<Long> sample(MinimizerSampler sampler, CharSequence sequence, int from, int to) {
+        List<Long> minimizers = new ArrayList<>();
+        sampler.sample(sequence, from, to, (hash, position) -> minimizers.add(minimizer(hash, position)));
+        return minimizers;
+    }
+
+    private static long minimizer(int hash, int position) {
+        return (long) position << 32 | (hash & 0xFFFFFFFFL);
+    }
+
+    private static int position(long minimizer) {
+        return (int) (minimizer >>> 32);
+    }
+
+    private static int hash(long minimizer) {
+        return (int) minimizer;
+    }
+
+    // The leftmost smallest k-mer of every window of consecutive valid k-mers, and of every run too short for a window
+    private static List<Long> naive(String sequence, int k, int window) {
+        List<Long> minimizers = new ArrayList<>();
+        int runStart = 0;
+        for (int i = 0; i <= sequence.length(); i++) {
+            if (i < sequence.length() && "ACGTU".indexOf(sequence.charAt(i)) >= 0) {
+                continue;
+            }
+            int kmers = i - runStart - k + 1;
+            for (int first = 0; kmers > 0 && first < Math.max(1, kmers - window + 1); first++) {
+                int bestHash = 0;
+                int bestPosition = -1;
+                for (int j = first; j < Math.min(kmers, first + window); j++) {
+                    int hash = MinimizerSampler.hash(pack(sequence, runStart + j, k));
+                    if (bestPosition < 0 || hash < bestHash) {
+                        bestHash = hash;
+                        bestPosition = runStart + j;
+                    }
+                }
+                if (minimizers.isEmpty() || position(minimizers.get(minimizers.size() - 1)) != bestPosition) {
+                    minimizers.add(minimizer(bestHash, bestPosition));
+                }
+            }
+            runStart = i + 1;
+        }
+        return minimizers;
+    }
+
+    private static long pack(String sequence, int start, int k) {
+        long kmer = 0;
+        for (int i = start; i < start + k; i++) {
+            kmer = kmer << 2 | PackedSequence.nucleotideCode(sequence.charAt(i));
+        }
+        return kmer;
+    }
+
+    private static String randomText(Random random, String alphabet, int length) {
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,159 @@
+package org.intellij.sdk.language.analysis;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class MotifMatcherTest {
+    private static final MotifMatcher.Motif ECO_RI = new MotifMatcher.Motif("EcoRI", "GAATTC");
+    private static final MotifMatcher.Motif TATA = new MotifMatcher.Motif("TATA box", "TATAWAWR");
+    private static final Comparator<MotifMatcher.Match> ORDER = Comparator.comparingInt(MotifMatcher.Match::end)
+            .thenComparingInt(MotifMatcher.Match::start)
+            .thenComparing(match -> match.motif().name())
+            .thenComparing(MotifMatcher.Match::reverse);
+
+    @Test
+    public void palindromicMotifMatchesOnce() {
+        List<MotifMatcher.Match> matches = scan(MotifMatcher.compile(List.of(ECO_RI), true), "CCGAATTCGG");
+        assertEquals(List.of(new MotifMatcher.Match(ECO_RI, 2, 8, false)), matches);
+    }
+
+    @Test
+    public void degenerateMotifMatchesOnBothStrands() {
+        // TATAAAAG on the forward strand, and its reverse complement CTTTTATA
+        String sequence = "GGTATAAAAGCCCTTTTATAGG";
+        List<MotifMatcher.Match> matches = scan(MotifMatcher.compile(List.of(TATA), true), sequence);
+        assertEquals(List.of(new MotifMatcher.Match(TATA, 2, 10, false), new MotifMatcher.Match(TATA, 12, 20, true)), matches);
+        assertEquals(1, scan(MotifMatcher.compile(List.of(TATA), false), sequence).size());
+    }
+
+    @Test
+    public void skipsLayoutButNotInvalidLetters() {
+        MotifMatcher matcher = MotifMatcher.compile(List.of(ECO_RI), false);
+        assertEquals(List.of(new MotifMatcher.Match(ECO_RI, 0, 9, false)), scan(matcher, "GAA\n  UUC"));
+        assertEquals(List.of(), scan(matcher, "GAANTTC"));
+    }
+
+    @Test
+    public void rejectsInvalidPatterns() {
+        assertEquals("GAATTC", MotifMatcher.normalize(" gaauuc "));
+        assertThrows(IllegalArgumentException.class, () -> MotifMatcher.normalize(""));
+        assertThrows(IllegalArgumentException.class, () -> MotifMatcher.normalize("GAXTTC"));
+        assertEquals("AYNGA", MotifMatcher.reverseComplement("TCNRT"));
+    }
+
+    @Test
+    public void consumerCanStopTheScan() {
+        List<MotifMatcher.Match> seen = new ArrayList<>();
+        boolean completed = MotifMatcher.compile(List.of(ECO_RI), true).scan("GAATTCGAATTC", 0, 12, match -> {
+            seen.add(match);
+            return false;
+        });
+        assertFalse(completed);
+        assertEquals(1, seen.size());
+    }
+
+    @Test
+    public void matchesPositionByPositionSearch() {
+        Random random = new Random(7);
+        for (int round = 0; round < 100; round++) {
+            // Enough motifs that the automaton spans several 64-bit words
+            List<MotifMatcher.Motif> motifs = new ArrayList<>();
+            for (int m = 0, count = 1 + random.nextInt(40); m < count; m++) {
+                motifs.add(new MotifMatcher.Motif("m" + m, randomPattern(random, 1 + random.nextInt(8))));
+            }
+            boolean bothStrands = random.nextBoolean();
+            MotifMatcher matcher = MotifMatcher.compile(motifs, bothStrands);
+            String sequence = randomSequence(random, 200 + random.nextInt(800));
+
+            List<MotifMatcher.Match> expected = naive(motifs, bothStrands, sequence);
+            List<MotifMatcher.Match> actual = scan(matcher, sequence);
+            expected.sort(ORDER);
+            actual.sort(ORDER);
+            assertEquals(expected, actual);
+        }
+    }
+
+    private static List<MotifMatcher.Match> scan(MotifMatcher matcher, String sequence) {
+        List<MotifMatcher.Match> matches = new ArrayList<>();
+        matcher.scan(sequence, 0, sequence.length(), matches::add);
+        return matches;
+    }
+
+    private static String randomPattern(Random random, int length) {
+        StringBuilder pattern = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            // Mostly plain bases so that motifs match often enough to be interesting
+            pattern.append(random.nextInt(4) > 0 ? "ACGT".charAt(random.nextInt(4)) : "RYSWKMBDHVN".charAt(random.nextInt(11)));
+        }
+        return pattern.toString();
+    }
+
+    private static String randomSequence(Random random, int length) {
+        StringBuilder sequence = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            int pick = random.nextInt(50);
+            sequence.append(pick == 0 ? 'N' : pick == 1 ? '\n' : "ACGT".charAt(random.nextInt(4)));
+        }
+        return sequence.toString();
+    }
+
+    private static List<MotifMatcher.Match> naive(List<MotifMatcher.Motif> motifs, boolean bothStrands, String sequence) {
+        List<Integer> offsets = new ArrayList<>();
+        for (int i = 0; i < sequence.length(); i++) {
+            if (!SequenceAlphabet.isLayout(sequence.charAt(i))) {
+                offsets.add(i);
+            }
+        }
+        List<MotifMatcher.Match> matches = new ArrayList<>();
+        for (MotifMatcher.Motif motif : motifs) {
+            String pattern = MotifMatcher.normalize(motif.pattern());
+            String reverse = MotifMatcher.reverseComplement(pattern);
+            for (int first = 0; first < offsets.size(); first++) {
+                if (matchesAt(pattern, sequence, offsets, first)) {
+                    matches.add(new MotifMatcher.Match(motif, offsets.get(first), offsets.get(first + pattern.length() - 1) + 1, false));
+                }
+                if (bothStrands && !reverse.equals(pattern) && matchesAt(reverse, sequence, offsets, first)) {
+                    matches.add(new MotifMatcher.Match(motif, offsets.get(first), offsets.get(first + pattern.length() - 1) + 1, true));
+                }
+            }
+        }
+        return matches;
+    }
+
+    private static boolean matchesAt(String pattern, String sequence, List<Integer> offsets, int first) {
+        if (first + pattern.length() > offsets.size()) {
+            return false;
+        }
+        for (int i = 0; i < pattern.length(); i++) {
+            char base = sequence.charAt(offsets.get(first + i));
+            if (PackedSequence.nucleotideCode(base) < 0 || !iupacMatches(pattern.charAt(i), base)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean iupacMatches(char code, char base) {
+        String bases = switch (code) {
+            case 'R' -> "AG";
+            case 'Y' -> "CT";
+            case 'S' -> "CG";
+            case 'W' -> "AT";
+            case 'K' -> "GT";
+            case 'M' -> "AC";
+            case 'B' -> "CGT";
+            case 'D' -> "AGT";
+            case 'H' -> "ACT";
+            case 'V' -> "ACG";
+            case 'N' -> "ACGT";
+            default -> String.valueOf(code);
+        };
+        return bases.indexOf(base == 'U' ? 'T' : base) >= 0;
+    }
+}
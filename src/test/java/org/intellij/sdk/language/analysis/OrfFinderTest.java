@@ -0,0 +1,140 @@
+package org.intellij.sdk.language.analysis;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class OrfFinderTest {
+    private static final Comparator<OrfFinder.Orf> ORDER = Comparator.comparing(OrfFinder.Orf::reverse)
+            .thenComparingInt(OrfFinder.Orf::start)
+            .thenComparingInt(OrfFinder.Orf::end);
+
+    @Test
+    public void findsForwardOrfIncludingStopCodon() {
+        List<OrfFinder.Orf> orfs = find("CCATGAAATTTTAGCC", new OrfFinder(9, OrfFinder.NestedOrfPolicy.ALL, false, GeneticCode.STANDARD));
+        assertEquals(List.of(new OrfFinder.Orf(2, 14, 2, false)), orfs);
+        assertEquals("ATGAAATTTTAG", orfs.get(0).sequenceIn("CCATGAAATTTTAGCC"));
+    }
+
+    @Test
+    public void findsReverseOrfReadOnItsOwnStrand() {
+        String sequence = "GG" + OrfFinder.reverseComplement("ATGAAATTTTAG") + "GG";
+        List<OrfFinder.Orf> orfs = find(sequence, new OrfFinder(9, OrfFinder.NestedOrfPolicy.ALL, true, GeneticCode.STANDARD));
+        assertEquals(List.of(new OrfFinder.Orf(2, 14, 2, true)), orfs);
+        assertEquals("ATGAAATTTTAG", orfs.get(0).sequenceIn(sequence));
+    }
+
+    @Test
+    public void longestPolicyKeepsOneOrfPerStop() {
+        String sequence = "ATGATGAAATAA";
+        assertEquals(2, find(sequence, new OrfFinder(0, OrfFinder.NestedOrfPolicy.ALL, false, GeneticCode.STANDARD)).size());
+        assertEquals(List.of(new OrfFinder.Orf(0, 12, 0, false)),
+                find(sequence, new OrfFinder(0, OrfFinder.NestedOrfPolicy.LONGEST, false, GeneticCode.STANDARD)));
+    }
+
+    @Test
+    public void geneticCodeDecidesStops() {
+        // TGA is a stop in the standard code and tryptophan in vertebrate mitochondria, where AGA stops instead
+        String sequence = "ATGTGAAAAAGA";
+        assertEquals(List.of(new OrfFinder.Orf(0, 6, 0, false)),
+                find(sequence, new OrfFinder(0, OrfFinder.NestedOrfPolicy.ALL, false, GeneticCode.STANDARD)));
+        assertEquals(List.of(new OrfFinder.Orf(0, 12, 0, false)),
+                find(sequence, new OrfFinder(0, OrfFinder.NestedOrfPolicy.ALL, false, GeneticCode.forId(2))));
+    }
+
+    @Test
+    public void processorCanStopTheScan() {
+        List<OrfFinder.Orf> seen = new ArrayList<>();
+        boolean completed = new OrfFinder(0, OrfFinder.NestedOrfPolicy.ALL, true, GeneticCode.STANDARD)
+                .find("ATGTAAATGTAAATGTAA", orf -> {
+                    seen.add(orf);
+                    return false;
+                });
+        assertFalse(completed);
+        assertEquals(1, seen.size());
+    }
+
+    @Test
+    public void matchesCodonByCodonScanOfBothStrands() {
+        Random random = new Random(42);
+        for (int round = 0; round < 200; round++) {
+            String sequence = randomSequence(random, 30 + random.nextInt(400));
+            for (OrfFinder.NestedOrfPolicy policy : OrfFinder.NestedOrfPolicy.values()) {
+                for (GeneticCode code : List.of(GeneticCode.STANDARD, GeneticCode.forId(2))) {
+                    int minLength = random.nextInt(30);
+                    List<OrfFinder.Orf> expected = naive(sequence, minLength, policy, code);
+                    List<OrfFinder.Orf> actual = find(sequence, new OrfFinder(minLength, policy, true, code));
+                    expected.sort(ORDER);
+                    actual.sort(ORDER);
+                    assertEquals(sequence + " " + policy + " " + code, expected, actual);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void reverseComplementMapsEveryBase() {
+        assertEquals("NCGTA", OrfFinder.reverseComplement("UACGX"));
+    }
+
+    private static List<OrfFinder.Orf> find(String sequence, OrfFinder finder) {
+        List<OrfFinder.Orf> orfs = new ArrayList<>();
+        finder.find(sequence, orfs::add);
+        return orfs;
+    }
+
+    // Mostly ACGT with a few Ns, and enough ATGs that nested ORFs are common
+    private static String randomSequence(Random random, int length) {
+        StringBuilder sequence = new StringBuilder(length);
+        while (sequence.length() < length) {
+            int pick = random.nextInt(100);
+            if (pick < 8) {
+                sequence.append("ATG");
+            } else if (pick < 10) {
+                sequence.append('N');
+            } else {
+                sequence.append("ACGT".charAt(random.nextInt(4)));
+            }
+        }
+        return sequence.toString();
+    }
+
+    private static List<OrfFinder.Orf> naive(String sequence, int minLength, OrfFinder.NestedOrfPolicy policy, GeneticCode code) {
+        List<OrfFinder.Orf> orfs = new ArrayList<>();
+        scanStrand(sequence, minLength, policy, code, false, orfs);
+        scanStrand(OrfFinder.reverseComplement(sequence), minLength, policy, code, true, orfs);
+        return orfs;
+    }
+
+    // Reverse-strand ORFs are found on the reverse complement and mapped back to forward coordinates
+    private static void scanStrand(String strand, int minLength, OrfFinder.NestedOrfPolicy policy, GeneticCode code,
+                                   boolean reverse, List<OrfFinder.Orf> orfs) {
+        int length = strand.length();
+        for (int frame = 0; frame < 3; frame++) {
+            List<Integer> starts = new ArrayList<>();
+            for (int i = frame; i + 3 <= length; i += 3) {
+                int codon = GeneticCode.codonIndex(strand.charAt(i), strand.charAt(i + 1), strand.charAt(i + 2));
+                if (codon == OrfFinder.START_CODON) {
+                    if (policy == OrfFinder.NestedOrfPolicy.ALL || starts.isEmpty()) {
+                        starts.add(i);
+                    }
+                } else if (code.isStopCodon(codon)) {
+                    for (int start : starts) {
+                        int end = i + 3;
+                        if (end - start >= minLength) {
+                            orfs.add(reverse
+                                    ? new OrfFinder.Orf(length - end, length - start, frame, true)
+                                    : new OrfFinder.Orf(start, end, frame, false));
+                        }
+                    }
+                    starts.clear();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package org.intellij.sdk.language.analysis;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class PackedSequenceTest {
+    @Test
+    public void roundTripsAroundWordBoundaries() {
+        Random random = new Random(42);
+        // 2-bit symbols fill a word every 32 letters, 5-bit symbols straddle words from the 13th letter on
+        for (int length = 0; length <= 140; length++) {
+            String dna = randomText(random, "ACGT", length);
+            assertRoundTrip(dna, true);
+            assertRoundTrip(dna.replace('T', 'U'), true);
+            String protein = randomText(random, "ACDEFGHIKLMNPQRSTVWY", length);
+            // Short proteins made of base and ambiguity letters only still pack as nucleotides
+            assertRoundTrip(protein, protein.chars().allMatch(ch -> "ACGTNRYSWKMBDHV".indexOf(ch) >= 0));
+        }
+    }
+
+    @Test
+    public void proteinsUseFiveBits() {
+        PackedSequence protein = PackedSequence.pack("MKWVTFISLLLLFSSAYS");
+        assertFalse(protein.isNucleotide());
+        assertEquals('W' - 'A', protein.codeAt(2));
+        assertEquals("MKWVTFISLLLLFSSAYS", protein.toString());
+        // A sequence with both T and U cannot render code T one way, so it falls back to letters as well
+        PackedSequence mixed = PackedSequence.pack("ACGTU");
+        assertFalse(mixed.isNucleotide());
+        assertEquals("ACGTU", mixed.toString());
+    }
+
+    @Test
+    public void ambiguityCodesKeepTheirPosition() {
+        PackedSequence sequence = PackedSequence.pack("ACGNNNNTRAcG");
+        assertTrue(sequence.isNucleotide());
+        assertEquals(12, sequence.length());
+        assertEquals("ACGNNNNTRAcG", sequence.toString());
+        assertEquals(PackedSequence.G, sequence.codeAt(2));
+        assertEquals(-1, sequence.codeAt(3));
+        assertEquals(-1, sequence.codeAt(8));
+        assertEquals(-1, sequence.codeAt(10));
+        assertEquals(PackedSequence.T, sequence.codeAt(7));
+        assertEquals('N', sequence.charAt(6));
+        assertEquals('c', sequence.charAt(10));
+        assertTrue(sequence.hasUnknownLetters());
+        assertFalse(sequence.subSequence(0, 3).hasUnknownLetters());
+        assertTrue(sequence.subSequence(5, 8).hasUnknownLetters());
+        assertEquals("NNTRA", sequence.subSequence(5, 10).toString());
+        assertEquals("ACGNNNNURAcG", sequence.asRna().toString());
+    }
+
+    @Test
+    public void residueLettersAfterAmbiguityCodesSwitchToFiveBits() {
+        // M, K and V are ambiguity codes, so only the L shows this is a protein
+        PackedSequence protein = PackedSequence.pack("MKVL*A");
+        assertFalse(protein.isNucleotide());
+        assertEquals("MKVL*A", protein.toString());
+        assertEquals('M' - 'A', protein.codeAt(0));
+        assertEquals(-1, protein.codeAt(4));
+    }
+
+    @Test
+    public void randomLettersRoundTrip() {
+        Random random = new Random(7);
+        for (int round = 0; round < 500; round++) {
+            String alphabet = random.nextBoolean() ? "ACGTTTNNNRYacgt-" : "ACDEFGHIKLMNPQRSTVWYX*";
+            String text = randomText(random, alphabet, random.nextInt(300));
+            PackedSequence packed = PackedSequence.pack(text);
+            assertEquals(text, packed.toString());
+            for (int i = 0; i < text.length(); i++) {
+                assertEquals(text, text.charAt(i), packed.charAt(i));
+            }
+            int start = text.isEmpty() ? 0 : random.nextInt(text.length());
+            int end = start + random.nextInt(text.length() - start + 1);
+            assertEquals(text.substring(start, end), packed.subSequence(start, end).toString());
+        }
+    }
+
+    @Test
+    public void builderToleratesWrongExpectedLength() {
+        String text = "ACGTNACGTACGTACGTACGTACGTACGTACGTACGTAC";
+        for (int expected : new int[]{0, 1, text.length() - 1, text.length(), 4 * text.length()}) {
+            PackedSequence.Builder builder = new PackedSequence.Builder(expected);
+            builder.append(text.substring(0, 10)).append(text.substring(10));
+            PackedSequence packed = builder.build();
+            assertEquals(text, packed.toString());
+            assertEquals(PackedSequence.pack(text).contentHash(), packed.contentHash());
+        }
+    }
+
+    @Test
+    public void unknownCodonsTranslateLikeText() {
+        String dna = "ATGNNNAAAGGNTAA";
+        assertEquals(GeneticCode.STANDARD.translateFrame(dna, 0), GeneticCode.STANDARD.translateFrame(PackedSequence.pack(dna), 0));
+        assertEquals("MXKX*", GeneticCode.STANDARD.translateFrame(PackedSequence.pack(dna), 0));
+    }
+
+    private static void assertRoundTrip(String text, boolean nucleotide) {
+        PackedSequence packed = PackedSequence.pack(text);
+        assertEquals(text.length(), packed.length());
+        assertEquals(nucleotide, packed.isNucleotide());
+        assertEquals(text, packed.toString());
+        for (int i = 0; i < text.length(); i++) {
+            assertEquals(text, text.charAt(i), packed.charAt(i));
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> packed.charAt(text.length()));
+    }
+
+    private static String randomText(Random random, String alphabet, int length) {
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return text.toString();
+    }
+}
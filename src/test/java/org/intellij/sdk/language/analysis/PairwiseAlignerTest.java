@@ -0,0 +1,179 @@
+package org.intellij.sdk.language.analysis;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class PairwiseAlignerTest {
+    private static final PairwiseAligner.Scoring SCORING = PairwiseAligner.Scoring.DEFAULT;
+    private static final int NEGATIVE_INFINITY = Integer.MIN_VALUE / 4;
+
+    @Test
+    public void identicalSequencesAlignWithoutGaps() {
+        Alignment alignment = aligner().align("ACGTACGT", "acguacgu", PairwiseAligner.Mode.GLOBAL);
+        assertEquals(8 * SCORING.match(), alignment.getScore());
+        assertEquals(8, alignment.getLength());
+        assertEquals(0, alignment.getGapColumns());
+        assertEquals(100, alignment.getIdentity(), 0);
+    }
+
+    @Test
+    public void gapIsOpenedOnce() {
+        Alignment alignment = aligner().align("AAAACCCCGGGGTTTT", "AAAACCCCTTTT", PairwiseAligner.Mode.GLOBAL);
+        assertEquals(1, alignment.getGapOpenings());
+        assertEquals(4, alignment.getGapColumns());
+        assertEquals(12 * SCORING.match() - SCORING.gapOpen() - 4 * SCORING.gapExtend(), alignment.getScore());
+        assertEquals("AAAACCCCGGGGTTTT", alignment.toGappedText("AAAACCCCGGGGTTTT", true, 80));
+        assertEquals(16, alignment.toGappedText("AAAACCCCTTTT", false, 80).length());
+    }
+
+    @Test
+    public void localAlignmentFindsTheSharedCore() {
+        Alignment alignment = aligner().align("TTTTTTGATTACAGATTTTTT", "CCCGATTACAGACCC", PairwiseAligner.Mode.LOCAL);
+        assertEquals(9 * SCORING.match(), alignment.getScore());
+        assertEquals(6, alignment.getAStart());
+        assertEquals(15, alignment.getAEnd());
+        assertEquals(3, alignment.getBStart());
+        assertEquals(12, alignment.getBEnd());
+    }
+
+    @Test
+    public void emptySequencesAlign() {
+        assertEquals(0, aligner().align("", "", PairwiseAligner.Mode.GLOBAL).getLength());
+        Alignment alignment = aligner().align("ACG", "", PairwiseAligner.Mode.GLOBAL);
+        assertEquals(-(SCORING.gapOpen() + 3 * SCORING.gapExtend()), alignment.getScore());
+        assertEquals(0, aligner().align("AAAA", "CCCC", PairwiseAligner.Mode.LOCAL).getScore());
+    }
+
+    @Test
+    public void packedSequencesAlignLikeText() {
+        String first = "ACGTTGCAACGTAGGCTA";
+        String second = "ACGTGCAACGTTAGGCA";
+        for (PairwiseAligner.Mode mode : PairwiseAligner.Mode.values()) {
+            assertEquals(aligner().align(first, second, mode).getScore(),
+                    aligner().align(PackedSequence.pack(first), PackedSequence.pack(second), mode).getScore());
+        }
+    }
+
+    @Test
+    public void cancellationAbortsTheAlignment() {
+        PairwiseAligner aligner = new PairwiseAligner(SCORING, () -> {
+            throw new IllegalStateException("canceled");
+        });
+        assertThrows(IllegalStateException.class, () -> aligner.align("ACGT", "ACGT", PairwiseAligner.Mode.GLOBAL));
+        assertThrows(IllegalArgumentException.class, () -> new PairwiseAligner.Scoring(1, -1, -1, 1));
+    }
+
+    @Test
+    public void matchesFullMatrixScores() {
+        Random random = new Random(42);
+        PairwiseAligner aligner = aligner();
+        for (int round = 0; round < 300; round++) {
+            String first = randomSequence(random, random.nextInt(60));
+            String second = random.nextBoolean() ? mutate(random, first) : randomSequence(random, random.nextInt(60));
+            String message = first + " / " + second;
+
+            Alignment global = aligner.align(first, second, PairwiseAligner.Mode.GLOBAL);
+            assertEquals(message, gotoh(first, second, false), global.getScore());
+            assertConsistent(message, global, first, second);
+            assertEquals(first.length(), global.getAEnd());
+            assertEquals(second.length(), global.getBEnd());
+
+            Alignment local = aligner.align(first, second, PairwiseAligner.Mode.LOCAL);
+            assertEquals(message, gotoh(first, second, true), local.getScore());
+            assertConsistent(message, local, first, second);
+
+            // A band as wide as both sequences contains every alignment
+            Alignment banded = aligner.alignBanded(first, second, Math.max(first.length(), second.length()));
+            assertEquals(message, global.getScore(), banded.getScore());
+            assertConsistent(message, banded, first, second);
+            assertTrue(message, aligner.alignBanded(first, second, random.nextInt(4)).getScore() <= global.getScore());
+        }
+    }
+
+    private static PairwiseAligner aligner() {
+        return new PairwiseAligner(SCORING, () -> {
+        });
+    }
+
+    private static String randomSequence(Random random, int length) {
+        StringBuilder sequence = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sequence.append("ACGT".charAt(random.nextInt(4)));
+        }
+        return sequence.toString();
+    }
+
+    // Substitutions, insertions and deletions, so that the sequences share long stretches and gaps pay off
+    private static String mutate(Random random, String sequence) {
+        StringBuilder mutated = new StringBuilder(sequence.length());
+        for (int i = 0; i < sequence.length(); i++) {
+            int pick = random.nextInt(20);
+            if (pick == 0) {
+                mutated.append("ACGT".charAt(random.nextInt(4)));
+            } else if (pick == 1) {
+                mutated.append(randomSequence(random, 1 + random.nextInt(4)));
+                mutated.append(sequence.charAt(i));
+            } else if (pick != 2) {
+                mutated.append(sequence.charAt(i));
+            }
+        }
+        return mutated.toString();
+    }
+
+    // Columns consume exactly the aligned spans and their score adds up to the reported one
+    private static void assertConsistent(String message, Alignment alignment, String first, String second) {
+        int score = 0;
+        int i = alignment.getAStart();
+        int j = alignment.getBStart();
+        byte previous = Alignment.PAIR;
+        for (int column = 0; column < alignment.getLength(); column++) {
+            byte operation = alignment.getOperation(column);
+            if (operation == Alignment.PAIR) {
+                score += first.charAt(i++) == second.charAt(j++) ? SCORING.match() : SCORING.mismatch();
+            } else {
+                score -= (operation != previous ? SCORING.gapOpen() : 0) + SCORING.gapExtend();
+                if (operation == Alignment.DELETION) {
+                    i++;
+                } else {
+                    j++;
+                }
+            }
+            previous = operation;
+        }
+        assertEquals(message, alignment.getAEnd(), i);
+        assertEquals(message, alignment.getBEnd(), j);
+        assertEquals(message, alignment.getScore(), score);
+    }
+
+    // Gotoh's recurrences over the full matrices, returning the best score
+    private static int gotoh(String a, String b, boolean local) {
+        int m = a.length();
+        int n = b.length();
+        int open = SCORING.gapOpen() + SCORING.gapExtend();
+        int[][] h = new int[m + 1][n + 1];
+        int[][] e = new int[m + 1][n + 1];
+        int[][] f = new int[m + 1][n + 1];
+        int best = 0;
+        for (int i = 0; i <= m; i++) {
+            for (int j = 0; j <= n; j++) {
+                if (i == 0 && j == 0) {
+                    e[i][j] = f[i][j] = NEGATIVE_INFINITY;
+                    continue;
+                }
+                e[i][j] = j == 0 ? NEGATIVE_INFINITY : Math.max(h[i][j - 1] - open, e[i][j - 1] - SCORING.gapExtend());
+                f[i][j] = i == 0 ? NEGATIVE_INFINITY : Math.max(h[i - 1][j] - open, f[i - 1][j] - SCORING.gapExtend());
+                int diagonal = i == 0 || j == 0 ? NEGATIVE_INFINITY
+                        : h[i - 1][j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? SCORING.match() : SCORING.mismatch());
+                h[i][j] = Math.max(diagonal, Math.max(e[i][j], f[i][j]));
+                if (local) {
+                    h[i][j] = Math.max(h[i][j], 0);
+                    best = Math.max(best, h[i][j]);
+                }
+            }
+        }
+        return local ? best : h[m][n];
+    }
+}
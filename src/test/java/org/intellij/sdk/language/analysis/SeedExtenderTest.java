@@ -0,0 +1,66 @@
+package org.intellij.sdk.language.analysis;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class SeedExtenderTest {
+    @Test
+    public void identicalSequencesExtendToBothEnds() {
+        String sequence = randomSequence(new Random(1), 200);
+        SeedExtender.Hit hit = SeedExtender.extend(sequence, sequence, 90, 90, 20, SeedExtender.DEFAULT_X_DROP);
+        assertEquals(new SeedExtender.Hit(0, 0, 200, 200, 200), hit);
+        assertEquals(100, hit.getIdentity(), 0);
+    }
+
+    @Test
+    public void extensionFollowsTheSeedDiagonal() {
+        Random random = new Random(2);
+        String shared = randomSequence(random, 60);
+        String query = randomSequence(random, 10) + shared;
+        String target = randomSequence(random, 35) + shared + randomSequence(random, 40);
+        SeedExtender.Hit hit = SeedExtender.extend(query, target, 30, 55, 20, SeedExtender.DEFAULT_X_DROP);
+        // Random flanks may extend the hit by chance matches, but it covers the shared stretch on the seed diagonal
+        assertTrue(hit.queryStart() <= 10 && hit.targetStart() - hit.queryStart() == 25);
+        assertTrue(hit.length() >= 60 && hit.score() >= 60);
+    }
+
+    @Test
+    public void mismatchesCostAndXDropStopsTheExtension() {
+        String query = "ACGTACGTAC" + "GGGGGGGGGGGGGGGGGGGG" + "ACGTACGTAC";
+        String target = "ACGTACGTAC" + "GGGGGGGGGGGGGGGGGGGG" + "TGCATGCATG";
+        SeedExtender.Hit hit = SeedExtender.extend(query, target, 10, 10, 20, 5);
+        // Every letter of the right flank mismatches, so the right extension adds nothing
+        assertEquals(new SeedExtender.Hit(0, 0, 30, 30, 30), hit);
+
+        String mismatch = "ACGTACGTAC" + "GGGGGGGGGGGGGGGGGGGG" + "AGGTACGTAC";
+        hit = SeedExtender.extend(query, mismatch, 10, 10, 20, SeedExtender.DEFAULT_X_DROP);
+        assertEquals(new SeedExtender.Hit(0, 0, 40, 37, 39), hit);
+    }
+
+    @Test
+    public void invalidLettersMismatchAndLayoutIsSkipped() {
+        String query = "ACGTACGTACGTACGTACGTACGT";
+        SeedExtender.Hit withN = SeedExtender.extend(query, "ACGTACGTACGTNCGTACGTACGT", 0, 0, 8, SeedExtender.DEFAULT_X_DROP);
+        assertEquals(23, withN.identities());
+        assertEquals(24, withN.length());
+        assertEquals(21, withN.score());
+
+        // Offsets are into the wrapped text, the length counts letters
+        SeedExtender.Hit wrapped = SeedExtender.extend(query, "ACGTACGT\n  ACGUACGU\n  ACGTACGT", 0, 0, 8,
+                SeedExtender.DEFAULT_X_DROP);
+        assertEquals(new SeedExtender.Hit(0, 0, 24, 24, 24), wrapped);
+        wrapped = SeedExtender.extend(query, "ACGTACGT\n  ACGUACGU\n  ACGTACGT", 8, 11, 8, SeedExtender.DEFAULT_X_DROP);
+        assertEquals(new SeedExtender.Hit(0, 0, 24, 24, 24), wrapped);
+    }
+
+    private static String randomSequence(Random random, int length) {
+        StringBuilder sequence = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sequence.append("ACGT".charAt(random.nextInt(4)));
+        }
+        return sequence.toString();
+    }
+}
@@ -0,0 +1,74 @@
+package org.intellij.sdk.language.analysis;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class SequenceAlphabetTest {
+    @Test
+    public void lettersOfEachAlphabet() {
+        assertTrue(SequenceAlphabet.NUCLEOTIDE.isValid("ACGTU"));
+        assertTrue(SequenceAlphabet.DNA.isValid("ACGT"));
+        assertFalse(SequenceAlphabet.DNA.isValid("ACGU"));
+        assertTrue(SequenceAlphabet.RNA.isValid("ACGU"));
+        assertFalse(SequenceAlphabet.RNA.isValid("ACGT"));
+        assertTrue(SequenceAlphabet.AMINO_ACID.isValid("MKVLWY"));
+        assertFalse(SequenceAlphabet.AMINO_ACID.isValid("MKB"));
+        assertFalse(SequenceAlphabet.DNA.isValid("acgt"));
+    }
+
+    @Test
+    public void nonAsciiIsNeverALetter() {
+        for (SequenceAlphabet alphabet : SequenceAlphabet.values()) {
+            assertFalse(alphabet.contains('Å'));
+            assertFalse(alphabet.contains((char) ('A' + 256)));
+            assertFalse(alphabet.contains('Ａ'));
+        }
+    }
+
+    @Test
+    public void emptyTextIsNotValid() {
+        for (SequenceAlphabet alphabet : SequenceAlphabet.values()) {
+            assertFalse(alphabet.isValid(""));
+            assertEquals(0, alphabet.findInvalidRuns("", 0, 0, 20, (start, end) -> fail()));
+        }
+    }
+
+    @Test
+    public void invalidRunsAreMaximalAndSplitByLayout() {
+        String text = "ACxyGT\n  zzACGU q\tr";
+        assertEquals(List.of("xy", "zz", "U", "q", "r"), runs(SequenceAlphabet.DNA, text, 0, text.length(), 20));
+        assertEquals(List.of("xy", "zz", "q", "r"), runs(SequenceAlphabet.NUCLEOTIDE, text, 0, text.length(), 20));
+        // Layout alone is never an invalid run
+        assertEquals(List.of(), runs(SequenceAlphabet.DNA, " \n\r\t\f", 0, 5, 20));
+    }
+
+    @Test
+    public void runsAreClippedToTheRange() {
+        String text = "xxACGTyyy";
+        assertEquals(List.of("x", "yy"), runs(SequenceAlphabet.DNA, text, 1, 8, 20));
+        assertEquals(List.of(), runs(SequenceAlphabet.DNA, text, 2, 6, 20));
+    }
+
+    @Test
+    public void runsBeyondTheLimitAreOnlyCounted() {
+        String text = "AxAxAxAxA";
+        List<int[]> reported = new ArrayList<>();
+        int total = SequenceAlphabet.DNA.findInvalidRuns(text, 0, text.length(), 2,
+                (start, end) -> reported.add(new int[]{start, end}));
+        assertEquals(4, total);
+        assertEquals(2, reported.size());
+        assertArrayEquals(new int[]{1, 2}, reported.get(0));
+        assertArrayEquals(new int[]{3, 4}, reported.get(1));
+        assertEquals(4, SequenceAlphabet.DNA.findInvalidRuns(text, 0, text.length(), 0, (start, end) -> fail()));
+    }
+
+    private static List<String> runs(SequenceAlphabet alphabet, String text, int from, int to, int limit) {
+        List<String> runs = new ArrayList<>();
+        alphabet.findInvalidRuns(text, from, to, limit, (start, end) -> runs.add(text.substring(start, end)));
+        return runs;
+    }
+}
@@ -0,0 +1,37 @@
+package org.intellij.sdk.language.analysis;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class SequenceAnalysisTest {
+    private static final GeneticCode MITOCHONDRIAL = GeneticCode.forId(2);
+
+    @Test
+    public void stopCodonsFollowTheSelectedCode() {
+        PackedSequence sequence = PackedSequence.pack("TGACCAGAAGG");
+        // Every offset is read: TGA is a stop only in the standard code, AGA and AGG only in the mitochondrial one
+        assertEquals(1, new SequenceAnalysis(sequence, false, GeneticCode.STANDARD).getStopCodonCount());
+        assertEquals(2, new SequenceAnalysis(sequence, false, MITOCHONDRIAL).getStopCodonCount());
+    }
+
+    @Test
+    public void basicStatisticsSkipUnknownLetters() {
+        SequenceAnalysis analysis = new SequenceAnalysis(PackedSequence.pack("ATGNTAAGC"), false, GeneticCode.STANDARD);
+        assertEquals(1, analysis.getStartCodonCount());
+        assertEquals(1, analysis.getStopCodonCount());
+        assertEquals(100.0 * 3 / 9, analysis.getGcContent(), 1e-9);
+    }
+
+    @Test
+    public void stopCodonsAreListedInTableOrder() {
+        assertEquals("[TAA, TAG, TGA]", codons(GeneticCode.STANDARD.codonsFor('*')));
+        assertEquals("[TAA, TAG, AGA, AGG]", codons(MITOCHONDRIAL.codonsFor('*')));
+    }
+
+    private static String codons(int[] codons) {
+        return Arrays.toString(Arrays.stream(codons).mapToObj(GeneticCode::codonString).toArray());
+    }
+}
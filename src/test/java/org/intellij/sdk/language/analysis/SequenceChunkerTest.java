@@ -0,0 +1,103 @@
+package org.intellij.sdk.language.analysis;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.intellij.sdk.language.analysis.SequenceChunker.*;
+import static org.junit.Assert.*;
+
+public class SequenceChunkerTest {
+    @Test
+    public void chunkLengthsStayWithinBounds() {
+        String sequence = randomSequence(new Random(1), 300_000);
+        List<Integer> ends = chunkEnds(sequence);
+        int start = 0;
+        for (int i = 0; i < ends.size(); i++) {
+            int length = ends.get(i) - start;
+            assertTrue("chunk " + i + " is " + length, length <= MAX_CHUNK_SIZE);
+            // Only the chunk that runs into the end of the text may be shorter than the minimum
+            assertTrue("chunk " + i + " is " + length, length >= MIN_CHUNK_SIZE || ends.get(i) == sequence.length());
+            start = ends.get(i);
+        }
+        // Random letters hit a boundary well before the maximum on average
+        assertTrue(ends.size() > sequence.length() / MAX_CHUNK_SIZE * 2);
+    }
+
+    @Test
+    public void homopolymerIsCutAtTheMaximum() {
+        String sequence = "A".repeat(3 * MAX_CHUNK_SIZE + 10);
+        for (int end : chunkEnds(sequence).subList(0, 3)) {
+            assertEquals(0, end % MAX_CHUNK_SIZE);
+        }
+    }
+
+    @Test
+    public void boundariesDependOnlyOnContent() {
+        String sequence = randomSequence(new Random(2), 100_000);
+        assertEquals(chunkEnds(sequence), chunkEnds(sequence));
+        // Chunking the text after any boundary reproduces the boundaries after it
+        List<Integer> ends = chunkEnds(sequence);
+        int from = ends.get(ends.size() / 2);
+        assertEquals(ends.subList(ends.size() / 2 + 1, ends.size()), chunkEnds(sequence, from));
+    }
+
+    @Test
+    public void insertionOnlyChangesNearbyChunks() {
+        Random random = new Random(3);
+        String before = randomSequence(random, 200_000);
+        for (int round = 0; round < 20; round++) {
+            int edit = random.nextInt(before.length());
+            String after = before.substring(0, edit) + "ACGT".charAt(random.nextInt(4)) + before.substring(edit);
+            List<Integer> oldEnds = chunkEnds(before);
+            List<Integer> newEnds = chunkEnds(after);
+
+            // Boundaries before the edit are unchanged, those after it are shifted by the inserted letter
+            List<Integer> kept = new ArrayList<>();
+            for (int end : oldEnds) {
+                kept.add(end <= edit ? end : end + 1);
+            }
+            List<Integer> changed = new ArrayList<>(newEnds);
+            changed.removeAll(kept);
+            List<Integer> lost = new ArrayList<>(kept);
+            lost.removeAll(newEnds);
+            assertTrue("edit at " + edit + " changed " + changed, changed.size() <= 3);
+            assertTrue("edit at " + edit + " lost " + lost, lost.size() <= 3);
+            for (int end : changed) {
+                assertTrue(Math.abs(end - edit) <= 3 * MAX_CHUNK_SIZE);
+            }
+        }
+    }
+
+    @Test
+    public void chunkStopsAtLettersOutsideTheAlphabet() {
+        assertEquals(4, findChunkEnd("ACGTNACGT", 0, 9, SequenceAlphabet.DNA));
+        assertEquals(4, findChunkEnd("ACGT\nACGT", 0, 9, SequenceAlphabet.DNA));
+        assertEquals(3, findChunkEnd("ACGTACGU", 0, 8, SequenceAlphabet.RNA));
+        assertEquals(9, findChunkEnd("ACGTNACGT", 5, 9, SequenceAlphabet.DNA));
+        assertEquals(0, findChunkEnd("NACGT", 0, 5, SequenceAlphabet.DNA));
+    }
+
+    private static List<Integer> chunkEnds(String sequence) {
+        return chunkEnds(sequence, 0);
+    }
+
+    private static List<Integer> chunkEnds(String sequence, int from) {
+        List<Integer> ends = new ArrayList<>();
+        for (int start = from; start < sequence.length(); ) {
+            start = findChunkEnd(sequence, start, sequence.length(), SequenceAlphabet.DNA);
+            ends.add(start);
+        }
+        return ends;
+    }
+
+    private static String randomSequence(Random random, int length) {
+        StringBuilder sequence = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sequence.append("ACGT".charAt(random.nextInt(4)));
+        }
+        return sequence.toString();
+    }
+}
@@ -0,0 +1,104 @@
+package org.intellij.sdk.language.analysis;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class SequenceStoreTest {
+    @Test
+    public void equalContentIsStoredOnce() {
+        SequenceStore store = new SequenceStore();
+        PackedSequence first = PackedSequence.pack("ACGTNACGT");
+        PackedSequence second = PackedSequence.pack("ACGTNACGT");
+        PackedSequence other = PackedSequence.pack("ACGUNACGU");
+        assertNotSame(first, second);
+        assertSame(first, store.intern(first));
+        assertSame(first, store.intern(second));
+        assertSame(other, store.intern(other));
+        assertEquals(2, store.size());
+    }
+
+    @Test
+    public void resultsAreComputedOncePerContentAndVariant() {
+        SequenceStore store = new SequenceStore();
+        AtomicInteger computations = new AtomicInteger();
+        PackedSequence first = PackedSequence.pack("ATGAAATAG");
+        PackedSequence second = PackedSequence.pack("ATGAAATAG");
+        Object standard = store.getOrCompute(first, GeneticCode.STANDARD, sequence -> analysis(sequence, computations));
+        assertSame(standard, store.getOrCompute(second, GeneticCode.STANDARD, sequence -> analysis(sequence, computations)));
+        assertEquals(1, computations.get());
+
+        Object mitochondrial = store.getOrCompute(second, GeneticCode.forId(2), sequence -> analysis(sequence, computations));
+        assertNotSame(standard, mitochondrial);
+        assertEquals(2, computations.get());
+
+        // A null result is not stored
+        assertNull(store.getOrCompute(first, "none", sequence -> null));
+        assertEquals("x", store.getOrCompute(first, "none", sequence -> "x"));
+    }
+
+    @Test
+    public void unreferencedEntriesAreEvicted() throws InterruptedException {
+        SequenceStore store = new SequenceStore();
+        PackedSequence kept = store.intern(PackedSequence.pack("ACGT"));
+        for (int i = 0; i < 100; i++) {
+            store.intern(PackedSequence.pack("ACGT" + "A".repeat(i + 1)));
+        }
+        // Only weak references remain to the 100 others; they go once collected, on the next access
+        for (int attempt = 0; attempt < 50 && store.size() > 1; attempt++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        assertEquals(1, store.size());
+        assertSame(kept, store.intern(PackedSequence.pack("ACGT")));
+    }
+
+    @Test
+    public void hashFollowsTheLetters() {
+        assertEquals(SequenceHash.of("ACGTN"), PackedSequence.pack("ACGTN").contentHash());
+        assertEquals(SequenceHash.of("ACGT"), SequenceHash.of(new StringBuilder("ACGT")));
+        assertNotEquals(SequenceHash.of("ACGT"), SequenceHash.of("ACGU"));
+        assertNotEquals(SequenceHash.of(""), SequenceHash.of("A"));
+        // SHA-256 of the empty input
+        assertEquals("e3b0c44298fc1c149afbf4c8996fb924", SequenceHash.of("").toString());
+        // Longer than the digest buffer
+        String longSequence = "ACGT".repeat(5000);
+        assertEquals(SequenceHash.of(longSequence), SequenceHash.of(new StringBuilder(longSequence)));
+    }
+
+    @Test
+    public void noCollisionsAmongNearbySequences() {
+        // Every single-letter substitution and deletion of one sequence, the closest contents a store ever sees
+        Random random = new Random(7);
+        StringBuilder base = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            base.append("ACGT".charAt(random.nextInt(4)));
+        }
+        Set<String> contents = new HashSet<>();
+        Set<SequenceHash> hashes = new HashSet<>();
+        for (int i = 0; i < base.length(); i++) {
+            for (char letter : "ACGT".toCharArray()) {
+                StringBuilder variant = new StringBuilder(base);
+                variant.setCharAt(i, letter);
+                if (contents.add(variant.toString())) {
+                    assertTrue(hashes.add(SequenceHash.of(variant)));
+                }
+            }
+            String deletion = base.substring(0, i) + base.substring(i + 1);
+            if (contents.add(deletion)) {
+                assertTrue(hashes.add(SequenceHash.of(deletion)));
+            }
+        }
+        assertEquals(contents.size(), hashes.size());
+    }
+
+    private static SequenceAnalysis analysis(PackedSequence sequence, AtomicInteger computations) {
+        computations.incrementAndGet();
+        return new SequenceAnalysis(sequence, false, GeneticCode.STANDARD);
+    }
+}
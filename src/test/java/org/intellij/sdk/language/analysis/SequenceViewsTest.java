@@ -0,0 +1,77 @@
+package org.intellij.sdk.language.analysis;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class SequenceViewsTest {
+    @Test
+    public void viewsMatchTheCopyingForms() {
+        Random random = new Random(42);
+        GeneticCode mitochondrial = GeneticCode.forId(2);
+        for (int round = 0; round < 200; round++) {
+            String dna = randomText(random, "ACGTACGTN", random.nextInt(150));
+            PackedSequence packed = PackedSequence.pack(dna);
+            int from = dna.isEmpty() ? 0 : random.nextInt(dna.length());
+            int to = from + random.nextInt(dna.length() - from + 1);
+
+            assertView(OrfFinder.reverseComplement(dna.substring(from, to)), SequenceViews.reverseComplement(packed, from, to));
+            for (GeneticCode code : new GeneticCode[]{GeneticCode.STANDARD, mitochondrial}) {
+                assertView(code.translateFrame(dna.substring(from, to), 0), SequenceViews.translation(packed, from, to, code));
+            }
+            assertView(dna.replace('T', 'U'), SequenceViews.withThymine(dna, 'U'));
+
+            String protein = randomText(random, "ACDEFGHIKLMNPQRSTVWY*", random.nextInt(50));
+            String back = GeneticCode.STANDARD.reverseTranslate(protein);
+            assertView(back, SequenceViews.backTranslation(protein, GeneticCode.STANDARD, 'T'));
+            assertView(back.replace('T', 'U'), SequenceViews.backTranslation(protein, GeneticCode.STANDARD, 'U'));
+        }
+    }
+
+    @Test
+    public void orfIsReadOnItsOwnStrand() {
+        String dna = "CCATGAAATAGCCTTACTTTCATGG";
+        OrfFinder.Orf forward = new OrfFinder.Orf(2, 11, 2, false);
+        OrfFinder.Orf reverse = new OrfFinder.Orf(14, 23, 1, true);
+        assertView(forward.sequenceIn(dna), SequenceViews.orf(dna, forward));
+        assertView(reverse.sequenceIn(dna), SequenceViews.orf(dna, reverse));
+        assertEquals("ATGAAAGTA", SequenceViews.orf(dna, reverse).toString());
+    }
+
+    @Test
+    public void residueWithoutCodonBackTranslatesToN() {
+        assertEquals("ATGNNNTAA", SequenceViews.backTranslation("MX*", GeneticCode.STANDARD, 'T').toString());
+        assertThrows(IllegalArgumentException.class, () -> GeneticCode.STANDARD.reverseTranslate("MX*"));
+    }
+
+    @Test
+    public void outOfRangeAccessFails() {
+        CharSequence view = SequenceViews.reverseComplement("ACGT", 1, 3);
+        assertThrows(IndexOutOfBoundsException.class, () -> view.charAt(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> view.subSequence(1, 3));
+        assertThrows(IndexOutOfBoundsException.class, () -> SequenceViews.translation("ACGT", 2, 5, GeneticCode.STANDARD));
+    }
+
+    // Compares every letter and every sub-sequence boundary of a view with the copied form
+    private static void assertView(String expected, CharSequence view) {
+        assertEquals(expected.length(), view.length());
+        assertEquals(expected, view.toString());
+        for (int i = 0; i < expected.length(); i++) {
+            assertEquals(expected.charAt(i), view.charAt(i));
+        }
+        for (int start = 0; start <= expected.length(); start += 7) {
+            int end = Math.min(expected.length(), start + 11);
+            assertEquals(expected.substring(start, end), view.subSequence(start, end).toString());
+        }
+    }
+
+    private static String randomText(Random random, String alphabet, int length) {
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return text.toString();
+    }
+}
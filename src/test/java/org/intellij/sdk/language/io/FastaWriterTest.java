@@ -0,0 +1,72 @@
+package org.intellij.sdk.language.io;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+public class FastaWriterTest {
+    @Test
+    public void wrapsAtTheWidthWithoutEmptyLines() throws IOException {
+        assertEquals(">a\nACGT\n", write(4, "ACGT"));
+        assertEquals(">a\nACGT\nA\n", write(4, "ACGTA"));
+        assertEquals(">a\nACGT\nACGT\n", write(4, "ACGTACGT"));
+        assertEquals(">a\nACG\n", write(60, "ACG"));
+    }
+
+    @Test
+    public void layoutIsSkippedAndRangesContinueTheLine() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (FastaWriter writer = new FastaWriter(Channels.newChannel(bytes), 5)) {
+            writer.beginRecord("gene", "");
+            String text = "\"AC GT\n    AC\"  \"TTG\tCA\"";
+            writer.append(text, 1, 13);
+            writer.append(text, 17, 23);
+        }
+        assertEquals(">gene\nACGTA\nCTTGC\nA\n", bytes.toString(StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void headerIsOneAsciiLine() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (FastaWriter writer = new FastaWriter(Channels.newChannel(bytes), 60)) {
+            writer.beginRecord("seq1", "DNASeq from\nSeñal.bsyn");
+            writer.append("ACGT", 0, 4);
+            writer.beginRecord("empty", "");
+            writer.beginRecord("last", "");
+            writer.append("MK", 0, 2);
+        }
+        assertEquals(">seq1 DNASeq from Se?al.bsyn\nACGT\n>empty\n>last\nMK\n", bytes.toString(StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void largeRecordsFlushThroughTheBuffer() throws IOException {
+        StringBuilder letters = new StringBuilder();
+        for (int i = 0; i < 200_000; i++) {
+            letters.append("ACGT".charAt(i % 4));
+        }
+        String fasta = write(FastaWriter.DEFAULT_LINE_WIDTH, letters);
+        assertEquals(3 + 200_000 + 200_000 / FastaWriter.DEFAULT_LINE_WIDTH + 1, fasta.length());
+        assertEquals(letters.toString(), fasta.substring(3).replace("\n", ""));
+    }
+
+    @Test
+    public void appendNeedsARecord() {
+        FastaWriter writer = new FastaWriter(Channels.newChannel(new ByteArrayOutputStream()), 60);
+        assertThrows(IllegalStateException.class, () -> writer.append("ACGT", 0, 4));
+        assertThrows(IllegalArgumentException.class, () -> new FastaWriter(Channels.newChannel(new ByteArrayOutputStream()), 0));
+    }
+
+    private static String write(int width, CharSequence letters) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (FastaWriter writer = new FastaWriter(Channels.newChannel(bytes), width)) {
+            writer.beginRecord("a", "");
+            writer.append(letters, 0, letters.length());
+        }
+        return bytes.toString(StandardCharsets.US_ASCII);
+    }
+}
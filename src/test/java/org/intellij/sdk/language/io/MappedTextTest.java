@@ -0,0 +1,58 @@
+package org.intellij.sdk.language.io;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.*;
+
+public class MappedTextTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void readsLinesAndPrefixes() throws IOException {
+        MappedText text = map(">seq1 first\r\nACGT\n>seq2\nGG");
+        assertEquals(26, text.size());
+        assertEquals('>', text.get(0));
+        assertEquals(12, text.lineEnd(0, text.size()));
+        assertEquals(17, text.lineEnd(13, text.size()));
+        // The last line has no '\n' and ends at the limit
+        assertEquals(26, text.lineEnd(24, text.size()));
+        assertEquals(8, text.lineEnd(0, 8));
+
+        assertTrue(text.startsWith(">seq2", 18));
+        assertFalse(text.startsWith(">seq2", 0));
+        assertFalse(text.startsWith("GGG", 24));
+        assertEquals(18, text.indexOf((byte) '>', 1, text.size()));
+        assertEquals(-1, text.indexOf((byte) '>', 19, text.size()));
+    }
+
+    @Test
+    public void textDropsTrailingCarriageReturnAndDecodesUtf8() throws IOException {
+        MappedText text = map(">seq1 Señal\r\nACGT\n");
+        long lineEnd = text.lineEnd(0, text.size());
+        assertEquals(">seq1 Señal", text.text(0, lineEnd));
+        assertEquals("ACGT", text.text(lineEnd + 1, text.lineEnd(lineEnd + 1, text.size())));
+        assertEquals("", text.text(3, 3));
+    }
+
+    @Test
+    public void emptyFileMapsToNothing() throws IOException {
+        MappedText text = map("");
+        assertEquals(0, text.size());
+        assertEquals(0, text.lineEnd(0, 0));
+        assertFalse(text.startsWith(">", 0));
+    }
+
+    private MappedText map(String content) throws IOException {
+        Path file = folder.newFile().toPath();
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return MappedText.map(file);
+    }
+}
@@ -0,0 +1,147 @@
+package org.intellij.sdk.language.io;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class SequenceImporterTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void fastaRecordsPickTheirKindAndWrap() throws IOException {
+        String bsyn = importText("""
+                >dna1 first record
+                acgtacgt
+                ACGT
+                >rna1
+                ACGUACGU
+                >prot1 a protein
+                MKVLAAGWHH*
+                >empty
+                >1bad.id
+                ACGTN
+                """, 8);
+        assertEquals("""
+                // Imported from input.fa (FASTA)
+
+                // first record
+                DNASeq dna1 = "
+                    ACGTACGT
+                    ACGT"
+
+                RNASeq rna1 = "ACGUACGU"
+
+                // a protein
+                AASeq prot1 = "
+                    MKVLAAGW
+                    HH"
+
+                // empty: no sequence, skipped
+
+                // Warning: 1 of 5 letters are not valid in DNASeq
+                DNASeq seq_1bad_id = "ACGTN"
+
+                """, bsyn);
+    }
+
+    @Test
+    public void genBankJoinsDefinitionLinesAndSkipsPositions() throws IOException {
+        String bsyn = importText("""
+                LOCUS       AB000001     12 bp    DNA     linear   SYN 01-JAN-2000
+                DEFINITION  Synthetic construct, a definition long enough to
+                            continue on the next line.
+                ACCESSION   AB000001
+                ORIGIN
+                        1 acgtacgtac gt
+                //
+                """, 80, "input.gb");
+        assertEquals("""
+                // Imported from input.gb (GENBANK)
+
+                // Synthetic construct, a definition long enough to continue on the next line.
+                DNASeq AB000001 = "ACGTACGTACGT"
+
+                """, bsyn);
+    }
+
+    @Test
+    public void duplicateIdsGetSuffixes() throws IOException {
+        String bsyn = importText("""
+                >x
+                ACGT
+                >x
+                ACGT
+                >x_2
+                ACGT
+                >x
+                ACGT
+                """, 80);
+        assertTrue(bsyn, bsyn.contains("DNASeq x = "));
+        assertTrue(bsyn, bsyn.contains("DNASeq x_2 = "));
+        assertTrue(bsyn, bsyn.contains("DNASeq x_2_2 = "));
+        assertTrue(bsyn, bsyn.contains("DNASeq x_3 = "));
+    }
+
+    @Test
+    public void uniqueNamesSpanParts() {
+        assertEquals(List.of(List.of("a", "b"), List.of("a_2", "c", "b_2"), List.of("a_3")),
+                SequenceImporter.uniqueNames(List.of(List.of("a", "b"), List.of("a", "c", "b"), List.of("a"))));
+    }
+
+    @Test
+    public void outputDoesNotDependOnThreadCount() throws IOException {
+        // 34 MB, so that more than one thread gets a part of at least 16 MB
+        Random random = new Random(3);
+        Path input = folder.getRoot().toPath().resolve("large.fa");
+        try (var writer = Files.newBufferedWriter(input)) {
+            StringBuilder line = new StringBuilder();
+            for (int record = 0; record < 480; record++) {
+                writer.write(">r" + record % 150 + "\n");
+                for (int row = 0; row < 1000; row++) {
+                    line.setLength(0);
+                    for (int i = 0; i < 70; i++) {
+                        line.append("ACGT".charAt(random.nextInt(4)));
+                    }
+                    writer.write(line.append('\n').toString());
+                }
+            }
+        }
+        Path single = folder.getRoot().toPath().resolve("single.bsyn");
+        Path parallel = folder.getRoot().toPath().resolve("parallel.bsyn");
+        SequenceImporter.Result one = new SequenceImporter(1, 80).importFile(input, single, SequenceImporter.Progress.NONE);
+        SequenceImporter.Result four = new SequenceImporter(4, 80).importFile(input, parallel, SequenceImporter.Progress.NONE);
+        assertEquals(one, four);
+        assertEquals(480, four.records());
+        assertArrayEquals(Files.readAllBytes(single), Files.readAllBytes(parallel));
+        assertTrue(Files.readString(parallel).contains("DNASeq r49_3 = "));
+    }
+
+    @Test
+    public void sanitizeNameMakesIdentifiers() {
+        assertEquals("NM_000546_6", SequenceImporter.sanitizeName("NM_000546.6"));
+        assertEquals("seq_", SequenceImporter.sanitizeName(""));
+        assertEquals("seq_9x", SequenceImporter.sanitizeName("9x"));
+    }
+
+    private String importText(String content, int width) throws IOException {
+        return importText(content, width, "input.fa");
+    }
+
+    private String importText(String content, int width, String fileName) throws IOException {
+        Path input = folder.getRoot().toPath().resolve(fileName);
+        Files.write(input, content.getBytes(StandardCharsets.UTF_8));
+        Path output = SequenceImporter.defaultOutput(input);
+        new SequenceImporter(1, width).importFile(input, output, SequenceImporter.Progress.NONE);
+        return Files.readString(output);
+    }
+}
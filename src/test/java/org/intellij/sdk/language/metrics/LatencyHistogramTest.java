@@ -0,0 +1,93 @@
+package org.intellij.sdk.language.metrics;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class LatencyHistogramTest {
+    private static final int LAST_BUCKET = LatencyHistogram.bucketOf(Long.MAX_VALUE);
+
+    @Test
+    public void smallValuesHaveABucketEach() {
+        for (int value = 0; value < 8; value++) {
+            assertEquals(value, LatencyHistogram.bucketOf(value));
+            assertEquals(value, LatencyHistogram.bucketLowerBound(value));
+            assertEquals(value, LatencyHistogram.bucketUpperBound(value));
+        }
+        assertEquals(8, LatencyHistogram.bucketOf(8));
+        assertEquals(15, LatencyHistogram.bucketOf(15));
+        // From 16 on, each bucket spans more than one value
+        assertEquals(16, LatencyHistogram.bucketOf(16));
+        assertEquals(16, LatencyHistogram.bucketOf(17));
+        assertEquals(17, LatencyHistogram.bucketOf(18));
+    }
+
+    @Test
+    public void bucketsTileTheWholeRange() {
+        for (int bucket = 0; bucket <= LAST_BUCKET; bucket++) {
+            long lower = LatencyHistogram.bucketLowerBound(bucket);
+            long upper = LatencyHistogram.bucketUpperBound(bucket);
+            assertEquals(bucket, LatencyHistogram.bucketOf(lower));
+            assertEquals(bucket, LatencyHistogram.bucketOf(upper));
+            if (bucket > 0) {
+                assertEquals(LatencyHistogram.bucketUpperBound(bucket - 1) + 1, lower);
+            }
+            // A bucket is at most an eighth of its lower bound wide
+            assertTrue(upper - lower <= lower / 8);
+        }
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.bucketUpperBound(LAST_BUCKET));
+    }
+
+    @Test
+    public void percentilesAreBucketUpperBoundsCappedByTheMaximum() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 1000; value++) {
+            histogram.record(value);
+        }
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(1000, snapshot.count());
+        assertEquals(500_500, snapshot.totalNanos());
+        assertEquals(1000, snapshot.maxNanos());
+        assertEquals(500.5, snapshot.meanNanos(), 0);
+
+        assertEquals(1, snapshot.percentile(0));
+        assertEquals(511, snapshot.percentile(0.5));
+        assertEquals(1000, snapshot.percentile(1));
+        for (int percent = 1; percent <= 100; percent++) {
+            long exact = percent * 10L;
+            long reported = snapshot.percentile(percent / 100.0);
+            assertTrue(reported >= exact && reported <= exact + exact / 8);
+        }
+    }
+
+    @Test
+    public void emptyAndNegativeValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.snapshot().percentile(0.99));
+        assertEquals(0, histogram.snapshot().meanNanos(), 0);
+
+        histogram.record(-5);
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(1, snapshot.buckets()[0]);
+        assertEquals(0, snapshot.totalNanos());
+        assertEquals(0, snapshot.percentile(0.5));
+    }
+
+    @Test
+    public void largeValuesAndReset() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(Long.MAX_VALUE);
+        histogram.record(3_000_000_000L);
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(1, snapshot.buckets()[LAST_BUCKET]);
+        assertEquals(Long.MAX_VALUE, snapshot.percentile(1));
+        long median = snapshot.percentile(0.5);
+        assertTrue(median >= 3_000_000_000L && median <= 3_000_000_000L + 3_000_000_000L / 8);
+
+        histogram.reset();
+        snapshot = histogram.snapshot();
+        assertEquals(0, snapshot.count());
+        assertEquals(0, snapshot.maxNanos());
+        assertEquals(0, snapshot.buckets()[LAST_BUCKET]);
+    }
+}
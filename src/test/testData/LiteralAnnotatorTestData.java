@@ -0,0 +1,10 @@
+public class Test {
+  public static void main(String[] args) {
+    System.out.println("NtSeq:ATGC");
+    System.out.println("<error descr="Invalid sequence">NtSeq:</error>");
+    System.out.println("NtSeq:<error descr="Invalid sequence">   </error>");
+    System.out.println("AASeq:<error descr="Invalid sequence"> </error>");
+    System.out.println("NtSeq:AT<error descr="Invalid nucleotide 'XX'">XX</error>GC");
+    System.out.println("DNASeq:<error descr="Invalid DNA nucleotide 'U'">U</error>");
+  }
+}